@@ -15,6 +15,7 @@ package org.talend.components.adlsgen2.input;
 import java.io.Serializable;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.json.JsonBuilderFactory;
 
 import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
@@ -73,4 +74,11 @@ public class AdlsGen2Input implements Serializable {
     public Record next() {
         return reader.readRecord();
     }
+
+    @PreDestroy
+    public void release() {
+        if (reader != null) {
+            reader.close();
+        }
+    }
 }
@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -27,7 +28,8 @@ import lombok.Data;
 })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { //
         @GridLayout.Row({ "dataSet" }), //
-        @GridLayout.Row({ "blobNameTemplate" }) })
+        @GridLayout.Row({ "blobNameTemplate" }), //
+        @GridLayout.Row({ "uploadChunkSize", "maxConcurrentUploads" }) })
 @Documentation("ADLS output configuration")
 public class OutputConfiguration implements Serializable {
 
@@ -40,4 +42,15 @@ public class OutputConfiguration implements Serializable {
             + "I.e. myPrefix-5deaa8ff-7d22-4b86-a864-9a6fa414501a.avro")
     private String blobNameTemplate = "data-";
 
+    @Option
+    @Min(1)
+    @Documentation("Size in MB of the chunks appended to the blob.\n"
+            + "At most (max concurrent uploads + 1) chunks are held in memory.")
+    private int uploadChunkSize = 4;
+
+    @Option
+    @Min(1)
+    @Documentation("Maximum number of chunks appended concurrently.")
+    private int maxConcurrentUploads = 4;
+
 }
@@ -12,6 +12,8 @@
  */
 package org.talend.components.adlsgen2.runtime.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import org.talend.sdk.component.api.record.Record;
@@ -38,6 +40,11 @@ public abstract class AbstractContentFormatter implements ContentFormatter {
         throw new UnsupportedOperationException("#feedContent()");
     }
 
+    @Override
+    public void feedContent(List<Record> records, OutputStream out) throws IOException {
+        throw new UnsupportedOperationException("#feedContent()");
+    }
+
     @Override
     public byte[] finalizeContent() {
         throw new UnsupportedOperationException("#finalizeContent()");
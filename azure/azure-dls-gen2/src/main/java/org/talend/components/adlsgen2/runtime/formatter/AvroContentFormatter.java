@@ -14,6 +14,7 @@ package org.talend.components.adlsgen2.runtime.formatter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import org.apache.avro.file.DataFileWriter;
@@ -47,19 +48,25 @@ public class AvroContentFormatter extends AbstractContentFormatter {
     @Override
     public byte[] feedContent(List<Record> records) {
         try {
-            Schema schema = records.get(0).getSchema();
             ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
-            DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
-            dataFileWriter.create(converter.fromRecordSchema(schema), byteBuffer);
-            for (Record rec : records) {
-                dataFileWriter.append(converter.fromRecord(rec));
-            }
-            dataFileWriter.flush();
+            feedContent(records, byteBuffer);
             return byteBuffer.toByteArray();
         } catch (IOException e) {
             throw new AdlsGen2RuntimeException(e.getMessage());
         }
     }
 
+    @Override
+    public void feedContent(List<Record> records, OutputStream out) throws IOException {
+        Schema schema = records.get(0).getSchema();
+        DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
+        DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
+        dataFileWriter.create(converter.fromRecordSchema(schema), out);
+        for (Record rec : records) {
+            dataFileWriter.append(converter.fromRecord(rec));
+        }
+        // only flushed: closing the avro writer would close the target stream
+        dataFileWriter.flush();
+    }
+
 }
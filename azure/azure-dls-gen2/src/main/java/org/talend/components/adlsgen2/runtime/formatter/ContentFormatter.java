@@ -12,6 +12,8 @@
  */
 package org.talend.components.adlsgen2.runtime.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.List;
 
@@ -27,5 +29,10 @@ public interface ContentFormatter extends Serializable {
 
     byte[] feedContent(List<Record> records);
 
+    /**
+     * Serialize records directly to the given stream, without building the whole content in memory.
+     */
+    void feedContent(List<Record> records, OutputStream out) throws IOException;
+
     byte[] finalizeContent();
 }
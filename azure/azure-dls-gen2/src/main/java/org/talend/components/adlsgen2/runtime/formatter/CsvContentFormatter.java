@@ -12,8 +12,11 @@
  */
 package org.talend.components.adlsgen2.runtime.formatter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -58,26 +61,35 @@ public class CsvContentFormatter extends AbstractContentFormatter {
         if (records.isEmpty()) {
             return new byte[0];
         }
-        // get schema from first record
-        schema = records.get(0).getSchema();
-        StringWriter stringWriter = new StringWriter();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
         try {
-            CSVPrinter printer = new CSVPrinter(stringWriter, format);
-            if (csvConfiguration.getCsvFormatOptions().isUseHeader()) {
-                printer.printRecord(getHeader());
-            }
-            for (Record rec : records) {
-                printer.printRecord(convertRecordToArray(rec));
-            }
-            printer.flush();
-            printer.close();
-            return stringWriter.toString().getBytes(csvConfiguration.getCsvFormatOptions().effectiveFileEncoding());
+            feedContent(records, content);
+            return content.toByteArray();
         } catch (IOException e) {
             log.error("[feedContent] {}", e.getMessage());
             throw new AdlsGen2RuntimeException(e.getMessage());
         }
     }
 
+    @Override
+    public void feedContent(List<Record> records, OutputStream out) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        // get schema from first record
+        schema = records.get(0).getSchema();
+        // printer is only flushed: closing it would close the target stream
+        Writer writer = new OutputStreamWriter(out, csvConfiguration.getCsvFormatOptions().effectiveFileEncoding());
+        CSVPrinter printer = new CSVPrinter(writer, format);
+        if (csvConfiguration.getCsvFormatOptions().isUseHeader()) {
+            printer.printRecord(getHeader());
+        }
+        for (Record rec : records) {
+            printer.printRecord(convertRecordToArray(rec));
+        }
+        printer.flush();
+    }
+
     private Object[] getHeader() {
         // cannot be called in initializeContent because we may need a least one record...
         // first return user schema if exists
@@ -12,6 +12,8 @@
  */
 package org.talend.components.adlsgen2.runtime.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonBuilderFactory;
@@ -53,6 +55,21 @@ public class JsonContentFormatter extends AbstractContentFormatter {
         return b.build().toString().getBytes();
     }
 
+    @Override
+    public void feedContent(List<Record> records, OutputStream out) throws IOException {
+        // same layout as the array built by feedContent(List), one record at a time
+        out.write(initializeContent());
+        boolean first = true;
+        for (Record rec : records) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(converter.fromRecord(rec).toString().getBytes());
+            first = false;
+        }
+        out.write(finalizeContent());
+    }
+
     @Override
     public boolean hasHeader() {
         return true;
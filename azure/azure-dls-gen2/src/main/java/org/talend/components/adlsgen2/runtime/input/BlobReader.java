@@ -17,6 +17,7 @@ import javax.json.JsonBuilderFactory;
 import org.talend.components.adlsgen2.input.InputConfiguration;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.adlsgen2.service.BlobInformations;
+import org.talend.components.common.listing.ParallelPrefixListing;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import lombok.AccessLevel;
@@ -24,7 +25,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public abstract class BlobReader {
+public abstract class BlobReader implements AutoCloseable {
 
     protected RecordBuilderFactory recordBuilderFactory;
 
@@ -34,13 +35,15 @@ public abstract class BlobReader {
 
     protected final AdlsGen2Service service;
 
+    private final ParallelPrefixListing<BlobInformations> listing;
+
     public BlobReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
             AdlsGen2Service service) {
         this.recordBuilderFactory = recordBuilderFactory;
         this.configuration = configuration;
         this.service = service;
-        Iterable<BlobInformations> blobItems = service.getBlobs(configuration.getDataSet());
-        iterator = initRecordIterator(blobItems);
+        listing = service.listBlobs(configuration.getDataSet());
+        iterator = initRecordIterator(() -> listing);
     }
 
     protected abstract RecordIterator initRecordIterator(Iterable<BlobInformations> blobItems);
@@ -49,6 +52,14 @@ public abstract class BlobReader {
         return iterator.next();
     }
 
+    /**
+     * Stop the blob listing if the reader is released before reaching the end.
+     */
+    @Override
+    public void close() {
+        listing.close();
+    }
+
     public static class BlobFileReaderFactory {
 
         private static JsonBuilderFactory jsonFactory;
@@ -12,20 +12,11 @@
  */
 package org.talend.components.adlsgen2.runtime.output;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-
 import javax.json.JsonBuilderFactory;
 
-import org.apache.avro.file.DataFileWriter;
-import org.apache.avro.generic.GenericDatumWriter;
-import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.DatumWriter;
 import org.talend.components.adlsgen2.output.OutputConfiguration;
+import org.talend.components.adlsgen2.runtime.formatter.AvroContentFormatter;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
-import org.talend.components.common.Constants;
-import org.talend.components.common.stream.output.avro.RecordToAvro;
-import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.extern.slf4j.Slf4j;
@@ -35,12 +26,12 @@ public class AvroBlobWriter extends BlobWriter {
 
     public static final String EXT_AVRO = ".avro";
 
-    private RecordToAvro converter;
+    private AvroContentFormatter formatter;
 
     public AvroBlobWriter(OutputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
             JsonBuilderFactory jsonFactory, AdlsGen2Service service) {
         super(configuration, recordBuilderFactory, jsonFactory, service);
-        converter = new RecordToAvro(Constants.ADLS_NAMESPACE);
+        formatter = new AvroContentFormatter(configuration, recordBuilderFactory);
     }
 
     @Override
@@ -53,25 +44,8 @@ public class AvroBlobWriter extends BlobWriter {
         if (getBatch().isEmpty()) {
             return;
         }
-        byte[] contents = convertBatchToBytes();
-        uploadContent(contents);
+        uploadContent(out -> formatter.feedContent(getBatch(), out));
         getBatch().clear();
         currentItem.setBlobPath("");
     }
-
-    private byte[] convertBatchToBytes() {
-        try {
-            ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
-            DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
-            dataFileWriter.create(converter.fromRecordSchema(getSchema()), byteBuffer);
-            for (Record rec : getBatch()) {
-                dataFileWriter.append(converter.fromRecord(rec));
-            }
-            dataFileWriter.flush();
-            return byteBuffer.toByteArray();
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
-        }
-    }
 }
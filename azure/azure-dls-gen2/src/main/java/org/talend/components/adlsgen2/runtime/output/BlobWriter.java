@@ -12,22 +12,35 @@
  */
 package org.talend.components.adlsgen2.runtime.output;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.json.JsonBuilderFactory;
 import org.talend.components.adlsgen2.output.OutputConfiguration;
+import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.adlsgen2.service.BlobInformations;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import com.azure.storage.file.datalake.models.DataLakeStorageException;
 import lombok.extern.slf4j.Slf4j;
 import static java.util.Optional.ofNullable;
 
 @Slf4j
 public abstract class BlobWriter {
 
+    private static final int MEGABYTE = 1024 * 1024;
+
+    private static final int HTTP_CONFLICT = 409;
+
+    private static final int MAX_NAME_ATTEMPTS = 5;
+
     protected final AdlsGen2Service service;
 
     protected final JsonBuilderFactory jsonFactory;
@@ -42,6 +55,8 @@ public abstract class BlobWriter {
 
     protected BlobInformations currentItem = null;
 
+    private ExecutorService uploadExecutor;
+
     public BlobWriter(OutputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
             JsonBuilderFactory jsonFactory, AdlsGen2Service service) {
         this.configuration = configuration;
@@ -60,11 +75,8 @@ public abstract class BlobWriter {
         if (!directoryName.endsWith("/")) {
             directoryName += "/";
         }
-        String blobName = directoryName + configuration.getBlobNameTemplate() + UUID.randomUUID() + extension;
-        while (service.blobExists(configuration.getDataSet(), blobName)) {
-            blobName = directoryName + configuration.getBlobNameTemplate() + UUID.randomUUID() + extension;
-        }
-        currentItem.setBlobPath(blobName);
+        // uniqueness is enforced when creating the path, see uploadContent
+        currentItem.setBlobPath(directoryName + configuration.getBlobNameTemplate() + UUID.randomUUID() + extension);
     }
 
     public void newBatch() {
@@ -81,21 +93,77 @@ public abstract class BlobWriter {
         batch.add(rec);
     }
 
-    protected void uploadContent(byte[] content) {
-        generateFile();
+    /**
+     * Create a new blob and stream the content produced by {@code contentWriter} to it with staged parallel appends.
+     * The blob is flushed once all content is written, so appended data is never committed partially. The path being
+     * created empty before any append, it is deleted when the upload fails.
+     */
+    protected void uploadContent(ContentWriter contentWriter) {
+        String oldBlobPath = configuration.getDataSet().getBlobPath();
+        try {
+            createUniquePath();
+            StagedBlobOutputStream out = new StagedBlobOutputStream(service, configuration.getDataSet(),
+                    getUploadExecutor(), configuration.getUploadChunkSize() * MEGABYTE,
+                    configuration.getMaxConcurrentUploads());
+            try {
+                contentWriter.writeTo(out);
+                out.close();
+            } catch (IOException | RuntimeException e) {
+                out.abort();
+                deleteFailedPath();
+                throw e;
+            }
+        } catch (IOException e) {
+            log.error("[uploadContent] {}", e.getMessage());
+            throw new AdlsGen2RuntimeException(e.getMessage(), e);
+        } finally {
+            // reset name
+            currentItem.setBlobPath("");
+            configuration.getDataSet().setBlobPath(oldBlobPath);
+        }
+    }
+
+    /**
+     * Create the target path without overwriting. A name clash, which replaces the former existence probe, is
+     * retried with a newly generated name.
+     */
+    private void createUniquePath() {
         String oldBlobPath = configuration.getDataSet().getBlobPath();
-        configuration.getDataSet().setBlobPath(currentItem.getBlobPath());
-        // path create
-        service.pathCreate(configuration.getDataSet());
-        long position = 0;
-        // update blob
-        service.pathUpdate(configuration.getDataSet(), content, position);
-        position += content.length; // cumulate length of written records for current offset
-        // flush blob
-        service.flushBlob(configuration.getDataSet(), position);
-        // reset name
-        currentItem.setBlobPath("");
-        configuration.getDataSet().setBlobPath(oldBlobPath);
+        for (int attempt = 1;; attempt++) {
+            generateFile();
+            configuration.getDataSet().setBlobPath(currentItem.getBlobPath());
+            try {
+                service.pathCreate(configuration.getDataSet(), false);
+                return;
+            } catch (DataLakeStorageException e) {
+                if (e.getStatusCode() != HTTP_CONFLICT || attempt >= MAX_NAME_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("[createUniquePath] {} already exists, generating another name.", currentItem.getBlobPath());
+                configuration.getDataSet().setBlobPath(oldBlobPath);
+            }
+        }
+    }
+
+    private void deleteFailedPath() {
+        try {
+            service.pathDelete(configuration.getDataSet());
+        } catch (RuntimeException e) {
+            log.warn("[deleteFailedPath] Can't delete {} after a failed upload: {}", currentItem.getBlobPath(),
+                    e.getMessage());
+        }
+    }
+
+    private ExecutorService getUploadExecutor() {
+        if (uploadExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            uploadExecutor = Executors.newFixedThreadPool(configuration.getMaxConcurrentUploads(), r -> {
+                Thread thread = new Thread(r, "adlsgen2-upload-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return uploadExecutor;
     }
 
     public List<Record> getBatch() {
@@ -123,10 +191,26 @@ public abstract class BlobWriter {
      * Finish everything
      */
     public void complete() throws Exception {
-        ofNullable(getBatch()).filter(list -> !list.isEmpty()).ifPresent(list -> {
-            log.info("[complete] Executing last batch with {} records", list.size());
-            flush();
-        });
+        try {
+            ofNullable(getBatch()).filter(list -> !list.isEmpty()).ifPresent(list -> {
+                log.info("[complete] Executing last batch with {} records", list.size());
+                flush();
+            });
+        } finally {
+            if (uploadExecutor != null) {
+                uploadExecutor.shutdownNow();
+                uploadExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * Serializes a batch content to the blob stream.
+     */
+    @FunctionalInterface
+    protected interface ContentWriter {
+
+        void writeTo(OutputStream out) throws IOException;
     }
 
 }
@@ -42,8 +42,7 @@ public class JsonBlobWriter extends BlobWriter {
         if (getBatch().isEmpty()) {
             return;
         }
-        byte[] contentBytes = formatter.feedContent(getBatch());
-        uploadContent(contentBytes);
+        uploadContent(out -> formatter.feedContent(getBatch(), out));
         getBatch().clear();
         currentItem.setBlobPath("");
     }
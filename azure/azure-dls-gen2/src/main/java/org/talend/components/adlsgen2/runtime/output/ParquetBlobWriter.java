@@ -73,7 +73,8 @@ public class ParquetBlobWriter extends BlobWriter {
                 writer.write(converter.fromRecord(r));
             }
             writer.close();
-            uploadContent(Files.readAllBytes(tempFilePath.toPath()));
+            final java.nio.file.Path content = tempFilePath.toPath();
+            uploadContent(out -> Files.copy(content, out));
         } catch (IOException e) {
             throw new AdlsGen2RuntimeException(e.getMessage(), e);
         } finally {
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.adlsgen2.runtime.output;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
+import org.talend.components.adlsgen2.service.AdlsGen2Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Output stream staging its content to an already created ADLS Gen2 path.
+ * <p>
+ * Written bytes are gathered into fixed-size chunks, each full chunk is appended at its own offset by the executor
+ * while the caller keeps on serializing the next one. At most {@code maxInFlight} chunks are pending at any time, so
+ * memory is bounded by {@code (maxInFlight + 1) * chunkSize} whatever the blob size. Chunks are allocated when needed
+ * and recycled once appended, so a small blob only costs the chunks it fills. {@link #close()} uploads the last
+ * chunk, waits for all appends and flushes the path once.
+ */
+@Slf4j
+public class StagedBlobOutputStream extends OutputStream {
+
+    private final AdlsGen2Service service;
+
+    private final AdlsGen2DataSet dataSet;
+
+    private final ExecutorService executor;
+
+    private final int chunkSize;
+
+    private final int maxBuffers;
+
+    private final BlockingQueue<byte[]> freeBuffers;
+
+    private int allocatedBuffers;
+
+    private final List<Future<?>> pendingAppends = new ArrayList<>();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private byte[] buffer;
+
+    private int count;
+
+    private long position;
+
+    private boolean closed;
+
+    public StagedBlobOutputStream(AdlsGen2Service service, AdlsGen2DataSet dataSet, ExecutorService executor,
+            int chunkSize, int maxInFlight) {
+        this.service = service;
+        this.dataSet = dataSet;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        // chunks being appended plus the one being filled
+        this.maxBuffers = maxInFlight + 1;
+        this.freeBuffers = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (buffer == null) {
+            buffer = nextBuffer();
+        } else if (count == chunkSize) {
+            stageChunk();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (buffer == null) {
+                buffer = nextBuffer();
+            } else if (count == chunkSize) {
+                stageChunk();
+            }
+            int copied = Math.min(len, chunkSize - count);
+            System.arraycopy(b, off, buffer, count, copied);
+            count += copied;
+            off += copied;
+            len -= copied;
+        }
+    }
+
+    /**
+     * Upload remaining bytes, wait for every append and flush the path to the final length.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (count > 0) {
+                submitAppend(Arrays.copyOf(buffer, count), false);
+                count = 0;
+            }
+            awaitAppends();
+            service.flushBlob(dataSet, position);
+            log.debug("[close] Flushed {} bytes to {}.", position, dataSet.getBlobPath());
+        } finally {
+            closed = true;
+        }
+    }
+
+    /**
+     * Give up on this blob: nothing is flushed, so no content gets committed. Queued appends are skipped and running
+     * ones are awaited, so that none of them lands after the path is deleted.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        failure.compareAndSet(null, new IOException("Upload aborted"));
+        try {
+            awaitAppends();
+        } catch (IOException e) {
+            log.debug("[abort] {}", e.getMessage());
+        }
+    }
+
+    public long getPosition() {
+        return position + count;
+    }
+
+    private void stageChunk() throws IOException {
+        submitAppend(buffer, true);
+        buffer = nextBuffer();
+        count = 0;
+        checkFailure();
+    }
+
+    /**
+     * A recycled chunk if any, a new one while below the memory bound, else wait for an append to complete.
+     */
+    private byte[] nextBuffer() throws IOException {
+        byte[] free = freeBuffers.poll();
+        if (free != null) {
+            return free;
+        }
+        if (allocatedBuffers < maxBuffers) {
+            allocatedBuffers++;
+            return new byte[chunkSize];
+        }
+        try {
+            return freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    private void submitAppend(final byte[] chunk, final boolean recycle) {
+        final long offset = position;
+        position += chunk.length;
+        pendingAppends.add(executor.submit(() -> {
+            try {
+                if (failure.get() == null) {
+                    service.pathUpdate(dataSet, chunk, offset);
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                if (recycle) {
+                    freeBuffers.offer(chunk);
+                }
+            }
+        }));
+        pendingAppends.removeIf(Future::isDone);
+    }
+
+    private void awaitAppends() throws IOException {
+        try {
+            for (Future<?> append : pendingAppends) {
+                try {
+                    append.get();
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } finally {
+            pendingAppends.clear();
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw new IOException("Failed to append content to " + dataSet.getBlobPath() + ": " + t.getMessage(), t);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        checkFailure();
+    }
+}
@@ -14,6 +14,7 @@ package org.talend.components.adlsgen2.service;
 
 import com.azure.core.credential.AzureSasCredential;
 import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
 import com.azure.core.util.Configuration;
 import com.azure.core.util.ConfigurationBuilder;
 import com.azure.core.util.Context;
@@ -33,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.talend.components.adlsgen2.common.format.FileFormat;
 import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
 import org.talend.components.adlsgen2.datastore.AdlsGen2Connection;
+import org.talend.components.common.listing.ParallelPrefixListing;
 import org.talend.sdk.component.api.service.Service;
 
 import java.io.ByteArrayInputStream;
@@ -40,6 +42,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -114,8 +118,15 @@ public class AdlsGen2Service {
 
     @SuppressWarnings("unchecked")
     public boolean pathCreate(AdlsGen2DataSet dataSet) {
+        return pathCreate(dataSet, true);
+    }
+
+    /**
+     * When {@code overwrite} is false, creation fails with a 409 conflict if the path already exists.
+     */
+    public boolean pathCreate(AdlsGen2DataSet dataSet, boolean overwrite) {
         DataLakeServiceClient client = getDataLakeConnectionClient(dataSet.getConnection());
-        return pathCreate(client, dataSet.getFilesystem(), dataSet.getBlobPath(), true,
+        return pathCreate(client, dataSet.getFilesystem(), dataSet.getBlobPath(), overwrite,
                 dataSet.getConnection().getTimeout());
     }
 
@@ -135,6 +146,18 @@ public class AdlsGen2Service {
         return fileClient.existsWithResponse(Duration.of(timeout, SECONDS), Context.NONE).getValue();
     }
 
+    /**
+     * Delete the file of the dataset blob path, used to remove a file left empty by a failed upload.
+     */
+    public void pathDelete(AdlsGen2DataSet dataSet) {
+        DataLakeServiceClient client = getDataLakeConnectionClient(dataSet.getConnection());
+        client.getFileSystemClient(dataSet.getFilesystem())
+                .getFileClient(dataSet.getBlobPath())
+                .deleteWithResponse(new DataLakeRequestConditions(),
+                        Duration.of(dataSet.getConnection().getTimeout().longValue(), SECONDS),
+                        Context.NONE);
+    }
+
     @SuppressWarnings("unchecked")
     public void pathUpdate(AdlsGen2DataSet dataSet, byte[] content, long position) {
         DataLakeServiceClient client = getDataLakeConnectionClient(dataSet.getConnection());
@@ -199,50 +222,75 @@ public class AdlsGen2Service {
 
     public List<BlobInformations> getBlobs(AdlsGen2Connection adlsGen2Connection, String filesystem,
             String blobPath, FileFormat format, boolean includeSubDirectory) {
+        List<BlobInformations> blobs = new ArrayList<>();
+        listBlobs(adlsGen2Connection, filesystem, blobPath, format, includeSubDirectory).forEachRemaining(blobs::add);
+        return blobs;
+    }
+
+    public ParallelPrefixListing<BlobInformations> listBlobs(final AdlsGen2DataSet dataSet) {
+        return listBlobs(dataSet.getConnection(), dataSet.getFilesystem(), dataSet.getBlobPath(),
+                dataSet.getFormat(), false);
+    }
+
+    /**
+     * Stream the blobs of a directory, page by page, without materializing the whole listing. Sub-directories, when
+     * included, are listed in parallel. The listing must be closed when it is not consumed up to its end.
+     */
+    public ParallelPrefixListing<BlobInformations> listBlobs(AdlsGen2Connection adlsGen2Connection, String filesystem,
+            String blobPath, FileFormat format, boolean includeSubDirectory) {
         if (format == FileFormat.DELTA) {
             // delta format is a "directory" contains parquet files and subdir with json and crc files, so no need to
             // fetch all child paths.
             // TODO check if we can obtain it with recursive=true in URL
-            List<BlobInformations> result = new ArrayList<>();
             BlobInformations info = new BlobInformations();
             info.setBlobPath(blobPath);
-            result.add(info);
-            return result;
+            return new ParallelPrefixListing<>(blobPath,
+                    (directory, continuation) -> ParallelPrefixListing.Page.of(Collections.singletonList(info), null));
         }
 
         DataLakeServiceClient client = getDataLakeConnectionClient(adlsGen2Connection);
         DataLakeFileSystemClient fileSystemClient =
                 client.getFileSystemClient(filesystem);
-        DataLakeDirectoryClient directoryClient = fileSystemClient
-                .getDirectoryClient(blobPath);
-        PagedIterable<PathItem> pathItems = directoryClient.listPaths(false, false, null,
-                Duration.of(adlsGen2Connection.getTimeout().longValue(), SECONDS));
+        Duration timeout = Duration.of(adlsGen2Connection.getTimeout().longValue(), SECONDS);
+        return new ParallelPrefixListing<>(blobPath, (directory, continuation) -> listPathPage(fileSystemClient,
+                directory, (String) continuation, includeSubDirectory, timeout));
+    }
+
+    private ParallelPrefixListing.Page<BlobInformations> listPathPage(DataLakeFileSystemClient fileSystemClient,
+            String directory, String continuation, boolean includeSubDirectory, Duration timeout) {
+        PagedIterable<PathItem> pathItems = fileSystemClient
+                .getDirectoryClient(directory)
+                .listPaths(false, false, null, timeout);
+        Iterator<PagedResponse<PathItem>> pages =
+                (continuation == null ? pathItems.iterableByPage() : pathItems.iterableByPage(continuation))
+                        .iterator();
+        if (!pages.hasNext()) {
+            return ParallelPrefixListing.Page.of(Collections.emptyList(), null);
+        }
+        PagedResponse<PathItem> page = pages.next();
         List<BlobInformations> blobs = new ArrayList<>();
-        if (includeSubDirectory) {
-            pathItems
-                    .forEach(pathItem -> {
-                        if (pathItem.isDirectory()) {
-                            blobs.addAll(getBlobs(adlsGen2Connection, filesystem, pathItem.getName(), null, true));
-                        }
-                    });
+        List<String> subDirectories = new ArrayList<>();
+        for (PathItem pathItem : page.getValue()) {
+            if (!pathItem.isDirectory()) {
+                blobs.add(toBlobInformations(pathItem));
+            } else if (includeSubDirectory) {
+                subDirectories.add(pathItem.getName());
+            }
         }
-        blobs.addAll(pathItems
-                .stream()
-                .filter(pathItem -> !pathItem.isDirectory())
-                .map(pathItem -> {
-                    BlobInformations info = new BlobInformations();
-                    info.setName(pathItem.getName());
-                    info.setFileName(extractFileName(pathItem.getName()));
-                    info.setBlobPath(pathItem.getName());
-                    info.setDirectory(extractFolderPath(pathItem.getName()));
-                    info.setExists(true);
-                    info.setEtag(pathItem.getETag());
-                    info.setContentLength(pathItem.getContentLength());
-                    info.setLastModified(pathItem.getLastModified().toString());
-                    return info;
-                })
-                .collect(Collectors.toList()));
-        return blobs;
+        return new ParallelPrefixListing.Page<>(blobs, subDirectories, page.getContinuationToken());
+    }
+
+    private BlobInformations toBlobInformations(PathItem pathItem) {
+        BlobInformations info = new BlobInformations();
+        info.setName(pathItem.getName());
+        info.setFileName(extractFileName(pathItem.getName()));
+        info.setBlobPath(pathItem.getName());
+        info.setDirectory(extractFolderPath(pathItem.getName()));
+        info.setExists(true);
+        info.setEtag(pathItem.getETag());
+        info.setContentLength(pathItem.getContentLength());
+        info.setLastModified(pathItem.getLastModified().toString());
+        return info;
     }
 
     public DataLakeFileClient getDataLakeFileClient(AdlsGen2Connection adlsGen2Connection, String filesystem,
@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -66,7 +67,7 @@ class JsonBlobWriterTest {
             }
 
             @Override
-            public boolean pathCreate(AdlsGen2DataSet dataSet) {
+            public boolean pathCreate(AdlsGen2DataSet dataSet, boolean overwrite) {
                 return true;
             }
 
@@ -94,6 +95,55 @@ class JsonBlobWriterTest {
         Assertions.assertEquals("value Inner_1_1", innerObject.getString("inner"));
     }
 
+    @Test
+    void failedUploadDeletesCreatedPath() {
+        final OutputConfiguration config = new OutputConfiguration();
+        AdlsGen2DataSet dataSet = new AdlsGen2DataSet();
+        config.setDataSet(dataSet);
+        dataSet.setBlobPath("the/path");
+        config.setBlobNameTemplate("result");
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+        final AtomicReference<String> created = new AtomicReference<>();
+        final AtomicReference<String> deleted = new AtomicReference<>();
+        final AdlsGen2Service service = new AdlsGen2Service() {
+
+            @Override
+            public boolean pathCreate(AdlsGen2DataSet dataSet, boolean overwrite) {
+                created.set(dataSet.getBlobPath());
+                return true;
+            }
+
+            @Override
+            public void pathUpdate(AdlsGen2DataSet dataSet, byte[] content, long position) {
+                throw new IllegalStateException("append failed");
+            }
+
+            @Override
+            public void pathDelete(AdlsGen2DataSet dataSet) {
+                deleted.set(dataSet.getBlobPath());
+            }
+
+            @Override
+            public void flushBlob(AdlsGen2DataSet dataSet, long position) {
+                Assertions.fail("a failed upload must not be flushed");
+            }
+        };
+        final JsonBlobWriter writer = new JsonBlobWriter(config,
+                factory,
+                Json.createBuilderFactory(Collections.emptyMap()),
+                service);
+
+        writer.newBatch();
+        final Schema schema = this.buildSchema(factory);
+        writer.writeRecord(this.buildRecord(schema, factory, 1));
+
+        Assertions.assertThrows(RuntimeException.class, writer::flush);
+        Assertions.assertNotNull(created.get());
+        Assertions.assertEquals(created.get(), deleted.get());
+        Assertions.assertEquals("the/path", dataSet.getBlobPath());
+    }
+
     private Record buildRecord(final Schema schema,
             final RecordBuilderFactory factory,
             int index) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.adlsgen2.runtime.output;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
+import org.talend.components.adlsgen2.service.AdlsGen2Service;
+
+class StagedBlobOutputStreamTest {
+
+    private final Map<Long, byte[]> appended = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong flushedPosition = new AtomicLong(-1);
+
+    private ExecutorService executor;
+
+    private AdlsGen2Service service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        service = new AdlsGen2Service() {
+
+            @Override
+            public void pathUpdate(AdlsGen2DataSet dataSet, byte[] content, long position) {
+                appended.put(position, content.clone());
+            }
+
+            @Override
+            public void flushBlob(AdlsGen2DataSet dataSet, long position) {
+                flushedPosition.set(position);
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void appendsChunksAtIncreasingOffsets() throws IOException {
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        try (StagedBlobOutputStream out = new StagedBlobOutputStream(service, new AdlsGen2DataSet(), executor, 64, 2)) {
+            out.write(content, 0, 500);
+            for (int i = 500; i < content.length; i++) {
+                out.write(content[i]);
+            }
+        }
+
+        Assertions.assertEquals(content.length, flushedPosition.get());
+        Assertions.assertEquals(16, appended.size());
+        long expectedOffset = 0;
+        for (Map.Entry<Long, byte[]> chunk : appended.entrySet()) {
+            Assertions.assertEquals(expectedOffset, chunk.getKey());
+            for (int i = 0; i < chunk.getValue().length; i++) {
+                Assertions.assertEquals(content[(int) expectedOffset + i], chunk.getValue()[i]);
+            }
+            expectedOffset += chunk.getValue().length;
+        }
+    }
+
+    @Test
+    void failedAppendIsNotFlushed() {
+        AdlsGen2Service failing = new AdlsGen2Service() {
+
+            @Override
+            public void pathUpdate(AdlsGen2DataSet dataSet, byte[] content, long position) {
+                throw new IllegalStateException("append failed");
+            }
+
+            @Override
+            public void flushBlob(AdlsGen2DataSet dataSet, long position) {
+                flushedPosition.set(position);
+            }
+        };
+        StagedBlobOutputStream out = new StagedBlobOutputStream(failing, new AdlsGen2DataSet(), executor, 16, 1);
+
+        Assertions.assertThrows(IOException.class, () -> {
+            out.write(new byte[100]);
+            out.close();
+        });
+        Assertions.assertEquals(-1, flushedPosition.get());
+    }
+
+    @Test
+    void abortWaitsForRunningAppends() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        AdlsGen2Service slow = new AdlsGen2Service() {
+
+            @Override
+            public void pathUpdate(AdlsGen2DataSet dataSet, byte[] content, long position) {
+                started.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                appended.put(position, content.clone());
+            }
+        };
+        StagedBlobOutputStream out = new StagedBlobOutputStream(slow, new AdlsGen2DataSet(), executor, 16, 2);
+        out.write(new byte[40]);
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        out.abort();
+
+        // both running appends are done, so deleting the path afterwards cannot race with them
+        Assertions.assertEquals(2, appended.size());
+        Assertions.assertEquals(-1, flushedPosition.get());
+    }
+}
@@ -16,6 +16,10 @@ import java.io.Serializable;
 
 import org.talend.components.azure.dataset.AzureBlobDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +27,8 @@ import lombok.Data;
 
 @GridLayout({ @GridLayout.Row({ "dataset" }) })
 
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("blobNameTemplate") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("blobNameTemplate"),
+        @GridLayout.Row("stagedBlockUpload"), @GridLayout.Row({ "blockSize", "maxConcurrentBlockUploads" }) })
 @Documentation("Options for the output component")
 @Data
 public class BlobOutputConfiguration implements Serializable {
@@ -36,4 +41,25 @@ public class BlobOutputConfiguration implements Serializable {
     @Documentation("Generated blob item name prefix.\nBatch file would have name prefix + UUID + extension.\n"
             + "I.e. myPrefix-5deaa8ff-7d22-4b86-a864-9a6fa414501a.avro")
     private String blobNameTemplate = "data-";
+
+    @Option
+    @ActiveIf(target = "dataset.fileFormat", value = { "CSV", "JSON", "AVRO" })
+    @Documentation("Encode records into a stream uploaded as block blob blocks staged in parallel.\n"
+            + "CSV output is then written to a block blob committed at the end instead of an append blob.")
+    private boolean stagedBlockUpload;
+
+    @Option
+    @ActiveIfs({ @ActiveIf(target = "dataset.fileFormat", value = { "CSV", "JSON", "AVRO" }),
+            @ActiveIf(target = "stagedBlockUpload", value = "true") })
+    @Min(1)
+    @Max(100)
+    @Documentation("Size in MB of each staged block.")
+    private int blockSize = 4;
+
+    @Option
+    @ActiveIfs({ @ActiveIf(target = "dataset.fileFormat", value = { "CSV", "JSON", "AVRO" }),
+            @ActiveIf(target = "stagedBlockUpload", value = "true") })
+    @Min(1)
+    @Documentation("Maximum number of blocks uploaded concurrently.")
+    private int maxConcurrentBlockUploads = 4;
 }
\ No newline at end of file
@@ -20,11 +20,14 @@ import org.talend.components.azure.dataset.AzureBlobDataset;
 import org.talend.components.azure.service.AzureBlobComponentServices;
 import org.talend.components.azure.service.MessageService;
 import org.talend.components.common.formats.excel.ExcelFormat;
+import org.talend.components.common.listing.ParallelPrefixListing;
 import org.talend.components.common.service.azureblob.AzureComponentServices;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import com.microsoft.azure.storage.CloudStorageAccount;
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.ResultSegment;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.BlobListingDetails;
 import com.microsoft.azure.storage.blob.CloudBlob;
@@ -34,7 +37,13 @@ import com.microsoft.azure.storage.blob.ListBlobItem;
 import lombok.AccessLevel;
 import lombok.Getter;
 
-public abstract class BlobFileReader {
+/**
+ * Reads the blobs stored directly under the dataset directory, nested directories being skipped.
+ * <p>
+ * The listing is streamed through {@link ParallelPrefixListing}. As only one prefix is listed, there is no
+ * sub-prefix to fan out to: the only parallelism is the read-ahead of the next page while the current one is read.
+ */
+public abstract class BlobFileReader implements AutoCloseable {
 
     @Getter(AccessLevel.PROTECTED)
     private final MessageService messageService;
@@ -46,6 +55,8 @@ public abstract class BlobFileReader {
 
     private final AzureBlobDataset config;
 
+    private final ParallelPrefixListing<ListBlobItem> listing;
+
     public BlobFileReader(AzureBlobDataset config, RecordBuilderFactory recordBuilderFactory,
             AzureBlobComponentServices connectionServices, MessageService messageService)
             throws URISyntaxException, StorageException {
@@ -66,13 +77,32 @@ public abstract class BlobFileReader {
             directoryName += "/";
         }
 
-        Iterable<ListBlobItem> blobItems = container
-                .listBlobs(directoryName, false, EnumSet.noneOf(BlobListingDetails.class),
-                        null, AzureComponentServices.getTalendOperationContext());
-        if (!blobItems.iterator().hasNext()) {
+        // pages are streamed as they are listed, the next one being fetched while the current one is read. Nested
+        // directories are not read, so they are not returned as sub-prefixes
+        listing = new ParallelPrefixListing<>(directoryName,
+                (prefix, continuation) -> listBlobPage(container, prefix, (ResultContinuation) continuation));
+        if (!listing.hasNext()) {
+            listing.close();
             throw new RuntimeException("Folder doesn't exist/is empty");
         }
-        this.iterator = initItemRecordIterator(blobItems);
+        this.iterator = initItemRecordIterator(() -> listing);
+    }
+
+    private static ParallelPrefixListing.Page<ListBlobItem> listBlobPage(CloudBlobContainer container,
+            String prefix, ResultContinuation continuation) throws StorageException {
+        ResultSegment<ListBlobItem> segment = container
+                .listBlobsSegmented(prefix, false, EnumSet.noneOf(BlobListingDetails.class), null, continuation,
+                        null, AzureComponentServices.getTalendOperationContext());
+        return ParallelPrefixListing.Page
+                .of(segment.getResults(), segment.getHasMoreResults() ? segment.getContinuationToken() : null);
+    }
+
+    /**
+     * Stop the blob listing if the reader is released before reaching the end.
+     */
+    @Override
+    public void close() {
+        listing.close();
     }
 
     public CloudBlobContainer checkBlobContainer(AzureBlobDataset config, CloudBlobClient blobClient)
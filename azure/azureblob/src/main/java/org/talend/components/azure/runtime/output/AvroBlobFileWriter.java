@@ -14,6 +14,7 @@ package org.talend.components.azure.runtime.output;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.util.UUID;
 
@@ -30,13 +31,16 @@ import org.talend.sdk.component.api.record.Record;
 
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudBlob;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 
-public class AvroBlobFileWriter extends BlobFileWriter {
+public class AvroBlobFileWriter extends StagedBlobFileWriter {
 
     private BlobOutputConfiguration config;
 
     private RecordToAvro converter;
 
+    private DataFileWriter<GenericRecord> stagedWriter;
+
     public AvroBlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
             throws Exception {
         super(config, connectionServices);
@@ -67,8 +71,30 @@ public class AvroBlobFileWriter extends BlobFileWriter {
         }
     }
 
+    @Override
+    protected void encodeRecord(Record rec) throws IOException {
+        if (stagedWriter == null) {
+            try {
+                OutputStream out = openStagedBlockStream((CloudBlockBlob) getCurrentItem());
+                stagedWriter = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>())
+                        .create(converter.fromRecordSchema(getSchema()), out);
+            } catch (StorageException e) {
+                throw new IOException(e);
+            }
+        }
+        stagedWriter.append(converter.fromRecord(rec));
+    }
+
     @Override
     public void flush() throws StorageException, IOException {
+        if (isStagedBlockUpload()) {
+            if (stagedWriter != null) {
+                // closing the avro writer closes the blob stream, which commits the block list
+                stagedWriter.close();
+                stagedWriter = null;
+            }
+            return;
+        }
         if (getBatch().isEmpty()) {
             return;
         }
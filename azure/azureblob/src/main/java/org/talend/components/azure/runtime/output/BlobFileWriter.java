@@ -12,7 +12,9 @@
  */
 package org.talend.components.azure.runtime.output;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.util.LinkedList;
 import java.util.List;
@@ -25,9 +27,11 @@ import org.talend.sdk.component.api.record.Schema;
 
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.StorageException;
+import com.microsoft.azure.storage.blob.BlobRequestOptions;
 import com.microsoft.azure.storage.blob.CloudBlob;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -43,8 +47,14 @@ public abstract class BlobFileWriter {
 
     private String directoryName;
 
+    private final int blockSizeInBytes;
+
+    private final int maxConcurrentBlockUploads;
+
     public BlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
             throws Exception {
+        blockSizeInBytes = config.getBlockSize() * 1024 * 1024;
+        maxConcurrentBlockUploads = config.getMaxConcurrentBlockUploads();
         CloudStorageAccount connection = connectionServices.createStorageAccount(config.getDataset().getConnection());
         CloudBlobClient blobClient = connectionServices
                 .getConnectionService()
@@ -84,6 +94,20 @@ public abstract class BlobFileWriter {
         batch.add(rec);
     }
 
+    /**
+     * Open a stream on a block blob: written bytes are cut into blocks uploaded in parallel by the SDK (bounded
+     * number of pending blocks), the block list being committed when the stream is closed.
+     * Flushes are not forwarded to the blob stream: it would upload its partial buffer as an undersized block and
+     * wait for all pending uploads, so only full blocks and the last one on close reach the blob.
+     */
+    protected OutputStream openStagedBlockStream(CloudBlockBlob blob) throws StorageException {
+        blob.setStreamWriteSizeInBytes(blockSizeInBytes);
+        BlobRequestOptions options = new BlobRequestOptions();
+        options.setConcurrentRequestCount(maxConcurrentBlockUploads);
+        return new NonFlushingOutputStream(
+                blob.openOutputStream(null, options, AzureComponentServices.getTalendOperationContext()));
+    }
+
     protected List<Record> getBatch() {
         return batch;
     }
@@ -104,6 +128,10 @@ public abstract class BlobFileWriter {
         return schema;
     }
 
+    protected void setSchema(Schema schema) {
+        this.schema = schema;
+    }
+
     /**
      * Upload prepared batch
      *
@@ -125,4 +153,21 @@ public abstract class BlobFileWriter {
 
     }
 
+
+    private static class NonFlushingOutputStream extends FilterOutputStream {
+
+        NonFlushingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            // blocks are uploaded once full, the last one when the stream is closed
+        }
+    }
 }
@@ -13,8 +13,12 @@
 package org.talend.components.azure.runtime.output;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.UUID;
@@ -31,10 +35,11 @@ import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudAppendBlob;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class CSVBlobFileWriter extends BlobFileWriter {
+public class CSVBlobFileWriter extends StagedBlobFileWriter {
 
     private BlobOutputConfiguration config;
 
@@ -42,6 +47,8 @@ public class CSVBlobFileWriter extends BlobFileWriter {
 
     private boolean fileIsEmpty = true;
 
+    private CSVPrinter stagedPrinter;
+
     public CSVBlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
             throws Exception {
         super(config, connectionServices);
@@ -52,11 +59,15 @@ public class CSVBlobFileWriter extends BlobFileWriter {
 
     @Override
     public void generateFile(String directoryName) throws URISyntaxException, StorageException {
+        if (isStagedBlockUpload()) {
+            generateStagedFile(directoryName);
+            return;
+        }
         String itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".csv";
         CloudAppendBlob currentItem = getContainer().getAppendBlobReference(itemName);
 
         while (currentItem.exists(null, null, AzureComponentServices.getTalendOperationContext())) {
-            itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".avro";
+            itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".csv";
             currentItem = getContainer().getAppendBlobReference(itemName);
         }
 
@@ -64,6 +75,37 @@ public class CSVBlobFileWriter extends BlobFileWriter {
         setCurrentItem(currentItem);
     }
 
+    private void generateStagedFile(String directoryName) throws URISyntaxException, StorageException {
+        String itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".csv";
+        CloudBlockBlob currentItem = getContainer().getBlockBlobReference(itemName);
+
+        while (currentItem.exists(null, null, AzureComponentServices.getTalendOperationContext())) {
+            itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".csv";
+            currentItem = getContainer().getBlockBlobReference(itemName);
+        }
+
+        Writer writer = new OutputStreamWriter(openStagedBlockStream(currentItem),
+                Charset.forName(AzureBlobFormatUtils.getUsedEncodingValue(config.getDataset())));
+        try {
+            stagedPrinter = new CSVPrinter(writer, CSVConverter.of(null, configCSV).getCsvFormat());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        setCurrentItem(currentItem);
+    }
+
+    @Override
+    protected void encodeRecord(Record rec) throws IOException {
+        if (fileIsEmpty && configCSV.isUseHeader() && configCSV.getHeader() > 0) {
+            String header = buildHeader();
+            if (header != null) {
+                stagedPrinter.getOut().append(header);
+            }
+        }
+        fileIsEmpty = false;
+        stagedPrinter.printRecord(convertRecordToArray(rec));
+    }
+
     @Override
     public void newBatch() {
         super.newBatch();
@@ -79,6 +121,11 @@ public class CSVBlobFileWriter extends BlobFileWriter {
 
     @Override
     public void flush() throws IOException, StorageException {
+        if (isStagedBlockUpload()) {
+            // nothing to do at the end of a group: full blocks are already being uploaded, the last one and the
+            // block list are committed on complete()
+            return;
+        }
         if (getBatch().isEmpty()) {
             return;
         }
@@ -98,9 +145,27 @@ public class CSVBlobFileWriter extends BlobFileWriter {
         getBatch().clear();
     }
 
+    @Override
+    public void complete() throws Exception {
+        super.complete();
+        if (stagedPrinter != null) {
+            // closing the underlying blob stream commits the staged block list
+            stagedPrinter.close();
+            stagedPrinter = null;
+        }
+    }
+
     private void appendHeader() throws IOException, StorageException {
-        if (getSchema() == null || getSchema().getEntries().isEmpty())
+        String header = buildHeader();
+        if (header == null)
             return;
+        ((CloudAppendBlob) getCurrentItem()).appendText(header);
+        fileIsEmpty = false;
+    }
+
+    private String buildHeader() {
+        if (getSchema() == null || getSchema().getEntries().isEmpty())
+            return null;
         StringBuilder headerBuilder = new StringBuilder();
         for (int i = 0; i < configCSV.getHeader() - 1; i++) {
             headerBuilder.append("//header line").append(FormatUtils.getRecordDelimiterValue(configCSV));
@@ -112,9 +177,7 @@ public class CSVBlobFileWriter extends BlobFileWriter {
                     .append(FormatUtils.getFieldDelimiterValue(configCSV))
                     .append(getSchema().getEntries().get(i).getName());
         }
-        ((CloudAppendBlob) getCurrentItem())
-                .appendText(headerBuilder.toString() + FormatUtils.getRecordDelimiterValue(configCSV));
-        fileIsEmpty = false;
+        return headerBuilder.append(FormatUtils.getRecordDelimiterValue(configCSV)).toString();
     }
 
     private String convertBatchToString() throws IOException {
@@ -13,6 +13,8 @@
 package org.talend.components.azure.runtime.output;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.util.UUID;
 
@@ -26,9 +28,9 @@ import org.talend.components.common.stream.output.json.RecordToJson;
 import org.talend.sdk.component.api.record.Record;
 
 import com.microsoft.azure.storage.StorageException;
-import com.microsoft.azure.storage.blob.CloudBlob;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 
-public class JsonBlobFileWriter extends BlobFileWriter {
+public class JsonBlobFileWriter extends StagedBlobFileWriter {
 
     private final BlobOutputConfiguration config;
 
@@ -36,6 +38,10 @@ public class JsonBlobFileWriter extends BlobFileWriter {
 
     private JsonBuilderFactory jsonBuilderFactory;
 
+    private OutputStream stagedStream;
+
+    private boolean firstStagedRecord;
+
     public JsonBlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
             throws Exception {
         super(config, connectionServices);
@@ -59,17 +65,49 @@ public class JsonBlobFileWriter extends BlobFileWriter {
     @Override
     protected void generateFile(String directoryName) throws URISyntaxException, StorageException {
         String fileName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".json";
-        CloudBlob blob = getContainer().getBlockBlobReference(fileName);
+        CloudBlockBlob blob = getContainer().getBlockBlobReference(fileName);
         while (blob.exists(null, null, AzureComponentServices.getTalendOperationContext())) {
             fileName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".json";
             blob = getContainer().getBlockBlobReference(fileName);
         }
 
         setCurrentItem(blob);
+        if (isStagedBlockUpload()) {
+            stagedStream = openStagedBlockStream(blob);
+            try {
+                stagedStream.write('[');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            firstStagedRecord = true;
+        }
+    }
+
+    @Override
+    protected void encodeRecord(Record rec) throws IOException {
+        if (!firstStagedRecord) {
+            stagedStream.write(',');
+        }
+        stagedStream.write(converter.fromRecord(rec).toString().getBytes());
+        firstStagedRecord = false;
     }
 
     @Override
     public void flush() throws IOException, StorageException {
+        if (isStagedBlockUpload()) {
+            if (stagedStream == null) {
+                // no file opened since the last flush
+                return;
+            }
+            try {
+                stagedStream.write(']');
+                // commits the block list of this batch file
+                stagedStream.close();
+            } finally {
+                stagedStream = null;
+            }
+            return;
+        }
         byte[] batchBytes = convertBatchToBytes();
         getCurrentItem().uploadFromByteArray(batchBytes, 0, batchBytes.length);
         getBatch().clear();
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.azure.runtime.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.talend.components.azure.output.BlobOutputConfiguration;
+import org.talend.components.azure.service.AzureBlobComponentServices;
+import org.talend.sdk.component.api.record.Record;
+
+/**
+ * Writer of a format that can be encoded record per record: when staged block upload is enabled, records are encoded
+ * straight into the block blob stream opened by {@link #openStagedBlockStream} instead of being batched in memory.
+ */
+public abstract class StagedBlobFileWriter extends BlobFileWriter {
+
+    private final boolean stagedBlockUpload;
+
+    public StagedBlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
+            throws Exception {
+        super(config, connectionServices);
+        stagedBlockUpload = config.isStagedBlockUpload();
+    }
+
+    @Override
+    public void writeRecord(Record rec) {
+        if (!stagedBlockUpload) {
+            super.writeRecord(rec);
+            return;
+        }
+
+        if (getSchema() == null) {
+            setSchema(rec.getSchema());
+        }
+        try {
+            encodeRecord(rec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encode a record into the current blob stream, used instead of batching when staged block upload is enabled.
+     */
+    protected abstract void encodeRecord(Record rec) throws IOException;
+
+    protected boolean isStagedBlockUpload() {
+        return stagedBlockUpload;
+    }
+}
@@ -12,10 +12,10 @@
  */
 package org.talend.components.azure.runtime.output.excel;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,20 +27,36 @@ import org.talend.components.common.formats.excel.ExcelFormat;
 import org.talend.components.common.service.azureblob.AzureComponentServices;
 import org.talend.components.azure.output.BlobOutputConfiguration;
 import org.talend.components.common.converters.ExcelConverter;
+import org.talend.components.common.stream.format.excel.ExcelConfiguration;
+import org.talend.components.common.stream.output.excel.ExcelWriter;
 import org.talend.components.azure.runtime.output.BlobFileWriter;
 import org.talend.components.azure.service.AzureBlobComponentServices;
 import org.talend.sdk.component.api.record.Record;
 
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudBlob;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 
+import static org.talend.components.common.stream.ExcelUtils.createStreamingWorkBook;
+import static org.talend.components.common.stream.ExcelUtils.dispose;
+
+/**
+ * Rows are appended to the sheet as records come, xlsx workbooks only keep {@link ExcelWriter#DEFAULT_ROW_WINDOW} rows
+ * in memory, the others being flushed to a temporary file until the workbook is uploaded.
+ */
 public class ExcelBlobFileWriter extends BlobFileWriter {
 
     private BlobOutputConfiguration config;
 
     private ExcelConverter converter;
 
-    private ByteArrayOutputStream bos;
+    private Workbook workbook;
+
+    private Sheet sheet;
+
+    private int rowCounter;
+
+    private int dataRowCounter;
 
     private int excel97MaxRows = 65_536;
 
@@ -85,12 +101,17 @@ public class ExcelBlobFileWriter extends BlobFileWriter {
 
     @Override
     public void writeRecord(Record rec) {
-        super.writeRecord(rec);
+        if (workbook == null) {
+            startWorkbook(rec);
+        }
+        converter.appendBatchToTheSheet(Collections.singletonList(rec), rowCounter);
+        rowCounter++;
+        dataRowCounter++;
         try {
             if ((config.getDataset().getExcelOptions().getExcelFormat() == ExcelFormat.EXCEL97
-                    && getBatch().size() == excel97MaxRows)
+                    && dataRowCounter == excel97MaxRows)
                     || (config.getDataset().getExcelOptions().getExcelFormat() == ExcelFormat.EXCEL2007
-                            && getBatch().size() == excel2007MaxRows)) {
+                            && dataRowCounter == excel2007MaxRows)) {
                 flush();
                 newBatch();
             }
@@ -134,40 +155,46 @@ public class ExcelBlobFileWriter extends BlobFileWriter {
         }
     }
 
+    private void startWorkbook(Record firstDataRecord) {
+        ExcelFormat format = config.getDataset().getExcelOptions().getExcelFormat();
+        workbook = createStreamingWorkBook(ExcelConfiguration.ExcelFormat.valueOf(format.name()),
+                ExcelWriter.DEFAULT_ROW_WINDOW);
+        sheet = workbook.createSheet(config.getDataset().getExcelOptions().getSheetName());
+        converter = ExcelConverter.ofOutput(sheet);
+        rowCounter = 0;
+        dataRowCounter = 0;
+        if (config.getDataset().getExcelOptions().isUseHeader()
+                && config.getDataset().getExcelOptions().getHeader() > 0) {
+            appendHeader(sheet, firstDataRecord);
+            rowCounter += config.getDataset().getExcelOptions().getHeader();
+        }
+    }
+
     @Override
     public void flush() throws IOException, StorageException {
-        if (getBatch().isEmpty()) {
+        if (workbook == null) {
             return;
         }
 
-        bos = new ByteArrayOutputStream();
-
-        flushBatchToByteArray();
-
-        getCurrentItem().upload(new ByteArrayInputStream(bos.toByteArray()), -1);
-        bos.close();
-        getBatch().clear();
-    }
-
-    private void flushBatchToByteArray() throws IOException {
-        Workbook item = ExcelUtils.createWorkBook(config.getDataset().getExcelOptions().getExcelFormat());
-        Sheet sheet = item.createSheet(config.getDataset().getExcelOptions().getSheetName());
-        converter = ExcelConverter.ofOutput(sheet);
-        int dataRowCounter = 0;
-        if (config.getDataset().getExcelOptions().isUseHeader()
-                && config.getDataset().getExcelOptions().getHeader() > 0) {
-            appendHeader(sheet, getBatch().get(0));
-            dataRowCounter += config.getDataset().getExcelOptions().getHeader();
+        try {
+            if (config.getDataset().getExcelOptions().isUseFooter()
+                    && config.getDataset().getExcelOptions().getFooter() > 0) {
+                appendFooter(sheet, rowCounter);
+            }
+            // workbook is serialized straight to the blob, uploaded block per block
+            try (OutputStream out = openStagedBlockStream((CloudBlockBlob) getCurrentItem())) {
+                workbook.write(out);
+            }
+        } finally {
+            dispose(workbook);
+            workbook = null;
+            sheet = null;
         }
-        converter.appendBatchToTheSheet(getBatch(), dataRowCounter);
-        dataRowCounter += getBatch().size();
+    }
 
-        if (config.getDataset().getExcelOptions().isUseFooter()
-                && config.getDataset().getExcelOptions().getFooter() > 0) {
-            appendFooter(sheet, dataRowCounter);
-        }
-        item.write(bos);
-        item.close();
+    @Override
+    public void complete() throws Exception {
+        flush();
     }
 
     private void reduceMaxRowsSize() {
@@ -15,6 +15,7 @@ package org.talend.components.azure.source;
 import java.io.Serializable;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.talend.components.azure.runtime.input.BlobFileReader;
 import org.talend.components.azure.service.AzureBlobComponentServices;
@@ -63,4 +64,11 @@ public class BlobSource implements Serializable {
     public Record next() {
         return reader.readRecord();
     }
+
+    @PreDestroy
+    public void release() {
+        if (reader != null) {
+            reader.close();
+        }
+    }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@
  */
 package org.talend.components.azure.runtime.input;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,7 @@ import org.talend.components.common.connection.azureblob.AzureAuthType;
 import org.talend.components.common.connection.azureblob.AzureStorageConnectionAccount;
 import org.talend.components.common.service.azureblob.AzureComponentServices;
 import org.talend.sdk.component.api.exception.ComponentException;
+import com.microsoft.azure.storage.ResultSegment;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
 import com.microsoft.azure.storage.blob.ListBlobItem;
@@ -60,9 +62,9 @@ class ParquetBlobFileReaderTest {
         CloudBlobClient blobClientMock = Mockito.mock(CloudBlobClient.class);
         CloudBlobContainer containerReferenceMock = Mockito.mock(CloudBlobContainer.class);
         Mockito.when(containerReferenceMock.exists()).thenReturn(true);
-        Mockito.when(containerReferenceMock.listBlobs(any(), anyBoolean(), any(), any(), any()))
-                .thenReturn(
-                        Collections.singletonList(Mockito.mock(ListBlobItem.class)));
+        Mockito.when(containerReferenceMock.listBlobsSegmented(any(), anyBoolean(), any(), any(), any(), any(), any()))
+                .thenReturn(new ResultSegment<>(
+                        new ArrayList<>(Collections.singletonList(Mockito.mock(ListBlobItem.class))), null, null));
 
         Mockito.when(blobClientMock.getContainerReference(any())).thenReturn(containerReferenceMock);
 
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.azure.runtime.output;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.talend.components.azure.common.FileFormat;
+import org.talend.components.azure.dataset.AzureBlobDataset;
+import org.talend.components.azure.datastore.AzureCloudConnection;
+import org.talend.components.azure.output.BlobOutputConfiguration;
+import org.talend.components.azure.service.AzureBlobComponentServices;
+import org.talend.components.common.formats.csv.CSVFormatOptions;
+import org.talend.components.common.service.azureblob.AzureComponentServices;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import com.microsoft.azure.storage.blob.BlobOutputStream;
+import com.microsoft.azure.storage.blob.CloudBlobClient;
+import com.microsoft.azure.storage.blob.CloudBlobContainer;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class StagedBlobFileWriterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    private BlobOutputConfiguration config;
+
+    private AzureBlobComponentServices componentServices;
+
+    private CloudBlobContainer container;
+
+    private CloudBlockBlob blob;
+
+    private BlobOutputStream stream;
+
+    private ByteArrayOutputStream staged;
+
+    @BeforeEach
+    void initMocks() throws Exception {
+        AzureBlobDataset dataset = new AzureBlobDataset();
+        dataset.setConnection(new AzureCloudConnection());
+        dataset.setContainerName("container");
+        dataset.setDirectory("dir");
+        config = new BlobOutputConfiguration();
+        config.setDataset(dataset);
+        config.setStagedBlockUpload(true);
+
+        staged = new ByteArrayOutputStream();
+        stream = Mockito.mock(BlobOutputStream.class);
+        Mockito.doAnswer(invocation -> {
+            staged.write((int) invocation.getArgument(0));
+            return null;
+        }).when(stream).write(anyInt());
+        Mockito.doAnswer(invocation -> {
+            byte[] bytes = invocation.getArgument(0);
+            staged.write(bytes, 0, bytes.length);
+            return null;
+        }).when(stream).write(any(byte[].class));
+        Mockito.doAnswer(invocation -> {
+            staged.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(stream).write(any(byte[].class), anyInt(), anyInt());
+
+        blob = Mockito.mock(CloudBlockBlob.class);
+        Mockito.when(blob.openOutputStream(any(), any(), any())).thenReturn(stream);
+        container = Mockito.mock(CloudBlobContainer.class);
+        Mockito.when(container.getBlockBlobReference(anyString())).thenReturn(blob);
+        CloudBlobClient blobClient = Mockito.mock(CloudBlobClient.class);
+        Mockito.when(blobClient.getContainerReference(any())).thenReturn(container);
+        AzureComponentServices connectionServices = Mockito.mock(AzureComponentServices.class);
+        Mockito.when(connectionServices.createCloudBlobClient(any(), any())).thenReturn(blobClient);
+        componentServices = Mockito.mock(AzureBlobComponentServices.class);
+        Mockito.when(componentServices.getConnectionService()).thenReturn(connectionServices);
+    }
+
+    @Test
+    void jsonRecordsAreStagedAndCommittedOnFlush() throws Exception {
+        config.getDataset().setFileFormat(FileFormat.JSON);
+        JsonBlobFileWriter writer = new JsonBlobFileWriter(config, componentServices);
+
+        writer.newBatch();
+        for (int i = 1; i <= 3; i++) {
+            writer.writeRecord(buildRecord(i));
+        }
+        Assertions.assertTrue(writer.getBatch().isEmpty(), "Staged records must not be batched in memory");
+        Mockito.verify(stream, Mockito.never()).close();
+
+        writer.flush();
+
+        Mockito.verify(stream).close();
+        Mockito.verify(blob, Mockito.never()).uploadFromByteArray(any(), anyInt(), anyInt());
+        JsonArray array = Json.createReader(new ByteArrayInputStream(staged.toByteArray())).readArray();
+        Assertions.assertEquals(3, array.size());
+        Assertions.assertEquals("value_3", array.getJsonObject(2).getString("f1"));
+    }
+
+    @Test
+    void jsonFlushWithoutOpenedFile() throws Exception {
+        config.getDataset().setFileFormat(FileFormat.JSON);
+        JsonBlobFileWriter writer = new JsonBlobFileWriter(config, componentServices);
+
+        writer.newBatch();
+        writer.flush();
+        Assertions.assertDoesNotThrow(writer::flush);
+
+        Mockito.verify(stream).close();
+        Assertions.assertEquals("[]", new String(staged.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void jsonFailedCommitIsSurfaced() throws Exception {
+        config.getDataset().setFileFormat(FileFormat.JSON);
+        Mockito.doThrow(new IOException("commit failed")).when(stream).close();
+        JsonBlobFileWriter writer = new JsonBlobFileWriter(config, componentServices);
+
+        writer.newBatch();
+        writer.writeRecord(buildRecord(1));
+
+        IOException exception = Assertions.assertThrows(IOException.class, writer::flush);
+        Assertions.assertEquals("commit failed", exception.getMessage());
+        // the failed stream is dropped, it is not committed a second time
+        writer.flush();
+        Mockito.verify(stream).close();
+    }
+
+    @Test
+    void csvRecordsAreCommittedOnComplete() throws Exception {
+        config.getDataset().setFileFormat(FileFormat.CSV);
+        config.getDataset().setCsvOptions(new CSVFormatOptions());
+        CSVBlobFileWriter writer = new CSVBlobFileWriter(config, componentServices);
+
+        writer.newBatch();
+        writer.writeRecord(buildRecord(1));
+        writer.writeRecord(buildRecord(2));
+        writer.flush();
+        Mockito.verify(stream, Mockito.never()).close();
+
+        writer.newBatch();
+        writer.writeRecord(buildRecord(3));
+        writer.complete();
+
+        Mockito.verify(stream).close();
+        Mockito.verify(container, Mockito.never()).getAppendBlobReference(anyString());
+        String content = new String(staged.toByteArray(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(content.contains("value_1"));
+        Assertions.assertTrue(content.contains("value_3"));
+    }
+
+    @Test
+    void csvGroupsAreStagedInFullBlocks() throws Exception {
+        config.getDataset().setFileFormat(FileFormat.CSV);
+        config.getDataset().setCsvOptions(new CSVFormatOptions());
+        config.setBlockSize(1);
+        int blockSize = 1024 * 1024;
+        // the SDK stream uploads a block once its buffer is full, and its pending bytes on flush or close
+        List<Integer> blocks = new ArrayList<>();
+        int[] pending = { 0 };
+        Mockito.doAnswer(invocation -> {
+            pending[0] += (int) invocation.getArgument(2);
+            while (pending[0] >= blockSize) {
+                blocks.add(blockSize);
+                pending[0] -= blockSize;
+            }
+            return null;
+        }).when(stream).write(any(byte[].class), anyInt(), anyInt());
+        Mockito.doAnswer(invocation -> {
+            if (pending[0] > 0) {
+                blocks.add(pending[0]);
+                pending[0] = 0;
+            }
+            return null;
+        }).when(stream).close();
+        CSVBlobFileWriter writer = new CSVBlobFileWriter(config, componentServices);
+
+        char[] padding = new char[1000];
+        Arrays.fill(padding, 'x');
+        for (int group = 0; group < 5; group++) {
+            writer.newBatch();
+            for (int i = 0; i < 500; i++) {
+                writer.writeRecord(factory.newRecordBuilder()
+                        .withString("f1", new String(padding))
+                        .withInt("f2", i)
+                        .build());
+            }
+            writer.flush();
+        }
+        writer.complete();
+
+        Mockito.verify(stream, Mockito.never()).flush();
+        Mockito.verify(stream).close();
+        Assertions.assertTrue(blocks.size() > 2, "Groups are smaller than a block, blocks must span several groups");
+        for (int block : blocks.subList(0, blocks.size() - 1)) {
+            Assertions.assertEquals(blockSize, block);
+        }
+    }
+
+    @Test
+    void encodingFailureIsSurfaced() throws Exception {
+        config.getDataset().setFileFormat(FileFormat.JSON);
+        Mockito.doThrow(new IOException("block upload failed")).when(stream).write(any(byte[].class));
+        JsonBlobFileWriter writer = new JsonBlobFileWriter(config, componentServices);
+
+        writer.newBatch();
+
+        Assertions.assertThrows(RuntimeException.class, () -> writer.writeRecord(buildRecord(1)));
+    }
+
+    private Record buildRecord(int index) {
+        return factory.newRecordBuilder().withString("f1", "value_" + index).withInt("f2", index).build();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.listing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the items stored under a root prefix without materializing the whole listing.
+ * <p>
+ * Each prefix is listed page by page through the {@link PageLister}. While the caller consumes a page, the pages that
+ * follow it are requested concurrently: the next page of the prefix and the virtual sub-prefixes returned by the
+ * server (i.e. directories when listing with a delimiter). At most {@code maxPagesAhead} pages are listed ahead of
+ * the consumer.
+ * <p>
+ * The order is deterministic whatever the page that completes first: the items of a page in the server order, then
+ * the sub-prefixes reported by that page, each one fully listed in turn, then the next page of the prefix.
+ *
+ * @param <T> listed item type
+ */
+@Slf4j
+public class ParallelPrefixListing<T> implements Iterator<T>, AutoCloseable {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    public static final int DEFAULT_MAX_PAGES_AHEAD = 8;
+
+    private final PageLister<T> lister;
+
+    private final ExecutorService executor;
+
+    private final int maxPagesAhead;
+
+    /**
+     * Pages still to emit, in emission order, the first ones being already requested.
+     */
+    private final Deque<PendingPage<T>> pendingPages = new ArrayDeque<>();
+
+    private Iterator<T> current = Collections.emptyIterator();
+
+    private boolean done;
+
+    public ParallelPrefixListing(final String rootPrefix, final PageLister<T> lister) {
+        this(rootPrefix, lister, DEFAULT_PARALLELISM, DEFAULT_MAX_PAGES_AHEAD);
+    }
+
+    public ParallelPrefixListing(final String rootPrefix, final PageLister<T> lister, final int parallelism,
+            final int maxPagesAhead) {
+        this.lister = lister;
+        this.maxPagesAhead = maxPagesAhead;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "azure-listing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pendingPages.add(new PendingPage<>(rootPrefix, null));
+        requestPages();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (done || pendingPages.isEmpty()) {
+                close();
+                return false;
+            }
+            PendingPage<T> pending = pendingPages.pollFirst();
+            Page<T> page = await(pending);
+            log.debug("[hasNext] {} items and {} sub-prefixes listed under {}.", page.getItems().size(),
+                    page.getSubPrefixes().size(), pending.prefix);
+            List<PendingPage<T>> following = new ArrayList<>();
+            page.getSubPrefixes().forEach(subPrefix -> following.add(new PendingPage<>(subPrefix, null)));
+            if (page.getContinuation() != null) {
+                following.add(new PendingPage<>(pending.prefix, page.getContinuation()));
+            }
+            for (int i = following.size() - 1; i >= 0; i--) {
+                pendingPages.addFirst(following.get(i));
+            }
+            requestPages();
+            current = page.getItems().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stop listing, required when the caller does not consume the iterator up to its end.
+     */
+    @Override
+    public void close() {
+        done = true;
+        current = Collections.emptyIterator();
+        pendingPages.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Request the first pages to emit, so they are listed while the consumer works on the current one.
+     */
+    private void requestPages() {
+        int requested = 0;
+        for (PendingPage<T> pending : pendingPages) {
+            if (requested++ == maxPagesAhead) {
+                return;
+            }
+            if (pending.future == null) {
+                pending.future = executor.submit(() -> lister.listPage(pending.prefix, pending.continuation));
+            }
+        }
+    }
+
+    private Page<T> await(final PendingPage<T> pending) {
+        try {
+            return pending.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Listing interrupted", e);
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            log.error("[await] Listing of {} failed: {}", pending.prefix, cause.getMessage());
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Lists a single page of a prefix.
+     *
+     * @param <T> listed item type
+     */
+    @FunctionalInterface
+    public interface PageLister<T> {
+
+        /**
+         * @param prefix prefix to list
+         * @param continuation continuation returned with the previous page, null for the first page
+         */
+        Page<T> listPage(String prefix, Object continuation) throws Exception;
+    }
+
+    private static class PendingPage<T> {
+
+        private final String prefix;
+
+        private final Object continuation;
+
+        private Future<Page<T>> future;
+
+        private PendingPage(final String prefix, final Object continuation) {
+            this.prefix = prefix;
+            this.continuation = continuation;
+        }
+    }
+
+    @Value
+    public static class Page<T> {
+
+        List<T> items;
+
+        /**
+         * Virtual sub-prefixes to list as well, empty when the listing is not recursive.
+         */
+        List<String> subPrefixes;
+
+        /**
+         * Continuation token of the next page, null when the prefix is fully listed.
+         */
+        Object continuation;
+
+        public static <T> Page<T> of(List<T> items, Object continuation) {
+            return new Page<>(items, Collections.emptyList(), continuation);
+        }
+    }
+}
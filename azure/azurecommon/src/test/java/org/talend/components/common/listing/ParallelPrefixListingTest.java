@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.listing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParallelPrefixListingTest {
+
+    @Test
+    void listAllPagesOfAllPrefixes() {
+        // "dir/" has two pages and two sub-prefixes, "dir/b/" has two pages
+        ParallelPrefixListing<String> listing = new ParallelPrefixListing<>("dir/", (prefix, continuation) -> {
+            int page = continuation == null ? 0 : (Integer) continuation;
+            switch (prefix + page) {
+            case "dir/0":
+                return new ParallelPrefixListing.Page<>(Arrays.asList("dir/1", "dir/2"),
+                        Arrays.asList("dir/a/", "dir/b/"), 1);
+            case "dir/1":
+                return ParallelPrefixListing.Page.of(Collections.singletonList("dir/3"), null);
+            case "dir/a/0":
+                return ParallelPrefixListing.Page.of(Collections.singletonList("dir/a/1"), null);
+            case "dir/b/0":
+                return ParallelPrefixListing.Page.of(Collections.singletonList("dir/b/1"), 1);
+            case "dir/b/1":
+                return ParallelPrefixListing.Page.of(Arrays.asList("dir/b/2", "dir/b/3"), null);
+            default:
+                throw new IllegalStateException("Unexpected page " + prefix + page);
+            }
+        }, 2, 2);
+
+        List<String> items = new ArrayList<>();
+        listing.forEachRemaining(items::add);
+
+        // page items, then the sub-prefixes of that page, then the next page of the prefix
+        Assertions.assertEquals(
+                Arrays.asList("dir/1", "dir/2", "dir/a/1", "dir/b/1", "dir/b/2", "dir/b/3", "dir/3"), items);
+    }
+
+    @Test
+    void orderDoesNotDependOnPageCompletion() {
+        CountDownLatch lastPageListed = new CountDownLatch(1);
+        ParallelPrefixListing<String> listing = new ParallelPrefixListing<>("dir/", (prefix, continuation) -> {
+            switch (prefix) {
+            case "dir/":
+                return new ParallelPrefixListing.Page<>(Collections.singletonList("dir/1"),
+                        Arrays.asList("dir/a/", "dir/b/"), null);
+            case "dir/a/":
+                // the first sub-prefix completes after the second one
+                Assertions.assertTrue(lastPageListed.await(10, TimeUnit.SECONDS));
+                return ParallelPrefixListing.Page.of(Collections.singletonList("dir/a/1"), null);
+            case "dir/b/":
+                lastPageListed.countDown();
+                return ParallelPrefixListing.Page.of(Collections.singletonList("dir/b/1"), null);
+            default:
+                throw new IllegalStateException("Unexpected prefix " + prefix);
+            }
+        }, 2, 2);
+
+        List<String> items = new ArrayList<>();
+        listing.forEachRemaining(items::add);
+
+        Assertions.assertEquals(Arrays.asList("dir/1", "dir/a/1", "dir/b/1"), items);
+    }
+
+    @Test
+    void closeStopsListing() {
+        AtomicInteger listedPages = new AtomicInteger();
+        ParallelPrefixListing<String> listing = new ParallelPrefixListing<>("dir/", (prefix, continuation) -> {
+            int page = listedPages.incrementAndGet();
+            return ParallelPrefixListing.Page.of(Collections.singletonList("dir/" + page), page);
+        }, 1, 1);
+
+        Assertions.assertTrue(listing.hasNext());
+        listing.close();
+
+        Assertions.assertFalse(listing.hasNext());
+        Assertions.assertTrue(listedPages.get() <= 2);
+    }
+
+    @Test
+    void emptyListing() {
+        ParallelPrefixListing<String> listing = new ParallelPrefixListing<>("",
+                (prefix, continuation) -> ParallelPrefixListing.Page.of(Collections.emptyList(), null));
+
+        Assertions.assertFalse(listing.hasNext());
+    }
+
+    @Test
+    void listingFailureIsRethrown() {
+        ParallelPrefixListing<String> listing = new ParallelPrefixListing<>("", (prefix, continuation) -> {
+            throw new IllegalArgumentException("listing failed");
+        });
+
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, listing::hasNext);
+        Assertions.assertEquals("listing failed", e.getMessage());
+    }
+}
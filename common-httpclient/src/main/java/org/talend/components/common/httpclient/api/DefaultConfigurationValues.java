@@ -58,6 +58,18 @@ public final class DefaultConfigurationValues {
     public static final String HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN =
             "org.talend.http.client.oauth.token.forced.expires_in";
 
+    /**
+     * Maximum number of requests waiting for their response headers at the same time on a given host, 0 for no limit.
+     * It does not bound the open connections: a permit is given back once the headers are read, before the body is.
+     */
+    public static final String HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST =
+            "org.talend.http.client.max.concurrent.requests.per.host";
+
+    /**
+     * Maximum number of configured clients kept for reuse.
+     */
+    public static final String HTTP_CLIENT_MAX_POOLED_CLIENTS = "org.talend.http.client.max.pooled.clients";
+
     // Need to wait for https://issues.apache.org/jira/browse/CXF-8752
     /*
      * public static String HTTP_CLIENT_ALLOWED_REDIRECTED_VERBS =
@@ -87,6 +99,10 @@ public final class DefaultConfigurationValues {
 
     public static long HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_VALUE;
 
+    public static int HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST_VALUE;
+
+    public static int HTTP_CLIENT_MAX_POOLED_CLIENTS_VALUE;
+
     public static final int HTTP_CLIENT_CONNECT_TIMEOUT_DEFAULT_VALUE = 30000;
 
     public static final int HTTP_CLIENT_RECEIVE_TIMEOUT_DEFAULT_VALUE = 120000;
@@ -103,6 +119,10 @@ public final class DefaultConfigurationValues {
 
     public static final long HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_DEFAULT_VALUE = Long.MIN_VALUE;
 
+    public static final int HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST_DEFAULT_VALUE = 0;
+
+    public static final int HTTP_CLIENT_MAX_POOLED_CLIENTS_DEFAULT_VALUE = 50;
+
     public static final String HTTP_CLIENT_URL_PLACE_HOLDER_BEGIN_DEFAULT_VALUE = "{";
 
     public static final String HTTP_CLIENT_URL_PLACE_HOLDER_END_DEFAULT_VALUE = "}";
@@ -142,6 +162,12 @@ public final class DefaultConfigurationValues {
 
         HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_VALUE = getValueAsLong(HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN,
                 HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_DEFAULT_VALUE);
+
+        HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST_VALUE =
+                getValueAsInt(HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST,
+                        HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST_DEFAULT_VALUE);
+        HTTP_CLIENT_MAX_POOLED_CLIENTS_VALUE =
+                getValueAsInt(HTTP_CLIENT_MAX_POOLED_CLIENTS, HTTP_CLIENT_MAX_POOLED_CLIENTS_DEFAULT_VALUE);
     }
 
     private static Map<String, String> varEnvNameCache;
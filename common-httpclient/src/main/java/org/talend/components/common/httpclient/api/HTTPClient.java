@@ -46,6 +46,11 @@ public interface HTTPClient<C> {
 
         String getBodyAsString() throws HTTPClientException;
 
+        /**
+         * Unless the payload has already been loaded, for instance by {@link #getBodyAsString()} or by a pagination
+         * strategy, it is streamed from the connection: it can then be read only once, and
+         * {@link #getBodyAsString()} is no more available.
+         */
         InputStream getBodyAsStream() throws HTTPClientException;
 
         R getNestedResponse();
@@ -19,6 +19,7 @@ import org.talend.components.common.httpclient.impl.cxf.CXFHTTPClientImpl;
 /**
  * In prevision of several implementations of HTTPClient.
  * Constructor of classes that implement HTTPClient should take a QueryConfiguration instance as parameter.
+ * Created clients are cheap: queries with the same connection settings share the same underlying pooled client.
  */
 public class HTTPClientFactory {
 
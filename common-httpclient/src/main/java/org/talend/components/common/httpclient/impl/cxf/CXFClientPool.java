@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.impl.cxf;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.configuration.security.AuthorizationPolicy;
+import org.apache.cxf.jaxrs.client.ClientConfiguration;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transport.http.auth.HttpAuthHeader;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.apache.cxf.transports.http.configuration.ProxyServerType;
+import org.talend.components.common.httpclient.api.DefaultConfigurationValues;
+import org.talend.components.common.httpclient.api.ProxyConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.authentication.AuthenticationType;
+import org.talend.components.common.httpclient.api.authentication.LoginPassword;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps configured CXF clients to reuse their conduit from one query to the other.
+ * <p>
+ * A new conduit per query comes with a new TLS socket factory, so neither the keep-alive connections nor the TLS
+ * sessions were reused between records or pages. Every setting applied to the conduit or to the client configuration
+ * is part of the {@link ClientKey}: web clients derived from a template share that configuration, only headers, query
+ * parameters and body are set per query. A change made on the configuration of one of them, through
+ * {@code WebClient.getConfig(...)}, applies to every query using the same connection settings.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class CXFClientPool {
+
+    private static final Map<ClientKey, PooledClient> CLIENTS =
+            new LinkedHashMap<ClientKey, PooledClient>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<ClientKey, PooledClient> eldest) {
+                    return size() > DefaultConfigurationValues.HTTP_CLIENT_MAX_POOLED_CLIENTS_VALUE;
+                }
+            };
+
+    private static final ConcurrentMap<String, Semaphore> HOST_REQUEST_PERMITS = new ConcurrentHashMap<>();
+
+    /**
+     * @return the pooled client matching the connection settings of the query, created on first use.
+     */
+    static PooledClient get(final QueryConfiguration queryConfiguration) {
+        final ClientKey key = ClientKey.of(queryConfiguration);
+        synchronized (CLIENTS) {
+            return CLIENTS.computeIfAbsent(key, k -> create(k, queryConfiguration));
+        }
+    }
+
+    private static PooledClient create(final ClientKey key, final QueryConfiguration queryConfiguration) {
+        log.debug("[create] New HTTP client for {}.", key.getOrigin());
+        WebClient template = WebClient.create(key.getOrigin());
+        ClientConfiguration config = WebClient.getConfig(template);
+        HTTPConduit conduit = config.getHttpConduit();
+
+        HTTPClientPolicy policy = conduit.getClient();
+        policy.setConnection(ConnectionType.KEEP_ALIVE);
+        policy.setConnectionTimeout(queryConfiguration.getConnectionTimeout());
+        policy.setReceiveTimeout(queryConfiguration.getReceiveTimeout());
+
+        certificateValidation(conduit, queryConfiguration);
+        manageProxy(conduit, queryConfiguration);
+        manageAuthentication(conduit, queryConfiguration);
+        manageRedirections(config, queryConfiguration);
+
+        if (queryConfiguration.isDecompressResponsePayload()) {
+            config.getInInterceptors().add(new GZIPInInterceptor());
+        }
+
+        int maxRequests = DefaultConfigurationValues.HTTP_CLIENT_MAX_CONCURRENT_REQUESTS_PER_HOST_VALUE;
+        Semaphore requestPermits = maxRequests > 0
+                ? HOST_REQUEST_PERMITS.computeIfAbsent(key.getOrigin(), o -> new Semaphore(maxRequests, true))
+                : null;
+        return new PooledClient(template, requestPermits);
+    }
+
+    private static void certificateValidation(final HTTPConduit conduit, final QueryConfiguration queryConfiguration) {
+        TLSClientParameters params = conduit.getTlsClientParameters();
+        if (params == null) {
+            params = new TLSClientParameters();
+            conduit.setTlsClientParameters(params);
+        }
+
+        // skip server truststore validation
+        if (queryConfiguration.isBypassCertificateValidation()) {
+            // Disabled certificates verification
+            params.setTrustManagers(new TrustManager[] { new BlindTrustManager() });
+            params.setDisableCNCheck(true);
+        } else {
+            // init TLS by JVM default SSLContext
+            // difficult to mix with bypassCertificateValidation function, so here only disable it if that is true
+            try {
+                params.setSslContext(SSLContext.getDefault());
+            } catch (Exception e) {
+                log.warn("fail to call SSLContext.getDefault() : " + e.getMessage());
+            }
+        }
+    }
+
+    private static void manageProxy(final HTTPConduit conduit, final QueryConfiguration queryConfiguration) {
+        ProxyConfiguration proxy = queryConfiguration.getProxy();
+        if (proxy == null) {
+            return;
+        }
+
+        conduit.getClient().setProxyServer(proxy.getHost());
+        conduit.getClient().setProxyServerPort(proxy.getPort());
+        conduit.getClient().setProxyServerType(ProxyServerType.fromValue(proxy.getType().name()));
+
+        String login = proxy.getCredentials().getLogin();
+        String password = proxy.getCredentials().getPassword();
+        if (login != null && !login.isEmpty()) {
+            conduit.getProxyAuthorization().setUserName(login);
+        }
+
+        if (password != null && !password.isEmpty()) {
+            conduit.getProxyAuthorization().setPassword(password);
+        }
+    }
+
+    /**
+     * Authentications handled by the conduit, token based ones are headers set per query.
+     */
+    private static void manageAuthentication(final HTTPConduit conduit, final QueryConfiguration queryConfiguration) {
+        String authorizationType;
+        switch (queryConfiguration.getAuthenticationType()) {
+        case Basic:
+            authorizationType = HttpAuthHeader.AUTH_TYPE_BASIC;
+            break;
+        case Digest:
+            /**
+             * QOP = auth-int is not supported currently by cxf:3.5.2
+             */
+            authorizationType = HttpAuthHeader.AUTH_TYPE_DIGEST;
+            break;
+        case NTLM:
+            // Login should be domain\login
+            authorizationType = "NTLM";
+            break;
+        default:
+            return;
+        }
+
+        AuthorizationPolicy authPolicy = new AuthorizationPolicy();
+        authPolicy.setUserName(queryConfiguration.getLoginPassword().getLogin());
+        authPolicy.setPassword(queryConfiguration.getLoginPassword().getPassword());
+        authPolicy.setAuthorizationType(authorizationType);
+        conduit.setAuthorization(authPolicy);
+    }
+
+    private static void manageRedirections(final ClientConfiguration config,
+            final QueryConfiguration queryConfiguration) {
+        HTTPClientPolicy policy = config.getHttpConduit().getClient();
+
+        if (!queryConfiguration.isAcceptRedirections()) {
+            policy.setAutoRedirect(false);
+            return;
+        }
+        policy.setAutoRedirect(true);
+
+        // TODO: Need to wait for https://issues.apache.org/jira/browse/CXF-8752
+        /*
+         * if (queryConfiguration.getAllowedRedictedVerbs() != null) {
+         * config.getRequestContext()
+         * .put(CXFConstants.AUTHORIZED_REDIRECTED_HTTP_VERBS, queryConfiguration.getAllowedRedictedVerbs());
+         * }
+         */
+
+        config.getRequestContext()
+                .put(CXFConstants.AUTO_REDIRECT_SAME_HOST_ONLY,
+                        Boolean.toString(queryConfiguration.isAcceptOnlySameHostRedirection()));
+        config.getRequestContext()
+                .put(CXFConstants.AUTO_REDIRECT_ALLOW_REL_URI,
+                        Boolean.toString(queryConfiguration.isAcceptRelativeURLRedirection()));
+
+        if (queryConfiguration.getMaxNumberOfAcceptedRedirectionsOnSameURI() > 0) {
+            config.getRequestContext()
+                    .put(CXFConstants.AUTO_REDIRECT_MAX_SAME_URI_COUNT,
+                            queryConfiguration.getMaxNumberOfAcceptedRedirectionsOnSameURI());
+        }
+
+        if (queryConfiguration.getAllowedURIRedirection() != null) {
+            config.getRequestContext()
+                    .put(CXFConstants.AUTO_REDIRECT_ALLOWED_URI, queryConfiguration.getAllowedURIRedirection());
+        }
+    }
+
+    @Value
+    static class PooledClient {
+
+        WebClient template;
+
+        /**
+         * Bounds the requests waiting for their response headers at the same time on the host, null when not limited.
+         */
+        Semaphore requestPermits;
+
+        /**
+         * @return a web client with its own headers and URL, sharing the template configuration and conduit.
+         */
+        WebClient newWebClient(final String url) {
+            return WebClient.fromClient(template).to(url, false);
+        }
+
+        /**
+         * Sends the request under the host limit. The permit is given back as soon as the response headers are
+         * read: holding it until the body is closed would leak it each time a caller does not consume the body.
+         */
+        Response execute(final Supplier<Response> call) throws InterruptedException {
+            if (requestPermits == null) {
+                return call.get();
+            }
+            requestPermits.acquire();
+            try {
+                return call.get();
+            } finally {
+                requestPermits.release();
+            }
+        }
+    }
+
+    /**
+     * Settings of a query that are applied to the conduit or the client configuration.
+     */
+    @Value
+    static class ClientKey {
+
+        String origin;
+
+        long connectionTimeout;
+
+        long receiveTimeout;
+
+        boolean bypassCertificateValidation;
+
+        ProxyConfiguration proxy;
+
+        AuthenticationType authenticationType;
+
+        LoginPassword loginPassword;
+
+        boolean acceptRedirections;
+
+        int maxNumberOfAcceptedRedirectionsOnSameURI;
+
+        boolean acceptOnlySameHostRedirection;
+
+        boolean acceptRelativeURLRedirection;
+
+        String allowedURIRedirection;
+
+        boolean decompressResponsePayload;
+
+        static ClientKey of(final QueryConfiguration queryConfiguration) {
+            AuthenticationType authenticationType = queryConfiguration.getAuthenticationType();
+            boolean conduitAuthentication = authenticationType == AuthenticationType.Basic
+                    || authenticationType == AuthenticationType.Digest
+                    || authenticationType == AuthenticationType.NTLM;
+            return new ClientKey(origin(queryConfiguration.getUrl()),
+                    queryConfiguration.getConnectionTimeout(),
+                    queryConfiguration.getReceiveTimeout(),
+                    queryConfiguration.isBypassCertificateValidation(),
+                    queryConfiguration.getProxy(),
+                    authenticationType,
+                    conduitAuthentication ? queryConfiguration.getLoginPassword() : null,
+                    queryConfiguration.isAcceptRedirections(),
+                    queryConfiguration.getMaxNumberOfAcceptedRedirectionsOnSameURI(),
+                    queryConfiguration.isAcceptOnlySameHostRedirection(),
+                    queryConfiguration.isAcceptRelativeURLRedirection(),
+                    queryConfiguration.getAllowedURIRedirection(),
+                    queryConfiguration.isDecompressResponsePayload());
+        }
+
+        private static String origin(final String url) {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+                return url;
+            }
+            return uri.getScheme() + "://" + uri.getRawAuthority();
+        }
+    }
+}
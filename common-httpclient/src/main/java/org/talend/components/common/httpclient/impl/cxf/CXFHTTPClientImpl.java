@@ -18,25 +18,15 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
-import org.apache.cxf.configuration.jsse.TLSClientParameters;
-import org.apache.cxf.configuration.security.AuthorizationPolicy;
 import org.apache.cxf.helpers.HttpHeaderHelper;
-import org.apache.cxf.jaxrs.client.ClientConfiguration;
 import org.apache.cxf.jaxrs.client.WebClient;
 import org.apache.cxf.jaxrs.ext.multipart.Attachment;
 import org.apache.cxf.jaxrs.ext.multipart.AttachmentBuilder;
 import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
 import org.apache.cxf.jaxrs.ext.multipart.MultipartBody;
-import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
-import org.apache.cxf.transport.http.HTTPConduit;
-import org.apache.cxf.transport.http.auth.HttpAuthHeader;
-import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
-import org.apache.cxf.transports.http.configuration.ProxyServerType;
 import org.talend.components.common.httpclient.api.BodyFormat;
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
@@ -56,6 +46,8 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
     private QueryConfiguration queryConfiguration;
 
+    private CXFClientPool.PooledClient pooledClient;
+
     private WebClient webClient;
 
     private Token token;
@@ -71,13 +63,19 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
             this.queryConfiguration = queryConfiguration;
             String url = configureURL();
-            this.webClient = WebClient.create(url);
+            this.pooledClient = CXFClientPool.get(queryConfiguration);
+            this.webClient = pooledClient.newWebClient(url);
         } finally {
             Thread.currentThread().setContextClassLoader(backupThreadContextClassLoader);
         }
 
     }
 
+    /**
+     * Headers, query parameters and path can be set on the returned client for this query only. Its configuration
+     * and conduit are shared with every client of the same connection settings, so interceptors, conduit policy or
+     * TLS parameters changed there apply to all of them.
+     */
     @Override
     public WebClient getNestedClient() {
         return this.webClient;
@@ -94,8 +92,6 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
         manageAuthentication();
 
-        certificateValidation();
-
         if (queryConfiguration.getBodyType() != null) {
             webClient
                     .type(queryConfiguration.getBodyType().getContentType());
@@ -105,10 +101,7 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
             webClient.header(HttpHeaders.ACCEPT, queryConfiguration.getResponseFormat().getAcceptedType());
         }
 
-        // Set timeouts
-        final HTTPConduit conduit = WebClient.getConfig(webClient).getHttpConduit();
-        conduit.getClient().setConnectionTimeout(queryConfiguration.getConnectionTimeout());
-        conduit.getClient().setReceiveTimeout(queryConfiguration.getReceiveTimeout());
+        // Timeouts, TLS, proxy, conduit authentication and redirections are set once by the pooled client
 
         // Set headers
         queryConfiguration.getHeaders().stream().forEach(h -> webClient.header(h.getKey(), h.getValue()));
@@ -116,12 +109,8 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         // Set URL query parameters
         queryConfiguration.getQueryParams().stream().forEach(q -> webClient.query(q.getKey(), q.getValue()));
 
-        manageProxy();
-
-        manageRedirections();
-
         try {
-            Response invoke = getResponse();
+            Response invoke = pooledClient.execute(this::getResponse);
             PaginationStrategy paginationStrategy =
                     PaginationStrategyFactory.getPaginationStrategy(this.queryConfiguration);
             CXFHTTPResponseImpl cxfhttpResponse = new CXFHTTPResponseImpl(invoke, paginationStrategy);
@@ -140,36 +129,6 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         }
     }
 
-    private void certificateValidation() throws HTTPClientException {
-        final HTTPConduit conduit = WebClient.getConfig(webClient).getHttpConduit();
-
-        // skip server truststore validation
-        if (queryConfiguration.isBypassCertificateValidation()) {
-            // Disabled certificates verification
-            TLSClientParameters params = getTlsClientParameters(conduit);
-            params.setTrustManagers(new TrustManager[] { new BlindTrustManager() });
-            params.setDisableCNCheck(true);
-        } else {
-            // init TLS by JVM default SSLContext
-            // difficult to mix with bypassCertificateValidation function, so here only disable it if that is true
-            TLSClientParameters params = getTlsClientParameters(conduit);
-            try {
-                params.setSslContext(SSLContext.getDefault());
-            } catch (Exception e) {
-                log.warn("fail to call SSLContext.getDefault() : " + e.getMessage());
-            }
-        }
-    }
-
-    private TLSClientParameters getTlsClientParameters(HTTPConduit conduit) {
-        TLSClientParameters params = conduit.getTlsClientParameters();
-        if (params == null) {
-            params = new TLSClientParameters();
-            conduit.setTlsClientParameters(params);
-        }
-        return params;
-    }
-
     private void validateURL() throws HTTPClientException {
         String url = this.configureURL();
         if (!ValidateSites.isValidSite(url)) {
@@ -202,59 +161,11 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
     }
 
-    private void manageProxy() {
-        if (queryConfiguration.getProxy() == null) {
-            return;
-        }
-
-        HTTPConduit httpConduit = WebClient.getConfig(webClient).getHttpConduit();
-        httpConduit.getClient().setProxyServer(queryConfiguration.getProxy().getHost());
-        httpConduit.getClient().setProxyServerPort(queryConfiguration.getProxy().getPort());
-
-        httpConduit.getClient()
-                .setProxyServerType(ProxyServerType.fromValue(queryConfiguration.getProxy().getType().name()));
-
-        String login = queryConfiguration.getProxy().getCredentials().getLogin();
-        String password = queryConfiguration.getProxy().getCredentials().getPassword();
-        if (login != null && !login.isEmpty()) {
-            httpConduit.getProxyAuthorization().setUserName(login);
-        }
-
-        if (password != null && !password.isEmpty()) {
-            httpConduit.getProxyAuthorization().setPassword(password);
-        }
-    }
-
+    /**
+     * Login/password authentications are managed by the pooled client conduit.
+     */
     private void manageAuthentication() throws HTTPClientException {
-        HTTPConduit httpConduit = WebClient.getConfig(webClient).getHttpConduit();
-
         switch (queryConfiguration.getAuthenticationType()) {
-        case Basic:
-            AuthorizationPolicy basicAuthPolicy = new AuthorizationPolicy();
-            basicAuthPolicy.setUserName(queryConfiguration.getLoginPassword().getLogin());
-            basicAuthPolicy.setPassword(queryConfiguration.getLoginPassword().getPassword());
-            basicAuthPolicy.setAuthorizationType(HttpAuthHeader.AUTH_TYPE_BASIC);
-            httpConduit.setAuthorization(basicAuthPolicy);
-            break;
-        case Digest:
-            /**
-             * QOP = auth-int is not supported currently by cxf:3.5.2
-             */
-            AuthorizationPolicy digestAuthPolicy = new AuthorizationPolicy();
-            digestAuthPolicy.setUserName(queryConfiguration.getLoginPassword().getLogin());
-            digestAuthPolicy.setPassword(queryConfiguration.getLoginPassword().getPassword());
-            digestAuthPolicy.setAuthorizationType(HttpAuthHeader.AUTH_TYPE_DIGEST);
-            httpConduit.setAuthorization(digestAuthPolicy);
-            break;
-        case NTLM:
-            AuthorizationPolicy authPolicy = new AuthorizationPolicy();
-            authPolicy.setAuthorizationType("NTLM");
-
-            // Login should be domain\login
-            authPolicy.setUserName(queryConfiguration.getLoginPassword().getLogin());
-            authPolicy.setPassword(queryConfiguration.getLoginPassword().getPassword());
-            httpConduit.setAuthorization(authPolicy);
-            break;
         case Authorization_Token:
             this.setAuthorizationToken(queryConfiguration.getAuthorizationToken());
             break;
@@ -267,6 +178,8 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
             String t = String.format("%s %s", token.getTokenType(), token.getAccessToken());
             this.setAuthorizationToken(t);
             break;
+        default:
+            break;
         }
 
     }
@@ -275,57 +188,9 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         webClient.header(HttpHeaderHelper.AUTHORIZATION, token);
     }
 
-    private void manageRedirections() {
-        HTTPConduit httpConduit = WebClient.getConfig(webClient).getHttpConduit();
-        HTTPClientPolicy policy = httpConduit.getClient();
-
-        if (!queryConfiguration.isAcceptRedirections()) {
-            policy.setAutoRedirect(false);
-            return;
-        }
-        policy.setAutoRedirect(true);
-
-        // TODO: Need to wait for https://issues.apache.org/jira/browse/CXF-8752
-        /*
-         * if (queryConfiguration.getAllowedRedictedVerbs() != null) {
-         * WebClient.getConfig(webClient)
-         * .getRequestContext()
-         * .put(CXFConstants.AUTHORIZED_REDIRECTED_HTTP_VERBS, queryConfiguration.getAllowedRedictedVerbs());
-         * }
-         */
-
-        WebClient.getConfig(webClient)
-                .getRequestContext()
-                .put(CXFConstants.AUTO_REDIRECT_SAME_HOST_ONLY,
-                        Boolean.toString(queryConfiguration.isAcceptOnlySameHostRedirection()));
-        WebClient.getConfig(webClient)
-                .getRequestContext()
-                .put(CXFConstants.AUTO_REDIRECT_ALLOW_REL_URI,
-                        Boolean.toString(queryConfiguration.isAcceptRelativeURLRedirection()));
-
-        if (queryConfiguration.getMaxNumberOfAcceptedRedirectionsOnSameURI() > 0) {
-            WebClient.getConfig(webClient)
-                    .getRequestContext()
-                    .put(CXFConstants.AUTO_REDIRECT_MAX_SAME_URI_COUNT,
-                            queryConfiguration.getMaxNumberOfAcceptedRedirectionsOnSameURI());
-        }
-
-        if (queryConfiguration.getAllowedURIRedirection() != null) {
-            WebClient.getConfig(webClient)
-                    .getRequestContext()
-                    .put(CXFConstants.AUTO_REDIRECT_ALLOWED_URI, queryConfiguration.getAllowedURIRedirection());
-        }
-    }
-
     private Response getResponse() {
         Response invoke;
 
-        ClientConfiguration config = WebClient.getConfig(webClient);
-
-        if (queryConfiguration.isDecompressResponsePayload()) {
-            config.getInInterceptors().add(new GZIPInInterceptor());
-        }
-
         BodyFormat bodyType = queryConfiguration.getBodyType();
         if (bodyType == BodyFormat.FORM_DATA) {
             invoke = webClient.invoke(getHTTPMethod(), buildMultiPartBody());
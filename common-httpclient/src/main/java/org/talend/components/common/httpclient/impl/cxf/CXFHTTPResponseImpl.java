@@ -45,6 +45,11 @@ class CXFHTTPResponseImpl implements HTTPClient.HTTPResponse<Response> {
 
     private byte[] payload;
 
+    /**
+     * True once the payload has been handed over as a stream, it can't be loaded anymore.
+     */
+    private boolean streamed;
+
     private final PaginationStrategy paginationStrategy;
 
     public CXFHTTPResponseImpl(final Response response, PaginationStrategy paginationStrategy) {
@@ -103,15 +108,30 @@ class CXFHTTPResponseImpl implements HTTPClient.HTTPResponse<Response> {
 
     }
 
+    /**
+     * Stream the payload from the connection, unless it has already been loaded by a previous call.
+     */
     @Override
     public InputStream getBodyAsStream() throws HTTPClientException {
-        loadPayload();
-        return new ByteArrayInputStream(this.payload);
+        if (this.payload != null) {
+            return new ByteArrayInputStream(this.payload);
+        }
+        checkNotStreamed();
+        this.streamed = true;
+        InputStream inputStream = (InputStream) response.getEntity();
+        return inputStream == null ? new ByteArrayInputStream(new byte[] {}) : inputStream;
+    }
+
+    private void checkNotStreamed() throws HTTPClientException {
+        if (this.streamed) {
+            throw new HTTPClientException("HTTP response payload has already been consumed as a stream.");
+        }
     }
 
     private void loadPayload() throws HTTPClientException {
         try {
             if (this.payload == null) {
+                checkNotStreamed();
                 InputStream inputStream = (InputStream) response.getEntity();
                 if (inputStream == null) {
                     inputStream = new ByteArrayInputStream(new byte[] {});
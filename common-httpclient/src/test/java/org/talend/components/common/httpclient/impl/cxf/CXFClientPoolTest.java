@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.impl.cxf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfigurationBuilder;
+import org.talend.components.common.httpclient.factory.HTTPClientFactory;
+import org.talend.components.common.httpclient.impl.cxf.servers.AbstractHTTPServerFactory;
+import org.talend.components.common.httpclient.impl.cxf.servers.BasicHTTPServerFactory;
+
+class CXFClientPoolTest {
+
+    private final static AbstractHTTPServerFactory.TestHTTPServer server =
+            BasicHTTPServerFactory.getInstance().createServer();
+
+    @BeforeAll
+    public static void init() {
+        server.start();
+    }
+
+    @AfterAll
+    public static void release() {
+        server.stop();
+    }
+
+    @Test
+    void sameConnectionSettingsShareClient() {
+        QueryConfiguration first = QueryConfigurationBuilder.create("https://pool.talend.com:8443/api/first")
+                .setMethod("GET")
+                .addHeader("h", "1")
+                .build();
+        QueryConfiguration second = QueryConfigurationBuilder.create("https://pool.talend.com:8443/api/second?q=2")
+                .setMethod("POST")
+                .setAuthorizationToken("Bearer", "token")
+                .build();
+
+        Assertions.assertEquals(CXFClientPool.ClientKey.of(first), CXFClientPool.ClientKey.of(second));
+        Assertions.assertSame(CXFClientPool.get(first), CXFClientPool.get(second));
+    }
+
+    @Test
+    void differentConnectionSettingsDoNotShareClient() {
+        QueryConfiguration reference = QueryConfigurationBuilder.create("https://pool.talend.com/api").build();
+        QueryConfiguration otherHost = QueryConfigurationBuilder.create("https://other.talend.com/api").build();
+        QueryConfiguration otherTimeout = QueryConfigurationBuilder.create("https://pool.talend.com/api")
+                .setReceiveTimeout(1234)
+                .build();
+        QueryConfiguration otherLogin = QueryConfigurationBuilder.create("https://pool.talend.com/api")
+                .setBasicAuthentication("login", "password")
+                .build();
+
+        CXFClientPool.ClientKey key = CXFClientPool.ClientKey.of(reference);
+        Assertions.assertNotEquals(key, CXFClientPool.ClientKey.of(otherHost));
+        Assertions.assertNotEquals(key, CXFClientPool.ClientKey.of(otherTimeout));
+        Assertions.assertNotEquals(key, CXFClientPool.ClientKey.of(otherLogin));
+        Assertions.assertEquals("https://pool.talend.com", key.getOrigin());
+    }
+
+    @Test
+    void concurrentQueriesThroughOneTemplateKeepTheirOwnSettings() throws Exception {
+        String url = String.format("http://localhost:%s%s", server.getPort(), BasicHTTPServerFactory.HTTP_ECHO);
+        int nbQueries = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonObject>> echoes = new ArrayList<>();
+            for (int i = 0; i < nbQueries; i++) {
+                QueryConfiguration config = QueryConfigurationBuilder.create(url)
+                        .setMethod("POST")
+                        .addHeader("x-query", String.valueOf(i))
+                        .setRawTextBody("body-" + i)
+                        .build();
+                Assertions.assertSame(CXFClientPool.get(config),
+                        CXFClientPool.get(QueryConfigurationBuilder.create(url).build()));
+
+                echoes.add(executor.submit((Callable<JsonObject>) () -> {
+                    HTTPClient.HTTPResponse response = HTTPClientFactory.create(config).invoke();
+                    Assertions.assertEquals(200, response.getStatus().getCode());
+                    return ResourcesUtils.getJsonObject(response.getBodyAsString());
+                }));
+            }
+
+            for (int i = 0; i < nbQueries; i++) {
+                JsonObject echo = echoes.get(i).get();
+                Assertions.assertEquals(String.valueOf(i), echo.getJsonObject("request-headers").getString("x-query"));
+                Assertions.assertEquals("body-" + i, echo.getString("request-body"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
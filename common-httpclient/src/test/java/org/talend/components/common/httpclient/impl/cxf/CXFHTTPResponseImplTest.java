@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.impl.cxf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.pagination.NoPagination;
+
+class CXFHTTPResponseImplTest {
+
+    private static final String PAYLOAD = "{\"hello\":\"world\"}";
+
+    @Test
+    void streamPayloadOnlyOnce() throws HTTPClientException, IOException {
+        CXFHTTPResponseImpl response = newResponse();
+
+        try (InputStream body = response.getBodyAsStream()) {
+            Assertions.assertEquals(PAYLOAD, read(body));
+        }
+        Assertions.assertThrows(HTTPClientException.class, response::getBodyAsString);
+        Assertions.assertThrows(HTTPClientException.class, response::getBodyAsStream);
+    }
+
+    @Test
+    void loadedPayloadCanBeReadAgain() throws HTTPClientException, IOException {
+        CXFHTTPResponseImpl response = newResponse();
+
+        Assertions.assertEquals(PAYLOAD, response.getBodyAsString());
+        Assertions.assertEquals(PAYLOAD, read(response.getBodyAsStream()));
+        Assertions.assertEquals(PAYLOAD, read(response.getBodyAsStream()));
+    }
+
+    private static CXFHTTPResponseImpl newResponse() {
+        Response response = Response.ok(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)))
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .build();
+        return new CXFHTTPResponseImpl(response, new NoPagination());
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        StringBuilder content = new StringBuilder();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            content.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+        }
+        return content.toString();
+    }
+}
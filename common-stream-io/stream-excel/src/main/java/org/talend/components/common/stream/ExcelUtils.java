@@ -17,19 +17,51 @@ import java.io.InputStream;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration.ExcelFormat;
 
+import com.monitorjbl.xlsx.StreamingReader;
+
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ExcelUtils {
 
+    private static final int STREAMING_BUFFER_SIZE = 4096;
+
     public static Workbook createWorkBook(ExcelFormat format) {
         return format == ExcelFormat.EXCEL97 ? new HSSFWorkbook() : new XSSFWorkbook();
     }
 
+    /**
+     * Create a workbook for writing; excel 2007 rows are flushed to a compressed temporary file as soon as more than
+     * rowWindow rows are in memory. Excel 97 format can't be streamed, but is limited to 65536 rows anyway.
+     * Temporary files are removed by {@link #dispose(Workbook)}.
+     */
+    public static Workbook createStreamingWorkBook(ExcelFormat format, int rowWindow) {
+        if (format == ExcelFormat.EXCEL97) {
+            return new HSSFWorkbook();
+        }
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    /**
+     * Release workbook resources, including temporary files of streaming workbooks.
+     */
+    public static void dispose(Workbook workbook) throws IOException {
+        try {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+        } finally {
+            workbook.close();
+        }
+    }
+
     public static Workbook readWorkBook(ExcelFormat format, InputStream input) throws IOException {
         if (format == ExcelFormat.EXCEL97) {
             return new HSSFWorkbook(input);
@@ -39,4 +71,18 @@ public class ExcelUtils {
         }
         return new HSSFWorkbook(input);
     }
+
+    /**
+     * Open an excel 2007 workbook whose rows are parsed while they are iterated, instead of loading the whole
+     * document. Only a window of rowCacheSize rows is kept in memory and shared strings are cached in a temporary
+     * file rather than on heap; workbook has to be closed to release this file.
+     */
+    public static Workbook readStreamingWorkBook(InputStream input, int rowCacheSize) {
+        return StreamingReader
+                .builder()
+                .rowCacheSize(rowCacheSize)
+                .bufferSize(STREAMING_BUFFER_SIZE)
+                .setUseSstTempFile(true)
+                .open(input);
+    }
 }
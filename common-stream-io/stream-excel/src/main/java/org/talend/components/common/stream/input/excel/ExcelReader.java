@@ -41,9 +41,10 @@ public class ExcelReader implements FormatReader {
     @Override
     public Iterator<Record> read(InputStream input, ExcelConfiguration configuration) {
         try {
-            final Workbook currentWorkBook = ExcelUtils.readWorkBook(configuration.getExcelFormat(), input);
-            final Sheet sheet = currentWorkBook.getSheet(configuration.getSheetName());
+            final Workbook currentWorkBook = this.openWorkbook(input, configuration);
+            final Sheet sheet = this.findSheet(currentWorkBook, configuration.getSheetName());
             if (sheet == null) {
+                currentWorkBook.close();
                 throw new IllegalArgumentException(
                         "A sheet with the name " + configuration.getSheetName() + " doesn't exist");
             }
@@ -67,6 +68,17 @@ public class ExcelReader implements FormatReader {
         }
     }
 
+    protected Workbook openWorkbook(InputStream input, ExcelConfiguration configuration) throws IOException {
+        return ExcelUtils.readWorkBook(configuration.getExcelFormat(), input);
+    }
+
+    /**
+     * @return sheet with given name, null if it doesn't exist.
+     */
+    protected Sheet findSheet(Workbook workbook, String sheetName) {
+        return workbook.getSheet(sheetName);
+    }
+
     /**
      * Read header row to retrive schema.
      *
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import java.io.InputStream;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.talend.components.common.stream.ExcelUtils;
+import org.talend.components.common.stream.format.excel.ExcelConfiguration;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import com.monitorjbl.xlsx.exceptions.MissingSheetException;
+
+/**
+ * Excel 2007 (xlsx) reader parsing sheet rows on the fly, so memory doesn't depend on the file size.
+ * Excel 97 and HTML files are still read in memory by {@link ExcelReader} and {@link HTMLReader}.
+ */
+public class ExcelStreamingReader extends ExcelReader {
+
+    /** number of parsed rows kept in memory. */
+    static final int ROW_CACHE_SIZE = 1000;
+
+    public ExcelStreamingReader(RecordBuilderFactory recordBuilderFactory) {
+        super(recordBuilderFactory);
+    }
+
+    @Override
+    protected Workbook openWorkbook(InputStream input, ExcelConfiguration configuration) {
+        return ExcelUtils.readStreamingWorkBook(input, ROW_CACHE_SIZE);
+    }
+
+    @Override
+    protected Sheet findSheet(Workbook workbook, String sheetName) {
+        try {
+            return workbook.getSheet(sheetName);
+        } catch (MissingSheetException e) {
+            return null;
+        }
+    }
+}
@@ -25,8 +25,18 @@ import org.talend.components.common.stream.api.output.TargetFinder;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration;
 import org.talend.sdk.component.api.record.Record;
 
+/**
+ * Write records to an excel sheet; xlsx rows are streamed to a temporary file as soon as more than rowWindow rows are
+ * pending, so memory doesn't grow with the number of rows.
+ */
 public class ExcelWriter implements RecordWriter {
 
+    /**
+     * default number of rows kept in memory before being flushed to temporary file. Rows are only appended, so the
+     * window doesn't change the written file, a larger one only costs heap.
+     */
+    public static final int DEFAULT_ROW_WINDOW = 100;
+
     private final TargetFinder target;
 
     private final RecordToExcel toExcel;
@@ -39,12 +49,18 @@ public class ExcelWriter implements RecordWriter {
 
     private boolean first = true;
 
+    private int rowIndex = 0;
+
     public ExcelWriter(ExcelConfiguration configuration, TargetFinder target) {
+        this(configuration, target, DEFAULT_ROW_WINDOW);
+    }
+
+    public ExcelWriter(ExcelConfiguration configuration, TargetFinder target, int rowWindow) {
 
         this.target = target;
         this.toExcel = new RecordToExcel();
 
-        this.excelWorkbook = ExcelUtils.createWorkBook(configuration.getExcelFormat());
+        this.excelWorkbook = ExcelUtils.createStreamingWorkBook(configuration.getExcelFormat(), rowWindow);
         this.excelSheet = this.excelWorkbook.createSheet(configuration.getSheetName());
         this.config = configuration;
     }
@@ -68,6 +84,8 @@ public class ExcelWriter implements RecordWriter {
         this.appendFooter();
         try (final OutputStream outputStream = this.target.find()) {
             this.excelWorkbook.write(outputStream);
+        } finally {
+            ExcelUtils.dispose(this.excelWorkbook);
         }
     }
 
@@ -92,7 +110,6 @@ public class ExcelWriter implements RecordWriter {
     }
 
     private Row buildRow() {
-        int pos = this.excelSheet.getPhysicalNumberOfRows();
-        return this.excelSheet.createRow(pos);
+        return this.excelSheet.createRow(this.rowIndex++);
     }
 }
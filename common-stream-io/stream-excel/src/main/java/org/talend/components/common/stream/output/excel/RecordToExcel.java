@@ -15,7 +15,9 @@ package org.talend.components.common.stream.output.excel;
 import java.sql.Date;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -26,6 +28,7 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.record.Schema.Entry;
@@ -37,7 +40,13 @@ public class RecordToExcel {
 
     private static final short DATE_EXCEL_FORMAT = (short) 14;
 
-    private CellStyle cachedDateCellStyle;
+    /**
+     * Styles are workbook-wide objects (limited to 64000 in xlsx), so one style is shared by all cells with the same
+     * data format.
+     */
+    private final Map<Short, CellStyle> cachedCellStyles = new HashMap<>();
+
+    private Workbook stylesWorkbook;
 
     /**
      * Build excel row from record.
@@ -91,6 +100,25 @@ public class RecordToExcel {
         return row.createCell(row.getPhysicalNumberOfCells());
     }
 
+    /**
+     * Get style for data format, created once per workbook.
+     *
+     * @param workbook : workbook of the cell.
+     * @param dataFormat : data format index.
+     * @return shared cell style.
+     */
+    private CellStyle cellStyle(Workbook workbook, short dataFormat) {
+        if (this.stylesWorkbook != workbook) {
+            this.cachedCellStyles.clear();
+            this.stylesWorkbook = workbook;
+        }
+        return this.cachedCellStyles.computeIfAbsent(dataFormat, (Short format) -> {
+            final CellStyle cellStyle = workbook.createCellStyle();
+            cellStyle.setDataFormat(format);
+            return cellStyle;
+        });
+    }
+
     private void majCellValue(Cell cell, Record rec, Schema.Entry entry) {
 
         final String name = entry.getName();
@@ -105,12 +133,7 @@ public class RecordToExcel {
         case DATETIME:
             cell.setCellType(CellType.NUMERIC);
             // use built-in format: m/d/yy, org.apache.poi.ss.usermodel.BuiltinFormats
-            if (cachedDateCellStyle == null) {
-                final CellStyle cellStyle = cell.getSheet().getWorkbook().createCellStyle();
-                cellStyle.setDataFormat(DATE_EXCEL_FORMAT);
-                cachedDateCellStyle = cellStyle;
-            }
-            cell.setCellStyle(cachedDateCellStyle);
+            cell.setCellStyle(this.cellStyle(cell.getSheet().getWorkbook(), DATE_EXCEL_FORMAT));
             final Optional<ZonedDateTime> optionalDateTime = rec.getOptionalDateTime(name);
             if (optionalDateTime.isPresent()) {
                 cell.setCellValue(Date.from(optionalDateTime.get().toInstant()));
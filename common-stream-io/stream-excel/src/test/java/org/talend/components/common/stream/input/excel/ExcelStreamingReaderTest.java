@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.talend.components.common.stream.format.FooterLine;
+import org.talend.components.common.stream.format.HeaderLine;
+import org.talend.components.common.stream.format.excel.ExcelConfiguration;
+import org.talend.components.common.stream.format.excel.ExcelConfiguration.ExcelFormat;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class ExcelStreamingReaderTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    private final ExcelConfiguration config = new ExcelConfiguration();
+
+    @BeforeEach
+    void initConfig() {
+        config.setExcelFormat(ExcelFormat.EXCEL2007);
+        config.setHeader(new HeaderLine());
+        config.getHeader().setActive(false);
+        config.setFooter(new FooterLine());
+        config.getFooter().setActive(false);
+    }
+
+    @Test
+    void findReader() {
+        Assertions.assertTrue(FormatReader.findReader(ExcelFormat.EXCEL2007, factory) instanceof ExcelStreamingReader);
+        Assertions.assertFalse(FormatReader.findReader(ExcelFormat.EXCEL97, factory) instanceof ExcelStreamingReader);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "excel2007/excel2007_File.xlsx,Another Sheet,true,1",
+            "excel2007/excel2007_File.xlsx,Feuil1,true,1",
+            "excel2007/excel2007_File.xlsx,Another Sheet,false,0",
+            "excel2007/excel_2007_1_record_with_header.xlsx,Sheet1,true,1",
+            "excel2007/excel_2007_5_records_with_big_header.xlsx,Sheet1,true,2",
+            "excel2007/excel_2007_1_record_no_header.xlsx,Sheet1,false,0" })
+    void sameRecordsAsInMemoryReader(String path, String sheetName, boolean header, int headerSize)
+            throws IOException {
+        config.setSheetName(sheetName);
+        config.getHeader().setActive(header);
+        config.getHeader().setSize(headerSize);
+
+        final List<Record> expected = this.read(new ExcelReader(factory), path);
+        final List<Record> streamed = this.read(new ExcelStreamingReader(factory), path);
+
+        Assertions.assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            this.assertSameRecord(expected.get(i), streamed.get(i));
+        }
+    }
+
+    @Test
+    void typedCells() throws IOException {
+        config.setSheetName("Sheet1");
+        config.getHeader().setActive(true);
+        config.getHeader().setSize(1);
+
+        final List<Record> records =
+                this.read(new ExcelStreamingReader(factory), "excel2007/excel_2007_1_record_with_header.xlsx");
+
+        Assertions.assertEquals(1, records.size());
+        final Schema schema = records.get(0).getSchema();
+        Assertions.assertEquals(Schema.Type.DOUBLE, schema.getEntry("id").getType());
+        Assertions.assertEquals(Schema.Type.STRING, schema.getEntry("name").getType());
+        Assertions.assertEquals(Schema.Type.DOUBLE, schema.getEntry("doubleValue").getType());
+        Assertions.assertEquals(Schema.Type.DATETIME, schema.getEntry("dateValue").getType());
+        Assertions.assertEquals(Schema.Type.BOOLEAN, schema.getEntry("booleanValue").getType());
+        Assertions.assertEquals("a", records.get(0).getString("name"));
+    }
+
+    @Test
+    void missingSheet() throws IOException {
+        config.setSheetName("Unknown");
+        try (final InputStream input = this.open("excel2007/excel2007_File.xlsx")) {
+            final ExcelStreamingReader reader = new ExcelStreamingReader(factory);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> reader.read(input, config));
+        }
+    }
+
+    private List<Record> read(final FormatReader reader, final String path) throws IOException {
+        final List<Record> records = new ArrayList<>();
+        try (final InputStream input = this.open(path)) {
+            final Iterator<Record> iterator = reader.read(input, config);
+            iterator.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private InputStream open(final String path) {
+        return Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
+    }
+
+    private void assertSameRecord(final Record expected, final Record streamed) {
+        final List<Schema.Entry> expectedEntries = expected.getSchema().getEntries();
+        final List<Schema.Entry> streamedEntries = streamed.getSchema().getEntries();
+        Assertions.assertEquals(expectedEntries.size(), streamedEntries.size());
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            final Schema.Entry entry = expectedEntries.get(i);
+            Assertions.assertEquals(entry.getName(), streamedEntries.get(i).getName());
+            Assertions.assertEquals(entry.getType(), streamedEntries.get(i).getType(), entry.getName());
+            Assertions.assertEquals(expected.get(Object.class, entry.getName()),
+                    streamed.get(Object.class, entry.getName()), entry.getName());
+        }
+    }
+}
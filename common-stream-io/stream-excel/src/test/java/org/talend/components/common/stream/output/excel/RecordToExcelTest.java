@@ -17,6 +17,8 @@ import java.util.Arrays;
 import java.util.Date;
 
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Assertions;
@@ -186,4 +188,25 @@ class RecordToExcelTest {
         Assertions.assertEquals(now, cell_dateTime);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void dateStyleIsShared() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final SXSSFWorkbook wb = new SXSSFWorkbook(10);
+        final SXSSFSheet sheet = wb.createSheet();
+        final RecordToExcel toExcel = new RecordToExcel();
+
+        final int initialStyles = wb.getNumCellStyles();
+        for (int i = 0; i < 100; i++) {
+            final Record record = factory
+                    .newRecordBuilder()
+                    .withDateTime("date", Date.from(Instant.now()))
+                    .withDateTime("other", Date.from(Instant.now()))
+                    .build();
+            final int rowIndex = i;
+            toExcel.from(() -> sheet.createRow(rowIndex), record);
+        }
+        Assertions.assertEquals(initialStyles + 1, wb.getNumCellStyles());
+        wb.dispose();
+    }
+}
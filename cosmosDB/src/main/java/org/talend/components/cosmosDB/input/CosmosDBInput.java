@@ -42,6 +42,8 @@ public class CosmosDBInput implements Serializable {
 
     private final RecordBuilderFactory builderFactory;
 
+    private final String partitionKeyRangeId;
+
     private CosmosDBService service;
 
     private transient DocumentClient client;
@@ -53,9 +55,18 @@ public class CosmosDBInput implements Serializable {
     public CosmosDBInput(@Option("configuration") final CosmosDBInputConfiguration configuration,
             final CosmosDBService service,
             final RecordBuilderFactory builderFactory) {
+        this(configuration, service, builderFactory, null);
+    }
+
+    /**
+     * @param partitionKeyRangeId physical partition read by this input, null to read the whole collection
+     */
+    public CosmosDBInput(final CosmosDBInputConfiguration configuration, final CosmosDBService service,
+            final RecordBuilderFactory builderFactory, final String partitionKeyRangeId) {
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
+        this.partitionKeyRangeId = partitionKeyRangeId;
     }
 
     @PostConstruct
@@ -88,7 +99,13 @@ public class CosmosDBInput implements Serializable {
     private Iterator<Document> getResults(String databaseName, String collectionName) {
         String collectionLink = String.format("/dbs/%s/colls/%s", databaseName, collectionName);
         FeedResponse<Document> queryResults;
-        if (configuration.getDataset().isUseQuery()) {
+        if (partitionKeyRangeId != null) {
+            FeedOptions queryOptions = partitionQueryOptions(partitionKeyRangeId);
+            String query = configuration.getDataset().isUseQuery() ? configuration.getDataset().getQuery()
+                    : "SELECT * FROM c";
+            queryResults = this.client.queryDocuments(collectionLink, query, queryOptions);
+            log.info("Query [{}] execution on partition key range {} success.", query, partitionKeyRangeId);
+        } else if (configuration.getDataset().isUseQuery()) {
             // Set some common query options
             FeedOptions queryOptions = new FeedOptions();
             queryOptions.setPageSize(-1);
@@ -102,4 +119,15 @@ public class CosmosDBInput implements Serializable {
         }
         return queryResults.getQueryIterator();
     }
+
+    /**
+     * Options of a query restricted to a single partition key range, the SDK only exposes this restriction through
+     * an internal setter.
+     */
+    static FeedOptions partitionQueryOptions(String partitionKeyRangeId) {
+        FeedOptions queryOptions = new FeedOptions();
+        queryOptions.setPageSize(-1);
+        queryOptions.setPartitionKeyRangeIdInternal(partitionKeyRangeId);
+        return queryOptions;
+    }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@
  */
 package org.talend.components.cosmosDB.input;
 
+import lombok.extern.slf4j.Slf4j;
 import org.talend.components.cosmosDB.service.CosmosDBService;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
@@ -22,26 +23,44 @@ import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
 
+@Slf4j
 @Version(1)
 @Icon(value = Icon.IconType.CUSTOM, custom = "CosmosDB-input")
 @PartitionMapper(name = "SQLAPIInput")
 @Documentation("cosmosDB input Mapper")
 public class CosmosDBInputMapper implements Serializable {
 
+    private static final Pattern NOT_SPLITTABLE_QUERY = Pattern.compile(
+            "\\b(ORDER\\s+BY|GROUP\\s+BY|TOP|DISTINCT|OFFSET|LIMIT|COUNT|SUM|AVG|MIN|MAX)\\b",
+            Pattern.CASE_INSENSITIVE);
+
     private final CosmosDBInputConfiguration configuration;
 
     private final CosmosDBService service;
 
     private final RecordBuilderFactory recordBuilderFactory;
 
+    /**
+     * Partition key range read by this mapper, null to read the whole collection.
+     */
+    private final String partitionKeyRangeId;
+
     public CosmosDBInputMapper(@Option("configuration") final CosmosDBInputConfiguration configuration,
             final CosmosDBService service, final RecordBuilderFactory recordBuilderFactory) {
+        this(configuration, service, recordBuilderFactory, null);
+    }
+
+    private CosmosDBInputMapper(final CosmosDBInputConfiguration configuration, final CosmosDBService service,
+            final RecordBuilderFactory recordBuilderFactory, final String partitionKeyRangeId) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
+        this.partitionKeyRangeId = partitionKeyRangeId;
     }
 
     @Assessor
@@ -52,17 +71,37 @@ public class CosmosDBInputMapper implements Serializable {
         return 1L;
     }
 
+    /**
+     * One reader per physical partition key range, so that the export scales with the collection throughput.
+     * Queries with a cross-partition semantic (ordering, aggregation...) are not split since each reader would only
+     * apply it to its own range.
+     */
     @Split
     public List<CosmosDBInputMapper> split(@PartitionSize final long bundles) {
-        // overall idea here is to split the work related to configuration in bundles of size "bundles"
-        //
-        // for instance if your estimateSize() returned 1000 and you can run on 10 nodes
-        // then the environment can decide to run it concurrently (10 * 100).
-        // In this case bundles = 100 and we must try to return 10 CosmosDBInputMapper with 1/10 of the overall work
-        // each.
-        //
-        // default implementation returns this which means it doesn't support the work to be split
-        return singletonList(this);
+        if (partitionKeyRangeId != null || !isSplittable()) {
+            return singletonList(this);
+        }
+        final String collectionLink = String.format("/dbs/%s/colls/%s",
+                configuration.getDataset().getDatastore().getDatabaseID(),
+                configuration.getDataset().getCollectionID());
+        try {
+            List<CosmosDBInputMapper> mappers = service
+                    .getPartitionKeyRangeIds(configuration.getDataset().getDatastore(), collectionLink)
+                    .stream()
+                    .map(rangeId -> new CosmosDBInputMapper(configuration, service, recordBuilderFactory, rangeId))
+                    .collect(Collectors.toList());
+            log.info("[split] {} partition key ranges to read in {}.", mappers.size(), collectionLink);
+            return mappers.size() > 1 ? mappers : singletonList(this);
+        } catch (RuntimeException e) {
+            log.warn("[split] Can't read partition key ranges of {}, collection read as a whole: {}", collectionLink,
+                    e.getMessage());
+            return singletonList(this);
+        }
+    }
+
+    private boolean isSplittable() {
+        return !configuration.getDataset().isUseQuery()
+                || !NOT_SPLITTABLE_QUERY.matcher(configuration.getDataset().getQuery()).find();
     }
 
     @Emitter
@@ -70,6 +109,6 @@ public class CosmosDBInputMapper implements Serializable {
         // here we create an actual worker,
         // you are free to rework the configuration etc but our default generated implementation
         // propagates the partition mapper entries.
-        return new CosmosDBInput(configuration, service, recordBuilderFactory);
+        return new CosmosDBInput(configuration, service, recordBuilderFactory, partitionKeyRangeId);
     }
 }
\ No newline at end of file
@@ -14,6 +14,10 @@ package org.talend.components.cosmosDB.output;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -24,6 +28,7 @@ import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Processor;
@@ -52,9 +57,11 @@ public class CosmosDBOutput implements Serializable {
 
     private final CosmosDBService service;
 
+    private static final Object UNDEFINED_PARTITION_KEY = new Object();
+
     private transient DocumentClient client;
 
-    private OutputParserFactory.IOutputParser out;
+    private transient PartitionedBulkWriter writer;
 
     public CosmosDBOutput(@Option("configuration") final CosmosDBOutputConfiguration configuration,
             final CosmosDBService service) {
@@ -70,21 +77,84 @@ public class CosmosDBOutput implements Serializable {
         if (configuration.isCreateCollection()) {
             createDocumentCollectionIfNotExists();
         }
-        out = new OutputParserFactory(configuration, client).getOutputParser();
+        OutputParserFactory.IOutputParser out = new OutputParserFactory(configuration, client).getOutputParser();
+        List<String> partitionKeyPath = getPartitionKeyPath();
+        writer = new PartitionedBulkWriter(out, rec -> getGroupingKey(rec, partitionKeyPath),
+                configuration.getBatchSize(), configuration.getMaxConcurrentWrites(),
+                configuration.getMaxThrottleRetries());
     }
 
     @ElementListener
     public void onNext(@Input final Record rec) {
-        out.output(rec);
+        writer.write(rec);
+    }
+
+    @AfterGroup
+    public void afterGroup() {
+        writer.flush();
     }
 
     @PreDestroy
     public void release() {
+        if (writer != null) {
+            writer.close();
+        }
         if (client != null) {
             client.close();
         }
     }
 
+    /**
+     * Records with the same partition key are written by the same request flow, records without partition key are
+     * grouped by id so that the writes of a document keep their order.
+     */
+    static Object getGroupingKey(final Record rec, final List<String> partitionKeyPath) {
+        if (partitionKeyPath != null && !partitionKeyPath.isEmpty()) {
+            Record current = rec;
+            for (int i = 0; i < partitionKeyPath.size() - 1 && current != null; i++) {
+                current = current.getSchema().getEntry(partitionKeyPath.get(i)) == null ? null
+                        : current.getRecord(partitionKeyPath.get(i));
+            }
+            String last = partitionKeyPath.get(partitionKeyPath.size() - 1);
+            return Optional
+                    .ofNullable(current)
+                    .filter(r -> r.getSchema().getEntry(last) != null)
+                    .map(r -> r.get(Object.class, last))
+                    .orElse(UNDEFINED_PARTITION_KEY);
+        }
+        if (rec.getSchema().getEntry("id") != null && rec.get(Object.class, "id") != null) {
+            return rec.get(Object.class, "id");
+        }
+        return rec;
+    }
+
+    private List<String> getPartitionKeyPath() {
+        String path = null;
+        if (configuration.getDataAction() == DataAction.DELETE) {
+            path = configuration.getPartitionKeyForDelete();
+        } else {
+            final String collectionLink = String.format("/dbs/%s/colls/%s",
+                    configuration.getDataset().getDatastore().getDatabaseID(),
+                    configuration.getDataset().getCollectionID());
+            try {
+                PartitionKeyDefinition definition =
+                        client.readCollection(collectionLink, null).getResource().getPartitionKey();
+                if (definition != null && definition.getPaths() != null && !definition.getPaths().isEmpty()) {
+                    path = definition.getPaths().iterator().next();
+                }
+            } catch (DocumentClientException e) {
+                log.warn("Can't read partition key of {}: {}", collectionLink, e.getMessage());
+            }
+        }
+        if (StringUtils.isEmpty(path)) {
+            return Collections.emptyList();
+        }
+        return Arrays
+                .stream(path.split("/"))
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toList());
+    }
+
     private void createDocumentCollectionIfNotExists() {
         final String databaseName = configuration.getDataset().getDatastore().getDatabaseID();
         final String collectionName = configuration.getDataset().getCollectionID();
@@ -20,6 +20,7 @@ import org.talend.components.cosmosDB.dataset.QueryDataset;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
@@ -36,7 +37,8 @@ import lombok.Data;
 }),
         @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }),
                 @GridLayout.Row({ "offerThroughput" }), @GridLayout.Row({ "partitionKey" }),
-                @GridLayout.Row({ "partitionKeyForDelete" }) }) })
+                @GridLayout.Row({ "partitionKeyForDelete" }), @GridLayout.Row({ "batchSize" }),
+                @GridLayout.Row({ "maxConcurrentWrites" }), @GridLayout.Row({ "maxThrottleRetries" }) }) })
 @Documentation("cosmosDB output configuration")
 public class CosmosDBOutputConfiguration implements Serializable {
 
@@ -75,4 +77,19 @@ public class CosmosDBOutputConfiguration implements Serializable {
     @ActiveIf(target = "dataAction", value = { "INSERT", "UPSERT" })
     private boolean autoIDGeneration;
 
+    @Option
+    @Min(1)
+    @Documentation("Number of records buffered before being written grouped by partition key.")
+    private int batchSize = 100;
+
+    @Option
+    @Min(1)
+    @Documentation("Maximum number of partition keys written concurrently.")
+    private int maxConcurrentWrites = 8;
+
+    @Option
+    @Min(0)
+    @Documentation("Maximum number of retries of a request throttled because the collection throughput is exceeded.")
+    private int maxThrottleRetries = 10;
+
 }
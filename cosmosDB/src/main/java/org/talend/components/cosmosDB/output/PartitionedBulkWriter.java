@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.talend.sdk.component.api.record.Record;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers records and writes them by partition key.
+ * <p>
+ * Each flush groups the buffered records by partition key value, the groups are written concurrently while the records
+ * of a group are written in their arrival order. A request throttled by Cosmos DB (status 429) is retried after the
+ * delay given by the service, and every writer waits for that delay as well since they all consume the same
+ * provisioned throughput.
+ */
+@Slf4j
+class PartitionedBulkWriter implements AutoCloseable {
+
+    static final int TOO_MANY_REQUESTS = 429;
+
+    private static final long DEFAULT_RETRY_DELAY = 100L;
+
+    private static final long MAX_RETRY_DELAY = 5000L;
+
+    private final OutputParserFactory.IOutputParser parser;
+
+    private final Function<Record, Object> partitionKey;
+
+    private final int batchSize;
+
+    private final int maxThrottleRetries;
+
+    private final ExecutorService executor;
+
+    private final AtomicLong throttledUntil = new AtomicLong();
+
+    private final List<Record> buffer = new ArrayList<>();
+
+    PartitionedBulkWriter(final OutputParserFactory.IOutputParser parser, final Function<Record, Object> partitionKey,
+            final int batchSize, final int maxConcurrentWrites, final int maxThrottleRetries) {
+        this.parser = parser;
+        this.partitionKey = partitionKey;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxThrottleRetries = maxThrottleRetries;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentWrites), r -> {
+            Thread thread = new Thread(r, "cosmosdb-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void write(final Record rec) {
+        buffer.add(rec);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Map<Object, List<Record>> groups = new LinkedHashMap<>();
+        for (Record rec : buffer) {
+            groups.computeIfAbsent(partitionKey.apply(rec), k -> new ArrayList<>()).add(rec);
+        }
+        buffer.clear();
+        log.debug("[flush] Writing {} partition key groups.", groups.size());
+
+        List<Future<?>> writes = new ArrayList<>(groups.size());
+        groups.values().forEach(group -> writes.add(executor.submit(() -> group.forEach(this::writeRecord))));
+
+        RuntimeException failure = null;
+        for (Future<?> write : writes) {
+            try {
+                write.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new IllegalArgumentException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void writeRecord(final Record rec) {
+        int retries = 0;
+        while (true) {
+            awaitThrottling();
+            try {
+                parser.output(rec);
+                return;
+            } catch (RuntimeException e) {
+                long delay = throttlingDelay(e);
+                if (delay < 0 || retries >= maxThrottleRetries) {
+                    throw e;
+                }
+                retries++;
+                delay = delay > 0 ? delay : Math.min(DEFAULT_RETRY_DELAY << Math.min(retries, 6), MAX_RETRY_DELAY);
+                log.debug("[writeRecord] Request throttled, retry {} in {} ms.", retries, delay);
+                long until = System.currentTimeMillis() + delay;
+                throttledUntil.accumulateAndGet(until, Math::max);
+            }
+        }
+    }
+
+    private void awaitThrottling() {
+        long wait = throttledUntil.get() - System.currentTimeMillis();
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * @return the delay requested by the service before retrying, 0 when not given, -1 when the failure is not a
+     * throttled request
+     */
+    static long throttlingDelay(final Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof DocumentClientException
+                    && ((DocumentClientException) t).getStatusCode() == TOO_MANY_REQUESTS) {
+                return Math.max(0L, ((DocumentClientException) t).getRetryAfterInMilliseconds());
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return -1L;
+    }
+}
@@ -17,6 +17,8 @@ import com.microsoft.azure.documentdb.ConnectionPolicy;
 import com.microsoft.azure.documentdb.ConsistencyLevel;
 import com.microsoft.azure.documentdb.DocumentClient;
 import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.FeedOptions;
+import com.microsoft.azure.documentdb.PartitionKeyRange;
 import com.microsoft.azure.documentdb.RetryOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -81,6 +83,21 @@ public class CosmosDBService {
                 ConsistencyLevel.valueOf(datastore.getConsistencyLevel().name()));
     }
 
+    /**
+     * Ids of the physical partition key ranges of a collection.
+     */
+    public List<String> getPartitionKeyRangeIds(CosmosDBDataStore datastore, String collectionLink) {
+        try (DocumentClient client = documentClientFrom(datastore)) {
+            return client
+                    .readPartitionKeyRanges(collectionLink, (FeedOptions) null)
+                    .getQueryIterable()
+                    .toList()
+                    .stream()
+                    .map(PartitionKeyRange::getId)
+                    .collect(Collectors.toList());
+        }
+    }
+
     @HealthCheck("healthCheck")
     public HealthCheckStatus
             healthCheck(@Option("configuration.dataset.connection") final CosmosDBDataStore datastore) {
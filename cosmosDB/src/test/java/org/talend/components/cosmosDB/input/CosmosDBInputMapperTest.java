@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.input;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.cosmosDB.dataset.QueryDataset;
+import org.talend.components.cosmosDB.datastore.CosmosDBDataStore;
+import org.talend.components.cosmosDB.service.CosmosDBService;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class CosmosDBInputMapperTest {
+
+    private final List<String> rangeIds = new ArrayList<>();
+
+    private final List<String> listedCollections = new ArrayList<>();
+
+    private CosmosDBInputConfiguration configuration;
+
+    private CosmosDBService service;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new CosmosDBInputConfiguration();
+        QueryDataset dataset = new QueryDataset();
+        configuration.setDataset(dataset);
+        dataset.setCollectionID("collect1234");
+        CosmosDBDataStore store = new CosmosDBDataStore();
+        dataset.setDatastore(store);
+        store.setDatabaseID("idDB");
+
+        service = new CosmosDBService() {
+
+            @Override
+            public List<String> getPartitionKeyRangeIds(CosmosDBDataStore datastore, String collectionLink) {
+                listedCollections.add(collectionLink);
+                return rangeIds;
+            }
+        };
+    }
+
+    @Test
+    void splitPerPartitionKeyRange() throws Exception {
+        rangeIds.addAll(Arrays.asList("0", "1", "2"));
+
+        List<CosmosDBInputMapper> mappers = mapper().split(1L);
+
+        Assertions.assertEquals(Collections.singletonList("/dbs/idDB/colls/collect1234"), listedCollections);
+        Assertions.assertEquals(rangeIds.size(), mappers.size());
+        List<String> readRanges = new ArrayList<>();
+        for (CosmosDBInputMapper split : mappers) {
+            readRanges.add(partitionKeyRangeId(split.createWorker()));
+            // a split is not split again
+            Assertions.assertEquals(Collections.singletonList(split), split.split(1L));
+        }
+        Assertions.assertEquals(rangeIds, readRanges);
+        Assertions.assertEquals(1, listedCollections.size());
+    }
+
+    @Test
+    void singleRangeIsNotSplit() throws Exception {
+        rangeIds.add("0");
+        CosmosDBInputMapper mapper = mapper();
+
+        List<CosmosDBInputMapper> mappers = mapper.split(1L);
+
+        Assertions.assertEquals(Collections.singletonList(mapper), mappers);
+        Assertions.assertNull(partitionKeyRangeId(mapper.createWorker()));
+    }
+
+    @Test
+    void crossPartitionQueryIsNotSplit() {
+        rangeIds.addAll(Arrays.asList("0", "1"));
+        configuration.getDataset().setUseQuery(true);
+        configuration.getDataset().setQuery("SELECT * FROM c ORDER BY c.name");
+        CosmosDBInputMapper mapper = mapper();
+
+        Assertions.assertEquals(Collections.singletonList(mapper), mapper.split(1L));
+        Assertions.assertTrue(listedCollections.isEmpty());
+    }
+
+    @Test
+    void unreadableRangesAreNotSplit() {
+        service = new CosmosDBService() {
+
+            @Override
+            public List<String> getPartitionKeyRangeIds(CosmosDBDataStore datastore, String collectionLink) {
+                throw new IllegalStateException("forbidden");
+            }
+        };
+        CosmosDBInputMapper mapper = mapper();
+
+        Assertions.assertEquals(Collections.singletonList(mapper), mapper.split(1L));
+    }
+
+    @Test
+    void partitionQueryIsRestrictedToItsRange() {
+        Assertions.assertEquals("2", CosmosDBInput.partitionQueryOptions("2").getPartitionKeyRangeIdInternal());
+    }
+
+    private CosmosDBInputMapper mapper() {
+        return new CosmosDBInputMapper(configuration, service, new RecordBuilderFactoryImpl("test"));
+    }
+
+    private static String partitionKeyRangeId(CosmosDBInput input) throws Exception {
+        Field field = CosmosDBInput.class.getDeclaredField("partitionKeyRangeId");
+        field.setAccessible(true);
+        return (String) field.get(input);
+    }
+}
@@ -19,6 +19,7 @@ import org.talend.components.cosmosDB.datastore.CosmosDBDataStore;
 import org.talend.components.cosmosDB.input.CosmosDBInput;
 import org.talend.components.cosmosDB.input.CosmosDBInputConfiguration;
 import org.talend.components.cosmosDB.service.CosmosDBService;
+import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.junit.environment.Environment;
@@ -31,6 +32,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,4 +75,46 @@ class CosmosDBOutputTest {
         Assertions.assertNotNull(cfgCopy.getDataset());
         Assertions.assertEquals(dataset, cfgCopy.getDataset());
     }
-}
\ No newline at end of file
+
+    @Test
+    void samePartitionKeySharesGroupingKey() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final List<String> path = Arrays.asList("address", "city");
+        final Record paris1 = document(factory, "1", "Paris");
+        final Record paris2 = document(factory, "2", "Paris");
+        final Record nantes = document(factory, "3", "Nantes");
+
+        Assertions.assertEquals(CosmosDBOutput.getGroupingKey(paris1, path),
+                CosmosDBOutput.getGroupingKey(paris2, path));
+        Assertions.assertNotEquals(CosmosDBOutput.getGroupingKey(paris1, path),
+                CosmosDBOutput.getGroupingKey(nantes, path));
+    }
+
+    @Test
+    void missingPartitionKeySharesGroupingKey() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final List<String> path = Arrays.asList("address", "city");
+        final Record noAddress1 = factory.newRecordBuilder().withString("id", "1").build();
+        final Record noAddress2 = factory.newRecordBuilder().withString("id", "2").build();
+
+        Assertions.assertEquals(CosmosDBOutput.getGroupingKey(noAddress1, path),
+                CosmosDBOutput.getGroupingKey(noAddress2, path));
+        Assertions.assertNotEquals(CosmosDBOutput.getGroupingKey(noAddress1, path),
+                CosmosDBOutput.getGroupingKey(document(factory, "3", "Paris"), path));
+    }
+
+    @Test
+    void unpartitionedCollectionIsGroupedById() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+        Assertions.assertEquals("1", CosmosDBOutput.getGroupingKey(document(factory, "1", "Paris"),
+                Collections.emptyList()));
+        Assertions.assertNotEquals(CosmosDBOutput.getGroupingKey(document(factory, "1", "Paris"), null),
+                CosmosDBOutput.getGroupingKey(document(factory, "2", "Paris"), null));
+    }
+
+    private static Record document(final RecordBuilderFactory factory, final String id, final String city) {
+        final Record address = factory.newRecordBuilder().withString("city", city).build();
+        return factory.newRecordBuilder().withString("id", id).withRecord("address", address).build();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+
+class PartitionedBulkWriterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void writeGroupedByPartitionKey() {
+        final List<Record> written = Collections.synchronizedList(new ArrayList<>());
+        try (PartitionedBulkWriter writer = new PartitionedBulkWriter(written::add,
+                rec -> rec.getString("pk"), 10, 4, 0)) {
+            for (int i = 0; i < 25; i++) {
+                writer.write(record(i, "pk" + (i % 3)));
+            }
+            Assertions.assertEquals(20, written.size());
+            writer.flush();
+        }
+        Assertions.assertEquals(25, written.size());
+        for (int pk = 0; pk < 3; pk++) {
+            final String key = "pk" + pk;
+            List<Integer> ids = written
+                    .stream()
+                    .filter(r -> key.equals(r.getString("pk")))
+                    .map(r -> r.getInt("id"))
+                    .collect(Collectors.toList());
+            List<Integer> sorted = new ArrayList<>(ids);
+            Collections.sort(sorted);
+            Assertions.assertEquals(sorted, ids, "writes of a partition key are kept in order");
+        }
+    }
+
+    @Test
+    void retryThrottledRequests() {
+        final AtomicInteger attempts = new AtomicInteger();
+        try (PartitionedBulkWriter writer = new PartitionedBulkWriter(rec -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IllegalArgumentException(
+                        new DocumentClientException(PartitionedBulkWriter.TOO_MANY_REQUESTS));
+            }
+        }, rec -> rec.getString("pk"), 1, 1, 2)) {
+            writer.write(record(1, "pk"));
+        }
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void failureIsRethrown() {
+        try (PartitionedBulkWriter writer = new PartitionedBulkWriter(rec -> {
+            throw new IllegalArgumentException("write failed");
+        }, rec -> rec.getString("pk"), 2, 2, 2)) {
+            writer.write(record(1, "pk1"));
+            IllegalArgumentException e =
+                    Assertions.assertThrows(IllegalArgumentException.class, () -> writer.write(record(2, "pk2")));
+            Assertions.assertEquals("write failed", e.getMessage());
+        }
+    }
+
+    private Record record(final int id, final String pk) {
+        return factory.newRecordBuilder().withInt("id", id).withString("pk", pk).build();
+    }
+}
@@ -15,8 +15,10 @@ package org.talend.components.couchbase.output;
 import static com.couchbase.client.java.kv.MutateInSpec.upsert;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -31,6 +33,7 @@ import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Processor;
@@ -41,14 +44,18 @@ import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.Cluster;
 import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.ReactiveCollection;
 import com.couchbase.client.java.codec.RawBinaryTranscoder;
 import com.couchbase.client.java.codec.RawStringTranscoder;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.MutateInSpec;
 import com.couchbase.client.java.kv.UpsertOptions;
 import com.couchbase.client.java.query.QueryOptions;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Version(1)
 @Slf4j
@@ -69,6 +76,15 @@ public class CouchbaseOutput implements Serializable {
 
     private static final String CONTENT_FIELD_NAME = "content";
 
+    /**
+     * Couchbase limit of sub-document operations in a single mutateIn.
+     */
+    static final int MAX_MUTATE_IN_SPECS = 16;
+
+    private transient ReactiveCollection reactiveCollection;
+
+    private transient List<Record> buffer;
+
     public CouchbaseOutput(@Option("configuration") final CouchbaseOutputConfiguration configuration,
             final CouchbaseService service) {
         this.configuration = configuration;
@@ -80,7 +96,9 @@ public class CouchbaseOutput implements Serializable {
         cluster = service.openConnection(configuration.getDataSet().getDatastore());
         Bucket bucket = cluster.bucket(configuration.getDataSet().getBucket());
         collection = bucket.defaultCollection();
+        reactiveCollection = collection.reactive();
         idFieldName = configuration.getIdFieldName();
+        buffer = new ArrayList<>();
     }
 
     @ElementListener
@@ -99,35 +117,97 @@ public class CouchbaseOutput implements Serializable {
                 throw new ComponentException(ex.getMessage());
             }
         } else {
-            if (configuration.isPartialUpdate()) {
-                updatePartiallyDocument(rec);
-            } else {
-                if (configuration.getDataSet().getDocumentType() == DocumentType.BINARY) {
-                    collection.upsert(rec.getString(idFieldName), rec.getBytes(CONTENT_FIELD_NAME),
-                            UpsertOptions.upsertOptions().transcoder(RawBinaryTranscoder.INSTANCE));
-                } else if (configuration.getDataSet().getDocumentType() == DocumentType.STRING) {
-                    collection.upsert(rec.getString(idFieldName), rec.getString(CONTENT_FIELD_NAME),
-                            UpsertOptions.upsertOptions().transcoder(RawStringTranscoder.INSTANCE));
-                } else {
-                    collection.upsert(rec.getString(idFieldName), buildJsonObjectWithoutId(rec));
-                }
+            buffer.add(rec);
+            if (buffer.size() >= configuration.getBatchSize()) {
+                flush();
             }
         }
     }
 
+    @AfterGroup
+    public void afterGroup() {
+        flush();
+    }
+
+    /**
+     * Write the buffered records through the reactive API, at most {@code maxConcurrentWrites} documents at a time.
+     * Writes of a same document are kept in the record order.
+     */
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Map<String, List<Record>> recordsById = new LinkedHashMap<>();
+        for (Record rec : buffer) {
+            recordsById.computeIfAbsent(rec.getString(idFieldName), id -> new ArrayList<>()).add(rec);
+        }
+        buffer = new ArrayList<>();
+
+        List<String> failures = Flux
+                .fromIterable(recordsById.entrySet())
+                .flatMap(records -> Flux
+                        .fromIterable(records.getValue())
+                        .concatMap(this::write)
+                        .then(Mono.<String> empty())
+                        .onErrorResume(e -> {
+                            log.error("Write of document {} failed: {}.", records.getKey(), e.getMessage());
+                            return Mono.just(records.getKey() + ": " + e.getMessage());
+                        }), configuration.getMaxConcurrentWrites())
+                .collectList()
+                .block();
+
+        if (failures != null && !failures.isEmpty()) {
+            throw new ComponentException(failures.size() + " document(s) failed: " + String.join(", ", failures));
+        }
+    }
+
+    private Mono<?> write(Record rec) {
+        String id = rec.getString(idFieldName);
+        if (configuration.isPartialUpdate()) {
+            return updatePartiallyDocument(id, rec);
+        } else if (configuration.getDataSet().getDocumentType() == DocumentType.BINARY) {
+            return reactiveCollection.upsert(id, rec.getBytes(CONTENT_FIELD_NAME),
+                    UpsertOptions.upsertOptions().transcoder(RawBinaryTranscoder.INSTANCE));
+        } else if (configuration.getDataSet().getDocumentType() == DocumentType.STRING) {
+            return reactiveCollection.upsert(id, rec.getString(CONTENT_FIELD_NAME),
+                    UpsertOptions.upsertOptions().transcoder(RawStringTranscoder.INSTANCE));
+        } else {
+            return reactiveCollection.upsert(id, buildJsonObjectWithoutId(rec));
+        }
+    }
+
     @PreDestroy
     public void release() {
+        if (buffer != null && !buffer.isEmpty()) {
+            log.warn("{} buffered record(s) not written.", buffer.size());
+        }
         service.closeConnection(configuration.getDataSet().getDatastore());
     }
 
-    private void updatePartiallyDocument(Record rec) {
-        rec.getSchema()
+    /**
+     * Upsert all the fields of a document in a single mutateIn, or in one mutateIn per
+     * {@value #MAX_MUTATE_IN_SPECS} fields for larger records. A record with only the id leaves the document as is.
+     */
+    private Mono<?> updatePartiallyDocument(String id, Record rec) {
+        List<MutateInSpec> specs = rec
+                .getSchema()
                 .getEntries()
                 .stream()
                 .filter(e -> !idFieldName.equals(e.getName()))
-                .forEach(
-                        e -> collection.mutateIn(rec.getString(idFieldName), Collections
-                                .singletonList(upsert(e.getName(), jsonValueFromRecordValue(e, rec)))));
+                .map(e -> upsert(e.getName(), jsonValueFromRecordValue(e, rec)))
+                .collect(Collectors.toList());
+        if (specs.isEmpty()) {
+            // nothing to update besides the id, mutateIn rejects an empty list of specs
+            return Mono.empty();
+        }
+        if (specs.size() <= MAX_MUTATE_IN_SPECS) {
+            return reactiveCollection.mutateIn(id, specs);
+        }
+        List<List<MutateInSpec>> chunks = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i += MAX_MUTATE_IN_SPECS) {
+            chunks.add(specs.subList(i, Math.min(i + MAX_MUTATE_IN_SPECS, specs.size())));
+        }
+        return Flux.fromIterable(chunks).concatMap(chunk -> reactiveCollection.mutateIn(id, chunk)).then();
     }
 
     private Object jsonValueFromRecordValue(Schema.Entry entry, Record rec) {
@@ -20,6 +20,7 @@ import org.talend.components.couchbase.dataset.CouchbaseDataSet;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.widget.Code;
 import org.talend.sdk.component.api.configuration.ui.widget.TextArea;
@@ -33,7 +34,8 @@ import lombok.Data;
         @GridLayout.Row({ "idFieldName", "partialUpdate" }), @GridLayout.Row({ "useN1QLQuery" }),
         @GridLayout.Row({ "query" }),
         @GridLayout.Row({ "queryParams" }), })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }),
+        @GridLayout.Row({ "batchSize", "maxConcurrentWrites" }) })
 @Documentation("Couchbase output configuration.")
 public class CouchbaseOutputConfiguration implements Serializable {
 
@@ -55,6 +57,18 @@ public class CouchbaseOutputConfiguration implements Serializable {
     @Documentation("Do a partial update of document.")
     private boolean partialUpdate;
 
+    @Option
+    @Min(1)
+    @ActiveIf(target = "useN1QLQuery", value = "false")
+    @Documentation("Number of records buffered before being written.")
+    private int batchSize = 500;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "useN1QLQuery", value = "false")
+    @Documentation("Maximum number of documents written at the same time.")
+    private int maxConcurrentWrites = 32;
+
     @Option
     @TextArea
     @Code("sql")
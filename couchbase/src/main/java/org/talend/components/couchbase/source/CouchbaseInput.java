@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -42,11 +43,12 @@ import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.Cluster;
 import com.couchbase.client.java.Collection;
-import com.couchbase.client.java.analytics.AnalyticsResult;
+import com.couchbase.client.java.analytics.ReactiveAnalyticsResult;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.manager.query.CreatePrimaryQueryIndexOptions;
-import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.ReactiveQueryResult;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -70,16 +72,42 @@ public class CouchbaseInput implements Serializable {
 
     private transient Iterator<JsonObject> queryResultsIterator = null;
 
+    /**
+     * Rows streamed from the reactive query API, closing it cancels the query.
+     */
+    private transient Stream<JsonObject> rows;
+
     private transient Collection collection;
 
     public static final String META_ID_FIELD = "_meta_id_";
 
+    /**
+     * Number of rows requested in advance from the query service, rows are pulled as records are emitted.
+     */
+    static final int ROWS_PREFETCH = 256;
+
+    /**
+     * Document id range of the split to read for {@link SelectAction#ALL}, lower bound inclusive, upper bound
+     * exclusive, null when unbounded.
+     */
+    private final String lowerId;
+
+    private final String upperId;
+
     public CouchbaseInput(@Option("configuration") final CouchbaseInputConfiguration configuration,
             final CouchbaseService service, final RecordBuilderFactory builderFactory, final I18nMessage i18n) {
+        this(configuration, service, builderFactory, i18n, null, null);
+    }
+
+    public CouchbaseInput(final CouchbaseInputConfiguration configuration, final CouchbaseService service,
+            final RecordBuilderFactory builderFactory, final I18nMessage i18n, final String lowerId,
+            final String upperId) {
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
         this.i18n = i18n;
+        this.lowerId = lowerId;
+        this.upperId = upperId;
     }
 
     @PostConstruct
@@ -94,47 +122,64 @@ public class CouchbaseInput implements Serializable {
         }
         columnsSet = new HashSet<>();
 
+        // results are streamed with the reactive API: rows are not all buffered before the first record
         if (configuration.getSelectAction() == SelectAction.ANALYTICS) {
-            AnalyticsResult analyticsResult = null;
+            ReactiveAnalyticsResult analyticsResult = null;
             try {
-                analyticsResult = cluster.analyticsQuery(configuration.getQuery());
+                analyticsResult = cluster.reactive().analyticsQuery(configuration.getQuery()).block();
             } catch (CouchbaseException e) {
                 LOG.error(i18n.queryResultError(e.getMessage()));
                 throw new ComponentException(i18n.queryResultError(e.getMessage()));
             }
-            queryResultsIterator = analyticsResult.rowsAsObject().iterator();
+            rows = analyticsResult.rowsAsObject().toStream(ROWS_PREFETCH);
         } else {
             // DSL API (Statement, AsPath classes etc. was deprecated, cannot use it anymore!)
             // In most cases, a simple string statement is the best replacement.
 
-            QueryResult n1qlResult;
+            ReactiveQueryResult n1qlResult;
             StringBuilder statementBuilder;
             switch (configuration.getSelectAction()) {
             case ALL:
                 statementBuilder = new StringBuilder();
                 statementBuilder.append("SELECT meta().id as `_meta_id_`, * FROM `").append(bucket.name()).append("`");
+                JsonObject parameters = JsonObject.create();
+                if (lowerId != null || upperId != null) {
+                    statementBuilder.append(" WHERE ");
+                    if (lowerId != null) {
+                        statementBuilder.append("meta().id >= $lowerId");
+                        parameters.put("lowerId", lowerId);
+                    }
+                    if (upperId != null) {
+                        statementBuilder.append(lowerId != null ? " AND " : "").append("meta().id < $upperId");
+                        parameters.put("upperId", upperId);
+                    }
+                }
                 if (!configuration.getLimit().isEmpty()) {
                     statementBuilder.append(" LIMIT ").append(configuration.getLimit().trim());
                 }
-                n1qlResult = cluster.query(statementBuilder.toString());
+                n1qlResult = cluster
+                        .reactive()
+                        .query(statementBuilder.toString(), QueryOptions.queryOptions().parameters(parameters))
+                        .block();
                 break;
             case N1QL:
                 /*
                  * should contain "meta().id as `_meta_id_`" field for non-json (binary) documents
                  */
-                n1qlResult = cluster.query(configuration.getQuery());
+                n1qlResult = cluster.reactive().query(configuration.getQuery()).block();
                 break;
             case ONE:
                 statementBuilder = new StringBuilder();
                 statementBuilder.append("SELECT meta().id as `_meta_id_`, * FROM `").append(bucket.name()).append("`");
                 statementBuilder.append(" USE KEYS \"").append(configuration.getDocumentId()).append("\"");
-                n1qlResult = cluster.query(statementBuilder.toString());
+                n1qlResult = cluster.reactive().query(statementBuilder.toString()).block();
                 break;
             default:
                 throw new ComponentException("Select action: '" + configuration.getSelectAction() + "' is unsupported");
             }
-            queryResultsIterator = n1qlResult.rowsAsObject().iterator();
+            rows = n1qlResult.rowsAsObject().toStream(ROWS_PREFETCH);
         }
+        queryResultsIterator = rows.iterator();
     }
 
     @Producer
@@ -193,6 +238,10 @@ public class CouchbaseInput implements Serializable {
 
     @PreDestroy
     public void release() {
+        if (rows != null) {
+            // cancel the query when all rows were not read
+            rows.close();
+        }
         service.closeConnection(configuration.getDataSet().getDatastore());
     }
 
@@ -12,6 +12,7 @@
  */
 package org.talend.components.couchbase.source;
 
+import org.talend.components.couchbase.datastore.CouchbaseDataStore;
 import org.talend.components.couchbase.service.CouchbaseService;
 import org.talend.components.couchbase.service.I18nMessage;
 
@@ -23,16 +24,37 @@ import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.java.Cluster;
+import com.couchbase.client.java.json.JsonArray;
+import com.couchbase.client.java.query.QueryOptions;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
 import static java.util.Collections.singletonList;
 
 @Version(value = 3, migrationHandler = CouchbaseInputMigrationHandler.class)
 @Icon(value = Icon.IconType.CUSTOM, custom = "couchbase-input")
 @PartitionMapper(name = "Input")
 @Documentation("Couchbase input Mapper")
+@Slf4j
 public class CouchbaseInputMapper implements Serializable {
 
+    /**
+     * Document size used when the average size of the bucket documents can't be computed.
+     */
+    static final long DEFAULT_DOCUMENT_SIZE = 1024L;
+
+    static final int MAX_SPLITS = 64;
+
+    private static final int SIZE_SAMPLE = 100;
+
+    private static final int BOUND_QUERIES_CONCURRENCY = 4;
+
     private final CouchbaseInputConfiguration configuration;
 
     private final CouchbaseService service;
@@ -41,41 +63,146 @@ public class CouchbaseInputMapper implements Serializable {
 
     private final I18nMessage i18nMessage;
 
+    /**
+     * Document id range of this split, see {@link CouchbaseInput}.
+     */
+    private final String lowerId;
+
+    private final String upperId;
+
     public CouchbaseInputMapper(@Option("configuration") final CouchbaseInputConfiguration configuration,
             final CouchbaseService service, final RecordBuilderFactory recordBuilderFactory,
             final I18nMessage i18nMessage) {
+        this(configuration, service, recordBuilderFactory, i18nMessage, null, null);
+    }
+
+    private CouchbaseInputMapper(final CouchbaseInputConfiguration configuration, final CouchbaseService service,
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage, final String lowerId,
+            final String upperId) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
         this.i18nMessage = i18nMessage;
+        this.lowerId = lowerId;
+        this.upperId = upperId;
     }
 
     @Assessor
     public long estimateSize() {
-        // this method should return the estimation of the dataset size
-        // it is recommended to return a byte value
-        // if you don't have the exact size you can use a rough estimation
-        return 1L;
+        if (!isSplittable()) {
+            return 1L;
+        }
+        CouchbaseDataStore datastore = configuration.getDataSet().getDatastore();
+        Cluster cluster = service.openConnection(datastore);
+        try {
+            return countDocuments(cluster) * averageDocumentSize(cluster);
+        } catch (CouchbaseException e) {
+            // ignore, not split
+            log.info("Can't estimate size of bucket {}: {}", configuration.getDataSet().getBucket(), e.getMessage());
+            return 1L;
+        } finally {
+            service.closeConnection(datastore);
+        }
     }
 
+    /**
+     * Full bucket scans are split in ranges of document ids holding the same number of documents, their bounds are read
+     * from the primary index.
+     */
     @Split
     public List<CouchbaseInputMapper> split(@PartitionSize final long bundles) {
-        // overall idea here is to split the work related to configuration in bundles of size "bundles"
-        //
-        // for instance if your estimateSize() returned 1000 and you can run on 10 nodes
-        // then the environment can decide to run it concurrently (10 * 100).
-        // In this case bundles = 100 and we must try to return 10 CouchbaseInputMapper with 1/10 of the overall work
-        // each.
-        //
-        // default implementation returns this which means it doesn't support the work to be split
-        return singletonList(this);
+        if (!isSplittable() || bundles <= 0) {
+            return singletonList(this);
+        }
+
+        CouchbaseDataStore datastore = configuration.getDataSet().getDatastore();
+        List<String> bounds;
+        Cluster cluster = service.openConnection(datastore);
+        try {
+            long count = countDocuments(cluster);
+            // a range holds at least one document
+            int splitCount = (int) Math.min(Math.min(MAX_SPLITS, count),
+                    count * averageDocumentSize(cluster) / bundles);
+            if (splitCount < 2) {
+                return singletonList(this);
+            }
+            bounds = readBounds(cluster, count, splitCount);
+        } catch (CouchbaseException e) {
+            log.info("Can't split bucket {}: {}", configuration.getDataSet().getBucket(), e.getMessage());
+            return singletonList(this);
+        } finally {
+            service.closeConnection(datastore);
+        }
+
+        log.info("Bucket {} split in {} id ranges.", configuration.getDataSet().getBucket(), bounds.size() + 1);
+        List<CouchbaseInputMapper> mappers = new ArrayList<>();
+        String lower = null;
+        for (String bound : bounds) {
+            mappers.add(new CouchbaseInputMapper(configuration, service, recordBuilderFactory, i18nMessage, lower,
+                    bound));
+            lower = bound;
+        }
+        mappers.add(new CouchbaseInputMapper(configuration, service, recordBuilderFactory, i18nMessage, lower, null));
+        return mappers;
     }
 
     @Emitter
     public CouchbaseInput createWorker() {
-        // here we create an actual worker,
-        // you are free to rework the configuration etc but our default generated implementation
-        // propagates the partition mapper entries.
-        return new CouchbaseInput(configuration, service, recordBuilderFactory, i18nMessage);
+        return new CouchbaseInput(configuration, service, recordBuilderFactory, i18nMessage, lowerId, upperId);
+    }
+
+    /**
+     * Only whole bucket reads are split, a limit or a user query can't be distributed on id ranges.
+     */
+    private boolean isSplittable() {
+        return lowerId == null && upperId == null && configuration.getSelectAction() == SelectAction.ALL
+                && (configuration.getLimit() == null || configuration.getLimit().trim().isEmpty());
+    }
+
+    private String bucketName() {
+        return "`" + configuration.getDataSet().getBucket() + "`";
+    }
+
+    private long countDocuments(Cluster cluster) {
+        List<Long> result = cluster.query("SELECT RAW COUNT(*) FROM " + bucketName()).rowsAs(Long.class);
+        return result.isEmpty() ? 0L : result.get(0);
+    }
+
+    private long averageDocumentSize(Cluster cluster) {
+        List<Double> result = cluster
+                .query("SELECT RAW AVG(ENCODED_SIZE(d)) FROM (SELECT RAW b FROM " + bucketName() + " b LIMIT "
+                        + SIZE_SAMPLE + ") AS d")
+                .rowsAs(Double.class);
+        if (result.isEmpty() || result.get(0) == null) {
+            return DEFAULT_DOCUMENT_SIZE;
+        }
+        return Math.max(1L, result.get(0).longValue());
+    }
+
+    /**
+     * Reads the ids found at offsets {@code i * count / splitCount} of the primary index, one
+     * {@code OFFSET ... LIMIT 1} query per bound. Only ids are selected so the index covers the queries, which skip
+     * index entries without reading any document. A few queries run at the same time.
+     */
+    private List<String> readBounds(Cluster cluster, long count, int splitCount) {
+        String statement = "SELECT RAW meta().id FROM " + bucketName() + " ORDER BY meta().id OFFSET $1 LIMIT 1";
+        List<String> ids = Flux
+                .range(1, splitCount - 1)
+                .flatMapSequential(i -> cluster
+                        .reactive()
+                        .query(statement,
+                                QueryOptions.queryOptions().parameters(JsonArray.from(i * count / splitCount)))
+                        .flatMapMany(result -> result.rowsAs(String.class))
+                        .take(1), BOUND_QUERIES_CONCURRENCY)
+                .collectList()
+                .block();
+        // documents removed between the queries may shift offsets, bounds must stay strictly increasing
+        List<String> bounds = new ArrayList<>();
+        for (String id : ids) {
+            if (bounds.isEmpty() || id.compareTo(bounds.get(bounds.size() - 1)) > 0) {
+                bounds.add(id);
+            }
+        }
+        return bounds;
     }
-}
\ No newline at end of file
+}
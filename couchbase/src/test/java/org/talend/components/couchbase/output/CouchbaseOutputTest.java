@@ -350,6 +350,75 @@ class CouchbaseOutputTest extends CouchbaseUtilTest {
         });
     }
 
+    @Test
+    @DisplayName("Document partial update with a record holding only the id")
+    void partialUpdateWithOnlyId() {
+        log.info("Test start: partialUpdateWithOnlyId");
+        final String PARTIAL_UPDATE_ID_PREFIX = "partialUpdateOnlyId";
+        Bucket bucket = couchbaseCluster.bucket(BUCKET_NAME);
+        Collection collection = bucket.defaultCollection();
+        for (int i = 0; i < 2; i++) {
+            collection.insert(generateDocId(PARTIAL_UPDATE_ID_PREFIX, i),
+                    new TestData().createJson(PARTIAL_UPDATE_ID_PREFIX));
+        }
+
+        final Schema.Entry idEntry = recordBuilderFactory
+                .newEntryBuilder()
+                .withName("t_string")
+                .withType(Schema.Type.STRING)
+                .build();
+        List<Record> records = new ArrayList<>();
+        records.add(recordBuilderFactory
+                .newRecordBuilder()
+                .withString(idEntry, generateDocId(PARTIAL_UPDATE_ID_PREFIX, 0))
+                .build());
+        records.add(recordBuilderFactory
+                .newRecordBuilder()
+                .withString(idEntry, generateDocId(PARTIAL_UPDATE_ID_PREFIX, 1))
+                .withInt("t_int_min", 1971)
+                .build());
+
+        CouchbaseOutputConfiguration config = getOutputConfiguration();
+        config.setPartialUpdate(true);
+        componentsHandler.setInputData(records);
+        executeJob(config);
+
+        List<JsonObject> resultList = retrieveDataFromDatabase(PARTIAL_UPDATE_ID_PREFIX, 2);
+        assertEquals(2, resultList.size());
+        // the record with only the id is a no-op, the other records of the flush are written
+        assertEquals(Integer.valueOf(new TestData().getColIntMin()), resultList.get(0).getInt("t_int_min"));
+        assertEquals(1971, resultList.get(1).getInt("t_int_min"));
+    }
+
+    @Test
+    @DisplayName("Batched writes, with several writes of a same document")
+    void batchedOutput() {
+        log.info("Test start: batchedOutput");
+        final String BATCHED_OUTPUT_ID_PREFIX = "batchedOutput";
+        List<Record> records = new ArrayList<>();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 50; i++) {
+                records
+                        .add(recordBuilderFactory
+                                .newRecordBuilder()
+                                .withString("t_string", generateDocId(BATCHED_OUTPUT_ID_PREFIX, i))
+                                .withInt("round", round)
+                                .build());
+            }
+        }
+
+        CouchbaseOutputConfiguration config = getOutputConfiguration();
+        config.setBatchSize(7);
+        config.setMaxConcurrentWrites(4);
+        componentsHandler.setInputData(records);
+        executeJob(config);
+
+        List<JsonObject> resultList = retrieveDataFromDatabase(BATCHED_OUTPUT_ID_PREFIX, 50);
+        assertEquals(50, resultList.size());
+        // last write of each document wins
+        resultList.forEach(json -> assertEquals(1, json.getInt("round")));
+    }
+
     private CouchbaseOutputConfiguration getOutputConfiguration() {
         CouchbaseDataSet couchbaseDataSet = new CouchbaseDataSet();
         couchbaseDataSet.setBucket(BUCKET_NAME);
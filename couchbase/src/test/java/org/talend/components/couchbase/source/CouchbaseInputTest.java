@@ -35,7 +35,10 @@ import org.talend.components.couchbase.configuration.ConnectionParameter;
 import org.talend.components.couchbase.dataset.CouchbaseDataSet;
 import org.talend.components.couchbase.dataset.DocumentType;
 import org.talend.components.couchbase.datastore.CouchbaseDataStore;
+import org.talend.components.couchbase.service.CouchbaseService;
+import org.talend.components.couchbase.service.I18nMessage;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.junit5.WithComponents;
 import org.talend.sdk.component.runtime.manager.chain.Job;
 
@@ -46,6 +49,9 @@ import com.couchbase.client.java.codec.RawBinaryTranscoder;
 import com.couchbase.client.java.codec.RawStringTranscoder;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.manager.query.CreatePrimaryQueryIndexOptions;
+import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryScanConsistency;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,6 +61,12 @@ import lombok.extern.slf4j.Slf4j;
 @DisplayName("Testing of CouchbaseInput component")
 class CouchbaseInputTest extends CouchbaseUtilTest {
 
+    @Service
+    private CouchbaseService couchbaseService;
+
+    @Service
+    private I18nMessage i18n;
+
     private void executeJob(CouchbaseInputConfiguration configuration) {
         final String inputConfig = configurationByExample().forInstance(configuration).configured().toQueryString();
         Job
@@ -345,6 +357,44 @@ class CouchbaseInputTest extends CouchbaseUtilTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    @DisplayName("Split of a whole bucket read in id ranges")
+    void splitInputTest() {
+        log.info("Test start: splitInputTest");
+        String idPrefix = "splitInputTest";
+        Collection collection = couchbaseCluster.bucket(BUCKET_NAME).defaultCollection();
+        for (int i = 0; i < 200; i++) {
+            collection.insert(generateDocId(idPrefix, i), JsonObject.create().put("index", i));
+        }
+        couchbaseCluster
+                .queryIndexes()
+                .createPrimaryIndex(BUCKET_NAME,
+                        CreatePrimaryQueryIndexOptions.createPrimaryQueryIndexOptions().ignoreIfExists(true));
+        // wait for the index to contain all documents
+        couchbaseCluster
+                .query("SELECT RAW COUNT(*) FROM `" + BUCKET_NAME + "`",
+                        QueryOptions.queryOptions().scanConsistency(QueryScanConsistency.REQUEST_PLUS));
+
+        CouchbaseInputMapper mapper =
+                new CouchbaseInputMapper(getInputConfiguration(), couchbaseService, recordBuilderFactory, i18n);
+        List<CouchbaseInputMapper> splits = mapper.split(1);
+        Assertions.assertTrue(splits.size() > 1);
+
+        List<String> ids = new ArrayList<>();
+        for (CouchbaseInputMapper split : splits) {
+            CouchbaseInput input = split.createWorker();
+            input.init();
+            Record record;
+            while ((record = input.next()) != null) {
+                ids.add(record.getString("_meta_id_"));
+            }
+            input.release();
+        }
+        // other tests documents are in the bucket too
+        assertEquals(200, ids.stream().filter(id -> id.startsWith(idPrefix)).count());
+        assertEquals(ids.size(), ids.stream().distinct().count());
+    }
+
     private CouchbaseInputConfiguration getInputConfiguration() {
         CouchbaseDataSet couchbaseDataSet = new CouchbaseDataSet();
         couchbaseDataSet.setDatastore(couchbaseDataStore);
@@ -28,11 +28,13 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.client.api.domain.ClientCollectionValue;
 import org.apache.olingo.client.api.domain.ClientComplexValue;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientProperty;
 import org.apache.olingo.client.api.domain.ClientValue;
+import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmElement;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -110,6 +112,16 @@ public abstract class AbstractToEntityRecordProcessor implements RecordProcessor
 
     @Override
     public void processRecord(Record rec) throws ServiceUnavailableException {
+        doProcessRecord(toEntity(rec), rec);
+    }
+
+    @Override
+    public List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl)
+            throws ServiceUnavailableException {
+        return doCreateBatchRequests(toEntity(rec), rec, serviceRootUrl);
+    }
+
+    protected ClientEntity toEntity(Record rec) {
         Set<String> keys = entitySet
                 .getEntityType()
                 .getKeyPropertyRefs()
@@ -117,12 +129,18 @@ public abstract class AbstractToEntityRecordProcessor implements RecordProcessor
                 .map(EdmKeyPropertyRef::getName)
                 .collect(Collectors.toSet());
         columnNames.removeAll(keys);
-        ClientEntity entity = createEntity(columnNames, rec);
-        doProcessRecord(entity, rec);
+        return createEntity(columnNames, rec);
     }
 
     protected abstract void doProcessRecord(ClientEntity entity, Record rec) throws ServiceUnavailableException;
 
+    protected abstract List<ODataBatchableRequest> doCreateBatchRequests(ClientEntity entity, Record rec,
+            String serviceRootUrl) throws ServiceUnavailableException;
+
+    protected URIBuilder entitySetUriBuilder(String serviceRootUrl) {
+        return client.getClient().newURIBuilder(serviceRootUrl).appendEntitySetSegment(entitySet.getName());
+    }
+
     protected ClientEntity createEntity(Set<String> columnNames, Record rec) {
         ClientEntity entity =
                 client.getClient().getObjectFactory().newEntity(entitySet.getEntityType().getFullQualifiedName());
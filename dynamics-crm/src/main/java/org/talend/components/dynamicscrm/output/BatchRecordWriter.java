@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import javax.naming.ServiceUnavailableException;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.ODataClientErrorException;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.ODataChangeset;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.talend.components.dynamicscrm.service.DynamicsCrmService;
+import org.talend.ms.crm.odata.authentication.IAuthStrategy;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes records through OData $batch requests.
+ * <p>
+ * Requests of {@code changeSetSize} records are grouped in a change set, at most {@code batchSize} operations are sent
+ * in a single $batch request while the caller goes on converting the next records. A record may need several
+ * operations, they are never split between change sets. At most {@code maxConcurrentBatches}
+ * $batch requests are pending, so the service protection limits of the organization are not exceeded, and a $batch
+ * request throttled by the service is retried with a growing delay.
+ * <p>
+ * A change set is applied atomically: when one of its operations fails, all its records are returned as
+ * {@link Reject}, the other change sets of the $batch request are still applied.
+ */
+@Slf4j
+class BatchRecordWriter implements AutoCloseable {
+
+    static final int TOO_MANY_REQUESTS = 429;
+
+    private static final String CONTINUE_ON_ERROR = "odata.continue-on-error";
+
+    private final ODataClient odataClient;
+
+    private final IAuthStrategy authStrategy;
+
+    private final String serviceRootUrl;
+
+    private final RecordProcessor processor;
+
+    private final int batchSize;
+
+    private final int changeSetSize;
+
+    private final int maxConcurrentBatches;
+
+    private final int maxRetries;
+
+    private final Semaphore inFlight;
+
+    private final ExecutorService executor;
+
+    private final Queue<Reject> rejects = new ConcurrentLinkedQueue<>();
+
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private List<Operation> operations = new ArrayList<>();
+
+    private int operationCount;
+
+    BatchRecordWriter(ODataClient odataClient, IAuthStrategy authStrategy, String serviceRootUrl,
+            RecordProcessor processor, int batchSize, int changeSetSize, int maxConcurrentBatches, int maxRetries) {
+        this.odataClient = odataClient;
+        this.authStrategy = authStrategy;
+        this.serviceRootUrl = serviceRootUrl;
+        this.processor = processor;
+        this.batchSize = Math.max(1, batchSize);
+        this.changeSetSize = Math.max(1, changeSetSize);
+        this.maxConcurrentBatches = Math.max(1, maxConcurrentBatches);
+        this.maxRetries = maxRetries;
+        this.inFlight = new Semaphore(this.maxConcurrentBatches);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.maxConcurrentBatches, r -> {
+            Thread thread = new Thread(r, "dynamics-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Add the requests of a record, sending the current $batch request when it is full.
+     */
+    void write(Record rec) throws ServiceUnavailableException {
+        checkFailure();
+        Operation operation = new Operation(rec, processor.createBatchRequests(rec, serviceRootUrl));
+        int size = operation.getRequests().size();
+        if (operationCount > 0 && operationCount + size > batchSize) {
+            send();
+        }
+        operations.add(operation);
+        operationCount += size;
+        if (operationCount >= batchSize) {
+            send();
+        }
+    }
+
+    /**
+     * Send the current $batch request and wait for all the pending ones.
+     */
+    void flush() {
+        send();
+        try {
+            inFlight.acquire(maxConcurrentBatches);
+            inFlight.release(maxConcurrentBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for $batch requests", e);
+        }
+        checkFailure();
+    }
+
+    /**
+     * @return rejects of the $batch requests done since the last call.
+     */
+    List<Reject> pollRejects() {
+        List<Reject> result = new ArrayList<>();
+        Reject reject;
+        while ((reject = rejects.poll()) != null) {
+            result.add(reject);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void send() {
+        if (operations.isEmpty()) {
+            return;
+        }
+        final List<List<Operation>> changeSets = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i += changeSetSize) {
+            changeSets.add(operations.subList(i, Math.min(i + changeSetSize, operations.size())));
+        }
+        operations = new ArrayList<>();
+        operationCount = 0;
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for $batch requests", e);
+        }
+        executor.execute(() -> {
+            try {
+                execute(changeSets);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void execute(List<List<Operation>> changeSets) {
+        int retry = 0;
+        while (true) {
+            try {
+                ODataBatchResponse response = createBatchRequest(changeSets).getResponse();
+                try {
+                    readResponse(response, changeSets);
+                } finally {
+                    response.close();
+                }
+                return;
+            } catch (ODataClientErrorException e) {
+                if (e.getStatusLine().getStatusCode() != TOO_MANY_REQUESTS || retry >= maxRetries) {
+                    throw e;
+                }
+                long delay = (long) DynamicsCrmService.INTERVAL_TIME << Math.min(retry++, 6);
+                log.debug("[execute] $batch request throttled, retry {} in {} ms.", retry, delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for $batch requests", ie);
+                }
+            }
+        }
+    }
+
+    private BatchManager createBatchRequest(List<List<Operation>> changeSets) {
+        ODataBatchRequest request = odataClient.getBatchRequestFactory().getBatchRequest(serviceRootUrl);
+        authStrategy.configureRequest(request);
+        request.addCustomHeader(HttpHeader.PREFER, CONTINUE_ON_ERROR);
+        BatchManager payload = request.payloadManager();
+        for (List<Operation> changeSet : changeSets) {
+            ODataChangeset changeset = payload.addChangeset();
+            changeSet.forEach(operation -> operation.getRequests().forEach(changeset::addRequest));
+        }
+        return payload;
+    }
+
+    private void readResponse(ODataBatchResponse response, List<List<Operation>> changeSets) {
+        Iterator<ODataBatchResponseItem> items = response.getBody();
+        int index = 0;
+        while (items.hasNext() && index < changeSets.size()) {
+            ODataBatchResponseItem item = items.next();
+            List<Operation> changeSet = changeSets.get(index++);
+            ODataResponse error = null;
+            while (item.hasNext()) {
+                ODataResponse operationResponse = item.next();
+                if (error == null && operationResponse.getStatusCode() >= 400) {
+                    error = operationResponse;
+                }
+            }
+            item.close();
+            if (error != null) {
+                reject(changeSet, error.getStatusCode(), readError(error));
+            }
+        }
+        // the service stopped processing the $batch request, remaining change sets are not applied
+        for (; index < changeSets.size(); index++) {
+            reject(changeSets.get(index), 0, "No response for the operation in the $batch response");
+        }
+    }
+
+    private void reject(List<Operation> changeSet, int code, String message) {
+        log.debug("[reject] {} records of a change set rejected: {}", changeSet.size(), message);
+        changeSet.forEach(operation -> rejects.add(new Reject(operation.getRecord(), code, message)));
+    }
+
+    private static String readError(ODataResponse response) {
+        String message = response.getStatusMessage();
+        InputStream body = response.getRawResponse();
+        if (body == null) {
+            return message;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String content = reader.lines().collect(Collectors.joining("\n"));
+            return content.isEmpty() ? message : content;
+        } catch (IOException | RuntimeException e) {
+            return message;
+        }
+    }
+
+    private void checkFailure() {
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    @Value
+    private static class Operation {
+
+        Record record;
+
+        List<ODataBatchableRequest> requests;
+    }
+
+    @Value
+    static class Reject {
+
+        Record record;
+
+        int code;
+
+        String message;
+    }
+}
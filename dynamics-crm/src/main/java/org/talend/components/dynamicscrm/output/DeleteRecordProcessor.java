@@ -12,8 +12,13 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
 import javax.naming.ServiceUnavailableException;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.talend.components.dynamicscrm.service.I18n;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
@@ -35,8 +40,26 @@ public class DeleteRecordProcessor implements RecordProcessor {
 
     @Override
     public void processRecord(Record rec) throws ServiceUnavailableException {
+        client.deleteEntity(getRecordId(rec));
+    }
+
+    @Override
+    public List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl) {
+        return Collections
+                .singletonList(client
+                        .getClient()
+                        .getCUDRequestFactory()
+                        .getDeleteRequest(client
+                                .getClient()
+                                .newURIBuilder(serviceRootUrl)
+                                .appendEntitySetSegment(entitySet.getName())
+                                .appendKeySegment(UUID.fromString(getRecordId(rec)))
+                                .build()));
+    }
+
+    private String getRecordId(Record rec) {
         // There is only one key in Dynamics CRM.
         String keyName = entitySet.getEntityType().getKeyPropertyRefs().get(0).getName();
-        client.deleteEntity(rec.getString(keyName));
+        return rec.getString(keyName);
     }
 }
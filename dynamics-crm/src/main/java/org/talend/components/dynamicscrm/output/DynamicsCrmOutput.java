@@ -32,15 +32,21 @@ import org.talend.components.dynamicscrm.service.DynamicsCrmService;
 import org.talend.components.dynamicscrm.service.I18n;
 import org.talend.components.dynamicscrm.service.PropertyValidationData;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
+import org.talend.ms.crm.odata.authentication.IAuthStrategy;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 @Version(value = 2, migrationHandler = DynamicsRuntimeMigrationHandler.class)
 @Icon(value = IconType.CUSTOM, custom = "azure-dynamics-connector")
@@ -64,11 +70,16 @@ public class DynamicsCrmOutput implements Serializable {
 
     private RecordProcessor processor;
 
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private transient BatchRecordWriter batchWriter;
+
     public DynamicsCrmOutput(@Option("configuration") final DynamicsCrmOutputConfiguration configuration,
-            final DynamicsCrmService service, final I18n i18n) {
+            final DynamicsCrmService service, final I18n i18n, final RecordBuilderFactory recordBuilderFactory) {
         this.configuration = configuration;
         this.service = service;
         this.i18n = i18n;
+        this.recordBuilderFactory = recordBuilderFactory;
     }
 
     @PostConstruct
@@ -79,10 +90,10 @@ public class DynamicsCrmOutput implements Serializable {
         } catch (AuthenticationException e) {
             throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
         }
-        metadata = service.getMetadata(client);
+        metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
         entitySet = metadata.getEntityContainer().getEntitySet(configuration.getDataset().getEntitySet());
         Set<String> possibleColumns = service
-                .getPropertiesValidationData(client, configuration.getDataset().getDatastore(),
+                .getCachedPropertiesValidationData(client, configuration.getDataset().getDatastore(),
                         entitySet.getEntityType().getName())
                 .stream()
                 .filter(getFilter())
@@ -98,6 +109,18 @@ public class DynamicsCrmOutput implements Serializable {
                 .filter(s -> possibleColumns.contains(client.extractNavigationLinkName(s)))
                 .collect(Collectors.toList());
         processor = createProcessor(configuration.getAction());
+        if (configuration.isBatchRequests()) {
+            IAuthStrategy authStrategy;
+            try {
+                authStrategy = service.createAuthStrategy(configuration.getDataset().getDatastore());
+            } catch (AuthenticationException e) {
+                throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
+            }
+            batchWriter = new BatchRecordWriter(client.getClient(), authStrategy,
+                    configuration.getDataset().getDatastore().getServiceRootUrl(), processor,
+                    configuration.getBatchSize(), configuration.getChangeSetSize(),
+                    configuration.getMaxConcurrentBatches(), configuration.getDataset().getDatastore().getMaxRetries());
+        }
     }
 
     private Predicate<? super PropertyValidationData> getFilter() {
@@ -125,16 +148,73 @@ public class DynamicsCrmOutput implements Serializable {
     }
 
     @ElementListener
-    public void onNext(@Input final Record defaultInput) {
+    public void onNext(@Input final Record defaultInput, @Output("reject") final OutputEmitter<Record> reject) {
         try {
-            processor.processRecord(defaultInput);
+            if (batchWriter != null) {
+                batchWriter.write(defaultInput);
+                emitRejects(reject);
+            } else {
+                processor.processRecord(defaultInput);
+            }
         } catch (ServiceUnavailableException e) {
             throw new DynamicsCrmException(i18n.failedToInsertEntity(e.getMessage()), e);
+        } catch (DynamicsCrmException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (batchWriter == null) {
+                throw e;
+            }
+            throw new DynamicsCrmException(i18n.batchRequestFailed(e.getMessage()), e);
+        }
+    }
+
+    @AfterGroup
+    public void afterGroup(@Output("reject") final OutputEmitter<Record> reject) {
+        if (batchWriter == null) {
+            return;
+        }
+        try {
+            batchWriter.flush();
+        } catch (RuntimeException e) {
+            throw new DynamicsCrmException(i18n.batchRequestFailed(e.getMessage()), e);
+        }
+        emitRejects(reject);
+    }
+
+    private void emitRejects(final OutputEmitter<Record> reject) {
+        for (BatchRecordWriter.Reject r : batchWriter.pollRejects()) {
+            reject.emit(toRejectRecord(r));
         }
     }
 
+    private Record toRejectRecord(BatchRecordWriter.Reject r) {
+        Schema schema = recordBuilderFactory
+                .newSchemaBuilder(r.getRecord().getSchema())
+                .withEntry(recordBuilderFactory
+                        .newEntryBuilder()
+                        .withName("errorCode")
+                        .withType(Schema.Type.INT)
+                        .withNullable(true)
+                        .build())
+                .withEntry(recordBuilderFactory
+                        .newEntryBuilder()
+                        .withName("errorMessage")
+                        .withType(Schema.Type.STRING)
+                        .withNullable(true)
+                        .build())
+                .build();
+        return recordBuilderFactory
+                .newRecordBuilder(schema, r.getRecord())
+                .withInt("errorCode", r.getCode())
+                .withString("errorMessage", r.getMessage())
+                .build();
+    }
+
     @PreDestroy
     public void release() {
+        if (batchWriter != null) {
+            batchWriter.close();
+        }
         client = null;
     }
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ import java.util.List;
 import org.talend.components.dynamicscrm.dataset.DynamicsCrmDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -29,7 +31,8 @@ import lombok.Data;
 @Data
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "action" }), @GridLayout.Row({ "lookupMapping" }) })
 @GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("emptyStringToNull"),
-        @GridLayout.Row("ignoreNull") })
+        @GridLayout.Row("ignoreNull"), @GridLayout.Row("batchRequests"), @GridLayout.Row("batchSize"),
+        @GridLayout.Row("changeSetSize"), @GridLayout.Row("maxConcurrentBatches") })
 @Documentation("Azure Dynamics 365 output configuration")
 public class DynamicsCrmOutputConfiguration implements Serializable {
 
@@ -62,6 +65,30 @@ public class DynamicsCrmOutputConfiguration implements Serializable {
     @Documentation("Fields to write to CRM")
     private List<String> columns;
 
+    @Option
+    @Documentation("Send records through OData $batch requests, operations failing are sent to the reject flow")
+    private boolean batchRequests;
+
+    @Option
+    @Min(1)
+    @Max(1000)
+    @ActiveIf(target = "batchRequests", value = "true")
+    @Documentation("Maximum number of operations sent in a $batch request, a record may need several operations")
+    private int batchSize = 100;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "batchRequests", value = "true")
+    @Documentation("Number of records applied atomically in a change set, all of them are rejected if one fails")
+    private int changeSetSize = 1;
+
+    @Option
+    @Min(1)
+    @Max(52)
+    @ActiveIf(target = "batchRequests", value = "true")
+    @Documentation("Maximum number of $batch requests sent concurrently")
+    private int maxConcurrentBatches = 4;
+
     public enum Action {
         INSERT,
         UPSERT,
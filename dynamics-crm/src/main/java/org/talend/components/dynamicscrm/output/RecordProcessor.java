@@ -12,12 +12,20 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.util.List;
 
 public interface RecordProcessor {
 
     void processRecord(Record rec) throws ServiceUnavailableException;
 
+    /**
+     * Build the requests performing the action for a record, to be sent together in a $batch change set.
+     */
+    List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl)
+            throws ServiceUnavailableException;
+
 }
@@ -12,6 +12,9 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.cud.CUDRequestFactory;
+import org.apache.olingo.client.api.communication.request.cud.UpdateType;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -24,6 +27,7 @@ import javax.naming.ServiceUnavailableException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class UpsertRecordProcessor extends AbstractToEntityRecordProcessor {
 
@@ -34,13 +38,49 @@ public class UpsertRecordProcessor extends AbstractToEntityRecordProcessor {
 
     @Override
     protected void doProcessRecord(ClientEntity entity, Record rec) throws ServiceUnavailableException {
+        String recordId = getRecordId(rec);
+        List<String> navigationLinksToDelete = addNavigationLinks(entity, rec);
+        client.updateEntity(entity, recordId, navigationLinksToDelete);
+    }
+
+    @Override
+    protected List<ODataBatchableRequest> doCreateBatchRequests(ClientEntity entity, Record rec,
+            String serviceRootUrl) throws ServiceUnavailableException {
+        UUID recordId = UUID.fromString(getRecordId(rec));
+        List<String> navigationLinksToDelete = addNavigationLinks(entity, rec);
+        CUDRequestFactory requestFactory = client.getClient().getCUDRequestFactory();
+        List<ODataBatchableRequest> requests = new ArrayList<>();
+        requests
+                .add(requestFactory
+                        .getEntityUpdateRequest(
+                                entitySetUriBuilder(serviceRootUrl).appendKeySegment(recordId).build(),
+                                UpdateType.PATCH, entity));
+        for (String navigationLink : navigationLinksToDelete) {
+            requests
+                    .add(requestFactory
+                            .getDeleteRequest(entitySetUriBuilder(serviceRootUrl)
+                                    .appendKeySegment(recordId)
+                                    .appendNavigationSegment(navigationLink)
+                                    .appendRefSegment()
+                                    .build()));
+        }
+        return requests;
+    }
+
+    private String getRecordId(Record rec) {
         // There is only one key in Microsoft CRM objects
         String keyField = entitySet.getEntityType().getKeyPropertyRefs().get(0).getProperty().getName();
         String recordId = rec.getString(keyField);
         if (recordId == null || recordId.isEmpty()) {
             throw new DynamicsCrmException(i18n.idCannotBeNull(keyField));
         }
-        // We need to obtain list of navigation links to delete
+        return recordId;
+    }
+
+    /**
+     * @return navigation links to delete
+     */
+    private List<String> addNavigationLinks(ClientEntity entity, Record rec) throws ServiceUnavailableException {
         List<String> navigationLinksToDelete = new ArrayList<>();
         for (Map.Entry<String, String> lookupEntry : lookupMapping.entrySet()) {
             if (!columnNames.contains(lookupEntry.getKey())) {
@@ -54,6 +94,6 @@ public class UpsertRecordProcessor extends AbstractToEntityRecordProcessor {
                 navigationLinksToDelete.add(client.extractNavigationLinkName(lookupEntry.getKey()));
             }
         }
-        client.updateEntity(entity, recordId, navigationLinksToDelete);
+        return navigationLinksToDelete;
     }
 }
@@ -12,8 +12,27 @@
  */
 package org.talend.components.dynamicscrm.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.naming.AuthenticationException;
@@ -22,17 +41,21 @@ import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRe
 import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.apache.olingo.client.api.domain.ClientProperty;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.talend.components.dynamicscrm.datastore.AppType;
 import org.talend.components.dynamicscrm.datastore.DynamicsCrmConnection;
 import org.talend.components.dynamicscrm.datastore.OAuthFlow;
 import org.talend.components.dynamicscrm.source.DynamicsCrmQueryResultsIterator;
+import org.talend.components.dynamicscrm.source.InputHelper;
 import org.talend.ms.crm.odata.ClientConfiguration;
 import org.talend.ms.crm.odata.ClientConfiguration.WebAppPermission;
 import org.talend.ms.crm.odata.ClientConfigurationFactory;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.ms.crm.odata.QueryOptionConfig;
+import org.talend.ms.crm.odata.authentication.AuthStrategyFactory;
+import org.talend.ms.crm.odata.authentication.IAuthStrategy;
 import org.talend.sdk.component.api.service.Service;
 
 import lombok.extern.slf4j.Slf4j;
@@ -43,11 +66,35 @@ public class DynamicsCrmService {
 
     public static final int INTERVAL_TIME = 1000;
 
+    public static final String METADATA_CACHE_DIR = "org.talend.components.dynamicscrm.metadata_cache_dir";
+
+    public static final String METADATA_CACHE_TTL = "org.talend.components.dynamicscrm.metadata_cache_ttl_minutes";
+
+    private static final long DEFAULT_METADATA_CACHE_TTL = 60L;
+
+    private final ConcurrentMap<String, CachedValue<Edm>> metadataCache = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CachedValue<List<PropertyValidationData>>> validationDataCache =
+            new ConcurrentHashMap<>();
+
     @Service
     private I18n i18n;
 
     public DynamicsCRMClient createClient(DynamicsCrmConnection connection, String entitySet)
             throws AuthenticationException {
+        return new DynamicsCRMClient(createClientConfiguration(connection), connection.getServiceRootUrl(), entitySet);
+    }
+
+    /**
+     * Authentication of the requests not created by a {@link DynamicsCRMClient}, such as $batch requests.
+     */
+    public IAuthStrategy createAuthStrategy(DynamicsCrmConnection connection) throws AuthenticationException {
+        IAuthStrategy authStrategy = AuthStrategyFactory.createAuthStrategy(createClientConfiguration(connection));
+        authStrategy.init();
+        return authStrategy;
+    }
+
+    private ClientConfiguration createClientConfiguration(DynamicsCrmConnection connection) {
         ClientConfiguration clientConfig;
         if (connection.getAppType() == AppType.NATIVE) {
             clientConfig = ClientConfigurationFactory
@@ -67,7 +114,7 @@ public class DynamicsCrmService {
         clientConfig.setTimeout(connection.getTimeout());
         clientConfig.setMaxRetry(connection.getMaxRetries(), INTERVAL_TIME);
         clientConfig.setReuseHttpClient(false);
-        return new DynamicsCRMClient(clientConfig, connection.getServiceRootUrl(), entitySet);
+        return clientConfig;
     }
 
     public List<String> getEntitySetNames(DynamicsCrmConnection connection) {
@@ -94,6 +141,46 @@ public class DynamicsCrmService {
         return new DynamicsCrmQueryResultsIterator(client, config, response.getBody());
     }
 
+    /**
+     * Metadata of the organization, shared by the components of the job.
+     * <p>
+     * The $metadata document of an organization is large and long to parse, it is downloaded once per service root URL,
+     * which holds the Web API version, and kept for the minutes given by the {@value #METADATA_CACHE_TTL} system
+     * property (60 by default). When the {@value #METADATA_CACHE_DIR} system property is set, the document is stored
+     * in that directory and reused by the following job runs without being downloaded again.
+     * <p>
+     * UI actions must see the current metadata, they use {@link #getMetadata(DynamicsCRMClient)}.
+     */
+    public Edm getMetadata(DynamicsCRMClient client, DynamicsCrmConnection connection) {
+        final String serviceRootUrl = connection.getServiceRootUrl();
+        return getCached(metadataCache, serviceRootUrl, () -> loadMetadata(client, serviceRootUrl));
+    }
+
+    /**
+     * @param first true for the creation date of the first created entity, false for the last one
+     * @return the creation date, null when no entity of the entity set has one
+     */
+    public Instant getCreationDateBound(DynamicsCRMClient client, DynamicsCrmConnection datastore,
+            String entitySetName, boolean first) {
+        URIBuilder uriBuilder = client
+                .getClient()
+                .newURIBuilder(datastore.getServiceRootUrl())
+                .appendEntitySetSegment(entitySetName)
+                .select(InputHelper.CREATED_ON)
+                .filter(InputHelper.CREATED_ON + " ne null")
+                .orderBy(InputHelper.CREATED_ON + (first ? " asc" : " desc"))
+                .top(1);
+        ClientEntitySet entities = client.createRequest(uriBuilder).execute().getBody();
+        if (entities.getEntities().isEmpty()) {
+            return null;
+        }
+        ClientProperty createdOn = entities.getEntities().get(0).getProperty(InputHelper.CREATED_ON);
+        if (createdOn == null || createdOn.getPrimitiveValue() == null) {
+            return null;
+        }
+        return OffsetDateTime.parse(createdOn.getPrimitiveValue().toString()).toInstant();
+    }
+
     public Edm getMetadata(DynamicsCRMClient client) {
         EdmMetadataRequest metadataRequest = client.createMetadataRetrieveRequest();
         Edm metadata;
@@ -106,6 +193,87 @@ public class DynamicsCrmService {
         return metadata;
     }
 
+    private Edm loadMetadata(DynamicsCRMClient client, String serviceRootUrl) {
+        Path cacheFile = getMetadataCacheFile(serviceRootUrl);
+        if (cacheFile == null) {
+            return warmUp(getMetadata(client));
+        }
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                long age = System.currentTimeMillis() - Files.getLastModifiedTime(cacheFile).toMillis();
+                if (age < getMetadataCacheTtl()) {
+                    try (InputStream in = Files.newInputStream(cacheFile)) {
+                        log.debug("[loadMetadata] Metadata of {} read from {}.", serviceRootUrl, cacheFile);
+                        return warmUp(client.getClient().getReader().readMetadata(in));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("[loadMetadata] Can't read cached metadata {}, downloading it: {}", cacheFile,
+                        e.getMessage());
+            }
+        }
+        byte[] document;
+        try (InputStream in = client.createMetadataRetrieveRequest().rawExecute()) {
+            document = readFully(in);
+        } catch (Exception e) {
+            throw new DynamicsCrmException(i18n.metadataRetrieveFailed(e.getMessage()), e);
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            Files.write(tmp, document);
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[loadMetadata] Can't cache metadata in {}: {}", cacheFile, e.getMessage());
+        }
+        try {
+            return warmUp(client.getClient().getReader().readMetadata(new ByteArrayInputStream(document)));
+        } catch (Exception e) {
+            throw new DynamicsCrmException(i18n.metadataRetrieveFailed(e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Build all the schemas before sharing the metadata, its lazy loading is not thread safe.
+     */
+    private static Edm warmUp(Edm metadata) {
+        metadata.getSchemas();
+        return metadata;
+    }
+
+    private static Path getMetadataCacheFile(String serviceRootUrl) {
+        String directory = System.getProperty(METADATA_CACHE_DIR);
+        if (directory == null || directory.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest
+                    .getInstance("SHA-256")
+                    .digest(serviceRootUrl.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte b : hash) {
+                name.append(String.format("%02x", b));
+            }
+            return Paths.get(directory, name.append(".xml").toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long getMetadataCacheTtl() {
+        return TimeUnit.MINUTES.toMillis(Long.getLong(METADATA_CACHE_TTL, DEFAULT_METADATA_CACHE_TTL));
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
     protected URIBuilder createUriBuilderForValidProps(DynamicsCRMClient client, DynamicsCrmConnection datastore,
             String entitySetName) {
         return client
@@ -117,6 +285,16 @@ public class DynamicsCrmService {
                 .select("LogicalName", "IsValidForRead", "IsValidForUpdate", "IsValidForCreate");
     }
 
+    /**
+     * Validation data of the properties of an entity type used by the components at runtime, only the attributes of
+     * that entity type are requested and they are cached like the metadata.
+     */
+    public List<PropertyValidationData> getCachedPropertiesValidationData(DynamicsCRMClient client,
+            DynamicsCrmConnection datastore, String logicalTypeName) {
+        return getCached(validationDataCache, datastore.getServiceRootUrl() + '#' + logicalTypeName,
+                () -> getPropertiesValidationData(client, datastore, logicalTypeName));
+    }
+
     public List<PropertyValidationData> getPropertiesValidationData(DynamicsCRMClient client,
             DynamicsCrmConnection datastore,
             String logicalTypeName) {
@@ -135,4 +313,66 @@ public class DynamicsCrmService {
                 .collect(Collectors.toList());
     }
 
-}
\ No newline at end of file
+    /**
+     * Value of the cache, loaded by the first caller missing it.
+     * <p>
+     * The value is not loaded in a compute function of the map, which would hold the lock of its bin during the
+     * download: an expired or missing entry is replaced by a loading one, the other callers wait for it.
+     */
+    private static <T> T getCached(ConcurrentMap<String, CachedValue<T>> cache, String key, Supplier<T> loader) {
+        while (true) {
+            CachedValue<T> cached = cache.get(key);
+            if (cached != null && !cached.isExpired()) {
+                return cached.getValue();
+            }
+            CachedValue<T> loading = new CachedValue<>();
+            boolean owner = cached == null ? cache.putIfAbsent(key, loading) == null
+                    : cache.replace(key, cached, loading);
+            if (!owner) {
+                // another caller is loading it
+                continue;
+            }
+            try {
+                T value = loader.get();
+                loading.complete(value, getMetadataCacheTtl());
+                return value;
+            } catch (RuntimeException e) {
+                cache.remove(key, loading);
+                loading.fail(e);
+                throw e;
+            }
+        }
+    }
+
+    private static class CachedValue<T> {
+
+        private final CompletableFuture<T> value = new CompletableFuture<>();
+
+        /**
+         * Not expired while loading.
+         */
+        private volatile long expiration = Long.MAX_VALUE;
+
+        void complete(T loaded, long ttl) {
+            expiration = System.currentTimeMillis() + ttl;
+            value.complete(loaded);
+        }
+
+        void fail(RuntimeException e) {
+            value.completeExceptionally(e);
+        }
+
+        T getValue() {
+            try {
+                return value.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiration;
+        }
+    }
+
+}
@@ -34,4 +34,6 @@ public interface I18n {
     String failedToInsertEntity(String message);
 
     String idCannotBeNull(String keyFieldName);
+
+    String batchRequestFailed(String message);
 }
@@ -15,11 +15,14 @@ package org.talend.components.dynamicscrm.source;
 import static java.util.Collections.singletonList;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.talend.components.dynamicscrm.migration.DynamicsRuntimeMigrationHandler;
 import org.talend.components.dynamicscrm.service.DynamicsCrmService;
 import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
@@ -32,6 +35,9 @@ import org.talend.sdk.component.api.input.Split;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Version(value = 2, migrationHandler = DynamicsRuntimeMigrationHandler.class)
 @Icon(value = IconType.CUSTOM, custom = "azure-dynamics-connector")
 @PartitionMapper(name = "AzureDynamics365Input")
@@ -46,13 +52,25 @@ public class DynamicsCrmInputMapper implements Serializable {
 
     private final I18n i18n;
 
+    /**
+     * Creation date slice read by this mapper, null to read the whole entity set.
+     */
+    private final String sliceFilter;
+
     public DynamicsCrmInputMapper(@Option("configuration") final DynamicsCrmInputMapperConfiguration configuration,
             final DynamicsCrmService service, final RecordBuilderFactory recordBuilderFactory,
             final I18n i18n) {
+        this(configuration, service, recordBuilderFactory, i18n, null);
+    }
+
+    private DynamicsCrmInputMapper(final DynamicsCrmInputMapperConfiguration configuration,
+            final DynamicsCrmService service, final RecordBuilderFactory recordBuilderFactory, final I18n i18n,
+            final String sliceFilter) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
         this.i18n = i18n;
+        this.sliceFilter = sliceFilter;
     }
 
     @Assessor
@@ -60,13 +78,43 @@ public class DynamicsCrmInputMapper implements Serializable {
         return 1L;
     }
 
+    /**
+     * Split the entity set into disjoint creation date slices read in parallel, the order of the entities is then
+     * lost so sorted queries are not split.
+     */
     @Split
     public List<DynamicsCrmInputMapper> split(@PartitionSize final long bundles) {
-        return singletonList(this);
+        boolean sorted = configuration.getOrderByConditionsList() != null
+                && !configuration.getOrderByConditionsList().isEmpty();
+        if (sliceFilter != null || configuration.getSplitCount() <= 1 || sorted) {
+            return singletonList(this);
+        }
+        final String entitySet = configuration.getDataset().getEntitySet();
+        try {
+            DynamicsCRMClient client = service.createClient(configuration.getDataset().getDatastore(), entitySet);
+            Instant first = service.getCreationDateBound(client, configuration.getDataset().getDatastore(),
+                    entitySet, true);
+            Instant last = service.getCreationDateBound(client, configuration.getDataset().getDatastore(),
+                    entitySet, false);
+            if (first == null || last == null) {
+                return singletonList(this);
+            }
+            List<DynamicsCrmInputMapper> mappers = new InputHelper(i18n)
+                    .getCreationDateSlices(first, last, configuration.getSplitCount())
+                    .stream()
+                    .map(slice -> new DynamicsCrmInputMapper(configuration, service, recordBuilderFactory, i18n,
+                            slice))
+                    .collect(Collectors.toList());
+            log.info("[split] {} read in {} creation date slices.", entitySet, mappers.size());
+            return mappers.isEmpty() ? singletonList(this) : mappers;
+        } catch (Exception e) {
+            log.warn("[split] Can't split the read of {}, it is read as a whole: {}", entitySet, e.getMessage());
+            return singletonList(this);
+        }
     }
 
     @Emitter
     public DynamicsCrmInputSource createWorker() {
-        return new DynamicsCrmInputSource(configuration, service, recordBuilderFactory, i18n);
+        return new DynamicsCrmInputSource(configuration, service, recordBuilderFactory, i18n, sliceFilter);
     }
 }
\ No newline at end of file
@@ -57,8 +57,20 @@ public class DynamicsCrmInputSource implements Serializable {
 
     private final InputHelper helper;
 
+    private final String sliceFilter;
+
     public DynamicsCrmInputSource(@Option("configuration") final DynamicsCrmInputMapperConfiguration configuration,
             final DynamicsCrmService service, final RecordBuilderFactory builderFactory, final I18n i18n) {
+        this(configuration, service, builderFactory, i18n, null);
+    }
+
+    /**
+     * @param sliceFilter filter of the slice of the entity set read by this source, null to read all of it
+     */
+    public DynamicsCrmInputSource(final DynamicsCrmInputMapperConfiguration configuration,
+            final DynamicsCrmService service, final RecordBuilderFactory builderFactory, final I18n i18n,
+            final String sliceFilter) {
+        this.sliceFilter = sliceFilter;
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
@@ -75,10 +87,10 @@ public class DynamicsCrmInputSource implements Serializable {
             throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
         }
 
-        metadata = service.getMetadata(client);
+        metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
         EdmEntitySet entitySet = metadata.getEntityContainer().getEntitySet(configuration.getDataset().getEntitySet());
         Set<String> readableColumns = service
-                .getPropertiesValidationData(client, configuration.getDataset().getDatastore(),
+                .getCachedPropertiesValidationData(client, configuration.getDataset().getDatastore(),
                         entitySet.getEntityType().getName())
                 .stream()
                 .filter(PropertyValidationData::isValidForRead)
@@ -96,7 +108,8 @@ public class DynamicsCrmInputSource implements Serializable {
         schema = helper
                 .getSchemaFromMetadata(metadata, configuration.getDataset().getEntitySet(), columnNames,
                         builderFactory);
-        iterator = service.getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration));
+        iterator = service
+                .getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration, sliceFilter));
     }
 
     @Producer
@@ -110,6 +123,9 @@ public class DynamicsCrmInputSource implements Serializable {
 
     @PreDestroy
     public void release() {
+        if (iterator != null) {
+            iterator.close();
+        }
         iterator = null;
     }
 }
\ No newline at end of file
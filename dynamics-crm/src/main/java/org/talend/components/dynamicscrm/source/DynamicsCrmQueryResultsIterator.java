@@ -14,6 +14,11 @@ package org.talend.components.dynamicscrm.source;
 
 import java.net.URI;
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
@@ -22,8 +27,17 @@ import org.apache.olingo.client.api.domain.ClientEntitySet;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.ms.crm.odata.QueryOptionConfig;
 
+/**
+ * Iterates over the entities of all the pages of a query.
+ * <p>
+ * As soon as a page is received, the next one is requested in the background, so that it is downloaded while the
+ * entities of the current page are converted. Pages are requested by a thread of the iterator, started with the
+ * first prefetch and stopped once the last page is received or the iterator is closed.
+ */
 public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
 
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
     private final DynamicsCRMClient client;
 
     private final QueryOptionConfig queryOptionConfig;
@@ -32,18 +46,21 @@ public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
 
     private Iterator<ClientEntity> entityIterator;
 
+    private Future<ClientEntitySet> nextPage;
+
+    private ExecutorService prefetchExecutor;
+
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
             ClientEntitySet clientEntitySet) {
-        this.entityIterator = clientEntitySet.getEntities().iterator();
-        this.nextPageUri = clientEntitySet.getNext();
         this.client = client;
         this.queryOptionConfig = queryOptionConfig;
+        setPage(clientEntitySet);
     }
 
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig) {
         this.client = client;
         this.queryOptionConfig = queryOptionConfig;
-        requestNext();
+        setPage(retrievePage(null));
     }
 
     @Override
@@ -62,14 +79,64 @@ public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
         return null;
     }
 
+    /**
+     * Cancel the retrieval of the next page, when the iteration is stopped before the end.
+     */
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        nextPageUri = null;
+        shutdownPrefetch();
+    }
+
     private void requestNext() {
-        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
-        if (nextPageUri != null) {
-            request.setURI(nextPageUri);
+        try {
+            setPage(nextPage.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
         }
-        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-        ClientEntitySet entitySet = response.getBody();
+    }
+
+    private void setPage(ClientEntitySet entitySet) {
         entityIterator = entitySet.getEntities().iterator();
         nextPageUri = entitySet.getNext();
+        if (nextPageUri != null) {
+            final URI pageUri = nextPageUri;
+            if (prefetchExecutor == null) {
+                prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "dynamics-prefetch-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            nextPage = prefetchExecutor.submit(() -> retrievePage(pageUri));
+        } else {
+            nextPage = null;
+            shutdownPrefetch();
+        }
+    }
+
+    private void shutdownPrefetch() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+    }
+
+    private ClientEntitySet retrievePage(URI pageUri) {
+        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
+        if (pageUri != null) {
+            request.setURI(pageUri);
+        }
+        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
+        return response.getBody();
     }
 }
@@ -14,10 +14,12 @@ package org.talend.components.dynamicscrm.source;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.apache.olingo.client.api.domain.ClientComplexValue;
@@ -52,6 +54,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class InputHelper {
 
+    public static final String CREATED_ON = "createdon";
+
     private final I18n i18n;
 
     public InputHelper(final I18n i18n) {
@@ -59,10 +63,18 @@ public class InputHelper {
     }
 
     public QueryOptionConfig createQueryOptionConfig(Schema schema, DynamicsCrmInputMapperConfiguration configuration) {
+        return createQueryOptionConfig(schema, configuration, null);
+    }
+
+    /**
+     * @param sliceFilter filter restricting the query to a slice of the entity set, null to read all of it
+     */
+    public QueryOptionConfig createQueryOptionConfig(Schema schema, DynamicsCrmInputMapperConfiguration configuration,
+            String sliceFilter) {
         QueryOptionConfig config = new QueryOptionConfig();
         final String[] names = schema.getEntries().stream().map(Schema.Entry::getName).toArray(String[]::new);
         config.setReturnEntityProperties(names);
-        String filterString = getFilterQuery(schema, configuration);
+        String filterString = combineFilters(getFilterQuery(schema, configuration), sliceFilter);
         if (filterString != null) {
             config.setFilter(filterString);
         }
@@ -73,6 +85,45 @@ public class InputHelper {
         return config;
     }
 
+    public String combineFilters(String filter, String sliceFilter) {
+        if (sliceFilter == null) {
+            return filter;
+        } else if (filter == null || filter.isEmpty()) {
+            return sliceFilter;
+        }
+        return "(" + filter + ") and " + sliceFilter;
+    }
+
+    /**
+     * Split an entity set into disjoint slices of creation date, from the first to the last creation date.
+     * <p>
+     * The first slice also holds the entities without creation date and the last one has no upper bound, so that the
+     * slices cover the whole entity set whatever is created meanwhile.
+     *
+     * @return filters of the slices, empty when the entity set can't be split
+     */
+    public List<String> getCreationDateSlices(Instant first, Instant last, int count) {
+        long span = Duration.between(first, last).toMillis();
+        int sliceCount = (int) Math.min(count, span);
+        if (sliceCount <= 1) {
+            return Collections.emptyList();
+        }
+        List<String> slices = new ArrayList<>(sliceCount);
+        Instant lower = null;
+        for (int i = 1; i <= sliceCount; i++) {
+            Instant upper = i == sliceCount ? null : first.plusMillis(span * i / sliceCount);
+            if (lower == null) {
+                slices.add("(" + CREATED_ON + " lt " + upper + " or " + CREATED_ON + " eq null)");
+            } else if (upper == null) {
+                slices.add("(" + CREATED_ON + " ge " + lower + ")");
+            } else {
+                slices.add("(" + CREATED_ON + " ge " + lower + " and " + CREATED_ON + " lt " + upper + ")");
+            }
+            lower = upper;
+        }
+        return slices;
+    }
+
     public String getOrderByQuery(DynamicsCrmInputMapperConfiguration configuration) {
         if (configuration.getOrderByConditionsList() != null && !configuration.getOrderByConditionsList().isEmpty()) {
             StringBuilder sb = new StringBuilder();
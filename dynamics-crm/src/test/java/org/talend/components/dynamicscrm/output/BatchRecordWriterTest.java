@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.BatchRequestFactory;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.ODataChangeset;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.ms.crm.odata.authentication.IAuthStrategy;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchRecordWriterTest {
+
+    private static final String SERVICE_ROOT = "https://org.crm.dynamics.com/api/data/v9.1";
+
+    private final RecordBuilderFactory recordBuilderFactory = new RecordBuilderFactoryImpl("test");
+
+    /**
+     * Requests of each change set of each $batch request sent.
+     */
+    private final List<List<List<ODataBatchableRequest>>> batches = new ArrayList<>();
+
+    private final List<ODataBatchRequest> batchRequests = new ArrayList<>();
+
+    /**
+     * Status of the operations, given by the "status" field of their record.
+     */
+    private final Map<ODataBatchableRequest, Integer> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * Number of change set responses returned by the service, all when negative.
+     */
+    private int answeredChangeSets = -1;
+
+    private ODataClient odataClient;
+
+    private IAuthStrategy authStrategy;
+
+    private BatchRecordWriter writer;
+
+    @BeforeEach
+    void init() {
+        BatchRequestFactory batchRequestFactory = mock(BatchRequestFactory.class);
+        doAnswer(invocation -> newBatchRequest()).when(batchRequestFactory).getBatchRequest(SERVICE_ROOT);
+        odataClient = mock(ODataClient.class);
+        when(odataClient.getBatchRequestFactory()).thenReturn(batchRequestFactory);
+        authStrategy = mock(IAuthStrategy.class);
+    }
+
+    @AfterEach
+    void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void recordsAreGroupedInChangeSets() throws Exception {
+        writer = newWriter(100, 2);
+        for (int i = 0; i < 5; i++) {
+            writer.write(newRecord(i, 1));
+        }
+        writer.flush();
+
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(2, batches.get(0).get(0).size());
+        assertEquals(2, batches.get(0).get(1).size());
+        assertEquals(1, batches.get(0).get(2).size());
+        assertTrue(writer.pollRejects().isEmpty());
+    }
+
+    @Test
+    void batchesAreCutOnOperationCount() throws Exception {
+        writer = newWriter(4, 1);
+        for (int i = 0; i < 3; i++) {
+            writer.write(newRecord(i, 3));
+        }
+        writer.flush();
+
+        // a second record would make 6 operations: each $batch request holds a single record
+        assertEquals(3, batches.size());
+        for (List<List<ODataBatchableRequest>> batch : batches) {
+            assertEquals(1, batch.size());
+            assertEquals(3, batch.get(0).size());
+        }
+    }
+
+    @Test
+    void recordOperationsStayInTheSameChangeSet() throws Exception {
+        writer = newWriter(10, 2);
+        writer.write(newRecord(0, 3));
+        writer.write(newRecord(1, 2));
+        writer.write(newRecord(2, 1));
+        writer.flush();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(5, batches.get(0).get(0).size());
+        assertEquals(1, batches.get(0).get(1).size());
+    }
+
+    @Test
+    void failedOperationRejectsItsChangeSet() throws Exception {
+        writer = newWriter(100, 2);
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            records.add(newRecord(i, 1, i == 1 ? 400 : 204));
+            writer.write(records.get(i));
+        }
+        writer.flush();
+
+        List<BatchRecordWriter.Reject> rejects = writer.pollRejects();
+        assertEquals(2, rejects.size());
+        assertEquals(records.subList(0, 2),
+                rejects.stream().map(BatchRecordWriter.Reject::getRecord).collect(Collectors.toList()));
+        assertEquals(400, rejects.get(0).getCode());
+        assertEquals("{\"error\":{\"message\":\"invalid\"}}", rejects.get(0).getMessage());
+        assertTrue(writer.pollRejects().isEmpty());
+    }
+
+    @Test
+    void changeSetsWithoutResponseAreRejected() throws Exception {
+        answeredChangeSets = 1;
+        writer = newWriter(100, 1);
+        Record first = newRecord(0, 1);
+        Record second = newRecord(1, 1);
+        writer.write(first);
+        writer.write(second);
+        writer.flush();
+
+        List<BatchRecordWriter.Reject> rejects = writer.pollRejects();
+        assertEquals(1, rejects.size());
+        assertEquals(second, rejects.get(0).getRecord());
+        assertEquals(0, rejects.get(0).getCode());
+    }
+
+    @Test
+    void batchRequestsAreAuthenticated() throws Exception {
+        writer = newWriter(1, 1);
+        writer.write(newRecord(0, 1));
+        writer.write(newRecord(1, 1));
+        writer.flush();
+
+        assertEquals(2, batchRequests.size());
+        for (ODataBatchRequest request : batchRequests) {
+            verify(authStrategy).configureRequest(request);
+            verify(request).addCustomHeader(HttpHeader.PREFER, "odata.continue-on-error");
+        }
+    }
+
+    private BatchRecordWriter newWriter(int batchSize, int changeSetSize) {
+        // each record asks for the number of operations given by its "operations" field
+        RecordProcessor processor = new RecordProcessor() {
+
+            @Override
+            public void processRecord(Record rec) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl) {
+                List<ODataBatchableRequest> requests = new ArrayList<>();
+                for (int i = 0; i < rec.getInt("operations"); i++) {
+                    ODataBatchableRequest request = mock(ODataBatchableRequest.class);
+                    statuses.put(request, rec.getInt("status"));
+                    requests.add(request);
+                }
+                return requests;
+            }
+        };
+        return new BatchRecordWriter(odataClient, authStrategy, SERVICE_ROOT, processor, batchSize, changeSetSize, 1,
+                0);
+    }
+
+    private Record newRecord(int id, int operations) {
+        return newRecord(id, operations, 204);
+    }
+
+    private Record newRecord(int id, int operations, int status) {
+        return recordBuilderFactory
+                .newRecordBuilder()
+                .withInt("id", id)
+                .withInt("operations", operations)
+                .withInt("status", status)
+                .build();
+    }
+
+    private ODataBatchRequest newBatchRequest() {
+        List<List<ODataBatchableRequest>> changeSets = new ArrayList<>();
+        batches.add(changeSets);
+
+        BatchManager payload = mock(BatchManager.class);
+        doAnswer(invocation -> {
+            List<ODataBatchableRequest> requests = new ArrayList<>();
+            changeSets.add(requests);
+            ODataChangeset changeset = mock(ODataChangeset.class);
+            doAnswer(add -> requests.add((ODataBatchableRequest) add.getArguments()[0]))
+                    .when(changeset)
+                    .addRequest(any(ODataBatchableRequest.class));
+            return changeset;
+        }).when(payload).addChangeset();
+        doAnswer(invocation -> newBatchResponse(changeSets)).when(payload).getResponse();
+
+        ODataBatchRequest request = mock(ODataBatchRequest.class);
+        when(request.payloadManager()).thenReturn(payload);
+        batchRequests.add(request);
+        return request;
+    }
+
+    private ODataBatchResponse newBatchResponse(List<List<ODataBatchableRequest>> changeSets) {
+        List<ODataBatchResponseItem> items = new ArrayList<>();
+        int count = answeredChangeSets < 0 ? changeSets.size() : Math.min(answeredChangeSets, changeSets.size());
+        for (List<ODataBatchableRequest> changeSet : changeSets.subList(0, count)) {
+            List<ODataResponse> responses = new ArrayList<>();
+            for (ODataBatchableRequest request : changeSet) {
+                responses.add(newResponse(statuses.get(request)));
+            }
+            Iterator<ODataResponse> iterator = responses.iterator();
+            ODataBatchResponseItem item = mock(ODataBatchResponseItem.class);
+            doAnswer(invocation -> iterator.hasNext()).when(item).hasNext();
+            doAnswer(invocation -> iterator.next()).when(item).next();
+            items.add(item);
+        }
+        ODataBatchResponse response = mock(ODataBatchResponse.class);
+        when(response.getBody()).thenReturn(items.iterator());
+        return response;
+    }
+
+    private static ODataResponse newResponse(int status) {
+        ODataResponse response = mock(ODataResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        when(response.getStatusMessage()).thenReturn(status < 400 ? "No Content" : "Bad Request");
+        if (status >= 400) {
+            when(response.getRawResponse())
+                    .thenReturn(new ByteArrayInputStream(
+                            "{\"error\":{\"message\":\"invalid\"}}".getBytes(StandardCharsets.UTF_8)));
+        }
+        return response;
+    }
+}
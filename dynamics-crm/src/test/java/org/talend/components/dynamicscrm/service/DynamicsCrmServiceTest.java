@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.dynamicscrm.datastore.DynamicsCrmConnection;
+import org.talend.ms.crm.odata.DynamicsCRMClient;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DynamicsCrmServiceTest {
+
+    private DynamicsCrmService service;
+
+    @BeforeEach
+    void init() {
+        System.clearProperty(DynamicsCrmService.METADATA_CACHE_DIR);
+        service = new DynamicsCrmService();
+    }
+
+    @AfterEach
+    void clearTtl() {
+        System.clearProperty(DynamicsCrmService.METADATA_CACHE_TTL);
+    }
+
+    @Test
+    void metadataIsCached() {
+        DynamicsCRMClient client = newClient();
+        DynamicsCrmConnection connection = newConnection("https://org1.crm.dynamics.com/api/data/v9.1");
+
+        Edm first = service.getMetadata(client, connection);
+        Edm second = service.getMetadata(newClient(), connection);
+
+        assertSame(first, second);
+        verify(client, times(1)).createMetadataRetrieveRequest();
+    }
+
+    @Test
+    void expiredMetadataIsReloaded() {
+        System.setProperty(DynamicsCrmService.METADATA_CACHE_TTL, "0");
+        DynamicsCRMClient client = newClient();
+        DynamicsCrmConnection connection = newConnection("https://org1.crm.dynamics.com/api/data/v9.1");
+
+        Edm first = service.getMetadata(client, connection);
+        Edm second = service.getMetadata(client, connection);
+
+        assertNotSame(first, second);
+        verify(client, times(2)).createMetadataRetrieveRequest();
+    }
+
+    @Test
+    void metadataIsCachedPerServiceRootUrl() {
+        DynamicsCRMClient client1 = newClient();
+        DynamicsCRMClient client2 = newClient();
+        DynamicsCrmConnection org1 = newConnection("https://org1.crm.dynamics.com/api/data/v9.1");
+        DynamicsCrmConnection org2 = newConnection("https://org2.crm.dynamics.com/api/data/v9.1");
+        DynamicsCrmConnection org1v92 = newConnection("https://org1.crm.dynamics.com/api/data/v9.2");
+
+        Edm metadata1 = service.getMetadata(client1, org1);
+        Edm metadata2 = service.getMetadata(client2, org2);
+
+        assertNotSame(metadata1, metadata2);
+        assertNotSame(metadata1, service.getMetadata(client1, org1v92));
+        assertSame(metadata1, service.getMetadata(client2, org1));
+        assertSame(metadata2, service.getMetadata(client1, org2));
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        DynamicsCrmConnection connection = newConnection("https://org1.crm.dynamics.com/api/data/v9.1");
+        DynamicsCRMClient failing = mock(DynamicsCRMClient.class);
+        when(failing.createMetadataRetrieveRequest()).thenThrow(new IllegalStateException("unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> service.getMetadata(failing, connection));
+
+        DynamicsCRMClient client = newClient();
+        service.getMetadata(client, connection);
+        verify(client, times(1)).createMetadataRetrieveRequest();
+    }
+
+    @Test
+    void concurrentCallersWaitForTheLoadingOne() throws Exception {
+        DynamicsCrmConnection connection = newConnection("https://org1.crm.dynamics.com/api/data/v9.1");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DynamicsCRMClient slowClient = newClient();
+        EdmMetadataRequest request = slowClient.createMetadataRetrieveRequest();
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return request;
+        }).when(slowClient).createMetadataRetrieveRequest();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Edm> first = executor.submit(() -> service.getMetadata(slowClient, connection));
+            loading.await(10, TimeUnit.SECONDS);
+            DynamicsCRMClient other = newClient();
+            Future<Edm> second = executor.submit(() -> service.getMetadata(other, connection));
+            release.countDown();
+
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            verify(other, times(0)).createMetadataRetrieveRequest();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DynamicsCRMClient newClient() {
+        ODataRetrieveResponse<Edm> response = mock(ODataRetrieveResponse.class);
+        when(response.getBody()).thenAnswer(invocation -> mock(Edm.class));
+        EdmMetadataRequest request = mock(EdmMetadataRequest.class);
+        when(request.execute()).thenReturn(response);
+        DynamicsCRMClient client = mock(DynamicsCRMClient.class);
+        when(client.createMetadataRetrieveRequest()).thenReturn(request);
+        return client;
+    }
+
+    private static DynamicsCrmConnection newConnection(String serviceRootUrl) {
+        DynamicsCrmConnection connection = new DynamicsCrmConnection();
+        connection.setServiceRootUrl(serviceRootUrl);
+        return connection;
+    }
+}
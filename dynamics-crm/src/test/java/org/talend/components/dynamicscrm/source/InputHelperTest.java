@@ -347,4 +347,28 @@ class InputHelperTest {
         assertNull(orderQuery);
     }
 
+    @Test
+    void testCreationDateSlices() {
+        Instant first = Instant.parse("2020-01-01T00:00:00Z");
+        Instant last = Instant.parse("2020-01-04T00:00:00Z");
+
+        List<String> slices = helper.getCreationDateSlices(first, last, 3);
+
+        assertEquals(Arrays
+                .asList("(createdon lt 2020-01-02T00:00:00Z or createdon eq null)",
+                        "(createdon ge 2020-01-02T00:00:00Z and createdon lt 2020-01-03T00:00:00Z)",
+                        "(createdon ge 2020-01-03T00:00:00Z)"),
+                slices);
+        assertEquals(Collections.emptyList(), helper.getCreationDateSlices(first, first, 3));
+    }
+
+    @Test
+    void testCombineSliceFilter() {
+        assertNull(helper.combineFilters(null, null));
+        assertEquals("(createdon ge 2020-01-03T00:00:00Z)",
+                helper.combineFilters(null, "(createdon ge 2020-01-03T00:00:00Z)"));
+        assertEquals("(name eq 'a' or name eq 'b') and (createdon ge 2020-01-03T00:00:00Z)",
+                helper.combineFilters("name eq 'a' or name eq 'b'", "(createdon ge 2020-01-03T00:00:00Z)"));
+    }
+
 }
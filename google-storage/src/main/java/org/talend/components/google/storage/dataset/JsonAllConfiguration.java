@@ -22,7 +22,8 @@ import lombok.Data;
 
 @Data
 @GridLayout({})
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("forceDouble") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("forceDouble"), @GridLayout.Row("arrayAsRecords") })
 @Documentation("Json Configuration in one object.")
 public class JsonAllConfiguration implements ContentFormat {
 
@@ -30,4 +31,8 @@ public class JsonAllConfiguration implements ContentFormat {
     @DefaultValue("true")
     @Documentation("Force json number to double.")
     private boolean forceDouble = true;
+
+    @Option
+    @Documentation("Read each element of a root json array as a record, instead of the whole document as one record.")
+    private boolean arrayAsRecords = false;
 }
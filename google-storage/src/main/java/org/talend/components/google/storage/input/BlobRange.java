@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.Serializable;
+
+import lombok.Value;
+
+/**
+ * Part of a blob assigned to a source: lines starting in [start, end[.
+ */
+@Value
+public class BlobRange implements Serializable {
+
+    private static final long serialVersionUID = -1969530402567392414L;
+
+    /** end of a range covering the whole blob. */
+    public static final long WHOLE_BLOB = Long.MAX_VALUE;
+
+    String blob;
+
+    long start;
+
+    long end;
+
+    public static BlobRange whole(final String blob) {
+        return new BlobRange(blob, 0L, WHOLE_BLOB);
+    }
+
+    public boolean isWhole() {
+        return this.start == 0L && this.end == WHOLE_BLOB;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.components.google.storage.service.StorageFacade;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distribute blobs of dataset on several sources: small blobs are grouped up to bundle size, large CSV blobs are
+ * split into byte ranges when {@link InputConfiguration#isSplitBlobs()} is set.
+ */
+@Version
+@Slf4j
+@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
+@PartitionMapper(family = "GoogleStorage", name = "Input")
+@Documentation("This component read content file from google cloud storage.")
+public class GoogleStorageMapper implements Serializable {
+
+    private static final long serialVersionUID = -2291796470516957135L;
+
+    /** google storage input configuration. */
+    private final InputConfiguration config;
+
+    /** record factory */
+    private final RecordBuilderFactory factory;
+
+    private final RecordIORepository ioRepository;
+
+    private final GSService services;
+
+    /** blob ranges to read, null to read all blobs of dataset. */
+    private final List<BlobRange> ranges;
+
+    /** size in bytes of the ranges, computed when splitting. */
+    private final long rangesSize;
+
+    public GoogleStorageMapper(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null, 0L);
+    }
+
+    private GoogleStorageMapper(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final List<BlobRange> ranges,
+            final long rangesSize) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.ranges = ranges;
+        this.rangesSize = rangesSize;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        if (this.ranges != null) {
+            return this.rangesSize;
+        }
+        return this.findBlobsSize(this.buildStorage()).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Split
+    public List<GoogleStorageMapper> split(@PartitionSize final long bundleSize) {
+        if (this.ranges != null || bundleSize <= 0) {
+            return Collections.singletonList(this);
+        }
+        final StorageFacade storage = this.buildStorage();
+        final boolean splittable = this.isSplittable();
+
+        final List<GoogleStorageMapper> mappers = new ArrayList<>();
+        List<BlobRange> group = new ArrayList<>();
+        long groupSize = 0L;
+        // sizes come with the listing, no request per blob
+        for (Map.Entry<String, Long> blob : this.findBlobsSize(storage).entrySet()) {
+            final String name = blob.getKey();
+            final long size = blob.getValue();
+            if (splittable && size > bundleSize) {
+                for (long start = 0L; start < size; start += bundleSize) {
+                    final long end = Math.min(start + bundleSize, size);
+                    mappers.add(this.withRanges(Collections.singletonList(new BlobRange(name, start, end)),
+                            end - start));
+                }
+                continue;
+            }
+            if (!group.isEmpty() && groupSize + size > bundleSize) {
+                mappers.add(this.withRanges(group, groupSize));
+                group = new ArrayList<>();
+                groupSize = 0L;
+            }
+            group.add(BlobRange.whole(name));
+            groupSize += size;
+        }
+        if (!group.isEmpty()) {
+            mappers.add(this.withRanges(group, groupSize));
+        }
+        log.info("[split] {} sources for bundle size {}.", mappers.size(), bundleSize);
+        return mappers.isEmpty() ? Collections.singletonList(this) : mappers;
+    }
+
+    @Emitter
+    public GoogleStorageSource createSource() {
+        return new GoogleStorageSource(this.config, this.factory, this.ioRepository, this.services, this.ranges);
+    }
+
+    private GoogleStorageMapper withRanges(final List<BlobRange> blobRanges, final long size) {
+        return new GoogleStorageMapper(this.config, this.factory, this.ioRepository, this.services, blobRanges,
+                size);
+    }
+
+    private Map<String, Long> findBlobsSize(final StorageFacade storage) {
+        final GSDataSet dataset = this.getDataSet();
+        this.services.checkBucket(storage, dataset.getBucket());
+        this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
+        return storage.findBlobsSize(dataset.getBucket(), dataset.getBlob());
+    }
+
+    /**
+     * Blobs can be split on line separator only if it can't be found inside a multi-bytes character.
+     */
+    private boolean isSplittable() {
+        final FormatConfiguration format = this.getDataSet().getContentFormat();
+        if (!this.config.isSplitBlobs() || format.getContentFormat() != FormatConfiguration.Type.CSV) {
+            return false;
+        }
+        final LineConfiguration lineConfig = format.getCsvConfiguration().getLineConfiguration();
+        final Charset charset = lineConfig.getEncodingCharset();
+        return lineConfig.getLineSeparator() != null && !lineConfig.getLineSeparator().isEmpty()
+                && (StandardCharsets.UTF_8.equals(charset) || charset.newEncoder().maxBytesPerChar() == 1.0f);
+    }
+
+    private StorageFacade buildStorage() {
+        return this.services.buildStorage(this.getDataSet().getDataStore());
+    }
+
+    private GSDataSet getDataSet() {
+        return this.config.getDataset();
+    }
+}
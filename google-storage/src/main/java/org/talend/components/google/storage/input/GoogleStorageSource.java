@@ -12,9 +12,15 @@
  */
 package org.talend.components.google.storage.input;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -23,25 +29,21 @@ import org.talend.components.common.stream.api.RecordIORepository;
 import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.LineConfiguration;
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.components.google.storage.service.GSService;
 import org.talend.components.google.storage.service.StorageFacade;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.Producer;
-import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@Version
+/**
+ * Read blobs of dataset, or only ranges of them assigned by {@link GoogleStorageMapper}.
+ */
 @Slf4j
-@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
-@Emitter(family = "GoogleStorage", name = "Input")
-@Documentation("This component read content file from google cloud storage.")
 @RequiredArgsConstructor
 public class GoogleStorageSource implements Serializable {
 
@@ -57,9 +59,17 @@ public class GoogleStorageSource implements Serializable {
 
     private final GSService services;
 
+    /** blob ranges to read, null to read all blobs of dataset. */
+    private final List<BlobRange> ranges;
+
     /** current record iterator */
     private transient Iterator<Record> recordIterator = null;
 
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
     @Producer
     public Record next() {
         if (recordIterator == null) {
@@ -76,6 +86,9 @@ public class GoogleStorageSource implements Serializable {
         final GSDataSet dataset = this.getDataSet();
         final StorageFacade storage = this.services.buildStorage(dataset.getDataStore());
         this.services.checkBucket(storage, dataset.getBucket());
+        if (this.ranges != null) {
+            return this.buildRangesIterator(storage);
+        }
         this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
         final Stream<String> blobsName = storage.findBlobsName(dataset.getBucket(), dataset.getBlob());
 
@@ -91,6 +104,47 @@ public class GoogleStorageSource implements Serializable {
                 .build();
     }
 
+    private Iterator<Record> buildRangesIterator(final StorageFacade storage) {
+        final RecordReader recordReader = this.buildReader();
+        return IteratorComposer
+                .of(this.ranges.iterator()) //
+                .map((BlobRange range) -> this.buildRangeInput(storage, range)) // create input stream
+                .map((Supplier<InputStream> input) -> new RecordsInputStream(recordReader, input)) //
+                .flatmap(RecordsInputStream::records) //
+                .build();
+    }
+
+    /**
+     * Input on lines of a range; ranges after the first one are prefixed with blob header lines, so records get the
+     * same schema whatever the range.
+     */
+    private Supplier<InputStream> buildRangeInput(final StorageFacade storage, final BlobRange range) {
+        final String bucket = this.getDataSet().getBucket();
+        if (range.isWhole()) {
+            return storage.buildInput(bucket, range.getBlob());
+        }
+        final LineConfiguration lineConfig =
+                this.getDataSet().getContentFormat().getCsvConfiguration().getLineConfiguration();
+        final byte[] separator = lineConfig.getLineSeparator().getBytes(lineConfig.getEncodingCharset());
+        final int headerLines = lineConfig.calcHeader();
+
+        final Supplier<InputStream> content = storage
+                .buildInput(bucket, range.getBlob(), LineRangeInputStream.seekPosition(range.getStart(), separator));
+        return () -> {
+            final InputStream rangeInput = new LineRangeInputStream(new BufferedInputStream(content.get()),
+                    range.getStart(), range.getEnd(), separator);
+            if (range.getStart() == 0L || headerLines <= 0) {
+                return rangeInput;
+            }
+            try (InputStream headerInput = new BufferedInputStream(storage.buildInput(bucket, range.getBlob()).get())) {
+                final byte[] header = LineRangeInputStream.readLines(headerInput, separator, headerLines);
+                return new SequenceInputStream(new ByteArrayInputStream(header), rangeInput);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
     private RecordReader buildReader() {
         // reader depending on format.
         final ContentFormat format = this.getDataSet().getContentFormat().findFormat();
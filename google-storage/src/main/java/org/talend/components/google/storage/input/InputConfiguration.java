@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +24,8 @@ import lombok.Data;
 
 @Data
 @GridLayout({ @GridLayout.Row("dataset") })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("dataset"), @GridLayout.Row("splitBlobs") })
 public class InputConfiguration implements Serializable {
 
     /** serialization */
@@ -33,4 +35,10 @@ public class InputConfiguration implements Serializable {
     @Documentation("Google storage data set.")
     private GSDataSet dataset;
 
+    @Option
+    @ActiveIf(target = "dataset.contentFormat.contentFormat", value = "CSV")
+    @Documentation("Read large CSV blobs as several byte ranges in parallel, each line must be a record "
+            + "(no line separator in quoted values).")
+    private boolean splitBlobs = false;
+
 }
@@ -31,6 +31,6 @@ public class JsonAllReaderSupplier implements RecordReaderSupplier {
         }
         final JsonAllConfiguration jsonCfg = (JsonAllConfiguration) config;
         final JsonToRecord toRecord = new JsonToRecord(factory, jsonCfg.isForceDouble());
-        return new JsonAllRecordReader(toRecord);
+        return new JsonAllRecordReader(toRecord, jsonCfg.isArrayAsRecords());
     }
 }
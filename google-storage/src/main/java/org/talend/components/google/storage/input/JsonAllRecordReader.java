@@ -15,10 +15,13 @@ package org.talend.components.google.storage.input;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
 
 import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.input.json.JsonToRecord;
@@ -29,17 +32,46 @@ public class JsonAllRecordReader implements RecordReader {
     /** converter from json object to record. */
     private final JsonToRecord toRecord;
 
+    /** true to get a record per element of a root array. */
+    private final boolean arrayAsRecords;
+
     public JsonAllRecordReader(JsonToRecord toRecord) {
+        this(toRecord, false);
+    }
+
+    public JsonAllRecordReader(JsonToRecord toRecord, boolean arrayAsRecords) {
         this.toRecord = toRecord;
+        this.arrayAsRecords = arrayAsRecords;
     }
 
     @Override
     public Iterator<Record> read(InputStream reader) {
+        if (this.arrayAsRecords) {
+            return this.readElements(reader);
+        }
         final JsonValue jsonValue = Json.createReader(reader).readValue();
         final Record rec = this.convertToRecord(jsonValue);
         return Collections.singletonList(rec).iterator();
     }
 
+    /**
+     * Stream a root array: elements are parsed and converted one by one, so only one element is in memory whatever
+     * the document size. Any other root value gives one record.
+     */
+    private Iterator<Record> readElements(InputStream reader) {
+        final JsonParser parser = Json.createParser(reader);
+        if (!parser.hasNext()) {
+            parser.close();
+            return Collections.emptyIterator();
+        }
+        if (parser.next() != Event.START_ARRAY) {
+            final Record rec = this.convertToRecord(parser.getValue());
+            parser.close();
+            return Collections.singletonList(rec).iterator();
+        }
+        return new ElementIterator(parser);
+    }
+
     @Override
     public void close() {
         /* NOP */
@@ -63,4 +95,42 @@ public class JsonAllRecordReader implements RecordReader {
 
         return this.toRecord.toRecord(json);
     }
+
+    private class ElementIterator implements Iterator<Record> {
+
+        private final JsonParser parser;
+
+        private Record next;
+
+        private boolean done;
+
+        ElementIterator(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null && !this.done) {
+                final Event event = this.parser.next();
+                if (event == Event.END_ARRAY) {
+                    this.done = true;
+                    this.parser.close();
+                } else {
+                    // for start of object or array, current structure is read up to its end.
+                    this.next = JsonAllRecordReader.this.convertToRecord(this.parser.getValue());
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Record next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Record current = this.next;
+            this.next = null;
+            return current;
+        }
+    }
 }
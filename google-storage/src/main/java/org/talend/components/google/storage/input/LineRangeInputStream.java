@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Input stream restricted to the lines starting in a byte range of a blob.
+ * <p>
+ * A line belongs to the range where its first byte is, so the stream skips the end of the line started before the
+ * range, and reads past the range end up to the end of its last line. Reading consecutive ranges gives each line
+ * exactly once.
+ */
+public class LineRangeInputStream extends InputStream {
+
+    private final InputStream input;
+
+    private final long start;
+
+    private final long end;
+
+    private final byte[] separator;
+
+    /** last bytes read, to detect separator. */
+    private final byte[] window;
+
+    private int windowSize = 0;
+
+    private final byte[] oneByte = new byte[1];
+
+    /** position in blob of next byte to read. */
+    private long position;
+
+    private boolean synced = false;
+
+    private boolean finished = false;
+
+    /**
+     * @param input : blob content from {@link #seekPosition(long, byte[])}.
+     * @param start : range start.
+     * @param end : range end (exclusive).
+     * @param separator : line separator bytes.
+     */
+    public LineRangeInputStream(final InputStream input, final long start, final long end, final byte[] separator) {
+        this.input = input;
+        this.start = start;
+        this.end = end;
+        this.separator = separator;
+        this.window = new byte[separator.length];
+        this.position = seekPosition(start, separator);
+    }
+
+    /**
+     * Position where blob must be read from for a range: just before start, to know if a line starts at start.
+     */
+    public static long seekPosition(final long start, final byte[] separator) {
+        return Math.max(0L, start - separator.length);
+    }
+
+    /**
+     * Read first lines of a blob (i.e. header).
+     *
+     * @param input : blob content from its beginning.
+     * @param separator : line separator bytes.
+     * @param lines : number of lines.
+     * @return lines content, with their separator.
+     */
+    public static byte[] readLines(final InputStream input, final byte[] separator, final int lines)
+            throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] last = new byte[separator.length];
+        int lineCount = 0;
+        int c = lines > 0 ? input.read() : -1;
+        while (c >= 0) {
+            content.write(c);
+            System.arraycopy(last, 1, last, 0, last.length - 1);
+            last[last.length - 1] = (byte) c;
+            if (content.size() >= separator.length && Arrays.equals(last, separator)) {
+                lineCount++;
+            }
+            c = lineCount < lines ? input.read() : -1;
+        }
+        return content.toByteArray();
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        final int n = this.read(b, 0, 1);
+        return n <= 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (!this.synced) {
+            this.sync();
+        }
+        if (this.finished) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (this.position < this.end) {
+            // inside range: no need to look for separator.
+            final int n = this.input.read(b, off, (int) Math.min(len, this.end - this.position));
+            if (n < 0) {
+                this.finished = true;
+                return -1;
+            }
+            this.track(b, off, n);
+            return n;
+        }
+        // after range: complete current line.
+        int n = 0;
+        while (n < len && !this.isLineStart()) {
+            final int c = this.input.read();
+            if (c < 0) {
+                break;
+            }
+            b[off + n] = (byte) c;
+            this.track(b, off + n, 1);
+            n++;
+        }
+        if (this.isLineStart() || n == 0) {
+            this.finished = true;
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    /**
+     * Skip the end of the line started before range.
+     */
+    private void sync() throws IOException {
+        this.synced = true;
+        while (this.position < this.start || (this.start > 0 && !this.isLineStart())) {
+            final int c = this.input.read();
+            if (c < 0) {
+                this.finished = true;
+                return;
+            }
+            this.oneByte[0] = (byte) c;
+            this.track(this.oneByte, 0, 1);
+        }
+        if (this.position >= this.end) {
+            // line starting in range is read by next range.
+            this.finished = true;
+        }
+    }
+
+    private void track(final byte[] b, final int off, final int n) {
+        this.position += n;
+        final int keep = Math.min(n, this.window.length);
+        final int shift = Math.min(this.windowSize, this.window.length - keep);
+        System.arraycopy(this.window, this.windowSize - shift, this.window, 0, shift);
+        System.arraycopy(b, off + n - keep, this.window, shift, keep);
+        this.windowSize = shift + keep;
+    }
+
+    private boolean isLineStart() {
+        return this.windowSize == this.window.length && Arrays.equals(this.window, this.separator);
+    }
+}
@@ -53,6 +53,8 @@ public class GoogleStorageOutput implements Serializable {
 
     private static final long serialVersionUID = -5829580591413555957L;
 
+    private static final int MEGABYTE = 1024 * 1024;
+
     private final OutputConfiguration config;
 
     private final RecordIORepository ioRepository;
@@ -114,6 +116,11 @@ public class GoogleStorageOutput implements Serializable {
 
         final StorageFacade storage = this.buildStorage();
         final String blobOutputName = new BlobNameBuilder().generateName(dataSet.getBlob());
+        if (this.config.isCompositeUpload()) {
+            return storage
+                    .buildCompositeOuput(dataSet.getBucket(), blobOutputName, this.config.getPartSize() * MEGABYTE,
+                            this.config.getParallelUploads());
+        }
         return storage.buildOuput(dataSet.getBucket(), blobOutputName);
     }
 
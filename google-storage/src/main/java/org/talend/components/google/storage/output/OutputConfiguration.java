@@ -16,6 +16,8 @@ import java.io.Serializable;
 
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +25,9 @@ import lombok.Data;
 
 @Data
 @GridLayout(@GridLayout.Row("dataset"))
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("dataset"), @GridLayout.Row("compositeUpload"),
+                @GridLayout.Row({ "partSize", "parallelUploads" }) })
 public class OutputConfiguration implements Serializable {
 
     /** serialization */
@@ -32,4 +36,20 @@ public class OutputConfiguration implements Serializable {
     @Option
     @Documentation("Google storage data set.")
     private GSDataSet dataset;
+
+    @Option
+    @Documentation("Upload blob as parallel parts composed into the final blob.")
+    private boolean compositeUpload = false;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "compositeUpload", value = "true")
+    @Documentation("Size of each uploaded part in MB.")
+    private int partSize = 32;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "compositeUpload", value = "true")
+    @Documentation("Max number of parts uploaded concurrently.")
+    private int parallelUploads = 8;
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.ComposeRequest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Output stream uploading its content as parallel part-objects composed into the target blob on close.
+ * <p>
+ * Written bytes are gathered into parts of {@code partSize} bytes, each full part is uploaded as its own object while
+ * the caller keeps on encoding the next one. At most {@code parallelism} parts are pending, so memory is bounded by
+ * {@code (parallelism + 1) * partSize}; part buffers are allocated when a part is filled and reused once uploaded,
+ * so small blobs only need one. On {@link #close()}, parts are composed (by groups of 32, the google storage limit)
+ * into the target blob, then deleted.
+ */
+@Slf4j
+public class CompositeUploadOutputStream extends OutputStream {
+
+    /** max number of sources of one compose request. */
+    static final int MAX_COMPOSE_SOURCES = 32;
+
+    /** max number of components of a composite object. */
+    static final int MAX_COMPONENTS = 1024;
+
+    private final Storage storage;
+
+    private final String bucket;
+
+    private final String blob;
+
+    private final int partSize;
+
+    private final ExecutorService executor;
+
+    private final int maxBuffers;
+
+    private final BlockingQueue<byte[]> freeBuffers;
+
+    private int allocatedBuffers;
+
+    private final List<Future<?>> pendingUploads = new ArrayList<>();
+
+    private final List<String> parts = new ArrayList<>();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private byte[] buffer;
+
+    private int count;
+
+    private boolean closed;
+
+    public CompositeUploadOutputStream(final Storage storage, final String bucket, final String blob,
+            final int partSize, final int parallelism) {
+        this.storage = storage;
+        this.bucket = bucket;
+        this.blob = blob;
+        this.partSize = partSize;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, (Runnable r) -> {
+            final Thread thread = new Thread(r, "gcs-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // one buffer filled by the caller while the others are uploaded
+        this.maxBuffers = parallelism + 1;
+        this.freeBuffers = new ArrayBlockingQueue<>(this.maxBuffers);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensureOpen();
+        if (this.buffer == null) {
+            this.buffer = this.nextBuffer();
+        }
+        if (this.count == this.partSize) {
+            this.stagePart();
+        }
+        this.buffer[this.count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.ensureOpen();
+        if (len > 0 && this.buffer == null) {
+            this.buffer = this.nextBuffer();
+        }
+        while (len > 0) {
+            if (this.count == this.partSize) {
+                this.stagePart();
+            }
+            final int copied = Math.min(len, this.partSize - this.count);
+            System.arraycopy(b, off, this.buffer, this.count, copied);
+            this.count += copied;
+            off += copied;
+            len -= copied;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        final List<String> temporaries = new ArrayList<>(this.parts);
+        try {
+            if (this.parts.isEmpty()) {
+                // content fits in one part, no need to compose.
+                final byte[] content = this.buffer == null ? new byte[0] : this.buffer;
+                this.storage.create(BlobInfo.newBuilder(this.bucket, this.blob).build(), content, 0, this.count);
+                return;
+            }
+            if (this.count > 0) {
+                this.submitPart(this.buffer, this.count, false);
+                temporaries.add(this.parts.get(this.parts.size() - 1));
+            }
+            this.awaitUploads();
+            this.compose(this.parts, temporaries);
+            log.debug("[close] {} parts composed into {}/{}.", this.parts.size(), this.bucket, this.blob);
+        } catch (RuntimeException ex) {
+            throw new IOException("Failed to compose " + this.bucket + "/" + this.blob + ": " + ex.getMessage(), ex);
+        } finally {
+            this.executor.shutdownNow();
+            this.delete(temporaries);
+        }
+    }
+
+    private void stagePart() throws IOException {
+        if (this.parts.size() + 1 >= MAX_COMPONENTS) {
+            throw new IOException("Blob " + this.blob + " would exceed " + MAX_COMPONENTS
+                    + " parts, increase the part size");
+        }
+        this.submitPart(this.buffer, this.partSize, true);
+        this.buffer = this.nextBuffer();
+        this.count = 0;
+        this.checkFailure();
+    }
+
+    /**
+     * @return a released part buffer, a new one while fewer than maxBuffers exist, otherwise wait for an upload to end.
+     */
+    private byte[] nextBuffer() throws IOException {
+        final byte[] free = this.freeBuffers.poll();
+        if (free != null) {
+            return free;
+        }
+        if (this.allocatedBuffers < this.maxBuffers) {
+            this.allocatedBuffers++;
+            return new byte[this.partSize];
+        }
+        try {
+            return this.freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    private void submitPart(final byte[] content, final int length, final boolean recycle) {
+        final String partName = this.blob + "_part_" + this.parts.size();
+        this.parts.add(partName);
+        this.pendingUploads.add(this.executor.submit(() -> {
+            try {
+                if (this.failure.get() == null) {
+                    this.storage.create(BlobInfo.newBuilder(this.bucket, partName).build(), content, 0, length);
+                }
+            } catch (RuntimeException e) {
+                this.failure.compareAndSet(null, e);
+            } finally {
+                if (recycle) {
+                    this.freeBuffers.offer(content);
+                }
+            }
+        }));
+        this.pendingUploads.removeIf(Future::isDone);
+    }
+
+    /**
+     * Compose sources into blob, through intermediate objects while there are more sources than a request accepts.
+     */
+    private void compose(final List<String> sources, final List<String> temporaries) {
+        List<String> current = sources;
+        int level = 0;
+        while (current.size() > MAX_COMPOSE_SOURCES) {
+            final List<String> next = new ArrayList<>();
+            for (int i = 0; i < current.size(); i += MAX_COMPOSE_SOURCES) {
+                final String intermediate = this.blob + "_compose_" + level + "_" + next.size();
+                temporaries.add(intermediate);
+                this.composeRequest(current.subList(i, Math.min(i + MAX_COMPOSE_SOURCES, current.size())),
+                        intermediate);
+                next.add(intermediate);
+            }
+            current = next;
+            level++;
+        }
+        this.composeRequest(current, this.blob);
+    }
+
+    private void composeRequest(final List<String> sources, final String target) {
+        this.storage
+                .compose(ComposeRequest
+                        .newBuilder()
+                        .addSource(sources)
+                        .setTarget(BlobInfo.newBuilder(this.bucket, target).build())
+                        .build());
+    }
+
+    private void delete(final List<String> temporaries) {
+        if (temporaries.isEmpty()) {
+            return;
+        }
+        try {
+            final List<BlobId> ids = temporaries
+                    .stream()
+                    .map((String name) -> BlobId.of(this.bucket, name))
+                    .collect(Collectors.toList());
+            this.storage.delete(ids);
+        } catch (RuntimeException ex) {
+            log.warn("[delete] Can't delete temporary parts of {}/{}: {}", this.bucket, this.blob, ex.getMessage());
+        }
+    }
+
+    private void awaitUploads() throws IOException {
+        try {
+            for (Future<?> upload : this.pendingUploads) {
+                upload.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            this.failure.compareAndSet(null, e.getCause());
+        } finally {
+            this.pendingUploads.clear();
+        }
+        this.checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        final Throwable t = this.failure.get();
+        if (t != null) {
+            throw new IOException("Failed to upload part of " + this.bucket + "/" + this.blob + ": " + t.getMessage(),
+                    t);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        this.checkFailure();
+    }
+}
@@ -15,6 +15,7 @@ package org.talend.components.google.storage.service;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -29,6 +30,20 @@ public interface StorageFacade extends Serializable {
      */
     OutputStream buildOuput(final String bucket, final String blob);
 
+    /**
+     * Build output uploading content as parallel parts, composed into bucket/blob when stream is closed.
+     *
+     * @param bucket : bucket to write.
+     * @param blob : blob to write.
+     * @param partSize : size of each part in bytes.
+     * @param parallelism : max number of parts uploaded concurrently.
+     * @return output stream correspond to bucket/blob.
+     */
+    default OutputStream buildCompositeOuput(final String bucket, final String blob, final int partSize,
+            final int parallelism) {
+        return this.buildOuput(bucket, blob);
+    }
+
     /**
      * Build input stream getter on bucket/blob
      * 
@@ -38,6 +53,16 @@ public interface StorageFacade extends Serializable {
      */
     Supplier<InputStream> buildInput(final String bucket, final String blob);
 
+    /**
+     * Build input stream getter on bucket/blob, starting at a given position.
+     *
+     * @param bucket : bucket.
+     * @param blob : blob.
+     * @param position : position of first byte to read.
+     * @return input stream getter to read data.
+     */
+    Supplier<InputStream> buildInput(final String bucket, final String blob, final long position);
+
     /**
      * Find all blob for a given bucket that match name.
      * 
@@ -47,6 +72,15 @@ public interface StorageFacade extends Serializable {
      */
     Stream<String> findBlobsName(final String bucket, final String blobStartName);
 
+    /**
+     * Find all blob for a given bucket that match name, with the size returned by the listing.
+     *
+     * @param bucket : bucket name.
+     * @param blobStartName : start name of blob so if start name is MyBlob, then MyBlobA will match.
+     * @return size in bytes of all blob that matches, by name, in listing order.
+     */
+    Map<String, Long> findBlobsSize(final String bucket, final String blobStartName);
+
     /**
      * Check if a bucket exist.
      * 
@@ -12,9 +12,13 @@
  */
 package org.talend.components.google.storage.service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.channels.Channels;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -22,8 +26,10 @@ import java.util.stream.StreamSupport;
 
 import com.google.api.gax.paging.Page;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.Storage.BlobListOption;
@@ -85,6 +91,12 @@ public class StorageImpl implements StorageFacade {
         return Channels.newOutputStream(writer);
     }
 
+    @Override
+    public OutputStream buildCompositeOuput(final String bucket, final String blob, final int partSize,
+            final int parallelism) {
+        return new CompositeUploadOutputStream(this.getStorage(), bucket, blob, partSize, parallelism);
+    }
+
     @Override
     public Supplier<InputStream> buildInput(final String bucket, final String blob) {
         final BlobInfo blobInfo = BlobInfo.newBuilder(bucket, blob).build();
@@ -98,16 +110,51 @@ public class StorageImpl implements StorageFacade {
         return () -> Channels.newInputStream(blobObject.reader());
     }
 
+    @Override
+    public Supplier<InputStream> buildInput(final String bucket, final String blob, final long position) {
+        final Blob blobObject = this.findBlob(bucket, blob);
+        return () -> {
+            final ReadChannel reader = blobObject.reader();
+            try {
+                reader.seek(position);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return Channels.newInputStream(reader);
+        };
+    }
+
+    private Blob findBlob(final String bucket, final String blob) {
+        final Blob blobObject = this.getStorage().get(BlobId.of(bucket, blob));
+        if (blobObject == null) { // blob does not exist.
+            final String errorLabel = this.i18n.blobUnexist(blob, bucket);
+            log.warn(errorLabel);
+            throw new ComponentException(ErrorOrigin.BACKEND, errorLabel);
+        }
+        return blobObject;
+    }
+
     @Override
     public Stream<String> findBlobsName(final String bucket, final String blobStartName) {
+        return this.findBlobs(bucket, blobStartName).map(Blob::getName);
+    }
+
+    @Override
+    public Map<String, Long> findBlobsSize(final String bucket, final String blobStartName) {
+        final Map<String, Long> sizes = new LinkedHashMap<>();
+        this.findBlobs(bucket, blobStartName)
+                .forEach((Blob blob) -> sizes.put(blob.getName(), blob.getSize() == null ? 0L : blob.getSize()));
+        return sizes;
+    }
+
+    private Stream<Blob> findBlobs(final String bucket, final String blobStartName) {
         final BlobListOption blobListOption = Storage.BlobListOption.prefix(basename(blobStartName));
         final Page<Blob> blobPage = this.getStorage().list(bucket, blobListOption);
 
         return StreamSupport
                 .stream(blobPage.iterateAll().spliterator(), false) //
-                .map(Blob::getName) //
-                .filter((String name) -> Objects.equals(blobStartName, name)
-                        || this.nameBuilder.isGenerated(blobStartName, name));
+                .filter((Blob blob) -> Objects.equals(blobStartName, blob.getName())
+                        || this.nameBuilder.isGenerated(blobStartName, blob.getName()));
     }
 
     /**
@@ -12,8 +12,11 @@
  */
 package org.talend.components.google.storage;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -100,7 +103,16 @@ public class FakeStorage implements StorageRpc {
     }
 
     public StorageObject compose(Iterable<StorageObject> sources, StorageObject target, Map<Option, ?> targetOptions) {
-        return storageRpc.compose(sources, target, targetOptions);
+        // local storage doesn't support compose: concatenate sources content.
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (StorageObject source : sources) {
+            final StorageObject sourceObject = new StorageObject()
+                    .setBucket(target.getBucket())
+                    .setName(source.getName());
+            final byte[] sourceContent = storageRpc.load(sourceObject, Collections.emptyMap());
+            content.write(sourceContent, 0, sourceContent.length);
+        }
+        return storageRpc.create(target, new ByteArrayInputStream(content.toByteArray()), targetOptions);
     }
 
     public byte[] load(StorageObject storageObject, Map<Option, ?> options) {
@@ -20,6 +20,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -110,6 +112,23 @@ public class StorageFacadeFake implements StorageFacade {
         return null;
     }
 
+    @Override
+    public Supplier<InputStream> buildInput(String bucket, String blob, long position) {
+        final Supplier<InputStream> input = this.buildInput(bucket, blob);
+        if (input == null) {
+            return null;
+        }
+        return () -> {
+            final InputStream in = input.get();
+            try {
+                in.skip(position);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return in;
+        };
+    }
+
     @Override
     public Stream<String> findBlobsName(String bucket, String blobStartName) {
         if (Objects.equals(this.bucket.getName(), bucket)) {
@@ -118,6 +137,16 @@ public class StorageFacadeFake implements StorageFacade {
         return null;
     }
 
+    @Override
+    public Map<String, Long> findBlobsSize(String bucket, String blobStartName) {
+        final Map<String, Long> sizes = new LinkedHashMap<>();
+        if (Objects.equals(this.bucket.getName(), bucket)) {
+            this.bucket.list(blobStartName)
+                    .forEach((String name) -> sizes.put(name, this.bucket.getBlob(name).length()));
+        }
+        return sizes;
+    }
+
     @Override
     public boolean isBucketExist(String bucketName) {
         return Objects.equals(this.bucket.name, bucketName);
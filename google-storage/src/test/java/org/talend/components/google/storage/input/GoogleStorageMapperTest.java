@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator.Type;
+import org.talend.components.google.storage.GSServiceFake;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.datastore.GSDataStore;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@WithComponents(value = "org.talend.components.google.storage")
+class GoogleStorageMapperTest {
+
+    @Service
+    private RecordIORepository repository;
+
+    @Service
+    private RecordBuilderFactory factory;
+
+    @Service
+    private GSService services;
+
+    private GSService fake;
+
+    private InputConfiguration config;
+
+    @BeforeEach
+    void init() throws IOException {
+        // bucketSource contains blob_1 and blob_2 (3 lines, 17 bytes each) and other_1.
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource("./bucketSource");
+        this.fake = new GSServiceFake(this.services, new File(resource.getPath()), "test");
+
+        final GSDataSet dataset = new GSDataSet();
+        dataset.setBucket("test");
+        dataset.setBlob("blob");
+        dataset.setDataStore(this.buildDataStore());
+
+        final FormatConfiguration configuration = new FormatConfiguration();
+        configuration.setContentFormat(FormatConfiguration.Type.CSV);
+        final CSVConfiguration csvConfig = new CSVConfiguration();
+        csvConfig.getFieldSeparator().setFieldSeparatorType(Type.COMMA);
+        configuration.setCsvConfiguration(csvConfig);
+        dataset.setContentFormat(configuration);
+
+        this.config = new InputConfiguration();
+        this.config.setDataset(dataset);
+    }
+
+    @Test
+    void splitGroupsBlobs() {
+        final GoogleStorageMapper mapper = new GoogleStorageMapper(this.config, this.factory, this.repository, fake);
+        Assertions.assertEquals(34L, mapper.estimateSize());
+
+        final List<GoogleStorageMapper> mappers = mapper.split(20L);
+
+        Assertions.assertEquals(2, mappers.size());
+        for (GoogleStorageMapper split : mappers) {
+            Assertions.assertEquals(17L, split.estimateSize());
+        }
+        Assertions.assertEquals(this.read(Collections.singletonList(mapper)), this.read(mappers));
+
+        final List<GoogleStorageMapper> single = mapper.split(1000L);
+        Assertions.assertEquals(1, single.size());
+        Assertions.assertEquals(34L, single.get(0).estimateSize());
+    }
+
+    @Test
+    void splitLargeBlobsInRanges() {
+        this.config.setSplitBlobs(true);
+        final GoogleStorageMapper mapper = new GoogleStorageMapper(this.config, this.factory, this.repository, fake);
+
+        final List<GoogleStorageMapper> mappers = mapper.split(6L);
+
+        // [0, 6[, [6, 12[ and [12, 17[ for each blob.
+        Assertions.assertEquals(6, mappers.size());
+        Assertions.assertEquals(34L, mappers.stream().mapToLong(GoogleStorageMapper::estimateSize).sum());
+        final List<String> values = this.read(mappers);
+        Assertions.assertEquals(6, values.size());
+        Assertions.assertEquals(this.read(Collections.singletonList(mapper)), values);
+    }
+
+    private List<String> read(final List<GoogleStorageMapper> mappers) {
+        final List<String> values = new ArrayList<>();
+        for (GoogleStorageMapper mapper : mappers) {
+            final GoogleStorageSource source = mapper.createSource();
+            Record record = source.next();
+            while (record != null) {
+                values.add(record.getString("field_0") + "," + record.getString("field_1"));
+                record = source.next();
+            }
+        }
+        return values;
+    }
+
+    private GSDataStore buildDataStore() throws IOException {
+        final GSDataStore ds = new GSDataStore();
+        final URL urlJWT = Thread.currentThread().getContextClassLoader().getResource("./engineering-test.json");
+        ds.setJsonCredentials(new String(Files.readAllBytes(new File(urlJWT.getPath()).toPath())));
+        return ds;
+    }
+}
@@ -15,8 +15,11 @@ package org.talend.components.google.storage.input;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.Iterator;
 
 import org.junit.jupiter.api.Assertions;
@@ -58,4 +61,62 @@ class JsonAllRecordReaderTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void readArrayElements() {
+        try (final JsonAllRecordReader reader = new JsonAllRecordReader(new JsonToRecord(factory, true), true)) {
+            final Iterator<Record> records = reader
+                    .read(new ByteArrayInputStream("[{\"a\": 1}, {\"a\": 2, \"b\": [1, 2]}, 3]".getBytes()));
+            Assertions.assertEquals(1.0d, records.next().getDouble("a"));
+            final Record second = records.next();
+            Assertions.assertEquals(2.0d, second.getDouble("a"));
+            Assertions.assertEquals(2, second.getArray(Double.class, "b").size());
+            Assertions.assertEquals(3.0d, records.next().getDouble("field"));
+            Assertions.assertFalse(records.hasNext());
+
+            final Iterator<Record> single = reader.read(new ByteArrayInputStream("{\"a\": 1}".getBytes()));
+            Assertions.assertEquals(1.0d, single.next().getDouble("a"));
+            Assertions.assertFalse(single.hasNext());
+        }
+    }
+
+    @Test
+    void readLargeArray() {
+        // generated on the fly, the document is never fully in memory.
+        final int size = 200_000;
+        final Enumeration<InputStream> parts = new Enumeration<InputStream>() {
+
+            private int index = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return index <= size;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                final String part;
+                if (index < 0) {
+                    part = "[";
+                } else if (index == size) {
+                    part = "]";
+                } else {
+                    part = (index > 0 ? "," : "") + "{\"id\": " + index + ", \"name\": \"element " + index
+                            + "\", \"tags\": [\"t1\", \"t2\"]}";
+                }
+                index++;
+                return new ByteArrayInputStream(part.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        try (final JsonAllRecordReader reader = new JsonAllRecordReader(new JsonToRecord(factory, false), true)) {
+            final Iterator<Record> records = reader.read(new SequenceInputStream(parts));
+            long count = 0;
+            while (records.hasNext()) {
+                final Record record = records.next();
+                Assertions.assertEquals(count, record.getLong("id"));
+                count++;
+            }
+            Assertions.assertEquals(size, count);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LineRangeInputStreamTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "\n", "\r\n", "||" })
+    void rangesGiveEachLineOnce(final String lineSeparator) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            builder.append("line").append(i).append(";value").append(i * 7).append(lineSeparator);
+        }
+        builder.append("last line without separator");
+        final byte[] content = builder.toString().getBytes(StandardCharsets.UTF_8);
+        final byte[] separator = lineSeparator.getBytes(StandardCharsets.UTF_8);
+
+        for (int rangeSize = 1; rangeSize <= content.length + 1; rangeSize++) {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream();
+            for (long start = 0; start < content.length; start += rangeSize) {
+                result.write(this.readRange(content, start, Math.min(start + rangeSize, content.length), separator));
+            }
+            Assertions.assertEquals(builder.toString(), new String(result.toByteArray(), StandardCharsets.UTF_8),
+                    "range size " + rangeSize);
+        }
+    }
+
+    @Test
+    void readLines() throws IOException {
+        final byte[] content = "h1\r\nh2\r\nd1\r\nd2".getBytes(StandardCharsets.UTF_8);
+        final byte[] separator = "\r\n".getBytes(StandardCharsets.UTF_8);
+
+        final byte[] header = LineRangeInputStream.readLines(new ByteArrayInputStream(content), separator, 2);
+        Assertions.assertEquals("h1\r\nh2\r\n", new String(header, StandardCharsets.UTF_8));
+    }
+
+    private byte[] readRange(final byte[] content, final long start, final long end, final byte[] separator)
+            throws IOException {
+        final int seek = (int) LineRangeInputStream.seekPosition(start, separator);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream input = new LineRangeInputStream(
+                new ByteArrayInputStream(content, seek, content.length - seek), start, end, separator)) {
+            final byte[] buffer = new byte[7];
+            int size = input.read(buffer);
+            while (size >= 0) {
+                out.write(buffer, 0, size);
+                size = input.read(buffer);
+            }
+        }
+        return out.toByteArray();
+    }
+}
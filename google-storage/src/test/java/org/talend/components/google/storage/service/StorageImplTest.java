@@ -12,6 +12,7 @@
  */
 package org.talend.components.google.storage.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -103,6 +104,49 @@ class StorageImplTest {
         }
     }
 
+    @Test
+    void buildCompositeOutput() throws IOException {
+        final GSDataStore dataStore = buildDataStore();
+        StorageImpl st = new StorageImpl(this.credentialService, dataStore.getJsonCredentials(), i18n);
+
+        // 1000 bytes in parts of 10 bytes: composed through intermediate objects.
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append(String.format("line %04d\n", i));
+        }
+        try (final OutputStream outputStream = st.buildCompositeOuput("output", "composite", 10, 3)) {
+            outputStream.write(expected.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        final Supplier<InputStream> inputGetter = st.buildInput("output", "composite");
+        try (InputStream input = inputGetter.get()) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buf = new byte[200];
+            int size = input.read(buf);
+            while (size > 0) {
+                content.write(buf, 0, size);
+                size = input.read(buf);
+            }
+            Assertions.assertEquals(expected.toString(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+        }
+
+        // small content is directly written.
+        try (final OutputStream outputStream = st.buildCompositeOuput("output", "small", 10, 3)) {
+            outputStream.write("Hello".getBytes());
+        }
+        try (InputStream input = st.buildInput("output", "small").get()) {
+            byte[] buf = new byte[200];
+            final int size = input.read(buf);
+            Assertions.assertEquals("Hello", new String(buf, 0, size));
+        }
+
+        // nothing written, no part buffer needed.
+        st.buildCompositeOuput("output", "empty", 10, 3).close();
+        try (InputStream input = st.buildInput("output", "empty").get()) {
+            Assertions.assertEquals(-1, input.read());
+        }
+    }
+
     @Test
     void findBlobsName() throws IOException {
         final GSDataStore dataStore = buildDataStore();
@@ -13,8 +13,14 @@
 package org.talend.components.http.service;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -23,6 +29,7 @@ import javax.json.stream.JsonParserFactory;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.talend.components.common.collections.CloseableIterator;
 import org.talend.components.common.collections.IteratorMap;
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
@@ -71,6 +78,11 @@ public class RecordBuilderService {
     public static final String CONTEXT_SUBSTITUTOR_RESULT_CLOSER = System
             .getProperty("org.talend.components.rest.context_substitutor_result_closer", "}");
 
+    /**
+     * Number of payload characters displayed in the message of an invalid body.
+     */
+    private static final int PAYLOAD_EXCERPT_LENGTH = 100;
+
     @Service
     private I18n i18n;
 
@@ -108,6 +120,10 @@ public class RecordBuilderService {
         final boolean createContext = config.getDataset().isOutputKeyValuePairs();
         final boolean completeContext = config.getDataset().isForwardInput();
         final boolean isCompletePayload = config.getDataset().getReturnedContent() == OutputContent.STATUS_HEADERS_BODY;
+        // Pagination, attachments and complete payload need the whole body, else it is streamed to the reader.
+        // The JSON reader only detects UTF-* encodings, other ones are decoded from the loaded body.
+        final boolean loadPayload = config.getDataset().isHasPagination() || config.isDownloadFile()
+                || isCompletePayload || !isUnicode(response.getEncoding());
 
         Map<String, String> headers = response.getHeaders();
         final ContentFormat contentFormat = findFormat(config);
@@ -132,22 +148,39 @@ public class RecordBuilderService {
         final Iterator<Record> readIterator;
 
         String payload = null;
+        PayloadExcerptInputStream streamedBody = null;
         try {
-            // I read the payload in case of an exception to be able to display it in the message.
-            payload = response.getBodyAsString();
-            if (config.isDownloadFile()) {
-                MediaType mediaType = getNestedResponseMediaType(response);
-                if (attachmentService.isMultipart(mediaType)) {
-                    String notAttachmentPartOfMultipart = attachmentService.parseMultipartAndDownloadAttachments(
-                            mediaType.getType() + "/" + mediaType.getSubtype(), payload, config);
-
-                    payload = notAttachmentPartOfMultipart;
+            if (loadPayload) {
+                // I read the payload in case of an exception to be able to display it in the message.
+                payload = response.getBodyAsString();
+                if (config.isDownloadFile()) {
+                    MediaType mediaType = getNestedResponseMediaType(response);
+                    if (attachmentService.isMultipart(mediaType)) {
+                        String notAttachmentPartOfMultipart = attachmentService.parseMultipartAndDownloadAttachments(
+                                mediaType.getType() + "/" + mediaType.getSubtype(), payload, config);
+
+                        payload = notAttachmentPartOfMultipart;
+                    }
                 }
+                // Inject null in reader if null or, the ByteArrayInputStream if it contains something.
+                readIterator = reader.read(payload == null ? null : new ByteArrayInputStream(payload.getBytes()));
+            } else {
+                // The reader consumes the body from the connection, both are closed once all records are read.
+                // Only the first bytes are kept, to be able to display them in the message of an exception.
+                streamedBody = new PayloadExcerptInputStream(response.getBodyAsStream(), 4 * PAYLOAD_EXCERPT_LENGTH);
+                final InputStream body = streamedBody;
+                readIterator = new CloseableIterator<>(reader.read(body), () -> {
+                    try (InputStream closedBody = body) {
+                        reader.close();
+                    }
+                });
             }
-            // Inject null in reader if null or, the ByteArrayInputStream if it contains something.
-            readIterator = reader.read(payload == null ? null : new ByteArrayInputStream(payload.getBytes()));
         } catch (RuntimeException | HTTPClientException e) {
-            int endSubstring = 100;
+            int endSubstring = PAYLOAD_EXCERPT_LENGTH;
+            if (streamedBody != null) {
+                payload = streamedBody.getExcerpt(response.getEncoding());
+                closeQuietly(streamedBody);
+            }
             payload = (payload == null || "".equals(payload)) ? i18n.emptyPayload() : payload.trim();
             // Display only first characters of the payload in the message
             endSubstring = endSubstring > payload.length() ? payload.length() : endSubstring;
@@ -179,6 +212,18 @@ public class RecordBuilderService {
                 true);
     }
 
+    private static boolean isUnicode(final String encoding) {
+        return encoding != null && encoding.toUpperCase(Locale.ROOT).startsWith("UTF");
+    }
+
+    private static void closeQuietly(final InputStream body) {
+        try {
+            body.close();
+        } catch (IOException e) {
+            log.debug("Can't close HTTP response body: {}", e.getMessage());
+        }
+    }
+
     private MediaType getNestedResponseMediaType(
             HTTPClient.HTTPResponse response) {
         return ((Response) response.getNestedResponse()).getMediaType();
@@ -366,4 +411,45 @@ public class RecordBuilderService {
         final Schema schema = builder.withEntry(bodyEntry).build();
         return schema;
     }
+
+    /**
+     * Keeps the first bytes read from a streamed body, the body itself is not buffered.
+     */
+    private static class PayloadExcerptInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream excerpt = new ByteArrayOutputStream();
+
+        private final int maxExcerptSize;
+
+        PayloadExcerptInputStream(final InputStream in, final int maxExcerptSize) {
+            super(in);
+            this.maxExcerptSize = maxExcerptSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && excerpt.size() < maxExcerptSize) {
+                excerpt.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int nb = super.read(b, off, len);
+            if (nb > 0 && excerpt.size() < maxExcerptSize) {
+                excerpt.write(b, off, Math.min(nb, maxExcerptSize - excerpt.size()));
+            }
+            return nb;
+        }
+
+        String getExcerpt(final String encoding) {
+            try {
+                return excerpt.toString(encoding);
+            } catch (UnsupportedEncodingException e) {
+                return null;
+            }
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.authentication.Token;
+import org.talend.components.http.configuration.Format;
+import org.talend.components.http.configuration.OutputContent;
+import org.talend.components.http.configuration.RequestConfig;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@WithComponents(value = "org.talend.components.http")
+class RecordBuilderServiceTest {
+
+    private static final int NB_ITEMS = 50_000;
+
+    @Service
+    private RecordBuilderService recordBuilderService;
+
+    @Test
+    void bodyIsStreamedToTheReader() {
+        FakeResponse response = new FakeResponse(items(), "UTF-8");
+
+        Iterator<Record> records = recordBuilderService.buildFixedRecord(response, jsonItemsConfig());
+
+        Assertions.assertTrue(records.hasNext());
+        Assertions.assertEquals("item-0", records.next().getString("name"));
+        Assertions.assertTrue(response.body.nbRead < response.payload.length,
+                "Only the beginning of the body should be read for the first record.");
+        Assertions.assertFalse(response.body.closed);
+
+        int nbRecords = 1;
+        while (records.hasNext()) {
+            Assertions.assertEquals("item-" + nbRecords, records.next().getString("name"));
+            nbRecords++;
+        }
+        Assertions.assertEquals(NB_ITEMS, nbRecords);
+        Assertions.assertTrue(response.body.closed, "The body must be closed once all records are read.");
+        Assertions.assertFalse(response.loaded, "A streamed body must not be loaded as a String.");
+    }
+
+    @Test
+    void notUnicodeBodyIsLoaded() {
+        FakeResponse response = new FakeResponse(items(), "ISO-8859-1");
+
+        Iterator<Record> records = recordBuilderService.buildFixedRecord(response, jsonItemsConfig());
+
+        int nbRecords = 0;
+        while (records.hasNext()) {
+            records.next();
+            nbRecords++;
+        }
+        Assertions.assertEquals(NB_ITEMS, nbRecords);
+        Assertions.assertTrue(response.loaded);
+        Assertions.assertEquals(0, response.body.nbRead);
+    }
+
+    @Test
+    void invalidStreamedBodyIsQuotedInMessage() {
+        FakeResponse response = new FakeResponse("{ this is not json", "UTF-8");
+
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            Iterator<Record> records = recordBuilderService.buildFixedRecord(response, jsonItemsConfig());
+            records.hasNext();
+        });
+
+        Assertions.assertTrue(e.getMessage().contains("{ this is not json"), e.getMessage());
+        Assertions.assertTrue(response.body.closed);
+    }
+
+    private static RequestConfig jsonItemsConfig() {
+        RequestConfig config = RequestConfigBuilder.getEmptyRequestConfig();
+        config.getDataset().setFormat(Format.JSON);
+        config.getDataset().setSelector("/items");
+        config.getDataset().setReturnedContent(OutputContent.BODY_ONLY);
+        return config;
+    }
+
+    private static String items() {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < NB_ITEMS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+
+        private int nbRead = 0;
+
+        private boolean closed = false;
+
+        CountingInputStream(final byte[] payload) {
+            super(payload);
+        }
+
+        @Override
+        public synchronized int read() {
+            int b = super.read();
+            if (b >= 0) {
+                nbRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            int nb = super.read(b, off, len);
+            if (nb > 0) {
+                nbRead += nb;
+            }
+            return nb;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static class FakeResponse implements HTTPClient.HTTPResponse<Object> {
+
+        private final byte[] payload;
+
+        private final String encoding;
+
+        private final CountingInputStream body;
+
+        private boolean loaded = false;
+
+        FakeResponse(final String payload, final String encoding) {
+            this.payload = payload.getBytes(StandardCharsets.UTF_8);
+            this.encoding = encoding;
+            this.body = new CountingInputStream(this.payload);
+        }
+
+        @Override
+        public HTTPClient.Status getStatus() {
+            return new HTTPClient.Status(200, "OK", "SUCCESSFUL");
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public Map<String, String> getHeaders() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public String getBodyAsString() throws HTTPClientException {
+            loaded = true;
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream getBodyAsStream() {
+            return body;
+        }
+
+        @Override
+        public Object getNestedResponse() {
+            return null;
+        }
+
+        @Override
+        public String getEncoding() {
+            return encoding;
+        }
+
+        @Override
+        public void setOAuth20Token(final Token token) {
+            // not used
+        }
+
+        @Override
+        public Optional<Token> getOAuth20Token() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<QueryConfiguration> nextPageQueryConfiguration() {
+            return Optional.empty();
+        }
+
+        @Override
+        public int getLastPageCount() {
+            return 0;
+        }
+    }
+}
@@ -13,14 +13,15 @@
 package org.talend.components.jira.source;
 
 import java.io.StringReader;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.stream.Collectors;
 
 import javax.json.Json;
 import javax.json.JsonArray;
+import javax.annotation.PreDestroy;
 import javax.json.JsonObject;
+import javax.json.JsonParserFactory;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonValue;
@@ -33,13 +34,10 @@ import org.talend.components.http.configuration.Dataset;
 import org.talend.components.http.configuration.Datastore;
 import org.talend.components.http.configuration.Format;
 import org.talend.components.http.configuration.OutputContent;
-import org.talend.components.http.configuration.Param;
 import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.configuration.auth.Authentication;
 import org.talend.components.http.configuration.auth.Authorization;
 import org.talend.components.http.configuration.auth.Basic;
-import org.talend.components.http.configuration.pagination.OffsetLimitStrategyConfig;
-import org.talend.components.http.configuration.pagination.Pagination;
 import org.talend.components.http.input.AbstractHTTPInput;
 import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.RecordBuilderService;
@@ -71,14 +69,20 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
 
     private final JiraInputConfiguration configuration;
 
+    private final JsonParserFactory jsonParserFactory;
+
     private final Queue<String> jiraJQLSearchResultQueue;
 
+    private transient JqlSearchPages jqlSearchPages;
+
     public JiraInput(HTTPClientService httpClientService, RecordBuilderService recordBuilderService,
-            JiraInputConfiguration configuration, I18n i18n, JiraI18n jiraI18n, JsonReaderFactory jsonReaderFactory) {
+            JiraInputConfiguration configuration, I18n i18n, JiraI18n jiraI18n, JsonReaderFactory jsonReaderFactory,
+            JsonParserFactory jsonParserFactory) {
         super(configuration, httpClientService, recordBuilderService, i18n);
         this.configuration = configuration;
         this.jiraI18n = jiraI18n;
         this.jsonReaderFactory = jsonReaderFactory;
+        this.jsonParserFactory = jsonParserFactory;
         this.jiraJQLSearchResultQueue = new LinkedList<>();
     }
 
@@ -116,21 +120,8 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
         } else if (!config.isUseJQL()) {
             requestConfigDataset.setResource("rest/api/2/issue/" + config.getIssueId());
         } else {
+            // jql, startAt and maxResults are set for each page by JqlSearchPages
             requestConfigDataset.setHasQueryParams(true);
-            requestConfigDataset.setQueryParams(Collections.singletonList(new Param("jql", config.getJql())));
-
-            Pagination pagination = new Pagination();
-            pagination.setStrategy(Pagination.Strategy.OFFSET_LIMIT);
-            OffsetLimitStrategyConfig paginationConfig = new OffsetLimitStrategyConfig();
-            paginationConfig.setOffsetParamName("startAt");
-            paginationConfig.setOffsetValue("0");
-            paginationConfig.setLimitParamName("maxResults");
-            paginationConfig.setLimitValue(String.valueOf(config.getBatchSize()));
-            pagination.setOffsetLimitStrategyConfig(paginationConfig);
-            paginationConfig.setElementsPath(".issues");
-            requestConfigDataset.setPagination(pagination);
-            requestConfigDataset.setHasPagination(true);
-
             requestConfigDataset.setResource("rest/api/2/search");
         }
 
@@ -146,10 +137,13 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
     public Record next() {
         try {
             if (isJQLSearch()) {
-                if (jiraJQLSearchResultQueue.isEmpty()) {
-                    Record nextPageJQLSearchResult = super.next();
-                    processResult(nextPageJQLSearchResult, "issues");
-
+                if (jqlSearchPages == null) {
+                    jqlSearchPages = new JqlSearchPages(getClient(), getConfig(), jsonParserFactory,
+                            configuration.getJql(), configuration.getBatchSize(), configuration.getParallelism());
+                }
+                String issue = jqlSearchPages.next();
+                if (issue != null) {
+                    jiraJQLSearchResultQueue.add(issue);
                 }
             } else if (isGetAllProjects()) {
                 Record allProjectsArray = super.next();
@@ -174,6 +168,16 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
             throw extractJiraError(e);
         } catch (ComponentException e) {
             throw e;
+        } catch (Exception e) {
+            throw new HTTPComponentException(ComponentException.ErrorOrigin.BACKEND,
+                    getI18n().httpClientException(String.valueOf(e.getClass()), e.getMessage()), e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (jqlSearchPages != null) {
+            jqlSearchPages.close();
         }
     }
 
@@ -17,6 +17,8 @@ import org.talend.components.jira.dataset.JiraDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.DefaultValue;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -25,7 +27,8 @@ import lombok.Data;
 @Data
 @GridLayout({ @GridLayout.Row("dataset"), @GridLayout.Row("useJQL"), @GridLayout.Row("jql"),
         @GridLayout.Row("projectId"), @GridLayout.Row("issueId") })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("batchSize") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("batchSize"),
+        @GridLayout.Row("parallelism") })
 public class JiraInputConfiguration implements Serializable {
 
     @Option
@@ -62,4 +65,13 @@ public class JiraInputConfiguration implements Serializable {
     @DefaultValue("50")
     @Documentation("Batch size.")
     private int batchSize = 50;
+
+    @Option
+    @ActiveIfs({ @ActiveIf(target = "../dataset.resourceType", value = "ISSUE"),
+            @ActiveIf(target = "useJQL", value = "true") })
+    @Min(1)
+    @Max(16)
+    @DefaultValue("4")
+    @Documentation("Number of JQL search pages fetched concurrently.")
+    private int parallelism = 4;
 }
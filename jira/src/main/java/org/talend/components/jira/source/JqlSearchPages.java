@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jira.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.JsonParserFactory;
+import javax.json.stream.JsonParser;
+
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.http.configuration.Param;
+import org.talend.components.http.configuration.RequestConfig;
+import org.talend.components.http.service.httpClient.HTTPClientService;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues returned by a JQL search, in the search order.
+ * <p>
+ * The first page gives the number of matching issues, the following pages are then requested concurrently, at most
+ * {@code parallelism} pages being fetched or buffered at a time. Issues are read from the response stream as they are
+ * parsed, without reading the whole page body first.
+ */
+@Slf4j
+class JqlSearchPages implements AutoCloseable {
+
+    static final String START_AT = "startAt";
+
+    static final String MAX_RESULTS = "maxResults";
+
+    private static final String JQL = "jql";
+
+    private static final String TOTAL = "total";
+
+    private static final String ISSUES = "issues";
+
+    private final HTTPClientService client;
+
+    private final RequestConfig config;
+
+    private final JsonParserFactory parserFactory;
+
+    private final String jql;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final Deque<Integer> offsets = new ArrayDeque<>();
+
+    private final Deque<Future<Page>> pages = new ArrayDeque<>();
+
+    private ExecutorService executor;
+
+    private Iterator<String> current;
+
+    JqlSearchPages(final HTTPClientService client, final RequestConfig config, final JsonParserFactory parserFactory,
+            final String jql, final int batchSize, final int parallelism) {
+        this.client = client;
+        this.config = config;
+        this.parserFactory = parserFactory;
+        this.jql = jql;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return next issue as JSON, null when all the pages are read
+     */
+    String next() throws Exception {
+        if (current == null) {
+            Page first = fetch(queryConfiguration(0));
+            // the server may cap maxResults below the requested batch size
+            int pageSize = first.getMaxResults() > 0 ? first.getMaxResults() : batchSize;
+            for (int offset = pageSize; offset < first.getTotal(); offset += pageSize) {
+                offsets.add(offset);
+            }
+            log.debug("[next] {} issues found, {} pages left.", first.getTotal(), offsets.size());
+            current = first.getIssues().iterator();
+            submitPages();
+        }
+        while (!current.hasNext()) {
+            Future<Page> page = pages.poll();
+            if (page == null) {
+                return null;
+            }
+            try {
+                current = page.get().getIssues().iterator();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            submitPages();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void submitPages() {
+        while (pages.size() < parallelism && !offsets.isEmpty()) {
+            if (executor == null) {
+                AtomicInteger threadCount = new AtomicInteger();
+                executor = Executors.newFixedThreadPool(parallelism, r -> {
+                    Thread thread = new Thread(r, "jira-search-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            // configurations are built by the caller thread, the request config is not shared
+            QueryConfiguration queryConfiguration = queryConfiguration(offsets.poll());
+            pages.add(executor.submit(() -> fetch(queryConfiguration)));
+        }
+    }
+
+    private QueryConfiguration queryConfiguration(final int startAt) {
+        config.getDataset()
+                .setQueryParams(Arrays.asList(new Param(JQL, jql), new Param(START_AT, String.valueOf(startAt)),
+                        new Param(MAX_RESULTS, String.valueOf(batchSize))));
+        return client.convertConfiguration(config, null);
+    }
+
+    private Page fetch(final QueryConfiguration queryConfiguration) throws HTTPClientException, IOException {
+        HTTPClient.HTTPResponse response = client.invoke(queryConfiguration, true);
+        try (InputStream body = response.getBodyAsStream();
+                JsonParser parser = parserFactory.createParser(body)) {
+            return Page.parse(parser);
+        }
+    }
+
+    @Getter
+    static class Page {
+
+        private long total;
+
+        private int maxResults;
+
+        private List<String> issues = Collections.emptyList();
+
+        /**
+         * Read a search result, issues are kept as JSON while the other fields are skipped.
+         */
+        static Page parse(final JsonParser parser) {
+            Page page = new Page();
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+                return page;
+            }
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.END_OBJECT) {
+                    break;
+                }
+                String key = parser.getString();
+                event = parser.next();
+                if (TOTAL.equals(key) && event == JsonParser.Event.VALUE_NUMBER) {
+                    page.total = parser.getLong();
+                } else if (MAX_RESULTS.equals(key) && event == JsonParser.Event.VALUE_NUMBER) {
+                    page.maxResults = parser.getInt();
+                } else if (ISSUES.equals(key) && event == JsonParser.Event.START_ARRAY) {
+                    page.issues = new ArrayList<>();
+                    while (parser.next() == JsonParser.Event.START_OBJECT) {
+                        page.issues.add(parser.getObject().toString());
+                    }
+                } else if (event == JsonParser.Event.START_OBJECT) {
+                    parser.skipObject();
+                } else if (event == JsonParser.Event.START_ARRAY) {
+                    parser.skipArray();
+                }
+            }
+            return page;
+        }
+    }
+}
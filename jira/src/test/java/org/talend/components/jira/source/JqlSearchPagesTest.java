@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jira.source;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.stream.JsonParser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.http.configuration.Dataset;
+import org.talend.components.http.configuration.Param;
+import org.talend.components.http.configuration.RequestConfig;
+import org.talend.components.http.service.I18n;
+import org.talend.components.http.service.RecordBuilderService;
+import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.components.http.service.httpClient.HTTPComponentException;
+import org.talend.components.jira.dataset.JiraDataset;
+import org.talend.components.jira.datastore.JiraDatastore;
+import org.talend.components.jira.service.JiraI18n;
+import org.talend.sdk.component.api.exception.ComponentException;
+import org.talend.sdk.component.api.record.Record;
+
+class JqlSearchPagesTest {
+
+    private HTTPClientService client;
+
+    private RequestConfig config;
+
+    /**
+     * startAt and maxResults of the requests, by configuration built for them.
+     */
+    private Map<QueryConfiguration, int[]> requests;
+
+    private List<Integer> requestedOffsets;
+
+    private JqlSearchPages pages;
+
+    @BeforeEach
+    void setUp() {
+        client = Mockito.mock(HTTPClientService.class);
+        config = new RequestConfig();
+        config.setDataset(new Dataset());
+        requests = Collections.synchronizedMap(new IdentityHashMap<>());
+        requestedOffsets = Collections.synchronizedList(new ArrayList<>());
+        Mockito.when(client.convertConfiguration(Mockito.any(RequestConfig.class), (Record) Mockito.isNull()))
+                .thenAnswer(invocation -> {
+                    RequestConfig requestConfig = (RequestConfig) invocation.getArguments()[0];
+                    QueryConfiguration queryConfiguration = new QueryConfiguration();
+                    requests.put(queryConfiguration, new int[] {
+                            Integer.parseInt(param(requestConfig, JqlSearchPages.START_AT)),
+                            Integer.parseInt(param(requestConfig, JqlSearchPages.MAX_RESULTS)) });
+                    return queryConfiguration;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pages != null) {
+            pages.close();
+        }
+    }
+
+    @Test
+    void pageStrideFollowsServerMaxResults() throws Exception {
+        // 100 issues per page are requested, the server returns 2
+        serve(startAt -> page(startAt, 2, 5));
+        pages = new JqlSearchPages(client, config, Json.createParserFactory(null), "project=TEST", 100, 2);
+
+        Assertions.assertEquals(Arrays.asList("1", "2", "3", "4", "5"), readIds());
+        Assertions.assertEquals(Arrays.asList(0, 2, 4), sorted(requestedOffsets));
+        requests.values().forEach(request -> Assertions.assertEquals(100, request[1]));
+    }
+
+    @Test
+    void pagesAreEmittedInSearchOrder() throws Exception {
+        CountDownLatch lastPageServed = new CountDownLatch(1);
+        serve(startAt -> {
+            if (startAt == 2) {
+                // the second page completes after the third one
+                try {
+                    Assertions.assertTrue(lastPageServed.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String page = page(startAt, 2, 6);
+            if (startAt == 4) {
+                lastPageServed.countDown();
+            }
+            return page;
+        });
+        pages = new JqlSearchPages(client, config, Json.createParserFactory(null), "project=TEST", 2, 3);
+
+        Assertions.assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"), readIds());
+    }
+
+    @Test
+    void pageErrorIsReportedWithJiraMessages() throws Exception {
+        HTTPClient.HTTPResponse error = Mockito.mock(HTTPClient.HTTPResponse.class);
+        Mockito.when(error.getBodyAsString())
+                .thenReturn("{\"errorMessages\":[\"Field 'foo' does not exist.\"],\"errors\":{}}");
+        Mockito.when(client.invoke(Mockito.any(QueryConfiguration.class), Mockito.anyBoolean()))
+                .thenAnswer(invocation -> {
+                    int startAt = requests.get(invocation.getArguments()[0])[0];
+                    if (startAt == 0) {
+                        return response(page(startAt, 2, 4));
+                    }
+                    HTTPComponentException e = new HTTPComponentException("400 Bad Request");
+                    e.setResponse(error);
+                    throw e;
+                });
+        JiraI18n jiraI18n = Mockito.mock(JiraI18n.class);
+        Mockito.when(jiraI18n.jiraErrorsList(Mockito.anyString()))
+                .thenAnswer(invocation -> "Jira errors: " + invocation.getArguments()[0]);
+        RecordBuilderService recordBuilder = Mockito.mock(RecordBuilderService.class, Mockito.RETURNS_DEEP_STUBS);
+        JiraInput input = new JiraInput(client, recordBuilder, jiraConfiguration(), Mockito.mock(I18n.class),
+                jiraI18n, Json.createReaderFactory(null), Json.createParserFactory(null));
+        try {
+            // issues of the first page are emitted
+            input.next();
+            input.next();
+
+            ComponentException e = Assertions.assertThrows(ComponentException.class, input::next);
+            Assertions.assertTrue(e.getMessage().contains("Jira errors: \"Field 'foo' does not exist.\""),
+                    e.getMessage());
+        } finally {
+            input.release();
+        }
+    }
+
+    private void serve(final IntFunction<String> bodies) throws Exception {
+        Mockito.when(client.invoke(Mockito.any(QueryConfiguration.class), Mockito.anyBoolean()))
+                .thenAnswer(invocation -> {
+                    int startAt = requests.get(invocation.getArguments()[0])[0];
+                    requestedOffsets.add(startAt);
+                    return response(bodies.apply(startAt));
+                });
+    }
+
+    private List<String> readIds() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (String issue = pages.next(); issue != null; issue = pages.next()) {
+            ids.add(Json.createReader(new StringReader(issue)).readObject().getString("id"));
+        }
+        return ids;
+    }
+
+    private static HTTPClient.HTTPResponse response(final String body) throws Exception {
+        HTTPClient.HTTPResponse response = Mockito.mock(HTTPClient.HTTPResponse.class);
+        Mockito.when(response.getBodyAsStream())
+                .thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    /**
+     * A search result page of issues identified by their position, starting at 1.
+     */
+    private static String page(final int startAt, final int maxResults, final int total) {
+        JsonArrayBuilder issues = Json.createArrayBuilder();
+        for (int i = startAt; i < Math.min(startAt + maxResults, total); i++) {
+            issues.add(Json.createObjectBuilder().add("id", String.valueOf(i + 1)));
+        }
+        return Json.createObjectBuilder()
+                .add("startAt", startAt)
+                .add("maxResults", maxResults)
+                .add("total", total)
+                .add("issues", issues)
+                .build()
+                .toString();
+    }
+
+    private static String param(final RequestConfig requestConfig, final String key) {
+        return requestConfig.getDataset()
+                .getQueryParams()
+                .stream()
+                .filter(p -> key.equals(p.getKey()))
+                .map(Param::getValue)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static List<Integer> sorted(final List<Integer> values) {
+        List<Integer> result = new ArrayList<>(values);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static JiraInputConfiguration jiraConfiguration() {
+        JiraDatastore datastore = new JiraDatastore();
+        datastore.setUser("user");
+        datastore.setPass("pass");
+        JiraDataset dataset = new JiraDataset();
+        dataset.setDatastore(datastore);
+        JiraInputConfiguration configuration = new JiraInputConfiguration();
+        configuration.setDataset(dataset);
+        configuration.setJql("project=TEST");
+        configuration.setBatchSize(2);
+        configuration.setParallelism(2);
+        return configuration;
+    }
+
+    @Test
+    void parsePage() {
+        String body = "{\"expand\":\"schema,names\",\"startAt\":0,\"maxResults\":2,\"total\":5,"
+                + "\"names\":{\"summary\":\"Summary\"},\"warningMessages\":[\"w\"],"
+                + "\"issues\":[{\"id\":\"1\",\"fields\":{\"labels\":[\"a\"]}},{\"id\":\"2\"}]}";
+
+        JqlSearchPages.Page page;
+        try (JsonParser parser = Json.createParser(new StringReader(body))) {
+            page = JqlSearchPages.Page.parse(parser);
+        }
+
+        Assertions.assertEquals(5, page.getTotal());
+        Assertions.assertEquals(2, page.getMaxResults());
+        Assertions.assertEquals(2, page.getIssues().size());
+        Assertions.assertEquals("1", Json.createReader(new StringReader(page.getIssues().get(0))).readObject()
+                .getString("id"));
+        Assertions.assertEquals("2", Json.createReader(new StringReader(page.getIssues().get(1))).readObject()
+                .getString("id"));
+    }
+
+    @Test
+    void parseEmptyPage() {
+        try (JsonParser parser = Json.createParser(new StringReader("{\"total\":0,\"issues\":[]}"))) {
+            JqlSearchPages.Page page = JqlSearchPages.Page.parse(parser);
+            Assertions.assertEquals(0, page.getTotal());
+            Assertions.assertTrue(page.getIssues().isEmpty());
+        }
+    }
+}
@@ -42,8 +42,22 @@ public class MarketoApiConstants {
 
     public static final String ATTR_EMAIL = "email";
 
+    public static final String ATTR_END_AT = "endAt";
+
+    public static final String ATTR_ENTITY = "entity";
+
     public static final String ATTR_ERRORS = "errors";
 
+    public static final String ATTR_EXPIRES_IN = "expires_in";
+
+    public static final String ATTR_EXPORT_ID = "exportId";
+
+    public static final String ATTR_FILE_SIZE = "fileSize";
+
+    public static final String ATTR_FILTER = "filter";
+
+    public static final String ATTR_FORMAT = "format";
+
     public static final String ATTR_EXTERNAL_OPPORTUNITY_ID = "externalOpportunityId";
 
     public static final String ATTR_FIELDS = "fields";
@@ -88,18 +102,26 @@ public class MarketoApiConstants {
 
     public static final String ATTR_SEQ = "seq";
 
+    public static final String ATTR_START_AT = "startAt";
+
     public static final String ATTR_STATUS = "status";
 
     public static final String ATTR_SUCCESS = "success";
 
     public static final String ATTR_UPDATED_AT = "updatedAt";
 
+    public static final String ATTR_VALUE = "value";
+
     public static final String ATTR_WORKSPACE_NAME = "workspaceName";
 
     public static final String HEADER_ACCEPT = "accept";
 
     public static final String HEADER_ACCEPT_APPLICATION_JSON = "application/json";
 
+    public static final String HEADER_AUTHORIZATION = "Authorization";
+
+    public static final String HEADER_AUTHORIZATION_BEARER = "Bearer ";
+
     public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
 
     public static final String HEADER_CONTENT_ENCODING_GZIP = "gzip";
@@ -113,6 +135,8 @@ public class MarketoApiConstants {
 
     public static final String HEADER_CONTENT_TYPE_TEXT_JSON = "text/json";
 
+    public static final String HEADER_RANGE = "Range";
+
     public static final String METHOD_DELETE = "DELETE";
 
     public static final String METHOD_POST = "POST";
@@ -135,11 +159,35 @@ public class MarketoApiConstants {
 
     public static final String ATTR_PRIMARY_ATTRIBUTE_VALUE_ID = "primaryAttributeValueId";
 
+    public static final String ATTR_ACTIVITY_TYPE_IDS = "activityTypeIds";
+
+    public static final String ATTR_STATIC_LIST_ID = "staticListId";
+
     public static final String ATTR_SEARCHABLE_FIELDS = "searchableFields";
 
     public static final String DATETIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
     public static final int REST_API_LIMIT = 300;
 
+    public static final String BULK_ENTITY_LEADS = "leads";
+
+    public static final String BULK_ENTITY_ACTIVITIES = "activities";
+
+    public static final String BULK_STATUS_COMPLETED = "Completed";
+
+    public static final String BULK_STATUS_FAILED = "Failed";
+
+    public static final String BULK_STATUS_CANCELLED = "Cancelled";
+
+    /**
+     * Maximum createdAt range of a Bulk Extract filter.
+     */
+    public static final int BULK_MAX_RANGE_DAYS = 31;
+
+    /**
+     * Marketo processes at most two export jobs at the same time, others are queued.
+     */
+    public static final int BULK_MAX_CONCURRENT_EXPORTS = 2;
+
     public static final int HTTP_STATUS_OK = 200;
 }
@@ -13,6 +13,7 @@
 package org.talend.components.marketo;
 
 import java.io.Serializable;
+import java.util.function.Function;
 
 import javax.annotation.PostConstruct;
 import javax.json.JsonArray;
@@ -23,6 +24,7 @@ import javax.json.JsonWriterFactory;
 
 import org.talend.components.marketo.dataset.MarketoDataSet;
 import org.talend.components.marketo.service.I18nMessage;
+import org.talend.components.marketo.service.MarketoRequestScheduler;
 import org.talend.components.marketo.service.MarketoService;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.service.http.Response;
@@ -44,10 +46,15 @@ public class MarketoSourceOrProcessor implements Serializable {
 
     protected transient String nextPageToken;
 
+    /**
+     * Last access token used, calls get theirs from {@link #schedule(Function)}.
+     */
     protected transient String accessToken;
 
     private MarketoDataSet dataSet;
 
+    private transient MarketoRequestScheduler scheduler;
+
     public MarketoSourceOrProcessor(@Option("configuration") final MarketoDataSet dataSet, //
             final MarketoService service) {
         this.dataSet = dataSet;
@@ -72,4 +79,27 @@ public class MarketoSourceOrProcessor implements Serializable {
         return marketoService.handleResponse(response);
     }
 
+    /**
+     * @return the scheduler shared by all the calls to the Marketo instance
+     */
+    protected MarketoRequestScheduler getScheduler() {
+        if (scheduler == null) {
+            scheduler = MarketoRequestScheduler.of(dataSet.getDataStore().getEndpoint());
+        }
+        return scheduler;
+    }
+
+    /**
+     * Send a call through the instance scheduler, enforcing Marketo rate and concurrency limits. The access token is
+     * read from the shared cache for each call, so that a token refreshed or rejected meanwhile is not used.
+     *
+     * @param call the client call, given the access token
+     */
+    protected <T> Response<T> schedule(final Function<String, Response<T>> call) {
+        return marketoService.executeWithAccessToken(dataSet.getDataStore(), getScheduler(), token -> {
+            accessToken = token;
+            return call.apply(token);
+        });
+    }
+
 }
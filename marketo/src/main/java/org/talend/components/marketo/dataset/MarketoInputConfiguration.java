@@ -15,6 +15,9 @@ package org.talend.components.marketo.dataset;
 import java.io.Serializable;
 
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -25,6 +28,10 @@ import lombok.ToString;
 @GridLayout({ //
         @GridLayout.Row({ "dataSet" }), //
 }) //
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { //
+        @GridLayout.Row({ "useBulkExtract" }), //
+        @GridLayout.Row({ "bulkExtractRangeDays", "bulkExtractPollInterval" }), //
+}) //
 @Documentation("Marketo Source Configuration")
 @ToString(callSuper = true)
 public class MarketoInputConfiguration implements Serializable {
@@ -38,4 +45,21 @@ public class MarketoInputConfiguration implements Serializable {
     @Documentation("Marketo DataSet")
     private MarketoDataSet dataSet;
 
+    @Option
+    @Documentation("Read through Bulk Extract jobs instead of the paginated REST API.")
+    private boolean useBulkExtract;
+
+    @Option
+    @Min(1)
+    @Max(31)
+    @ActiveIf(target = "useBulkExtract", value = "true")
+    @Documentation("Number of days of activities extracted by each Bulk Extract job.")
+    private int bulkExtractRangeDays = 31;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "useBulkExtract", value = "true")
+    @Documentation("Delay in seconds between two status checks of a Bulk Extract job.")
+    private int bulkExtractPollInterval = 30;
+
 }
@@ -0,0 +1,600 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.talend.components.common.stream.CSVHelper;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator;
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
+import org.talend.components.marketo.dataset.MarketoInputConfiguration;
+import org.talend.components.marketo.service.BulkClient;
+import org.talend.components.marketo.service.MarketoService;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.service.http.Response;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_TYPE_IDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ATTRIBUTES;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CREATED_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_END_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILE_SIZE;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FORMAT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_MARKETO_GUID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_NAME;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_START_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATIC_LIST_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATUS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_VALUE;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_ENTITY_ACTIVITIES;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_ENTITY_LEADS;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_CANCELLED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_COMPLETED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_FAILED;
+import static org.talend.components.marketo.MarketoApiConstants.DATETIME_FORMAT;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE_APPLICATION_JSON;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_AUTHORIZATION;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_AUTHORIZATION_BEARER;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_RANGE;
+
+/**
+ * Reads leads or activities through Bulk Extract jobs.
+ *
+ * Each {@link ExportRange} is extracted by its own job. While the file of a job is streamed, the job of the next range
+ * is already enqueued so that Marketo processes it in the meantime. Files are downloaded by chunks with byte ranges
+ * and parsed as they come, they are never held in memory entirely.
+ *
+ * Exported activities are mapped to the schema of the REST API: {@code id} is taken from the {@code marketoGUID}
+ * column and {@code attributes} has the same format.
+ */
+@Slf4j
+public class BulkExtractSource extends MarketoSource {
+
+    static final int FILE_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Timeouts of the file downloads, so that a stalled download fails instead of blocking the reader.
+     */
+    private static final int FILE_CONNECT_TIMEOUT_MILLIS =
+            Integer.getInteger("org.talend.components.marketo.export_file_connect_timeout_millis", 30_000);
+
+    private static final int FILE_READ_TIMEOUT_MILLIS =
+            Integer.getInteger("org.talend.components.marketo.export_file_read_timeout_millis", 120_000);
+
+    private static final String ERROR_MESSAGE = "errorMsg";
+
+    private static final String CSV = "CSV";
+
+    private static final String NULL_VALUE = "null";
+
+    private final BulkClient bulkClient;
+
+    private final String entity;
+
+    private final List<ExportRange> ranges;
+
+    private transient Deque<ExportRange> pendingRanges;
+
+    private transient String queuedExportId;
+
+    private transient CSVParser parser;
+
+    private transient Iterator<CSVRecord> lines;
+
+    public BulkExtractSource(@Option("configuration") final MarketoInputConfiguration configuration, //
+            final MarketoService service, final List<ExportRange> ranges) {
+        this(configuration, service, ranges, service.getBulkClient());
+    }
+
+    BulkExtractSource(final MarketoInputConfiguration configuration, final MarketoService service,
+            final List<ExportRange> ranges, final BulkClient bulkClient) {
+        super(configuration, service);
+        this.bulkClient = bulkClient;
+        this.bulkClient.base(this.configuration.getDataSet().getDataStore().getEndpoint());
+        this.entity = LeadAction.getLeadActivity == configuration.getDataSet().getLeadAction() ? BULK_ENTITY_ACTIVITIES
+                : BULK_ENTITY_LEADS;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Split the activities to read in ranges of at most {@code bulkExtractRangeDays} days, up to now. Leads are read
+     * from their static list by a single job.
+     */
+    public static List<ExportRange> computeRanges(final MarketoInputConfiguration configuration) {
+        MarketoDataSet dataSet = configuration.getDataSet();
+        if (LeadAction.getLeadActivity != dataSet.getLeadAction()) {
+            return Collections.singletonList(new ExportRange(null, null));
+        }
+        ZonedDateTime since = LocalDateTime
+                .parse(computeDateTimeFromConfiguration(dataSet), DateTimeFormatter.ofPattern(DATETIME_FORMAT))
+                .atZone(ZoneId.systemDefault());
+        return computeRanges(since, ZonedDateTime.now(), configuration.getBulkExtractRangeDays());
+    }
+
+    static List<ExportRange> computeRanges(final ZonedDateTime since, final ZonedDateTime until, final int days) {
+        List<ExportRange> result = new ArrayList<>();
+        ZonedDateTime start = since.withZoneSameInstant(ZoneOffset.UTC).withNano(0);
+        ZonedDateTime end = until.withZoneSameInstant(ZoneOffset.UTC).withNano(0);
+        while (start.isBefore(end)) {
+            ZonedDateTime next = start.plusDays(days);
+            if (next.isAfter(end)) {
+                next = end;
+            }
+            // createdAt bounds are inclusive, ranges must not overlap
+            result.add(new ExportRange(start.format(DateTimeFormatter.ISO_INSTANT),
+                    next.minusSeconds(1).format(DateTimeFormatter.ISO_INSTANT)));
+            start = next;
+        }
+        return result;
+    }
+
+    @Override
+    public void processBatch() {
+        if (pendingRanges == null) {
+            pendingRanges = new ArrayDeque<>(ranges);
+        }
+        closeFile();
+        String exportId = queuedExportId;
+        if (exportId == null) {
+            if (pendingRanges.isEmpty()) {
+                return;
+            }
+            exportId = enqueue(runAction());
+        }
+        queuedExportId = null;
+        JsonObject job = awaitCompletion(exportId);
+        if (!pendingRanges.isEmpty()) {
+            queuedExportId = enqueue(runAction());
+        }
+        openFile(exportId,
+                job.getJsonNumber(ATTR_FILE_SIZE) == null ? 0 : job.getJsonNumber(ATTR_FILE_SIZE).longValue());
+    }
+
+    /**
+     * Create the export job of the next pending range.
+     *
+     * @return the created job
+     */
+    @Override
+    public JsonObject runAction() {
+        ExportRange range = pendingRanges.poll();
+        MarketoDataSet dataSet = configuration.getDataSet();
+        JsonObjectBuilder filter = jsonFactory.createObjectBuilder();
+        JsonObjectBuilder payload = jsonFactory.createObjectBuilder().add(ATTR_FORMAT, CSV);
+        if (BULK_ENTITY_LEADS.equals(entity)) {
+            filter.add(ATTR_STATIC_LIST_ID, Integer.parseInt(dataSet.getListId()));
+            JsonArrayBuilder fields = jsonFactory.createArrayBuilder();
+            schema.keySet().forEach(fields::add);
+            payload.add(ATTR_FIELDS, fields);
+        } else {
+            filter
+                    .add(ATTR_CREATED_AT, jsonFactory
+                            .createObjectBuilder()
+                            .add(ATTR_START_AT, range.getStartAt())
+                            .add(ATTR_END_AT, range.getEndAt()));
+            if (!dataSet.getActivityTypeIds().isEmpty()) {
+                JsonArrayBuilder types = jsonFactory.createArrayBuilder();
+                dataSet.getActivityTypeIds().forEach(id -> types.add(Integer.parseInt(id.trim())));
+                filter.add(ATTR_ACTIVITY_TYPE_IDS, types);
+            }
+        }
+        payload.add(ATTR_FILTER, filter);
+        JsonObject job = firstResult(schedule(token -> bulkClient
+                .createExport(HEADER_CONTENT_TYPE_APPLICATION_JSON, entity, token, payload.build())));
+        log.debug("[runAction] Created {} export {} for {}.", entity, job.getString(ATTR_EXPORT_ID), range);
+        return job;
+    }
+
+    @Override
+    @Producer
+    public Record next() {
+        while (lines != null) {
+            if (lines.hasNext()) {
+                return toRecord(lines.next());
+            }
+            processBatch();
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void release() {
+        closeFile();
+        if (queuedExportId != null) {
+            // do not let an unused job consume the daily export quota
+            try {
+                String exportId = queuedExportId;
+                schedule(token -> bulkClient.cancelExport(entity, exportId, token));
+            } catch (RuntimeException e) {
+                log.warn("[release] Could not cancel export {}: {}.", queuedExportId, e.getMessage());
+            }
+            queuedExportId = null;
+        }
+    }
+
+    private String enqueue(final JsonObject job) {
+        String exportId = job.getString(ATTR_EXPORT_ID);
+        firstResult(schedule(token -> bulkClient.enqueueExport(entity, exportId, token)));
+        return exportId;
+    }
+
+    private JsonObject awaitCompletion(final String exportId) {
+        long pollInterval = Duration.ofSeconds(configuration.getBulkExtractPollInterval()).toMillis();
+        while (true) {
+            JsonObject job = firstResult(schedule(token -> bulkClient.getExportStatus(entity, exportId, token)));
+            String status = job.getString(ATTR_STATUS);
+            log.debug("[awaitCompletion] Export {} is {}.", exportId, status);
+            if (BULK_STATUS_COMPLETED.equals(status)) {
+                return job;
+            }
+            if (BULK_STATUS_FAILED.equals(status) || BULK_STATUS_CANCELLED.equals(status)) {
+                throw new MarketoRuntimeException(
+                        i18n.bulkExtractFailed(exportId, status, job.getString(ERROR_MESSAGE, "")));
+            }
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                schedule(token -> bulkClient.cancelExport(entity, exportId, token));
+                throw new MarketoRuntimeException(i18n.bulkExtractFailed(exportId, status, e.getMessage()));
+            }
+        }
+    }
+
+    private void openFile(final String exportId, final long fileSize) {
+        CSVConfiguration csvConfiguration = new CSVConfiguration();
+        csvConfiguration.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.COMMA);
+        // quotes are escaped by doubling them
+        csvConfiguration.setEscape(null);
+        CSVFormat format = CSVHelper.getCsvFormat(csvConfiguration).withFirstRecordAsHeader();
+        try {
+            // parsed from the stream, not line by line, as values may contain line breaks
+            InputStream file = new ExportFileInputStream(
+                    range -> schedule(token -> openExportFile(exportId, range, token)), fileSize, FILE_CHUNK_SIZE);
+            parser = format.parse(new InputStreamReader(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lines = parser.iterator();
+    }
+
+    private void closeFile() {
+        lines = null;
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("[closeFile] {}", e.getMessage());
+            }
+            parser = null;
+        }
+    }
+
+    private Record toRecord(final CSVRecord line) {
+        boolean activities = BULK_ENTITY_ACTIVITIES.equals(entity);
+        JsonObjectBuilder json = jsonFactory.createObjectBuilder();
+        for (Entry entry : schema.values()) {
+            String name = entry.getName();
+            // the activity id is exported as marketoGUID only
+            String column = activities && ATTR_ID.equals(name) && !line.isMapped(ATTR_ID) ? ATTR_MARKETO_GUID : name;
+            String value = line.isMapped(column) ? line.get(column) : null;
+            // empty values are exported as null
+            if (value == null || value.isEmpty() || NULL_VALUE.equals(value)) {
+                continue;
+            }
+            if (activities && ATTR_ATTRIBUTES.equals(name)) {
+                json.add(name, toRestAttributes(value));
+                continue;
+            }
+            try {
+                switch (entry.getType()) {
+                case INT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                    json.add(name, new BigDecimal(value));
+                    break;
+                case BOOLEAN:
+                    json.add(name, Boolean.parseBoolean(value) || "1".equals(value));
+                    break;
+                default:
+                    json.add(name, value);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("[toRecord] Invalid number {} for {}.", value, name);
+            }
+        }
+        return marketoService.convertToRecord(json.build(), schema);
+    }
+
+    /**
+     * Exported attributes are a JSON object of values by name, the REST API returns an array of name and value
+     * objects.
+     */
+    private JsonValue toRestAttributes(final String attributes) {
+        JsonObject values;
+        try (JsonReader reader = jsonReader.createReader(new StringReader(attributes))) {
+            values = reader.readObject();
+        } catch (JsonException e) {
+            log.warn("[toRestAttributes] Invalid attributes {}: {}.", attributes, e.getMessage());
+            return jsonFactory.createValue(attributes);
+        }
+        JsonArrayBuilder result = jsonFactory.createArrayBuilder();
+        values.forEach((name, value) -> result
+                .add(jsonFactory.createObjectBuilder().add(ATTR_NAME, name).add(ATTR_VALUE, value)));
+        return result.build();
+    }
+
+    /**
+     * Opens a range of the file of a completed job. The file is not downloaded through {@link BulkClient}, which would
+     * read the whole response in memory when the server ignores the range. Like the other clients, the connection
+     * uses the JVM proxy settings. The token is sent in a header, so that it does not show in proxy or server logs.
+     */
+    Response<InputStream> openExportFile(final String exportId, final String range, final String token) {
+        try {
+            URL url = new URL(configuration.getDataSet().getDataStore().getEndpoint() + "/bulk/v1/" + entity
+                    + "/export/" + exportId + "/file.json");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(FILE_CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(FILE_READ_TIMEOUT_MILLIS);
+            connection.setRequestProperty(HEADER_AUTHORIZATION, HEADER_AUTHORIZATION_BEARER + token);
+            connection.setRequestProperty(HEADER_RANGE, range);
+            return new ExportFileResponse(connection);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonObject firstResult(final Response<JsonObject> response) {
+        return handleResponse(response).getJsonArray(ATTR_RESULT).getJsonObject(0);
+    }
+
+    /**
+     * Range of creation dates extracted by a single job, both bounds are null when the job has no date filter.
+     */
+    @Value
+    public static class ExportRange implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        String startAt;
+
+        String endAt;
+    }
+
+    /**
+     * Streams the file of a completed job, requested by ranges of {@code chunkSize} bytes.
+     *
+     * A range whose download stops early is requested again from the last byte read. When the server ignores the range
+     * and sends the whole file, the bytes already read are skipped and the rest of the file is streamed.
+     */
+    static class ExportFileInputStream extends InputStream {
+
+        private final Function<String, Response<InputStream>> download;
+
+        private final long fileSize;
+
+        private final int chunkSize;
+
+        private long position;
+
+        private InputStream part;
+
+        private long partEnd;
+
+        /**
+         * Whether bytes were read since the current part was opened, a part ending without progress is an error.
+         */
+        private boolean partProgress;
+
+        ExportFileInputStream(final Function<String, Response<InputStream>> download, final long fileSize,
+                final int chunkSize) {
+            this.download = download;
+            this.fileSize = fileSize;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position < fileSize) {
+                if (part == null) {
+                    openPart();
+                }
+                int read;
+                try {
+                    read = part.read(b, off, (int) Math.min(len, partEnd - position));
+                } catch (IOException e) {
+                    if (!partProgress) {
+                        throw e;
+                    }
+                    log.debug("[read] Download interrupted at byte {}, resuming: {}.", position, e.getMessage());
+                    read = -1;
+                }
+                if (read > 0) {
+                    position += read;
+                    partProgress = true;
+                    if (position >= partEnd) {
+                        closePart();
+                    }
+                    return read;
+                }
+                if (!partProgress) {
+                    throw new IOException("Unexpected end of the export file at byte " + position + ".");
+                }
+                closePart();
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {
+            closePart();
+        }
+
+        private void openPart() throws IOException {
+            long last = Math.min(position + chunkSize, fileSize) - 1;
+            Response<InputStream> response = download.apply("bytes=" + position + "-" + last);
+            if (response.status() == 206) {
+                part = response.body();
+                partEnd = last + 1;
+            } else if (response.status() == 200) {
+                // range not honored, the whole file is sent
+                part = response.body();
+                partEnd = fileSize;
+                skipFully(part, position);
+            } else {
+                throw new MarketoRuntimeException(response.error(String.class));
+            }
+            partProgress = false;
+        }
+
+        private void closePart() {
+            if (part != null) {
+                try {
+                    part.close();
+                } catch (IOException e) {
+                    log.debug("[closePart] {}", e.getMessage());
+                }
+                part = null;
+            }
+        }
+
+        private static void skipFully(final InputStream in, final long count) throws IOException {
+            long remaining = count;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new IOException("Unexpected end of the export file.");
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        }
+    }
+
+    /**
+     * Response of a file download, its body is read from the connection.
+     */
+    private static class ExportFileResponse implements Response<InputStream> {
+
+        private final HttpURLConnection connection;
+
+        private final int status;
+
+        ExportFileResponse(final HttpURLConnection connection) throws IOException {
+            this.connection = connection;
+            this.status = connection.getResponseCode();
+        }
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return connection.getHeaderFields();
+        }
+
+        /**
+         * @return the file content, null when the server answered with an error.
+         */
+        @Override
+        public InputStream body() {
+            if (status >= 300) {
+                return null;
+            }
+            try {
+                return connection.getInputStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public <E> E error(final Class<E> type) {
+            String message;
+            try (InputStream error = connection.getErrorStream()) {
+                message = error == null ? "HTTP " + status
+                        : new BufferedReader(new InputStreamReader(error, StandardCharsets.UTF_8))
+                                .lines()
+                                .collect(Collectors.joining("\n"));
+            } catch (IOException e) {
+                message = "HTTP " + status + ": " + e.getMessage();
+            } finally {
+                connection.disconnect();
+            }
+            return type.isInstance(message) ? type.cast(message) : null;
+        }
+    }
+}
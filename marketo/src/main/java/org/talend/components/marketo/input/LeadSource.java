@@ -12,9 +12,6 @@
  */
 package org.talend.components.marketo.input;
 
-import java.time.Period;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.EnumMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -22,7 +19,6 @@ import java.util.stream.Collectors;
 import javax.json.JsonObject;
 
 import org.talend.components.marketo.dataset.MarketoDataSet;
-import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
 import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.LeadClient;
@@ -38,7 +34,6 @@ import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER_TYPE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER_VALUES;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_NEXT_PAGE_TOKEN;
-import static org.talend.components.marketo.MarketoApiConstants.DATETIME_FORMAT;
 
 @Slf4j
 public class LeadSource extends MarketoSource {
@@ -72,7 +67,7 @@ public class LeadSource extends MarketoSource {
     private JsonObject getLeadsByListId() {
         Integer listId = Integer.parseInt(configuration.getDataSet().getListId());
         String fields = schema.keySet().stream().collect(Collectors.joining(","));
-        return handleResponse(listClient.getLeadsByListId(accessToken, nextPageToken, listId, fields));
+        return handleResponse(schedule(token -> listClient.getLeadsByListId(token, nextPageToken, listId, fields)));
     }
 
     private Boolean isLeadUrlSizeGreaterThan8k(String filterType, String filterValues, String fields) {
@@ -104,20 +99,6 @@ public class LeadSource extends MarketoSource {
         return sb.toString();
     }
 
-    private String computeDateTimeFromConfiguration() {
-        String result;
-        if (DateTimeMode.absolute.equals(configuration.getDataSet().getDateTimeMode())) {
-            result = configuration.getDataSet().getSinceDateTimeAbsolute();
-        } else {
-            result = ZonedDateTime
-                    .now()
-                    .minus(Period.parse(configuration.getDataSet().getSinceDateTimeRelative().getRelativeOffset()))
-                    .format(DateTimeFormatter.ofPattern(DATETIME_FORMAT));
-        }
-
-        return result;
-    }
-
     /**
      * Returns a list of activities from after a datetime given by the nextPageToken parameter. Also allows for
      * filtering by lead
@@ -127,23 +108,21 @@ public class LeadSource extends MarketoSource {
      */
     private JsonObject getLeadActivities() {
         if (nextPageToken == null) {
-            nextPageToken = getPagingToken(computeDateTimeFromConfiguration());
-        }
-        String activityTypeIds = "";
-        if (!configuration.getDataSet().getActivityTypeIds().isEmpty()) {
-            activityTypeIds = configuration.getDataSet().getActivityTypeIds().stream().collect(joining(","));
+            nextPageToken = getPagingToken(computeDateTimeFromConfiguration(configuration.getDataSet()));
         }
+        String activityTypeIds = configuration.getDataSet().getActivityTypeIds().stream().collect(joining(","));
         String listId = configuration.getDataSet().getListId();
-        return handleResponse(
-                leadClient.getLeadActivities(accessToken, nextPageToken, activityTypeIds, "", listId, ""));
+        return handleResponse(schedule(
+                token -> leadClient.getLeadActivities(token, nextPageToken, activityTypeIds, "", listId, "")));
     }
 
     public JsonObject getActivities() {
-        return handleResponse(leadClient.getActivities(accessToken));
+        return handleResponse(schedule(leadClient::getActivities));
     }
 
     public String getPagingToken(String dateTime) {
-        return handleResponse(leadClient.getPagingToken(accessToken, dateTime)).getString(ATTR_NEXT_PAGE_TOKEN);
+        return handleResponse(schedule(token -> leadClient.getPagingToken(token, dateTime)))
+                .getString(ATTR_NEXT_PAGE_TOKEN);
     }
 
 }
@@ -13,12 +13,15 @@
 package org.talend.components.marketo.input;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
 
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
+import org.talend.components.marketo.input.BulkExtractSource.ExportRange;
 import org.talend.components.marketo.service.AuthorizationClient;
 import org.talend.components.marketo.service.MarketoService;
 import org.talend.sdk.component.api.component.Icon;
@@ -34,6 +37,7 @@ import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.extern.slf4j.Slf4j;
 
+import static org.talend.components.marketo.MarketoApiConstants.BULK_MAX_CONCURRENT_EXPORTS;
 import static org.talend.components.marketo.MarketoApiConstants.REST_API_LIMIT;
 
 @Slf4j
@@ -49,6 +53,11 @@ public class MarketoInputMapper implements Serializable {
 
     private AuthorizationClient authorizationClient;
 
+    /**
+     * Bulk Extract ranges read by this mapper, computed when first needed.
+     */
+    private List<ExportRange> exportRanges;
+
     public MarketoInputMapper(@Option("configuration") final MarketoInputConfiguration configuration, //
             final MarketoService service) {
         this.configuration = configuration;
@@ -68,14 +77,44 @@ public class MarketoInputMapper implements Serializable {
         return REST_API_LIMIT;
     }
 
+    /**
+     * Activity ranges read through Bulk Extract are shared between as many workers as Marketo runs jobs concurrently.
+     */
     @Split
     public List<MarketoInputMapper> split(@PartitionSize final long bundles) {
-        return Collections.singletonList(this);
+        if (!configuration.isUseBulkExtract()
+                || LeadAction.getLeadActivity != configuration.getDataSet().getLeadAction()) {
+            return Collections.singletonList(this);
+        }
+        List<ExportRange> ranges = getExportRanges();
+        int workers = Math.min(BULK_MAX_CONCURRENT_EXPORTS, ranges.size());
+        if (workers <= 1) {
+            return Collections.singletonList(this);
+        }
+        List<MarketoInputMapper> mappers = new ArrayList<>(workers);
+        int rangesPerWorker = (ranges.size() + workers - 1) / workers;
+        for (int from = 0; from < ranges.size(); from += rangesPerWorker) {
+            MarketoInputMapper mapper = new MarketoInputMapper(configuration, service);
+            mapper.exportRanges =
+                    new ArrayList<>(ranges.subList(from, Math.min(from + rangesPerWorker, ranges.size())));
+            mappers.add(mapper);
+        }
+        return mappers;
     }
 
     @Emitter
     public MarketoSource createWorker() {
+        if (configuration.isUseBulkExtract()) {
+            return new BulkExtractSource(configuration, service, getExportRanges());
+        }
         return new LeadSource(configuration, service);
     }
 
+    private List<ExportRange> getExportRanges() {
+        if (exportRanges == null) {
+            exportRanges = BulkExtractSource.computeRanges(configuration);
+        }
+        return exportRanges;
+    }
+
 }
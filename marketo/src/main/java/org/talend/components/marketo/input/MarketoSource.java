@@ -12,9 +12,14 @@
  */
 package org.talend.components.marketo.input;
 
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.annotation.PostConstruct;
 import javax.json.JsonArray;
@@ -22,6 +27,8 @@ import javax.json.JsonObject;
 import javax.json.JsonValue;
 
 import org.talend.components.marketo.MarketoSourceOrProcessor;
+import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.MarketoService;
 import org.talend.sdk.component.api.component.Version;
@@ -35,6 +42,7 @@ import org.talend.sdk.component.api.record.Schema.Entry;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_MORE_RESULT;
+import static org.talend.components.marketo.MarketoApiConstants.DATETIME_FORMAT;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_NEXT_PAGE_TOKEN;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
 
@@ -49,6 +57,11 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
 
     protected Iterator<JsonValue> resultIterator;
 
+    /**
+     * Next page, requested while the current one is consumed.
+     */
+    private transient CompletableFuture<JsonObject> nextPage;
+
     public MarketoSource(@Option("configuration") final MarketoInputConfiguration configuration, //
             final MarketoService service) {
         super(configuration.getDataSet(), service);
@@ -94,7 +107,7 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
     }
 
     public void processBatch() {
-        JsonObject result = runAction();
+        JsonObject result = fetchPage();
         nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
         JsonArray requestResult = result.getJsonArray(ATTR_RESULT);
         Boolean hasMore = result.getBoolean(ATTR_MORE_RESULT, true);
@@ -104,7 +117,7 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
             return;
         }
         while (nextPageToken != null && requestResult == null && hasMore) {
-            result = runAction();
+            result = fetchPage();
             nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
             requestResult = result.getJsonArray(ATTR_RESULT);
             hasMore = result.getBoolean(ATTR_MORE_RESULT, true);
@@ -112,8 +125,41 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
         if (requestResult != null) {
             resultIterator = requestResult.iterator();
         }
+        if (nextPageToken != null && hasMore) {
+            nextPage = getScheduler().submit(this::runAction);
+        }
+    }
+
+    private JsonObject fetchPage() {
+        if (nextPage == null) {
+            return runAction();
+        }
+        CompletableFuture<JsonObject> page = nextPage;
+        nextPage = null;
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
     }
 
     public abstract JsonObject runAction();
 
+    /**
+     * Start datetime of the activities to read, formatted with {@code DATETIME_FORMAT}.
+     */
+    static String computeDateTimeFromConfiguration(final MarketoDataSet dataSet) {
+        String result;
+        if (DateTimeMode.absolute.equals(dataSet.getDateTimeMode())) {
+            result = dataSet.getSinceDateTimeAbsolute();
+        } else {
+            result = ZonedDateTime
+                    .now()
+                    .minus(Period.parse(dataSet.getSinceDateTimeRelative().getRelativeOffset()))
+                    .format(DateTimeFormatter.ofPattern(DATETIME_FORMAT));
+        }
+
+        return result;
+    }
+
 }
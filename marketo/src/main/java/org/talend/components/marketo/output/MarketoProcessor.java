@@ -14,11 +14,12 @@ package org.talend.components.marketo.output;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.annotation.PostConstruct;
 import javax.json.JsonObject;
 
-import org.talend.components.marketo.MarketoRuntimeException;
 import org.talend.components.marketo.MarketoSourceOrProcessor;
 import org.talend.components.marketo.dataset.MarketoOutputConfiguration;
 import org.talend.components.marketo.service.MarketoService;
@@ -78,20 +79,53 @@ public class MarketoProcessor extends MarketoSourceOrProcessor {
         records.add(data);
     }
 
+    /**
+     * Send the records of the group in batches of at most {@code REST_API_LIMIT} records. The batches are sent
+     * concurrently, within the limits of the scheduler, and all of them are completed before the group ends.
+     */
     @AfterGroup
     public void flush() {
         log.info("[flush] called. Processing {} records.", records.size());
         if (records.isEmpty()) {
             return;
         }
-        if (records.size() > REST_API_LIMIT) {
-            String msg = String
-                    .format("[flush] Max batch size is set above API limit (%d): %d.", REST_API_LIMIT, records.size());
-            log.error(msg);
-            throw new MarketoRuntimeException(msg);
+        List<CompletableFuture<JsonObject>> batches = new ArrayList<>();
+        for (int start = 0; start < records.size(); start += REST_API_LIMIT) {
+            List<JsonObject> batch = records.subList(start, Math.min(start + REST_API_LIMIT, records.size()));
+            JsonObject payload = strategy.getPayload(batch);
+            batches.add(getScheduler().submit(() -> strategy.runAction(payload)));
+        }
+        awaitBatches(batches);
+    }
+
+    /**
+     * Wait for all the batches, the first failure is thrown once they are all completed.
+     */
+    private void awaitBatches(final List<CompletableFuture<JsonObject>> batches) {
+        RuntimeException failure = null;
+        for (CompletableFuture<JsonObject> batch : batches) {
+            try {
+                checkResult(batch);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkResult(final CompletableFuture<JsonObject> batch) {
+        JsonObject result;
+        try {
+            result = batch.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         }
-        JsonObject payload = strategy.getPayload(records);
-        JsonObject result = strategy.runAction(payload);
         result
                 .getJsonArray(ATTR_RESULT)
                 .getValuesAs(JsonObject.class)
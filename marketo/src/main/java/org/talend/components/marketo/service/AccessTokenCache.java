@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPIRES_IN;
+
+/**
+ * Access tokens shared by all the components and workers of the JVM, per endpoint and client credentials. The client
+ * secret is part of the key, as a digest, so that credentials with a wrong secret never get the token of valid ones.
+ *
+ * A token is refreshed once less than {@code org.talend.components.marketo.access_token_refresh_margin_seconds}
+ * (60 by default) remain, so that it does not expire during the calls using it. Only one caller refreshes a token,
+ * concurrent callers keep on using the current token while it is valid, or wait for the refreshed one.
+ *
+ * The identity endpoint returns the same token until it expires. When a refresh brings back the token about to
+ * expire, nobody waits: that token is used until its expiry, the next refresh then gets a new one. A call sent with
+ * it at the very end of its lifetime is rejected and sent again by the caller after
+ * {@link #invalidate(String, String, String, String)}.
+ */
+@Slf4j
+final class AccessTokenCache {
+
+    static final long REFRESH_MARGIN_SECONDS =
+            Long.getLong("org.talend.components.marketo.access_token_refresh_margin_seconds", 60);
+
+    private static final Map<String, CachedToken> TOKENS = new ConcurrentHashMap<>();
+
+    private AccessTokenCache() {
+    }
+
+    /**
+     * @param endpoint Marketo instance endpoint
+     * @param clientId client identifier
+     * @param clientSecret client secret
+     * @param identityCall call to the identity endpoint, returning the token and its lifetime
+     * @return a valid access token
+     */
+    static String get(final String endpoint, final String clientId, final String clientSecret,
+            final Supplier<JsonObject> identityCall) {
+        return TOKENS.computeIfAbsent(key(endpoint, clientId, clientSecret), k -> new CachedToken())
+                .get(identityCall);
+    }
+
+    /**
+     * Evict a token rejected by Marketo, the next call to {@link #get(String, String, String, Supplier)} retrieves a
+     * new one. A token already replaced by another caller is left as is.
+     *
+     * @param token the rejected token
+     */
+    static void invalidate(final String endpoint, final String clientId, final String clientSecret,
+            final String token) {
+        CachedToken cached = TOKENS.get(key(endpoint, clientId, clientSecret));
+        if (cached != null) {
+            cached.invalidate(token);
+        }
+    }
+
+    /**
+     * Forget all the tokens, for tests replaying recorded identity calls.
+     */
+    static void clear() {
+        TOKENS.clear();
+    }
+
+    private static String key(final String endpoint, final String clientId, final String clientSecret) {
+        return endpoint + '|' + clientId + '|' + digest(clientSecret);
+    }
+
+    private static String digest(final String secret) {
+        if (secret == null) {
+            return "";
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedToken {
+
+        private volatile String token;
+
+        private volatile long expiresAt;
+
+        /** time from which the token is refreshed, its expiry when the identity endpoint did not renew it */
+        private volatile long refreshAt;
+
+        private CompletableFuture<String> refreshing;
+
+        String get(final Supplier<JsonObject> identityCall) {
+            String current = token;
+            long now = System.currentTimeMillis();
+            long remaining = expiresAt - now;
+            if (current != null && now < refreshAt) {
+                return current;
+            }
+            CompletableFuture<String> refresh;
+            boolean owner = false;
+            synchronized (this) {
+                if (refreshing == null) {
+                    refreshing = new CompletableFuture<>();
+                    owner = true;
+                }
+                refresh = refreshing;
+            }
+            if (!owner) {
+                if (current != null && remaining > 0) {
+                    return current;
+                }
+                try {
+                    return refresh.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+            try {
+                String refreshed = refresh(identityCall, current);
+                refresh.complete(refreshed);
+                return refreshed;
+            } catch (RuntimeException e) {
+                refresh.completeExceptionally(e);
+                throw e;
+            } finally {
+                synchronized (this) {
+                    refreshing = null;
+                }
+            }
+        }
+
+        synchronized void invalidate(final String rejected) {
+            if (rejected != null && rejected.equals(token)) {
+                log.debug("[invalidate] Access token rejected, evicted.");
+                expiresAt = 0;
+                refreshAt = 0;
+                token = null;
+            }
+        }
+
+        private String refresh(final Supplier<JsonObject> identityCall, final String current) {
+            JsonObject result = identityCall.get();
+            long expiresIn = expiresIn(result);
+            String refreshed = result.getString(ATTR_ACCESS_TOKEN);
+            expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expiresIn);
+            if (refreshed.equals(current)) {
+                log.debug("[refresh] Access token not renewed, used until its expiry in {}s.", expiresIn);
+                refreshAt = expiresAt;
+            } else {
+                refreshAt = expiresAt - TimeUnit.SECONDS.toMillis(REFRESH_MARGIN_SECONDS);
+            }
+            token = refreshed;
+            return token;
+        }
+
+        private static long expiresIn(final JsonObject result) {
+            JsonNumber expiresIn = result.getJsonNumber(ATTR_EXPIRES_IN);
+            // without lifetime, the token is used for the current call only
+            return expiresIn == null ? 0 : expiresIn.longValue();
+        }
+    }
+}
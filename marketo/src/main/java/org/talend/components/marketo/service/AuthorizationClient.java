@@ -33,10 +33,14 @@ public interface AuthorizationClient extends HttpClient {
 
     String CLIENT_CREDENTIALS = "client_credentials";
 
+    String ERROR_TOKEN_INVALID = "601";
+
     String ERROR_TOKEN_EXPIRED = "602";
 
     String RECOVERABLE_ERRORS_PATTERN = "(502|604|606|608|611|614|615)";
 
+    String THROTTLING_ERRORS_PATTERN = "(606|615)";
+
     /**
      * Retrieve an access token from Marketo Idnetity Endpoint.
      *
@@ -64,7 +68,7 @@ public interface AuthorizationClient extends HttpClient {
     /**
      * Checks in returned errors if access token is expired (602 Access token expired The Access Token included in the
      * call
-     * is no longer valid due to expiration.)
+     * is no longer valid due to expiration.) or invalid (601 Access token invalid, e.g. revoked before its expiry).
      * 
      * @param errors list of API errors
      * @return
@@ -72,7 +76,8 @@ public interface AuthorizationClient extends HttpClient {
     default boolean isAccessTokenExpired(JsonArray errors) {
         if (errors != null) {
             for (JsonObject error : errors.getValuesAs(JsonObject.class)) {
-                if (ERROR_TOKEN_EXPIRED.equals(error.getString(ATTR_CODE))) {
+                String code = error.getString(ATTR_CODE, "");
+                if (ERROR_TOKEN_EXPIRED.equals(code) || ERROR_TOKEN_INVALID.equals(code)) {
                     return true;
                 }
             }
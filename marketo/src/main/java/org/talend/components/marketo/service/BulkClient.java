@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import javax.json.JsonObject;
+
+import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.HttpClient;
+import org.talend.sdk.component.api.service.http.Path;
+import org.talend.sdk.component.api.service.http.Query;
+import org.talend.sdk.component.api.service.http.Request;
+import org.talend.sdk.component.api.service.http.Response;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ENTITY;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE;
+import static org.talend.components.marketo.MarketoApiConstants.METHOD_POST;
+
+/**
+ * Client for Bulk Extract jobs of leads and activities.
+ *
+ * The {@code entity} path parameter is either {@code leads} or {@code activities}. The file of a completed job is not
+ * downloaded through this client, which reads responses entirely in memory, but streamed by the source.
+ */
+public interface BulkClient extends HttpClient {
+
+    /**
+     * Create an export job. The job is not processed until it is enqueued.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param payload is json object containing the following parameters
+     * <ul>
+     * <li>@param fields List of fields to export, only for leads</li>
+     * <li>@param format File format, CSV by default</li>
+     * <li>@param filter Record filter, a createdAt date range is limited to 31 days</li>
+     * </ul>
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/create.json", method = METHOD_POST)
+    Response<JsonObject> createExport( //
+            @Header(HEADER_CONTENT_TYPE) String contentType, //
+            @Path(ATTR_ENTITY) String entity, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            JsonObject payload //
+    );
+
+    /**
+     * Put an export job in the processing queue.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param exportId Id of the export job
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/enqueue.json", method = METHOD_POST)
+    Response<JsonObject> enqueueExport( //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Returns the status of an export job, with the size of its file once completed.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param exportId Id of the export job
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/status.json")
+    Response<JsonObject> getExportStatus( //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Cancel an export job.
+     *
+     * @param accessToken Marketo authorization token for API
+     * @param exportId Id of the export job
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/cancel.json", method = METHOD_POST)
+    Response<JsonObject> cancelExport( //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+}
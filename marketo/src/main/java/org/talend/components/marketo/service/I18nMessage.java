@@ -32,4 +32,6 @@ public interface I18nMessage {
     String invalidFields();
 
     String invalidDateTime();
+
+    String bulkExtractFailed(String exportId, String status, String errorMessage);
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.sdk.component.api.service.http.Response;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CODE;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ERRORS;
+import static org.talend.components.marketo.service.AuthorizationClient.THROTTLING_ERRORS_PATTERN;
+
+/**
+ * Schedules the REST calls sent to a Marketo instance, shared by all the components and workers of the JVM.
+ *
+ * Marketo accepts at most 100 calls per 20 seconds and 10 concurrent calls per subscription. Calls are admitted
+ * through a token bucket refilled at the documented rate and a semaphore bounding the concurrent calls, so that the
+ * limits are enforced before Marketo rejects them. Calls rejected anyway (606 and 615 errors, e.g. when other
+ * applications share the subscription) are retried with a backoff.
+ *
+ * Limits can be tuned with the {@code org.talend.components.marketo.rate_limit_calls},
+ * {@code org.talend.components.marketo.rate_limit_period_seconds} and
+ * {@code org.talend.components.marketo.max_concurrent_calls} system properties.
+ */
+@Slf4j
+public final class MarketoRequestScheduler {
+
+    private static final String PROPERTY_PREFIX = "org.talend.components.marketo.";
+
+    private static final int RATE_LIMIT_CALLS = Integer.getInteger(PROPERTY_PREFIX + "rate_limit_calls", 100);
+
+    private static final int RATE_LIMIT_PERIOD_SECONDS =
+            Integer.getInteger(PROPERTY_PREFIX + "rate_limit_period_seconds", 20);
+
+    private static final int MAX_CONCURRENT_CALLS = Integer.getInteger(PROPERTY_PREFIX + "max_concurrent_calls", 10);
+
+    private static final int MAX_THROTTLE_RETRIES = 5;
+
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+    private static final Pattern THROTTLING_ERRORS = Pattern.compile(THROTTLING_ERRORS_PATTERN);
+
+    private static final Map<String, MarketoRequestScheduler> SCHEDULERS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Runs the asynchronous calls, no more threads than the concurrent calls allowed by Marketo: further calls are
+     * queued instead of holding a thread blocked on the limits.
+     */
+    static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(MAX_CONCURRENT_CALLS, MAX_CONCURRENT_CALLS,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "marketo-request-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final String endpoint;
+
+    private final int capacity;
+
+    private final double tokensPerNano;
+
+    private final Semaphore concurrentCalls;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    private final AtomicLong queuedCalls = new AtomicLong();
+
+    private final AtomicLong executedCalls = new AtomicLong();
+
+    private final AtomicLong throttledCalls = new AtomicLong();
+
+    MarketoRequestScheduler(final String endpoint, final int calls, final long period, final TimeUnit unit,
+            final int maxConcurrentCalls) {
+        this.endpoint = endpoint;
+        this.capacity = calls;
+        this.tokensPerNano = (double) calls / unit.toNanos(period);
+        this.concurrentCalls = new Semaphore(maxConcurrentCalls, true);
+        this.tokens = calls;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * @param endpoint Marketo instance endpoint
+     * @return the scheduler shared by all the calls to this instance
+     */
+    public static MarketoRequestScheduler of(final String endpoint) {
+        return SCHEDULERS
+                .computeIfAbsent(endpoint, e -> new MarketoRequestScheduler(e, RATE_LIMIT_CALLS,
+                        RATE_LIMIT_PERIOD_SECONDS, TimeUnit.SECONDS, MAX_CONCURRENT_CALLS));
+    }
+
+    /**
+     * Send a call once admitted by the limits, retrying it while Marketo throttles it.
+     *
+     * @param call the client call
+     * @return the call response
+     */
+    public <T> Response<T> execute(final Supplier<Response<T>> call) {
+        for (int attempt = 0;; attempt++) {
+            Response<T> response = executeOnce(call);
+            if (!isThrottled(response) || attempt >= MAX_THROTTLE_RETRIES) {
+                return response;
+            }
+            throttledCalls.incrementAndGet();
+            long backoff = INITIAL_BACKOFF_MILLIS << attempt;
+            log.debug("[execute] Call to {} throttled, retrying in {} ms.", endpoint, backoff);
+            sleep(backoff);
+        }
+    }
+
+    /**
+     * Send a call asynchronously, see {@link #execute(Supplier)}. At most {@code max_concurrent_calls} calls of the JVM
+     * run at the same time, the others wait in submission order.
+     */
+    public <T> CompletableFuture<T> submit(final Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, EXECUTOR);
+    }
+
+    /**
+     * @return number of calls currently waiting for the limits
+     */
+    public long getQueuedCalls() {
+        return queuedCalls.get();
+    }
+
+    /**
+     * @return number of calls sent to Marketo
+     */
+    public long getExecutedCalls() {
+        return executedCalls.get();
+    }
+
+    /**
+     * @return number of calls rejected by Marketo because of its limits
+     */
+    public long getThrottledCalls() {
+        return throttledCalls.get();
+    }
+
+    private <T> Response<T> executeOnce(final Supplier<Response<T>> call) {
+        queuedCalls.incrementAndGet();
+        try {
+            acquireToken();
+            concurrentCalls.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(e.getMessage());
+        } finally {
+            queuedCalls.decrementAndGet();
+        }
+        try {
+            executedCalls.incrementAndGet();
+            return call.get();
+        } finally {
+            concurrentCalls.release();
+        }
+    }
+
+    private void acquireToken() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            // the token is taken right away, the caller waits until it would have been available
+            tokens -= 1;
+            wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+        if (wait > 0) {
+            log.debug("[acquireToken] Rate limit of {} reached, waiting {} ms.", endpoint, wait / 1_000_000);
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    static boolean isThrottled(final Response<?> response) {
+        if (!(response.body() instanceof JsonObject)) {
+            return false;
+        }
+        JsonArray errors = ((JsonObject) response.body()).getJsonArray(ATTR_ERRORS);
+        if (errors == null) {
+            return false;
+        }
+        return errors
+                .getValuesAs(JsonObject.class)
+                .stream()
+                .anyMatch(error -> THROTTLING_ERRORS.matcher(error.getString(ATTR_CODE, "")).matches());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(e.getMessage());
+        }
+    }
+}
@@ -18,6 +18,8 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.json.JsonArray;
 import javax.json.JsonBuilderFactory;
@@ -48,7 +50,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
-import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_DATE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_TYPE_ID;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ATTRIBUTES;
@@ -125,6 +126,10 @@ public class MarketoService {
     @Service
     protected ListClient listClient;
 
+    @Getter
+    @Service
+    protected BulkClient bulkClient;
+
     public void initClients(MarketoDataStore dataStore) {
         authorizationClient.base(dataStore.getEndpoint());
         leadClient.base(dataStore.getEndpoint());
@@ -132,24 +137,61 @@ public class MarketoService {
         customObjectClient.base(dataStore.getEndpoint());
         companyClient.base(dataStore.getEndpoint());
         opportunityClient.base(dataStore.getEndpoint());
+        bulkClient.base(dataStore.getEndpoint());
     }
 
     /**
      * Retrieve an set an access token for using API
      */
     public String retrieveAccessToken(@Configuration("configuration") final MarketoDataSet dataSet) {
-        initClients(dataSet.getDataStore());
-        Response<JsonObject> result = authorizationClient
-                .getAuthorizationToken(CLIENT_CREDENTIALS,
-                        dataSet.getDataStore().getClientId(), dataSet.getDataStore().getClientSecret());
-        log.debug("[retrieveAccessToken] [{}] : {}.", result.status(), result.body());
-        if (result.status() == 200) {
-            return result.body().getString(ATTR_ACCESS_TOKEN);
-        } else {
-            String error = i18n.accessTokenRetrievalError(result.status(), result.headers().toString());
-            log.error("[retrieveAccessToken] {}", error);
-            throw new MarketoRuntimeException(error);
+        return retrieveAccessToken(dataSet.getDataStore());
+    }
+
+    /**
+     * Retrieve an access token, shared with the other components using the same endpoint and client credentials.
+     */
+    public String retrieveAccessToken(final MarketoDataStore dataStore) {
+        initClients(dataStore);
+        Supplier<JsonObject> identityCall = () -> {
+            Response<JsonObject> result = authorizationClient
+                    .getAuthorizationToken(CLIENT_CREDENTIALS, dataStore.getClientId(), dataStore.getClientSecret());
+            log.debug("[retrieveAccessToken] [{}] : {}.", result.status(), result.body());
+            if (result.status() == 200) {
+                return result.body();
+            } else {
+                String error = i18n.accessTokenRetrievalError(result.status(), result.headers().toString());
+                log.error("[retrieveAccessToken] {}", error);
+                throw new MarketoRuntimeException(error);
+            }
+        };
+        return AccessTokenCache
+                .get(dataStore.getEndpoint(), dataStore.getClientId(), dataStore.getClientSecret(), identityCall);
+    }
+
+    /**
+     * Send a call through the scheduler with a valid access token. When Marketo rejects the token (601, 602), it is
+     * evicted from the cache and the call is sent again once with a new token.
+     *
+     * @param call the client call, given the access token
+     * @return the call response
+     */
+    public <T> Response<T> executeWithAccessToken(final MarketoDataStore dataStore,
+            final MarketoRequestScheduler scheduler, final Function<String, Response<T>> call) {
+        String accessToken = retrieveAccessToken(dataStore);
+        Response<T> response = scheduler.execute(() -> call.apply(accessToken));
+        if (isAccessTokenRejected(response)) {
+            log.debug("[executeWithAccessToken] Access token rejected, retrying with a new one.");
+            AccessTokenCache.invalidate(dataStore.getEndpoint(), dataStore.getClientId(), dataStore.getClientSecret(),
+                    accessToken);
+            String refreshed = retrieveAccessToken(dataStore);
+            response = scheduler.execute(() -> call.apply(refreshed));
         }
+        return response;
+    }
+
+    private boolean isAccessTokenRejected(final Response<?> response) {
+        return response.body() instanceof JsonObject
+                && authorizationClient.isAccessTokenExpired(((JsonObject) response.body()).getJsonArray(ATTR_ERRORS));
     }
 
     public String getFieldsFromDescribeFormatedForApi(JsonArray fields) {
@@ -204,9 +246,9 @@ public class MarketoService {
     public Schema getEntitySchema(final MarketoDataStore dataStore) {
         try {
             initClients(dataStore);
-            String accessToken = authorizationClient.getAccessToken(dataStore);
             JsonArray entitySchema = null;
-            entitySchema = parseResultFromResponse(leadClient.describeLead(accessToken));
+            entitySchema = parseResultFromResponse(executeWithAccessToken(dataStore,
+                    MarketoRequestScheduler.of(dataStore.getEndpoint()), leadClient::describeLead));
             return getSchemaForEntity(entitySchema);
         } catch (Exception e) {
             log.error(i18n.exceptionOccured(e.getMessage()));
@@ -105,7 +105,7 @@ public class UIActionService extends MarketoService {
         try {
             initClients(dataStore);
             JsonArray sf =
-                    parseResultFromResponse(leadClient.describeLead2(authorizationClient.getAccessToken(dataStore)));
+                    parseResultFromResponse(leadClient.describeLead2(retrieveAccessToken(dataStore)));
             List<String> f = sf
                     .getJsonObject(0)
                     .getJsonArray(MarketoApiConstants.ATTR_SEARCHABLE_FIELDS)
@@ -144,7 +144,7 @@ public class UIActionService extends MarketoService {
         log.debug("[getActivities] {}.", dataStore);
         try {
             initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
+            String aToken = retrieveAccessToken(dataStore);
             List<Item> activities = new ArrayList<>();
             for (JsonObject act : parseResultFromResponse(leadClient.getActivities(aToken))
                     .getValuesAs(JsonObject.class)) {
@@ -249,7 +249,7 @@ public class UIActionService extends MarketoService {
         Predicate<String> hasNextPageToken = token -> token != null && !token.isEmpty();
         try {
             initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
+            String aToken = retrieveAccessToken(dataStore);
             ListsPage result = getListsPage(aToken, null);
             lists.addAll(result.getLists());
             while (hasNextPageToken.test(result.getNextPageToken())) {
@@ -281,7 +281,7 @@ public class UIActionService extends MarketoService {
         log.debug("[getCustomObjectNames] {}.", dataStore);
         try {
             initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
+            String aToken = retrieveAccessToken(dataStore);
             List<Item> coNames = new ArrayList<>();
             for (JsonObject l : parseResultFromResponse(customObjectClient.listCustomObjects(aToken, ""))
                     .getValuesAs(JsonObject.class)) {
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.marketo.MarketoBaseTest;
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
+import org.talend.components.marketo.input.BulkExtractSource.ExportFileInputStream;
+import org.talend.components.marketo.input.BulkExtractSource.ExportRange;
+import org.talend.components.marketo.service.BulkClient;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.service.http.Response;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import com.sun.net.httpserver.HttpServer;
+
+@WithComponents("org.talend.components.marketo")
+class BulkExtractSourceTest extends MarketoBaseTest {
+
+    private static final String HEADER = "marketoGUID,leadId,activityDate,activityTypeId,campaignId,"
+            + "primaryAttributeValueId,primaryAttributeValue,attributes\n";
+
+    private final List<String> calls = new ArrayList<>();
+
+    private final Map<String, String> statuses = new HashMap<>();
+
+    private final Map<String, String> files = new HashMap<>();
+
+    private int exports;
+
+    @BeforeEach
+    void setUpExtract() {
+        dataSet.setLeadAction(LeadAction.getLeadActivity);
+        inputConfiguration.setBulkExtractPollInterval(0);
+    }
+
+    @Test
+    void computeRanges() {
+        ZonedDateTime since = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime until = ZonedDateTime.of(2020, 3, 15, 12, 30, 0, 0, ZoneOffset.ofHours(2));
+
+        List<ExportRange> ranges = BulkExtractSource.computeRanges(since, until, 31);
+
+        Assertions.assertEquals(3, ranges.size());
+        Assertions.assertEquals(new ExportRange("2020-01-01T00:00:00Z", "2020-01-31T23:59:59Z"), ranges.get(0));
+        Assertions.assertEquals(new ExportRange("2020-02-01T00:00:00Z", "2020-03-02T23:59:59Z"), ranges.get(1));
+        Assertions.assertEquals(new ExportRange("2020-03-03T00:00:00Z", "2020-03-15T10:29:59Z"), ranges.get(2));
+    }
+
+    @Test
+    void computeRangesWhenNothingToRead() {
+        ZonedDateTime now = ZonedDateTime.now();
+
+        Assertions.assertTrue(BulkExtractSource.computeRanges(now, now, 31).isEmpty());
+    }
+
+    @Test
+    void readFileByRanges() throws IOException {
+        byte[] file = content(100);
+        List<String> ranges = new ArrayList<>();
+
+        byte[] read = readAll(new ExportFileInputStream(range -> {
+            ranges.add(range);
+            return partial(file, range, Integer.MAX_VALUE);
+        }, file.length, 40));
+
+        Assertions.assertArrayEquals(file, read);
+        Assertions.assertEquals(Arrays.asList("bytes=0-39", "bytes=40-79", "bytes=80-99"), ranges);
+    }
+
+    @Test
+    void resumeTruncatedRange() throws IOException {
+        byte[] file = content(100);
+        List<String> ranges = new ArrayList<>();
+
+        // each part is cut after 30 bytes
+        byte[] read = readAll(new ExportFileInputStream(range -> {
+            ranges.add(range);
+            return partial(file, range, 30);
+        }, file.length, 40));
+
+        Assertions.assertArrayEquals(file, read);
+        Assertions.assertEquals(Arrays.asList("bytes=0-39", "bytes=30-69", "bytes=60-99", "bytes=90-99"), ranges);
+    }
+
+    @Test
+    void resumeAfterReadError() throws IOException {
+        byte[] file = content(100);
+        List<String> ranges = new ArrayList<>();
+
+        byte[] read = readAll(new ExportFileInputStream(range -> {
+            ranges.add(range);
+            Response<InputStream> response = partial(file, range, Integer.MAX_VALUE);
+            if (ranges.size() > 1) {
+                return response;
+            }
+            return new FakeResponse<>(206, new FilterInputStream(new ByteArrayInputStream(file, 0, 10)) {
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    int read = super.read(b, off, len);
+                    if (read < 0) {
+                        throw new IOException("Connection reset");
+                    }
+                    return read;
+                }
+            });
+        }, file.length, 40));
+
+        Assertions.assertArrayEquals(file, read);
+        Assertions.assertEquals("bytes=10-49", ranges.get(1));
+    }
+
+    @Test
+    void rangeIgnoredByServer() throws IOException {
+        byte[] file = content(100);
+        List<String> ranges = new ArrayList<>();
+
+        // first part cut after 30 bytes, then the whole file is sent
+        byte[] read = readAll(new ExportFileInputStream(range -> {
+            ranges.add(range);
+            return ranges.size() == 1 ? partial(file, range, 30)
+                    : new FakeResponse<InputStream>(200, new ByteArrayInputStream(file));
+        }, file.length, 40));
+
+        Assertions.assertArrayEquals(file, read);
+        Assertions.assertEquals(Arrays.asList("bytes=0-39", "bytes=30-69"), ranges);
+    }
+
+    @Test
+    void emptyRangeFails() {
+        InputStream in = new ExportFileInputStream(range -> new FakeResponse<InputStream>(206,
+                new ByteArrayInputStream(new byte[0])), 100, 40);
+
+        Assertions.assertThrows(IOException.class, () -> in.read(new byte[10]));
+    }
+
+    @Test
+    void downloadErrorFails() {
+        InputStream in = new ExportFileInputStream(range -> new FakeResponse<InputStream>(404, null), 100, 40);
+
+        Assertions.assertThrows(MarketoRuntimeException.class, () -> in.read(new byte[10]));
+    }
+
+    @Test
+    void extractActivities() {
+        files.put("export-1", HEADER + "1001,5,2020-01-02T10:00:00Z,1,,12,Page,\"{\"\"Browser\"\":\"\"Firefox\"\","
+                + "\"\"Query Parameters\"\":null}\"\n");
+        files.put("export-2", HEADER + "1002,6,2020-02-02T10:00:00Z,2,3,,,\n");
+        BulkExtractSource source = source(Arrays.asList(new ExportRange("2020-01-01T00:00:00Z", "2020-01-31T23:59:59Z"),
+                new ExportRange("2020-02-01T00:00:00Z", "2020-02-29T23:59:59Z")));
+
+        source.processBatch();
+        Record first = source.next();
+
+        // the second job is processed by Marketo while the first file is read
+        Assertions.assertEquals(Arrays.asList("createExport", "enqueueExport export-1", "getExportStatus export-1",
+                "getExportStatus export-1", "createExport", "enqueueExport export-2", "file export-1 bytes=0-"
+                        + (files.get("export-1").length() - 1)),
+                calls);
+        Assertions.assertEquals(1001, first.getInt("id"));
+        Assertions.assertEquals("1001", first.getString("marketoGUID"));
+        Assertions.assertEquals(5, first.getInt("leadId"));
+        Assertions.assertEquals(12, first.getInt("primaryAttributeValueId"));
+        Assertions.assertEquals("{\"name\":\"Browser\",\"value\":\"Firefox\"},"
+                + "{\"name\":\"Query Parameters\",\"value\":null}", first.getString("attributes"));
+        Assertions.assertFalse(first.getOptionalInt("campaignId").isPresent());
+
+        Record second = source.next();
+        Assertions.assertEquals(1002, second.getInt("id"));
+        Assertions.assertEquals(3, second.getInt("campaignId"));
+        Assertions.assertNull(second.getString("attributes"));
+        Assertions.assertNull(source.next());
+    }
+
+    @Test
+    void failedJob() {
+        statuses.put("export-1", "Failed");
+        BulkExtractSource source = source(Collections.singletonList(new ExportRange("2020-01-01T00:00:00Z",
+                "2020-01-31T23:59:59Z")));
+
+        Assertions.assertThrows(MarketoRuntimeException.class, source::processBatch);
+    }
+
+    @Test
+    void releaseCancelsQueuedJob() {
+        files.put("export-1", HEADER);
+        BulkExtractSource source = source(Arrays.asList(new ExportRange("2020-01-01T00:00:00Z", "2020-01-31T23:59:59Z"),
+                new ExportRange("2020-02-01T00:00:00Z", "2020-02-29T23:59:59Z")));
+
+        source.processBatch();
+        source.release();
+
+        Assertions.assertEquals("cancelExport export-2", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    void exportFileIsRequestedWithBearerToken() throws IOException {
+        Map<String, String> request = new HashMap<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            request.put("uri", exchange.getRequestURI().toString());
+            request.put("authorization", exchange.getRequestHeaders().getFirst("Authorization"));
+            request.put("range", exchange.getRequestHeaders().getFirst("Range"));
+            byte[] body = "a,b\n".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(206, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            dataStore.setEndpoint("http://localhost:" + server.getAddress().getPort());
+            BulkClient client = (BulkClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { BulkClient.class }, (proxy, method, args) -> null);
+            BulkExtractSource source =
+                    new BulkExtractSource(inputConfiguration, service, Collections.emptyList(), client);
+
+            Response<InputStream> response = source.openExportFile("export-1", "bytes=0-3", "secret-token");
+
+            Assertions.assertEquals(206, response.status());
+            Assertions.assertEquals("a,b\n", new String(readAll(response.body()), StandardCharsets.UTF_8));
+        } finally {
+            server.stop(0);
+        }
+        // the token is not part of the URL, which would show in proxy and server logs
+        Assertions.assertEquals("/bulk/v1/activities/export/export-1/file.json", request.get("uri"));
+        Assertions.assertEquals("Bearer secret-token", request.get("authorization"));
+        Assertions.assertEquals("bytes=0-3", request.get("range"));
+    }
+
+    private BulkExtractSource source(final List<ExportRange> ranges) {
+        BulkClient client = (BulkClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { BulkClient.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "createExport":
+                        calls.add(method.getName());
+                        return job("export-" + ++exports, "Created");
+                    case "enqueueExport":
+                    case "cancelExport":
+                        calls.add(method.getName() + " " + args[1]);
+                        return job((String) args[1], "Queued");
+                    case "getExportStatus":
+                        calls.add(method.getName() + " " + args[1]);
+                        String exportId = (String) args[1];
+                        // completed on the second poll
+                        String status = statuses.getOrDefault(exportId, "Processing");
+                        statuses.put(exportId, statuses.containsKey(exportId) ? status : "Completed");
+                        return job(exportId, status);
+                    default:
+                        return null;
+                    }
+                });
+        BulkExtractSource source = new BulkExtractSource(inputConfiguration, service, ranges, client) {
+
+            @Override
+            protected <T> Response<T> schedule(final Function<String, Response<T>> call) {
+                return call.apply("token");
+            }
+
+            @Override
+            Response<InputStream> openExportFile(final String exportId, final String range, final String token) {
+                calls.add("file " + exportId + " " + range);
+                return partial(files.get(exportId).getBytes(StandardCharsets.UTF_8), range, Integer.MAX_VALUE);
+            }
+        };
+        source.schema = new HashMap<>();
+        for (Entry entry : service.getEntitySchema(inputConfiguration).getEntries()) {
+            source.schema.put(entry.getName(), entry);
+        }
+        return source;
+    }
+
+    private Response<JsonObject> job(final String exportId, final String status) {
+        JsonObject job = Json.createObjectBuilder().add("exportId", exportId).add("status", status)
+                .add("fileSize", files.containsKey(exportId) ? files.get(exportId).length() : 0).build();
+        return new FakeResponse<>(200, Json.createObjectBuilder().add("success", true)
+                .add("result", Json.createArrayBuilder().add(job)).build());
+    }
+
+    private static Response<InputStream> partial(final byte[] file, final String range, final int maxLength) {
+        String[] bounds = range.substring("bytes=".length()).split("-");
+        int first = Integer.parseInt(bounds[0]);
+        int length = Math.min(Integer.parseInt(bounds[1]) - first + 1, maxLength);
+        return new FakeResponse<>(206, new ByteArrayInputStream(file, first, length));
+    }
+
+    private static byte[] content(final int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        try (InputStream input = in) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static class FakeResponse<T> implements Response<T> {
+
+        private final int status;
+
+        private final T body;
+
+        FakeResponse(final int status, final T body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public T body() {
+            return body;
+        }
+
+        @Override
+        public <E> E error(final Class<E> type) {
+            return type.cast("HTTP " + status);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenCacheTest {
+
+    @AfterEach
+    void clearTokens() {
+        AccessTokenCache.clear();
+    }
+
+    @Test
+    void tokenIsShared() {
+        AtomicInteger calls = new AtomicInteger();
+
+        Supplier<JsonObject> identityCall = () -> token("t" + calls.incrementAndGet(), 3600);
+
+        String first = AccessTokenCache.get("https://shared", "client", "secret", identityCall);
+        String second = AccessTokenCache.get("https://shared", "client", "secret", identityCall);
+        String other = AccessTokenCache.get("https://shared", "other", "secret", identityCall);
+
+        Assertions.assertEquals("t1", first);
+        Assertions.assertEquals("t1", second);
+        Assertions.assertEquals("t2", other);
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void tokenIsRefreshedBeforeExpiry() {
+        AtomicInteger calls = new AtomicInteger();
+        long lifetime = AccessTokenCache.REFRESH_MARGIN_SECONDS + 1;
+
+        AccessTokenCache
+                .get("https://expiring", "client", "secret", () -> token("t" + calls.incrementAndGet(), lifetime - 2));
+        String refreshed = AccessTokenCache
+                .get("https://expiring", "client", "secret", () -> token("t" + calls.incrementAndGet(), lifetime));
+
+        Assertions.assertEquals("t2", refreshed);
+    }
+
+    @Test
+    void concurrentRefreshesAreCoalesced() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(executor.submit(() -> {
+                    start.await();
+                    return AccessTokenCache.get("https://concurrent", "client", "secret", () -> {
+                        calls.incrementAndGet();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return token("t", 3600);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> token : tokens) {
+                Assertions.assertEquals("t", token.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectedTokenIsEvicted() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<JsonObject> identityCall = () -> token("t" + calls.incrementAndGet(), 3600);
+
+        String rejected = AccessTokenCache.get("https://rejected", "client", "secret", identityCall);
+        AccessTokenCache.invalidate("https://rejected", "client", "secret", rejected);
+        String refreshed = AccessTokenCache.get("https://rejected", "client", "secret", identityCall);
+        // a token rejected by a late caller does not evict the refreshed one
+        AccessTokenCache.invalidate("https://rejected", "client", "secret", rejected);
+
+        Assertions.assertEquals("t1", rejected);
+        Assertions.assertEquals("t2", refreshed);
+        Assertions.assertEquals("t2", AccessTokenCache.get("https://rejected", "client", "secret", identityCall));
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void otherSecretDoesNotShareToken() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<JsonObject> identityCall = () -> token("t" + calls.incrementAndGet(), 3600);
+
+        String valid = AccessTokenCache.get("https://secret", "client", "secret", identityCall);
+        Supplier<JsonObject> rejectedCredentials = () -> {
+            throw new IllegalStateException("invalid client secret");
+        };
+
+        Assertions.assertEquals("t1", valid);
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> AccessTokenCache.get("https://secret", "client", "revoked", rejectedCredentials));
+        Assertions.assertEquals("t1", AccessTokenCache.get("https://secret", "client", "secret", identityCall));
+    }
+
+    @Test
+    void notRenewedTokenIsUsedUntilExpiryWithoutWaiting() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<JsonObject> identityCall = () -> calls.incrementAndGet() <= 2 ? token("t1", 1) : token("t2", 3600);
+
+        long start = System.currentTimeMillis();
+        // the first token is about to expire, its refresh brings back the same one
+        Assertions.assertEquals("t1", AccessTokenCache.get("https://renewal", "client", "secret", identityCall));
+        Assertions.assertEquals("t1", AccessTokenCache.get("https://renewal", "client", "secret", identityCall));
+        Assertions.assertEquals("t1", AccessTokenCache.get("https://renewal", "client", "secret", identityCall));
+        Assertions.assertTrue(System.currentTimeMillis() - start < 1000, "A not renewed token must not be waited for");
+        Assertions.assertEquals(2, calls.get());
+
+        Thread.sleep(1100);
+        Assertions.assertEquals("t2", AccessTokenCache.get("https://renewal", "client", "secret", identityCall));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    private static JsonObject token(final String token, final long expiresIn) {
+        return Json.createObjectBuilder().add("access_token", token).add("expires_in", expiresIn).build();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.http.Response;
+
+class MarketoRequestSchedulerTest {
+
+    @Test
+    void rateLimit() {
+        MarketoRequestScheduler scheduler = new MarketoRequestScheduler("rate", 5, 500, TimeUnit.MILLISECONDS, 10);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(() -> response(Json.createObjectBuilder().add("success", true).build()));
+        }
+        // 5 calls are allowed right away, the 5 others are spread over the next period
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 400);
+        Assertions.assertEquals(10, scheduler.getExecutedCalls());
+        Assertions.assertEquals(0, scheduler.getQueuedCalls());
+    }
+
+    @Test
+    void retryThrottledCalls() {
+        MarketoRequestScheduler scheduler = new MarketoRequestScheduler("retry", 100, 1, TimeUnit.SECONDS, 10);
+        JsonObject throttled = Json
+                .createObjectBuilder()
+                .add("success", false)
+                .add("errors", Json.createArrayBuilder().add(Json.createObjectBuilder().add("code", "606")))
+                .build();
+        JsonObject success = Json.createObjectBuilder().add("success", true).build();
+        AtomicInteger calls = new AtomicInteger();
+
+        Response<JsonObject> response =
+                scheduler.execute(() -> response(calls.getAndIncrement() == 0 ? throttled : success));
+
+        Assertions.assertTrue(response.body().getBoolean("success"));
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(1, scheduler.getThrottledCalls());
+    }
+
+    @Test
+    void asyncCallsUseBoundedThreads() {
+        int maxThreads = MarketoRequestScheduler.EXECUTOR.getMaximumPoolSize();
+        MarketoRequestScheduler scheduler = new MarketoRequestScheduler("async", 100, 1, TimeUnit.SECONDS, 10);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+
+        for (int i = 0; i < maxThreads * 3; i++) {
+            calls.add(scheduler.submit(() -> {
+                threads.add(Thread.currentThread().getName());
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            }));
+        }
+
+        calls.forEach(call -> Assertions.assertEquals("done", call.join()));
+        Assertions.assertTrue(threads.size() <= maxThreads, threads::toString);
+    }
+
+    @Test
+    void notThrottled() {
+        JsonObject error = Json
+                .createObjectBuilder()
+                .add("success", false)
+                .add("errors", Json.createArrayBuilder().add(Json.createObjectBuilder().add("code", "601")))
+                .build();
+
+        Assertions.assertFalse(MarketoRequestScheduler.isThrottled(response(error)));
+        Assertions.assertFalse(MarketoRequestScheduler.isThrottled(response(new byte[0])));
+    }
+
+    private static <T> Response<T> response(final T body) {
+        return new Response<T>() {
+
+            @Override
+            public int status() {
+                return 200;
+            }
+
+            @Override
+            public Map<String, List<String>> headers() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public T body() {
+                return body;
+            }
+
+            @Override
+            public <E> E error(final Class<E> type) {
+                return null;
+            }
+        };
+    }
+}
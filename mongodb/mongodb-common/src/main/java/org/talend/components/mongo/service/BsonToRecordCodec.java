@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.Code;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decode BSON documents from the cursor straight to records.
+ *
+ * Values are read into light field lists instead of {@link Document} maps, and the schema is only inferred (by
+ * {@link DocumentToRecord}, so records are the same) for each new document structure: schemas are cached by the
+ * field names/types signature of documents.
+ */
+@Slf4j
+public class BsonToRecordCodec implements Codec<Record> {
+
+    /** max number of cached schemas, collections with more distinct structures re-infer some schemas. */
+    static final int SCHEMA_CACHE_SIZE = 1000;
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final DocumentToRecord documentToRecord;
+
+    /** used for bson types that are not mapped to a record type, as document codec does. */
+    private final CodecRegistry registry;
+
+    private final BsonTypeClassMap bsonTypeClassMap = new BsonTypeClassMap();
+
+    private final Map<String, Schema> schemas = new LinkedHashMap<String, Schema>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Schema> eldest) {
+            return size() > SCHEMA_CACHE_SIZE;
+        }
+    };
+
+    public BsonToRecordCodec(RecordBuilderFactory recordBuilderFactory, CodecRegistry registry) {
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.documentToRecord = new DocumentToRecord(recordBuilderFactory);
+        this.registry = registry;
+    }
+
+    @Override
+    public Record decode(BsonReader reader, DecoderContext decoderContext) {
+        final Fields fields = readDocument(reader, decoderContext);
+        final String signature = signature(fields);
+        Schema schema = schemas.get(signature);
+        if (schema == null) {
+            schema = documentToRecord.inferSchema(fields.toDocument());
+            schemas.put(signature, schema);
+            log.debug("[decode] new schema for signature {}", signature);
+        }
+        return toRecord(schema, fields);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Record value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("Records are only decoded by this codec");
+    }
+
+    @Override
+    public Class<Record> getEncoderClass() {
+        return Record.class;
+    }
+
+    private Fields readDocument(BsonReader reader, DecoderContext decoderContext) {
+        final Fields fields = new Fields();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            final String name = reader.readName();
+            fields.add(name, readValue(reader, decoderContext));
+        }
+        reader.readEndDocument();
+        return fields;
+    }
+
+    private Object readValue(BsonReader reader, DecoderContext decoderContext) {
+        final BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+        case DOCUMENT:
+            return readDocument(reader, decoderContext);
+        case ARRAY: {
+            final List<Object> array = new ArrayList<>();
+            reader.readStartArray();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                array.add(readValue(reader, decoderContext));
+            }
+            reader.readEndArray();
+            return array;
+        }
+        case NULL:
+            reader.readNull();
+            return null;
+        case STRING:
+            return reader.readString();
+        case INT32:
+            return reader.readInt32();
+        case INT64:
+            return reader.readInt64();
+        case DOUBLE:
+            return reader.readDouble();
+        case BOOLEAN:
+            return reader.readBoolean();
+        case DATE_TIME:
+            return new Date(reader.readDateTime());
+        case OBJECT_ID:
+            return reader.readObjectId();
+        case DECIMAL128:
+            return reader.readDecimal128();
+        case JAVASCRIPT:
+            return new Code(reader.readJavaScript());
+        default:
+            return registry.get(bsonTypeClassMap.get(type)).decode(reader, decoderContext);
+        }
+    }
+
+    /**
+     * Signature of a value, two values with same signature get the same schema from {@link DocumentToRecord}.
+     */
+    private String signature(Object value) {
+        final StringBuilder builder = new StringBuilder();
+        appendSignature(builder, value);
+        return builder.toString();
+    }
+
+    private void appendSignature(StringBuilder builder, Object value) {
+        if (value == null) {
+            builder.append('n');
+        } else if (value instanceof Fields) {
+            final Fields fields = (Fields) value;
+            builder.append('{');
+            for (int i = 0; i < fields.size(); i++) {
+                builder.append(fields.names.get(i)).append('=');
+                appendSignature(builder, fields.values.get(i));
+                builder.append(',');
+            }
+            builder.append('}');
+        } else if (value instanceof List) {
+            // as for schema inference, array element type is the first element one.
+            final List<?> array = (List<?>) value;
+            builder.append('[');
+            if (array.isEmpty()) {
+                builder.append('e');
+            } else if (array.get(0) instanceof Fields) {
+                appendSignature(builder, merge(array));
+            } else {
+                appendSignature(builder, array.get(0));
+            }
+            builder.append(']');
+        } else {
+            builder.append(value.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Merge documents of an array as {@link DocumentToRecord} does to infer element schema.
+     */
+    private static Fields merge(List<?> array) {
+        final Fields merged = new Fields();
+        for (Object element : array) {
+            if (element instanceof Fields) {
+                final Fields fields = (Fields) element;
+                for (int i = 0; i < fields.size(); i++) {
+                    merged.put(fields.names.get(i), fields.values.get(i));
+                }
+            }
+        }
+        return merged;
+    }
+
+    private Record toRecord(Schema schema, Fields fields) {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder(schema);
+        for (Entry entry : schema.getEntries()) {
+            final String name = DocumentToRecord.getOriginName(entry);
+            final int index = fields.indexOf(name);
+            if (index >= 0) {
+                integrateEntryToRecord(entry, builder, fields.values.get(index));
+            }
+        }
+        return builder.build();
+    }
+
+    private void integrateEntryToRecord(Entry entry, Record.Builder builder, Object value) {
+        if (value == null && entry.getType() != Schema.Type.STRING) {
+            return;
+        }
+        switch (entry.getType()) {
+        case RECORD:
+            builder.withRecord(entry, toRecord(entry.getElementSchema(), (Fields) value));
+            break;
+        case ARRAY:
+            builder.withArray(entry, convertArray(entry.getElementSchema(), (List<Object>) value));
+            break;
+        case STRING:
+            builder.withString(entry, toStringValue(value));
+            break;
+        case INT:
+            builder.withInt(entry, (Integer) value);
+            break;
+        case LONG:
+            builder.withLong(entry, (Long) value);
+            break;
+        case FLOAT:
+        case DOUBLE:
+            builder.withDouble(entry, (Double) value);
+            break;
+        case BOOLEAN:
+            builder.withBoolean(entry, (Boolean) value);
+            break;
+        case BYTES:
+            builder.withBytes(entry, ((String) value).getBytes());
+            break;
+        case DATETIME:
+            builder.withDateTime(entry, (Date) value);
+            break;
+        default:
+            break;
+        }
+    }
+
+    private List<Object> convertArray(Schema schema, List<Object> array) {
+        final Schema elementSchema = schema.getElementSchema();
+        final List<Object> result;
+        switch (elementSchema.getType()) {
+        case RECORD:
+            result = new ArrayList<>(array.size());
+            for (Object element : array) {
+                result.add(toRecord(elementSchema, (Fields) element));
+            }
+            break;
+        case ARRAY:
+            result = new ArrayList<>(array.size());
+            for (Object element : array) {
+                result.add(convertArray(elementSchema, (List<Object>) element));
+            }
+            break;
+        case STRING:
+            if (array.isEmpty()) {
+                result = array;
+            } else {
+                result = new ArrayList<>(array.size());
+                for (Object element : array) {
+                    result.add(toStringValue(element));
+                }
+            }
+            break;
+        case BYTES:
+            result = new ArrayList<>(array.size());
+            for (Object element : array) {
+                result.add(((String) element).getBytes());
+            }
+            break;
+        default:
+            result = array;
+        }
+        return result;
+    }
+
+    private String toStringValue(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Code) {
+            return ((Code) value).getCode();
+        } else if (value instanceof Fields || value instanceof List) {
+            return Fields.toDocumentValue(value).toString();
+        }
+        // ObjectId, Decimal128 and other types
+        return value.toString();
+    }
+
+    /**
+     * Fields of a bson document, in reading order.
+     */
+    private static class Fields {
+
+        private final List<String> names = new ArrayList<>();
+
+        private final List<Object> values = new ArrayList<>();
+
+        // first position of each name, looked up for every schema entry of every document
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        void add(String name, Object value) {
+            positions.putIfAbsent(name, names.size());
+            names.add(name);
+            values.add(value);
+        }
+
+        void put(String name, Object value) {
+            final int index = indexOf(name);
+            if (index < 0) {
+                add(name, value);
+            } else {
+                values.set(index, value);
+            }
+        }
+
+        int indexOf(String name) {
+            final Integer index = positions.get(name);
+            return index == null ? -1 : index;
+        }
+
+        int size() {
+            return names.size();
+        }
+
+        Document toDocument() {
+            final Document document = new Document();
+            for (int i = 0; i < names.size(); i++) {
+                document.put(names.get(i), toDocumentValue(values.get(i)));
+            }
+            return document;
+        }
+
+        private static Object toDocumentValue(Object value) {
+            if (value instanceof Fields) {
+                return ((Fields) value).toDocument();
+            }
+            if (value instanceof List) {
+                final List<Object> array = new ArrayList<>();
+                for (Object element : (List<?>) value) {
+                    array.add(toDocumentValue(element));
+                }
+                return array;
+            }
+            return value;
+        }
+    }
+}
@@ -197,7 +197,7 @@ public class DocumentToRecord {
         return getOriginName(entry);
     }
 
-    private String getOriginName(Entry entry) {
+    static String getOriginName(Entry entry) {
         // now use comment to store origin name and origin type information, not good, TODO move to framework
         final String comment = entry.getComment();
 
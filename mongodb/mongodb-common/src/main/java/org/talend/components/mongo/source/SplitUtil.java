@@ -45,6 +45,17 @@ public class SplitUtil {
     public static List<String> getQueries4Split(final MongoCommonSourceConfiguration configuration,
             final MongoCommonService service,
             final int splitCount) {
+        return getQueries4Split(configuration, service, splitCount, null);
+    }
+
+    /**
+     * Compute the queries of each split: {@code _id} ranges, and'ed with the user query when there is one.
+     *
+     * @param query : user query, null or empty to split the whole collection.
+     */
+    public static List<String> getQueries4Split(final MongoCommonSourceConfiguration configuration,
+            final MongoCommonService service,
+            final int splitCount, final String query) {
         List<String> result = new ArrayList<>();
 
         MongoCommonDataSet dataset = configuration.getDataset();
@@ -56,7 +67,7 @@ public class SplitUtil {
             MongoDatabase database = client.getDatabase(datastore.getDatabase());
             MongoCollection<Document> collection = database.getCollection(dataset.getCollection());
 
-            result = getQueries4Split(collection, splitCount);
+            result = getQueries4Split(collection, splitCount, hasFilter(query) ? service.getBsonDocument(query) : null);
         } catch (Exception e) {
             // ignore any exception for split, for example: main node can't reason mongodb
             log.info(e.getMessage(), e);
@@ -79,7 +90,7 @@ public class SplitUtil {
             MongoDatabase database = client.getDatabase(datastore.getDatabase());
             MongoCollection<Document> collection = database.getCollection(dataset.getCollection());
 
-            result = getQueries4Split(collection, splitCount);
+            result = getQueries4Split(collection, splitCount, null);
         } catch (Exception e) {
             // ignore any exception for split, for example: main node can't reason mongodb
             log.info(e.getMessage(), e);
@@ -90,6 +101,17 @@ public class SplitUtil {
 
     public static long getEstimatedSizeBytes(final MongoCommonSourceConfiguration configuration,
             final MongoCommonService service) {
+        return getEstimatedSizeBytes(configuration, service, null);
+    }
+
+    /**
+     * Estimate the size of the documents matching the user query: the average document size of the collection times
+     * the number of matching documents.
+     *
+     * @param query : user query, null or empty for the whole collection.
+     */
+    public static long getEstimatedSizeBytes(final MongoCommonSourceConfiguration configuration,
+            final MongoCommonService service, final String query) {
         MongoCommonDataSet dataset = configuration.getDataset();
         MongoCommonDataStore datastore = dataset.getDatastore();
 
@@ -101,6 +123,17 @@ public class SplitUtil {
             stat.append("collStats", dataset.getCollection());
             Document stats = database.runCommand(stat);
 
+            if (hasFilter(query)) {
+                Number avgObjSize = stats.get("avgObjSize", Number.class);
+                if (avgObjSize == null) {
+                    return 1l;
+                }
+                long count = database
+                        .getCollection(dataset.getCollection())
+                        .countDocuments(service.getBsonDocument(query));
+                return avgObjSize.longValue() * count;
+            }
+
             return stats.get("size", Number.class).longValue();
         } catch (Exception e) {
             // ignore any exception for split, for example: main node can't reason mongodb
@@ -133,7 +166,9 @@ public class SplitUtil {
     }
 
     // https://docs.mongodb.com/manual/reference/operator/aggregation/bucketAuto/
-    private static List<String> getQueries4Split(final MongoCollection mongoCollection, final int splitCount) {
+    // with a filter, a leading $match makes buckets balanced on the matching documents only
+    private static List<String> getQueries4Split(final MongoCollection mongoCollection, final int splitCount,
+            final BsonDocument filter) {
         List<String> result = new ArrayList<>();
 
         BsonDocument bucketAutoConfig = new BsonDocument();
@@ -141,6 +176,9 @@ public class SplitUtil {
         bucketAutoConfig.put("buckets", new BsonInt32(splitCount));
         BsonDocument bucketAuto = new BsonDocument("$bucketAuto", bucketAutoConfig);
         List<BsonDocument> aggregates = new ArrayList<>();
+        if (filter != null) {
+            aggregates.add(new BsonDocument("$match", filter));
+        }
         aggregates.add(bucketAuto);
         AggregateIterable<Document> buckets = mongoCollection.aggregate(aggregates).allowDiskUse(true);
 
@@ -155,6 +193,9 @@ public class SplitUtil {
             Bson filters = Filters
                     .and(Filters.gte("_id", min),
                             iterator.hasNext() ? Filters.lt("_id", max) : Filters.lte("_id", max));
+            if (filter != null) {
+                filters = Filters.and(filter, filters);
+            }
             String filtersShellJson = filtersToJson(filters);
             result.add(filtersShellJson);
         }
@@ -168,6 +209,11 @@ public class SplitUtil {
         return document.toJson(JsonWriterSettings.builder().outputMode(JsonMode.SHELL).build());
     }
 
+    /**
+     * @deprecated filtered reads are split too, their queries are and'ed with the split ranges, use
+     * {@link #isSplit(Long)}.
+     */
+    @Deprecated
     public static boolean isSplit(String query, Long limit) {
         // limit is passed by platform, so mean getSample here, so no split as we will set limit for query
         if (limit != null && limit > 0) {
@@ -182,6 +228,10 @@ public class SplitUtil {
         return false;
     }
 
+    private static boolean hasFilter(String query) {
+        return query != null && !query.trim().isEmpty() && !"{}".equals(query.replaceAll("\\s", ""));
+    }
+
     public static boolean isSplit(Long limit) {
         // limit is passed by platform, so mean getSample here, so no split as we will set limit for query
         if (limit != null && limit > 0) {
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongo.service;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BsonToRecordCodecTest {
+
+    private final CodecRegistry registry = MongoClientSettings.getDefaultCodecRegistry();
+
+    private final RecordBuilderFactory recordBuilderFactory = new RecordBuilderFactoryImpl("test");
+
+    private BsonToRecordCodec codec;
+
+    @BeforeEach
+    void init() {
+        codec = new BsonToRecordCodec(recordBuilderFactory, registry);
+    }
+
+    @Test
+    void flatDocument() {
+        final Document document = new Document("_id", new ObjectId())
+                .append("name", "talend")
+                .append("count", 12)
+                .append("total", 12345678901L)
+                .append("ratio", 0.5)
+                .append("active", true)
+                .append("created", new Date(1600000000000L))
+                .append("price", new Decimal128(new BigDecimal("12.34")));
+
+        final Record record = assertSameAsDocumentConversion(document);
+        assertEquals(document.getObjectId("_id").toString(), record.getString("_id"));
+        assertEquals(12, record.getInt("count"));
+        assertEquals(1600000000000L, record.getDateTime("created").toInstant().toEpochMilli());
+    }
+
+    @Test
+    void nullValues() {
+        final Document document = new Document("name", null)
+                .append("value", 1)
+                .append("nested", new Document("empty", null));
+
+        final Record record = assertSameAsDocumentConversion(document);
+        assertNull(record.getString("name"));
+    }
+
+    @Test
+    void nestedDocuments() {
+        final Document document = new Document("id", 1)
+                .append("address",
+                        new Document("city", "Nantes")
+                                .append("geo", new Document("lat", 47.2).append("lon", -1.55))
+                                .append("since", new Date(0L)));
+
+        final Record record = assertSameAsDocumentConversion(document);
+        assertEquals("Nantes", record.getRecord("address").getString("city"));
+    }
+
+    @Test
+    void arrays() {
+        final Document document = new Document("strings", Arrays.asList("a", "b", "c"))
+                .append("numbers", Arrays.asList(1, 2, 3))
+                .append("empty", Collections.emptyList())
+                .append("matrix", Arrays.asList(Arrays.asList(1.0, 2.0), Arrays.asList(3.0)))
+                .append("ids", Arrays.asList(new ObjectId(), new ObjectId()))
+                .append("documents",
+                        Arrays.asList(new Document("a", 1), new Document("a", 2).append("b", "merged"),
+                                new Document("c", new Document("d", true))));
+
+        final Record record = assertSameAsDocumentConversion(document);
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(record.getArray(String.class, "strings")));
+        assertEquals(3, record.getArray(Record.class, "documents").size());
+    }
+
+    @Test
+    void schemaIsReusedForSameStructure() {
+        final Record first = decode(new Document("name", "a").append("tags", Arrays.asList("x")));
+        final Record second = decode(new Document("name", "b").append("tags", Arrays.asList("y", "z")));
+        final Record other = decode(new Document("name", "c").append("tags", Arrays.asList(1)));
+
+        assertSame(first.getSchema(), second.getSchema());
+        assertNotSame(first.getSchema(), other.getSchema());
+        assertEquals("b", second.getString("name"));
+        assertEquals(Arrays.asList("y", "z"), new ArrayList<>(second.getArray(String.class, "tags")));
+    }
+
+    @Test
+    void fieldOrderIsPartOfTheSchema() {
+        final Record first = assertSameAsDocumentConversion(new Document("a", 1).append("b", "x"));
+        final Record second = assertSameAsDocumentConversion(new Document("b", "y").append("a", 2));
+
+        assertNotSame(first.getSchema(), second.getSchema());
+        assertEquals(2, second.getInt("a"));
+    }
+
+    /**
+     * Decodes the document with the codec and checks the record is the one built from the decoded document.
+     */
+    private Record assertSameAsDocumentConversion(final Document document) {
+        final byte[] bson = encode(document);
+        final Document decoded = new DocumentCodec(registry)
+                .decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+        final Record expected = new DocumentToRecord(recordBuilderFactory).toRecord(decoded);
+
+        final Record actual =
+                codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+
+        assertRecordEquals(expected, actual);
+        return actual;
+    }
+
+    private Record decode(final Document document) {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(encode(document))), DecoderContext.builder().build());
+    }
+
+    private byte[] encode(final Document document) {
+        final BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new DocumentCodec(registry).encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    private static void assertRecordEquals(final Record expected, final Record actual) {
+        assertSchemaEquals(expected.getSchema(), actual.getSchema());
+        for (Schema.Entry entry : expected.getSchema().getEntries()) {
+            assertValueEquals(expected.get(Object.class, entry.getName()), actual.get(Object.class, entry.getName()));
+        }
+    }
+
+    private static void assertSchemaEquals(final Schema expected, final Schema actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.getType(), actual.getType());
+        assertSchemaEquals(expected.getElementSchema(), actual.getElementSchema());
+        assertEquals(expected.getEntries().size(), actual.getEntries().size());
+        for (int i = 0; i < expected.getEntries().size(); i++) {
+            final Schema.Entry expectedEntry = expected.getEntries().get(i);
+            final Schema.Entry actualEntry = actual.getEntries().get(i);
+            assertEquals(expectedEntry.getName(), actualEntry.getName());
+            assertEquals(expectedEntry.getType(), actualEntry.getType());
+            assertEquals(expectedEntry.isNullable(), actualEntry.isNullable());
+            assertEquals(expectedEntry.getComment(), actualEntry.getComment());
+            assertSchemaEquals(expectedEntry.getElementSchema(), actualEntry.getElementSchema());
+        }
+    }
+
+    private static void assertValueEquals(final Object expected, final Object actual) {
+        if (expected instanceof Record) {
+            assertTrue(actual instanceof Record);
+            assertRecordEquals((Record) expected, (Record) actual);
+        } else if (expected instanceof Collection) {
+            assertTrue(actual instanceof Collection);
+            assertEquals(((Collection<?>) expected).size(), ((Collection<?>) actual).size());
+            final Iterator<?> actualValues = ((Collection<?>) actual).iterator();
+            for (Object value : (Collection<?>) expected) {
+                assertValueEquals(value, actualValues.next());
+            }
+        } else if (expected instanceof byte[]) {
+            assertArrayEquals((byte[]) expected, (byte[]) actual);
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+}
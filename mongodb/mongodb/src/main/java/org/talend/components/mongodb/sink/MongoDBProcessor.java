@@ -34,11 +34,11 @@ import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.processor.*;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import java.util.ArrayList;
-import java.util.List;
 
 import static com.mongodb.WriteConcern.*;
 
@@ -55,15 +55,20 @@ public class MongoDBProcessor extends MongoCommonOutput {
 
     private final MongoDBService service;
 
+    private final RecordBuilderFactory recordBuilderFactory;
+
     private transient MongoClient client;
 
     private transient MongoCollection<Document> collection;
 
+    private transient PipelinedBulkWriter bulkWriter;
+
     public MongoDBProcessor(@Option("configuration") final MongoDBSinkConfiguration configuration,
-            final MongoDBService service,
+            final MongoDBService service, final RecordBuilderFactory recordBuilderFactory,
             final I18nMessage i18n) {
         super.configuration = this.configuration = configuration;
         this.service = service;
+        this.recordBuilderFactory = recordBuilderFactory;
         this.i18n = i18n;
     }
 
@@ -132,30 +137,52 @@ public class MongoDBProcessor extends MongoCommonOutput {
             }
         }
 
-        writeModels = new ArrayList<>();
-    }
-
-    private transient List<WriteModel<Document>> writeModels;
-
-    @BeforeGroup
-    public void beforeGroup() {
-        if (!configuration.isBulkWrite()) {
-            return;
+        if (configuration.isBulkWrite()) {
+            boolean ordered = configuration.getBulkWriteType() == BulkWriteType.ORDERED;
+            bulkWriter = new PipelinedBulkWriter(collection, ordered, configuration.getBulkSize(),
+                    configuration.getBulkMaxSize() * 1024L * 1024L, configuration.getMaxInFlightBulkWrites());
         }
-        writeModels.clear();
     }
 
     @AfterGroup
-    public void afterGroup() {
+    public void afterGroup(@Output("reject") final OutputEmitter<Record> reject) {
         if (!configuration.isBulkWrite()) {
             return;
         }
-        if (writeModels != null && !writeModels.isEmpty()) {
-            boolean ordered = configuration.getBulkWriteType() == BulkWriteType.ORDERED;
-            collection.bulkWrite(writeModels, new BulkWriteOptions().ordered(ordered));
+        bulkWriter.flush();
+        emitRejects(reject);
+    }
+
+    private void emitRejects(final OutputEmitter<Record> reject) {
+        for (PipelinedBulkWriter.Reject r : bulkWriter.pollRejects()) {
+            log.debug("[emitRejects] {}", r.getMessage());
+            reject.emit(toRejectRecord(r));
         }
     }
 
+    private Record toRejectRecord(PipelinedBulkWriter.Reject r) {
+        Schema schema = recordBuilderFactory
+                .newSchemaBuilder(r.getRecord().getSchema())
+                .withEntry(recordBuilderFactory
+                        .newEntryBuilder()
+                        .withName("errorCode")
+                        .withType(Schema.Type.INT)
+                        .withNullable(true)
+                        .build())
+                .withEntry(recordBuilderFactory
+                        .newEntryBuilder()
+                        .withName("errorMessage")
+                        .withType(Schema.Type.STRING)
+                        .withNullable(true)
+                        .build())
+                .build();
+        return recordBuilderFactory
+                .newRecordBuilder(schema, r.getRecord())
+                .withInt("errorCode", r.getCode())
+                .withString("errorMessage", r.getMessage())
+                .build();
+    }
+
     private class DocumentGenerator {
 
         private Document document;
@@ -215,7 +242,14 @@ public class MongoDBProcessor extends MongoCommonOutput {
     }
 
     @ElementListener
-    public void onNext(@Input final Record rec) {
+    public void onNext(@Input final Record rec, @Output("reject") final OutputEmitter<Record> reject) {
+        write(rec);
+        if (configuration.isBulkWrite()) {
+            emitRejects(reject);
+        }
+    }
+
+    private void write(final Record rec) {
         if (configuration.getDataset().getMode() == Mode.TEXT) {
             // we store the whole document here as a string
             String uniqueFieldName = rec.getSchema().getEntries().get(0).getName();
@@ -258,11 +292,11 @@ public class MongoDBProcessor extends MongoCommonOutput {
         }
     }
 
-    private void doDataAction(@Input Record rec, Document document) {
+    private void doDataAction(Record rec, Document document) {
         switch (configuration.getDataAction()) {
         case INSERT:
             if (configuration.isBulkWrite()) {
-                writeModels.add(new InsertOneModel(document));
+                bulkWriter.add(new InsertOneModel<>(document), rec, document);
             } else {
                 collection.insertOne(document);
             }
@@ -270,17 +304,17 @@ public class MongoDBProcessor extends MongoCommonOutput {
         case SET:
             if (configuration.isBulkWrite()) {
                 if (configuration.isUpdateAllDocuments()) {
-                    writeModels
+                    bulkWriter
                             .add(new UpdateManyModel<>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             rec, document),
-                                    new Document("$set", document)));
+                                    new Document("$set", document)), rec, document);
                 } else {
-                    writeModels
+                    bulkWriter
                             .add(new UpdateOneModel<>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             rec, document),
-                                    new Document("$set", document)));
+                                    new Document("$set", document)), rec, document);
                 }
             } else {
                 if (configuration.isUpdateAllDocuments()) {
@@ -311,17 +345,19 @@ public class MongoDBProcessor extends MongoCommonOutput {
             // TODO show a more clear exception here
             if (configuration.isBulkWrite()) {
                 if (configuration.isUpdateAllDocuments()) {
-                    writeModels
+                    bulkWriter
                             .add(new UpdateManyModel<>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             rec, document),
-                                    new Document("$set", document), new UpdateOptions().upsert(true)));
+                                    new Document("$set", document), new UpdateOptions().upsert(true)), rec,
+                                    document);
                 } else {
-                    writeModels
+                    bulkWriter
                             .add(new UpdateOneModel<>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             rec, document),
-                                    new Document("$set", document), new UpdateOptions().upsert(true)));
+                                    new Document("$set", document), new UpdateOptions().upsert(true)), rec,
+                                    document);
                 }
             } else {
                 if (configuration.isUpdateAllDocuments()) {
@@ -344,6 +380,9 @@ public class MongoDBProcessor extends MongoCommonOutput {
 
     @PreDestroy
     public void release() {
+        if (bulkWriter != null) {
+            bulkWriter.close();
+        }
         service.closeClient(client);
     }
 
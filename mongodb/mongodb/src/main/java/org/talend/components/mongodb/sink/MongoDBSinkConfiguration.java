@@ -22,6 +22,7 @@ import org.talend.components.mongodb.dataset.MongoDBReadAndWriteDataSet;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -36,7 +37,8 @@ import java.util.List;
         @GridLayout.Row({ "writeConcern" }), //
         @GridLayout.Row({ "bulkWrite" }), @GridLayout.Row({ "bulkWriteType" }), @GridLayout.Row({ "dataAction" }),
         @GridLayout.Row({ "keyMappings" }), @GridLayout.Row({ "updateAllDocuments" }) }),
-        @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }) }) })
+        @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }),
+                @GridLayout.Row({ "bulkSize", "bulkMaxSize" }), @GridLayout.Row({ "maxInFlightBulkWrites" }) }) })
 @Documentation("MongoDB sink configuration")
 public class MongoDBSinkConfiguration implements MongoCommonOutputConfiguration {
 
@@ -62,6 +64,25 @@ public class MongoDBSinkConfiguration implements MongoCommonOutputConfiguration
     @Documentation("Bulk load type")
     private BulkWriteType bulkWriteType = BulkWriteType.UNORDERED;
 
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @Documentation("Maximum number of documents of a bulk write")
+    private int bulkSize = 1000;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @Documentation("Maximum approximate size of the documents of a bulk write (in MB)")
+    private int bulkMaxSize = 16;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @ActiveIf(target = "bulkWriteType", value = "UNORDERED")
+    @Documentation("Maximum number of unordered bulk writes sent at the same time")
+    private int maxInFlightBulkWrites = 4;
+
     @Option
     @Documentation("Data action")
     private DataAction dataAction = DataAction.INSERT;
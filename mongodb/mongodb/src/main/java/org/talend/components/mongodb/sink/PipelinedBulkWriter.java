@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.sink;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.WriteModel;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.talend.sdk.component.api.record.Record;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk writes bounded by document count and approximate size, several unordered bulk writes in flight.
+ *
+ * Models are gathered until {@code maxCount} documents or {@code maxBytes} are reached, then the bulk write is sent by
+ * a background thread while the caller goes on with the next one. At most {@code maxInFlight} bulk writes are pending,
+ * ordered bulk writes are sent one at a time to keep the order. Write errors of an unordered bulk write are
+ * returned as {@link Reject}, other failures are rethrown to the caller.
+ */
+@Slf4j
+class PipelinedBulkWriter implements AutoCloseable {
+
+    private final MongoCollection<Document> collection;
+
+    private final BulkWriteOptions options;
+
+    private final int maxCount;
+
+    private final long maxBytes;
+
+    private final int maxInFlight;
+
+    private final Semaphore inFlight;
+
+    private final ExecutorService executor;
+
+    private final Queue<Reject> rejects = new ConcurrentLinkedQueue<>();
+
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private List<WriteModel<Document>> models = new ArrayList<>();
+
+    private List<Record> records = new ArrayList<>();
+
+    private long bytes;
+
+    PipelinedBulkWriter(MongoCollection<Document> collection, boolean ordered, int maxCount, long maxBytes,
+            int maxInFlight) {
+        this.collection = collection;
+        this.options = new BulkWriteOptions().ordered(ordered);
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+        this.maxInFlight = ordered ? 1 : Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.maxInFlight, r -> {
+            Thread thread = new Thread(r, "mongodb-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Add the model of a record, sending the current bulk write when it is full.
+     */
+    void add(WriteModel<Document> model, Record rec, Document document) {
+        checkFailure();
+        models.add(model);
+        records.add(rec);
+        bytes += estimateSize(document);
+        if (models.size() >= maxCount || bytes >= maxBytes) {
+            send();
+        }
+    }
+
+    /**
+     * Send the current bulk write and wait for all the pending ones.
+     */
+    void flush() {
+        send();
+        try {
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bulk writes", e);
+        }
+        checkFailure();
+    }
+
+    /**
+     * @return rejects of the bulk writes done since the last call.
+     */
+    List<Reject> pollRejects() {
+        List<Reject> result = new ArrayList<>();
+        Reject reject;
+        while ((reject = rejects.poll()) != null) {
+            result.add(reject);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void send() {
+        if (models.isEmpty()) {
+            return;
+        }
+        final List<WriteModel<Document>> batch = models;
+        final List<Record> batchRecords = records;
+        models = new ArrayList<>();
+        records = new ArrayList<>();
+        bytes = 0;
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bulk writes", e);
+        }
+        executor.execute(() -> {
+            try {
+                collection.bulkWrite(batch, options);
+            } catch (MongoBulkWriteException e) {
+                if (options.isOrdered() || e.getWriteConcernError() != null) {
+                    // ordered bulk writes stop at the first error, the following models are not done
+                    failure.compareAndSet(null, e);
+                    return;
+                }
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    rejects.add(new Reject(batchRecords.get(error.getIndex()), error.getCode(), error.getMessage()));
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void checkFailure() {
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Approximate bson size of a document value, to bound bulk writes without encoding documents twice.
+     */
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 1;
+        } else if (value instanceof String) {
+            return 5 + ((String) value).length();
+        } else if (value instanceof Map) {
+            long size = 5;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 2 + String.valueOf(entry.getKey()).length() + estimateSize(entry.getValue());
+            }
+            return size;
+        } else if (value instanceof Collection) {
+            long size = 5;
+            for (Object element : (Collection<?>) value) {
+                size += 3 + estimateSize(element);
+            }
+            return size;
+        } else if (value instanceof byte[]) {
+            return 5 + ((byte[]) value).length;
+        }
+        return 8;
+    }
+
+    @Value
+    static class Reject {
+
+        Record record;
+
+        int code;
+
+        String message;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.source;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.talend.components.common.stream.input.json.JsonToRecord;
+import org.talend.components.extension.polling.api.Pollable;
+import org.talend.components.mongo.Mode;
+import org.talend.components.mongo.dataset.MongoCommonDataSet;
+import org.talend.components.mongo.datastore.MongoCommonDataStore;
+import org.talend.components.mongo.service.DocumentToRecord;
+import org.talend.components.mongo.source.MongoCommonInput;
+import org.talend.components.mongodb.service.MongoDBService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emit the insert, update, replace and delete events of a collection from its change stream.
+ *
+ * Every record contains the resume token of its event, give the last processed one as
+ * {@link MongoDBChangeStreamSourceConfiguration#getResumeToken()} to restart the stream after it. When polled, the
+ * stream is kept open between two polls and reopened after the last seen token when the cursor was lost.
+ *
+ * Drop and rename events are filtered out. When the collection is dropped or renamed the stream is invalidated: it is
+ * then restarted after the invalidate event, and follows a new collection created with the same name.
+ */
+@Slf4j
+@Version(1)
+@Icon(value = Icon.IconType.CUSTOM, custom = "mongo_db-connector")
+@Emitter(name = "ChangeStreamSource")
+@Pollable(name = "ChangeStreamPolling", resumeMethod = "resume")
+@Documentation("MongoDB Source reading the changes of a collection")
+public class MongoDBChangeStreamInput extends MongoCommonInput {
+
+    public static final String OPERATION_TYPE = "operationType";
+
+    public static final String RESUME_TOKEN = "resumeToken";
+
+    public static final String DOCUMENT_KEY = "documentKey";
+
+    public static final String CLUSTER_TIME = "clusterTime";
+
+    public static final String FULL_DOCUMENT = "fullDocument";
+
+    public static final String UPDATED_FIELDS = "updatedFields";
+
+    public static final String REMOVED_FIELDS = "removedFields";
+
+    private static final JsonWriterSettings JSON_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final MongoDBChangeStreamSourceConfiguration configuration;
+
+    private transient MongoClient client;
+
+    private transient MongoCollection<Document> collection;
+
+    private transient MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    /** token of the last returned event, or of the last empty batch. */
+    private transient BsonDocument lastResumeToken;
+
+    /** the last token is an invalidate event, the stream can only be started after it, not resumed. */
+    private transient boolean invalidated;
+
+    public MongoDBChangeStreamInput(@Option("configuration") final MongoDBChangeStreamSourceConfiguration configuration,
+            final MongoDBService service, final RecordBuilderFactory builderFactory) {
+        super.configuration = this.configuration = configuration;
+        super.service = service;
+        this.builderFactory = builderFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        jsonToRecord = new JsonToRecord(this.builderFactory);
+        documentToRecord = new DocumentToRecord(this.builderFactory);
+
+        String token = configuration.getResumeToken();
+        if (token != null && !token.trim().isEmpty()) {
+            lastResumeToken = BsonDocument.parse(token);
+        }
+
+        MongoCommonDataSet dataset = configuration.getDataset();
+        MongoCommonDataStore datastore = dataset.getDatastore();
+        client = service.createClient(datastore);
+        collection = client.getDatabase(datastore.getDatabase()).getCollection(dataset.getCollection());
+    }
+
+    /**
+     * Called by the polling before each read, reopen the stream if it was closed.
+     */
+    public void resume(Object configuration) {
+        if (cursor == null) {
+            openCursor();
+        }
+    }
+
+    @Producer
+    public Record next() {
+        if (cursor == null) {
+            openCursor();
+        }
+
+        // waits up to maxAwaitTime for a batch, so a quiet collection ends the read
+        ChangeStreamDocument<Document> event;
+        try {
+            event = cursor.tryNext();
+        } catch (RuntimeException e) {
+            closeCursor();
+            throw e;
+        }
+        if (event == null) {
+            // keep the post batch token, no need to scan again the oplog already seen
+            if (cursor.getResumeToken() != null) {
+                lastResumeToken = cursor.getResumeToken();
+            }
+            return null;
+        }
+
+        lastResumeToken = event.getResumeToken();
+        if (event.getOperationType() == OperationType.INVALIDATE) {
+            // collection dropped or renamed, the server closes the cursor: it is started again after this event
+            log.info("Change stream of {} invalidated.", configuration.getDataset().getCollection());
+            invalidated = true;
+            closeCursor();
+            return null;
+        }
+        return toRecord(event);
+    }
+
+    private void openCursor() {
+        ChangeStreamIterable<Document> watch = collection
+                .watch(Collections
+                        .singletonList(Aggregates
+                                .match(Filters.in(OPERATION_TYPE, "insert", "update", "replace", "delete"))))
+                .batchSize(configuration.getBatchSize())
+                .maxAwaitTime(configuration.getMaxAwaitTime(), TimeUnit.MILLISECONDS);
+        if (configuration.isFullDocumentLookup()) {
+            watch = watch.fullDocument(FullDocument.UPDATE_LOOKUP);
+        }
+        if (lastResumeToken != null && invalidated) {
+            watch = watch.startAfter(lastResumeToken);
+        } else if (lastResumeToken != null) {
+            watch = watch.resumeAfter(lastResumeToken);
+        }
+        cursor = watch.cursor();
+        invalidated = false;
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (RuntimeException e) {
+                log.debug("[closeCursor] {}", e.getMessage());
+            }
+            cursor = null;
+        }
+    }
+
+    private Record toRecord(ChangeStreamDocument<Document> event) {
+        Record.Builder builder = builderFactory.newRecordBuilder();
+        builder.withString(OPERATION_TYPE, event.getOperationTypeString());
+        builder.withString(RESUME_TOKEN, event.getResumeToken().toJson(JSON_SETTINGS));
+        if (event.getDocumentKey() != null) {
+            builder.withString(DOCUMENT_KEY, event.getDocumentKey().toJson(JSON_SETTINGS));
+        }
+        BsonTimestamp clusterTime = event.getClusterTime();
+        if (clusterTime != null) {
+            builder.withDateTime(CLUSTER_TIME, new Date(clusterTime.getTime() * 1000L));
+        }
+
+        Document fullDocument = event.getFullDocument();
+        if (fullDocument != null) {
+            if (configuration.getDataset().getMode() == Mode.TEXT) {
+                builder.withString(FULL_DOCUMENT, document2Json(fullDocument));
+            } else {
+                builder.withRecord(FULL_DOCUMENT, documentToRecord.toRecord(fullDocument));
+            }
+        }
+
+        if (event.getUpdateDescription() != null) {
+            BsonDocument updatedFields = event.getUpdateDescription().getUpdatedFields();
+            if (updatedFields != null) {
+                builder.withString(UPDATED_FIELDS, updatedFields.toJson(JSON_SETTINGS));
+            }
+            List<String> removedFields = event.getUpdateDescription().getRemovedFields();
+            builder
+                    .withArray(builderFactory
+                            .newEntryBuilder()
+                            .withName(REMOVED_FIELDS)
+                            .withType(Schema.Type.ARRAY)
+                            .withNullable(true)
+                            .withElementSchema(builderFactory.newSchemaBuilder(Schema.Type.STRING).build())
+                            .build(), removedFields == null ? Collections.emptyList() : removedFields);
+        }
+        return builder.build();
+    }
+
+    @PreDestroy
+    public void release() {
+        closeCursor();
+        service.closeClient(client);
+    }
+}
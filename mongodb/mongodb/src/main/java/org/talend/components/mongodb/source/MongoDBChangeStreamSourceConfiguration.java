@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.source;
+
+import lombok.Data;
+import org.talend.components.mongo.dataset.MongoCommonDataSet;
+import org.talend.components.mongo.source.MongoCommonSourceConfiguration;
+import org.talend.components.mongodb.dataset.MongoDBReadAndWriteDataSet;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
+import org.talend.sdk.component.api.configuration.ui.widget.Code;
+import org.talend.sdk.component.api.meta.Documentation;
+
+@Version(1)
+@Data
+@GridLayouts({ @GridLayout({ @GridLayout.Row({ "dataset" }) }),
+        @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }),
+                @GridLayout.Row({ "fullDocumentLookup" }), @GridLayout.Row({ "resumeToken" }),
+                @GridLayout.Row({ "batchSize", "maxAwaitTime" }) }) })
+@Documentation("MongoDB change stream Source Configuration")
+public class MongoDBChangeStreamSourceConfiguration implements MongoCommonSourceConfiguration {
+
+    @Option
+    @Documentation("dataset")
+    private MongoDBReadAndWriteDataSet dataset;
+
+    @Option
+    @Documentation("Return the current version of the whole document with update events, not only the changed fields")
+    private boolean fullDocumentLookup = true;
+
+    @Option
+    @Code("json")
+    @Documentation("Resume token of the last processed event, the stream starts after it. Empty to start from now")
+    private String resumeToken;
+
+    @Option
+    @Min(1)
+    @Documentation("Number of events returned by each request to the server")
+    private int batchSize = 100;
+
+    @Option
+    @Min(1)
+    @Documentation("Maximum time to wait for new events on each request to the server (in ms)")
+    private long maxAwaitTime = 1000;
+
+    private Long sampleLimit = -1L;
+
+    public void setDataset(MongoCommonDataSet dataset) {
+        this.dataset = (MongoDBReadAndWriteDataSet) dataset;
+    }
+
+}
@@ -59,16 +59,16 @@ public class MongoDBQueryMapper implements Serializable {
 
     @Assessor
     public long estimateSize() {
-        if (!SplitUtil.isSplit(configuration.getDataset().getQuery(), configuration.getSampleLimit())) {
+        if (!SplitUtil.isSplit(configuration.getSampleLimit())) {
             return 1l;
         }
 
-        return SplitUtil.getEstimatedSizeBytes(configuration, service);
+        return SplitUtil.getEstimatedSizeBytes(configuration, service, configuration.getDataset().getQuery());
     }
 
     @Split
     public List<MongoDBQueryMapper> split(@PartitionSize final long bundles) {
-        if (!SplitUtil.isSplit(configuration.getDataset().getQuery(), configuration.getSampleLimit())) {
+        if (!SplitUtil.isSplit(configuration.getSampleLimit())) {
             return singletonList(this);
         }
 
@@ -81,7 +81,9 @@ public class MongoDBQueryMapper implements Serializable {
         log.info("split number : " + splitCount + ",  the size of every split from platform : " + bundles);
 
         if (splitCount > 1) {
-            List<String> queries4Split = SplitUtil.getQueries4Split(configuration, service, splitCount);
+            // split queries already contain the user query
+            List<String> queries4Split = SplitUtil
+                    .getQueries4Split(configuration, service, splitCount, configuration.getDataset().getQuery());
             if (queries4Split == null || queries4Split.size() < 2) {
                 return singletonList(this);
             }
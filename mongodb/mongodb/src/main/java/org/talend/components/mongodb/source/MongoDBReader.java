@@ -19,11 +19,14 @@ import com.mongodb.client.MongoDatabase;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.BsonDocument;
 import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.components.common.stream.input.json.JsonToRecord;
+import org.talend.components.mongo.Mode;
 import org.talend.components.mongo.dataset.MongoCommonDataSet;
 import org.talend.components.mongo.datastore.MongoCommonDataStore;
+import org.talend.components.mongo.service.BsonToRecordCodec;
 import org.talend.components.mongo.service.DocumentToRecord;
 import org.talend.components.mongo.source.MongoCommonInput;
 import org.talend.components.mongo.source.MongoCommonSourceConfiguration;
@@ -66,7 +69,7 @@ public class MongoDBReader extends MongoCommonInput {
         this.query4Split = query4Split;
     }
 
-    Iterator<Document> iterator = null;
+    Iterator<?> iterator = null;
 
     @PostConstruct
     public void init() {
@@ -79,10 +82,21 @@ public class MongoDBReader extends MongoCommonInput {
         MongoDatabase database = client.getDatabase(datastore.getDatabase());
         MongoCollection<Document> collection = database.getCollection(dataset.getCollection());
 
-        iterator = fetchData(dataset, collection);
+        if (dataset.getMode() == Mode.TEXT) {
+            iterator = fetchData(dataset, collection);
+        } else {
+            // decode bson from the cursor straight to records, no intermediate Document
+            BsonToRecordCodec codec = new BsonToRecordCodec(this.builderFactory, collection.getCodecRegistry());
+            iterator = fetchData(dataset,
+                    collection
+                            .withDocumentClass(Record.class)
+                            .withCodecRegistry(CodecRegistries
+                                    .fromRegistries(CodecRegistries.fromCodecs(codec),
+                                            collection.getCodecRegistry())));
+        }
     }
 
-    private Iterator<Document> fetchData(MongoCommonDataSet dataset, MongoCollection<Document> collection) {
+    private <T> Iterator<T> fetchData(MongoCommonDataSet dataset, MongoCollection<T> collection) {
         if (query4Split != null) {
             log.info("query for mongodb split : " + query4Split);
             return collection.find(service.getBsonDocument(query4Split)).iterator();
@@ -92,13 +106,13 @@ public class MongoDBReader extends MongoCommonInput {
         if (dataset instanceof MongoDBReadDataSet) {
             // return fetchData((MongoDBReadDataSet) dataset, collection);
             BsonDocument query = service.getBsonDocument(((MongoDBReadDataSet) dataset).getQuery());
-            FindIterable<Document> fi = collection.find(query);
+            FindIterable<T> fi = collection.find(query);
             if (sampleLimit != null && sampleLimit > 0) {
                 fi = fi.limit(sampleLimit.intValue());
             }
             return fi.iterator();
         } else {
-            FindIterable<Document> fi = collection.find();
+            FindIterable<T> fi = collection.find();
             if (sampleLimit != null && sampleLimit > 0) {
                 fi = fi.limit(sampleLimit.intValue());
             }
@@ -141,8 +155,8 @@ public class MongoDBReader extends MongoCommonInput {
     @Producer
     public Record next() {
         if (iterator.hasNext()) {
-            Document document = iterator.next();
-            return doConvert(document);
+            Object next = iterator.next();
+            return next instanceof Record ? (Record) next : doConvert((Document) next);
         }
         return null;
     }
@@ -35,6 +35,8 @@ import org.talend.components.mongodb.dataset.MongoDBReadDataSet;
 import org.talend.components.mongodb.datastore.MongoDBDataStore;
 import org.talend.components.mongodb.service.MongoDBService;
 import org.talend.components.mongodb.sink.MongoDBSinkConfiguration;
+import org.talend.components.mongodb.source.MongoDBChangeStreamInput;
+import org.talend.components.mongodb.source.MongoDBChangeStreamSourceConfiguration;
 import org.talend.components.mongodb.source.MongoDBCollectionSourceConfiguration;
 import org.talend.components.mongodb.source.MongoDBQuerySourceConfiguration;
 import org.talend.sdk.component.api.record.Record;
@@ -57,6 +59,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.talend.components.mongo.AddressType.REPLICA_SET;
 import static org.talend.components.mongo.AuthMech.SCRAM_SHA_256_SASL;
@@ -450,6 +453,49 @@ public class MongoDBTest {
         Assertions.assertEquals(10, res.size());
     }
 
+    @Test
+    void testSinkBulkWriteRejects() {
+        MongoDBReadAndWriteDataSet dataset = getMongoDBReadAndWriteDataSet("sinkbulkreject");
+        dataset.setMode(Mode.JSON);
+
+        // the first 5 documents already exist
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("sinkbulkreject");
+        for (int i = 1; i < 6; i++) {
+            collection.insertOne(new Document("_id", i));
+        }
+
+        MongoDBSinkConfiguration config = new MongoDBSinkConfiguration();
+        config.setDataset(dataset);
+        config.setBulkWrite(true);
+        config.setBulkWriteType(BulkWriteType.UNORDERED);
+        config.setBulkSize(3);
+        config.setMaxInFlightBulkWrites(2);
+
+        componentsHandler.setInputData(getDuplicatedKeyTestData());
+        final String sinkConfig =
+                SimpleFactory.configurationByExample().forInstance(config).configured().toQueryString();
+        Job
+                .components()
+                .component("emitter", "test://emitter")
+                .component("MongoDB_Sink", "MongoDB://Sink?" + sinkConfig)
+                .component("collector", "test://collector")
+                .connections()
+                .from("emitter")
+                .to("MongoDB_Sink")
+                .from("MongoDB_Sink", "reject")
+                .to("collector")
+                .build()
+                .run();
+
+        List<Record> rejects = componentsHandler.getCollectedData(Record.class);
+        Assertions.assertEquals(5, rejects.size());
+        Assertions.assertTrue(rejects.stream().allMatch(r -> r.getInt("errorCode") == 11000));
+        Assertions
+                .assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5)),
+                        rejects.stream().map(r -> r.getInt("_id")).collect(Collectors.toSet()));
+        Assertions.assertEquals(10, collection.countDocuments());
+    }
+
     @Test
     void testUpdate() {
         MongoDBReadAndWriteDataSet dataset = getMongoDBReadAndWriteDataSet("sinkupdate");
@@ -911,6 +957,112 @@ public class MongoDBTest {
         Assertions.assertEquals(5, result.size());
     }
 
+    @Test
+    void testSplitWithQuery() {
+        MongoDBReadDataSet source_dataset = getMongoDBDataSet("basic");
+        source_dataset.setMode(Mode.JSON);
+        source_dataset.setQuery("{score : 100, id : {$gt : 2}}");
+        MongoDBQuerySourceConfiguration source_config = new MongoDBQuerySourceConfiguration();
+        source_config.setDataset(source_dataset);
+
+        MongoDBService service = new MongoDBService();
+        List<String> result = SplitUtil.getQueries4Split(source_config, service, 4, source_dataset.getQuery());
+        Assertions.assertEquals(4, result.size());
+
+        // every split keeps the user query, and together they read the filtered documents once
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("basic");
+        long total = 0;
+        for (String query : result) {
+            total += collection.countDocuments(service.getBsonDocument(query));
+        }
+        Assertions.assertEquals(8, total);
+    }
+
+    @Test
+    void testChangeStream() {
+        MongoDBChangeStreamSourceConfiguration config = new MongoDBChangeStreamSourceConfiguration();
+        config.setDataset(getMongoDBReadAndWriteDataSet("changestream"));
+        config.setMaxAwaitTime(200);
+
+        MongoDBChangeStreamInput input = new MongoDBChangeStreamInput(config, mongoDBService, recordBuilderFactory);
+        input.init();
+        input.resume(null);
+
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("changestream");
+        collection.insertOne(new Document("_id", 1).append("name", "Wang Wei"));
+        collection.updateOne(new Document("_id", 1), new Document("$set", new Document("name", "Peng Yu")));
+        collection.deleteOne(new Document("_id", 1));
+
+        List<Record> events = readEvents(input, 3);
+        input.release();
+
+        Assertions.assertEquals(Arrays.asList("insert", "update", "delete"),
+                events
+                        .stream()
+                        .map(r -> r.getString(MongoDBChangeStreamInput.OPERATION_TYPE))
+                        .collect(Collectors.toList()));
+        Assertions.assertEquals("Wang Wei",
+                events.get(0).getRecord(MongoDBChangeStreamInput.FULL_DOCUMENT).getString("name"));
+        Assertions.assertEquals("Peng Yu",
+                events.get(1).getRecord(MongoDBChangeStreamInput.FULL_DOCUMENT).getString("name"));
+        Assertions.assertFalse(events.get(2).getOptionalRecord(MongoDBChangeStreamInput.FULL_DOCUMENT).isPresent());
+
+        // restart after the first event
+        config.setResumeToken(events.get(0).getString(MongoDBChangeStreamInput.RESUME_TOKEN));
+        MongoDBChangeStreamInput resumed = new MongoDBChangeStreamInput(config, mongoDBService, recordBuilderFactory);
+        resumed.init();
+        List<Record> resumedEvents = readEvents(resumed, 2);
+        resumed.release();
+
+        Assertions.assertEquals("update", resumedEvents.get(0).getString(MongoDBChangeStreamInput.OPERATION_TYPE));
+        Assertions.assertEquals("delete", resumedEvents.get(1).getString(MongoDBChangeStreamInput.OPERATION_TYPE));
+    }
+
+    @Test
+    void testChangeStreamOfDroppedCollection() {
+        MongoDBChangeStreamSourceConfiguration config = new MongoDBChangeStreamSourceConfiguration();
+        config.setDataset(getMongoDBReadAndWriteDataSet("changestreamdropped"));
+        config.setMaxAwaitTime(200);
+
+        MongoDBChangeStreamInput input = new MongoDBChangeStreamInput(config, mongoDBService, recordBuilderFactory);
+        input.init();
+        input.resume(null);
+
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("changestreamdropped");
+        collection.insertOne(new Document("_id", 1).append("name", "Wang Wei"));
+        collection.drop();
+        // a new collection with the same name is followed after the invalidate event
+        collection.insertOne(new Document("_id", 2).append("name", "Peng Yu"));
+
+        List<Record> events = readEvents(input, 2);
+        input.release();
+
+        // neither the drop nor the invalidate events are emitted
+        Assertions.assertEquals(Arrays.asList("insert", "insert"),
+                events
+                        .stream()
+                        .map(r -> r.getString(MongoDBChangeStreamInput.OPERATION_TYPE))
+                        .collect(Collectors.toList()));
+        Assertions.assertEquals("Wang Wei",
+                events.get(0).getRecord(MongoDBChangeStreamInput.FULL_DOCUMENT).getString("name"));
+        Assertions.assertEquals("Peng Yu",
+                events.get(1).getRecord(MongoDBChangeStreamInput.FULL_DOCUMENT).getString("name"));
+        events.forEach(e -> Assertions.assertNotNull(e.getString(MongoDBChangeStreamInput.DOCUMENT_KEY)));
+    }
+
+    private List<Record> readEvents(MongoDBChangeStreamInput input, int expected) {
+        List<Record> events = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (events.size() < expected && System.currentTimeMillis() < deadline) {
+            Record event = input.next();
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        Assertions.assertEquals(expected, events.size());
+        return events;
+    }
+
     @Disabled
     @Test
     void testSplit2() {
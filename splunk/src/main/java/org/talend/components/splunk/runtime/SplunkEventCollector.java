@@ -13,23 +13,30 @@
 package org.talend.components.splunk.runtime;
 
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.PreDestroy;
 import javax.json.Json;
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
-import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
 
 import org.talend.components.common.httpclient.api.BodyFormat;
+import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.http.configuration.Dataset;
 import org.talend.components.http.configuration.Datastore;
 import org.talend.components.http.configuration.Param;
@@ -71,9 +78,33 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
 
     protected static final String RESPONSE_CODE_AFTER_VARIABLE_KEY = "RESPONSE_CODE";
 
+    private static final int SERVER_BUSY_STATUS = 503;
+
+    private static final long RETRY_BASE_DELAY_MILLIS = 1000L;
+
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(Collections.emptyMap());
+
     private final transient SplunkMessages splunkI18N;
 
-    private Collection<Record> bulk;
+    private final int maxBatchBytes;
+
+    private final int maxConcurrentBatches;
+
+    private final int maxRetries;
+
+    private transient StringBuilder batch;
+
+    private transient int batchBytes;
+
+    private transient StringWriter eventWriter;
+
+    private transient ExecutorService executor;
+
+    private transient Semaphore pendingBatches;
+
+    private transient AtomicReference<RuntimeException> failure;
+
+    private transient volatile HTTPClient.HTTPResponse lastResponse;
 
     @RuntimeContext
     private transient RuntimeContextHolder context;
@@ -82,6 +113,9 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
             final HTTPClientService client, final I18n i18n, final SplunkMessages splunkI18N) {
         super(config, client, i18n);
         this.splunkI18N = splunkI18N;
+        this.maxBatchBytes = config.getMaxBatchBytes();
+        this.maxConcurrentBatches = config.getMaxConcurrentBatches();
+        this.maxRetries = config.getMaxRetries();
     }
 
     @Override
@@ -112,60 +146,168 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
 
     @BeforeGroup
     public void startBulk() {
-        bulk = new ArrayList<>();
+        batch = new StringBuilder();
+        batchBytes = 0;
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(maxConcurrentBatches, r -> {
+                Thread thread = new Thread(r, "splunk-hec-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pendingBatches = new Semaphore(maxConcurrentBatches);
+            failure = new AtomicReference<>();
+            eventWriter = new StringWriter();
+        }
     }
 
+    /**
+     * Serialize the event right away, the current batch is sent first when the event would make it exceed
+     * the configured request size.
+     */
     @Override
     @ElementListener
     public void process(Record input) {
-        bulk.add(input);
+        checkFailure();
+        String event = convertRecordToJsonEvent(input);
+        int eventBytes = event.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+        if (batchBytes > 0 && batchBytes + eventBytes > maxBatchBytes) {
+            sendBatch();
+        }
+        batch.append(event).append(System.lineSeparator());
+        batchBytes += eventBytes;
     }
 
     @AfterGroup
     public void processBulk() {
-        StringBuilder bodyBuilder = new StringBuilder();
-        for (Record input : bulk) {
-            JsonObject jsonObject = convertRecordToJsonObjectBody(input);
-
-            bodyBuilder.append(jsonObject).append(System.lineSeparator());
-
+        if (batchBytes > 0) {
+            sendBatch();
         }
+        try {
+            // every permit back means every batch of the group got its response
+            pendingBatches.acquire(maxConcurrentBatches);
+            pendingBatches.release(maxConcurrentBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        }
+        checkFailure();
+    }
 
-        getConfig().getDataset().getBody().setJsonValue(bodyBuilder.toString());
-
+    /**
+     * Hand the current batch over to the executor, blocking while {@code maxConcurrentBatches} requests are already
+     * in flight so that pending bodies stay bounded in memory.
+     */
+    private void sendBatch() {
+        getConfig().getDataset().getBody().setJsonValue(batch.toString());
         // record content never used by HttpClientOutput with our configuration we prepared before, can pass null value
-        super.process(null);
+        final QueryConfiguration queryConfiguration = getClient().convertConfiguration(getConfig(), null);
+        batch.setLength(0);
+        batchBytes = 0;
 
         try {
-            handleResponse();
-        } catch (HTTPClientException e) {
-            throw new ComponentException(getI18n().cantReadResponsePayload(e.getMessage()), e);
+            pendingBatches.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (failure.get() == null) {
+                        handleResponse(invokeWithRetries(queryConfiguration));
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    pendingBatches.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingBatches.release();
+            throw e;
+        }
+    }
+
+    private HTTPClient.HTTPResponse invokeWithRetries(final QueryConfiguration queryConfiguration) {
+        try {
+            HTTPClient.HTTPResponse response = getClient().invoke(queryConfiguration, getConfig().isDieOnError());
+            for (int retry = 0; retry < maxRetries
+                    && response.getStatus().getCode() == SERVER_BUSY_STATUS; retry++) {
+                long delay = RETRY_BASE_DELAY_MILLIS << retry;
+                log.debug("[invokeWithRetries] Server is busy, retrying in {}ms.", delay);
+                TimeUnit.MILLISECONDS.sleep(delay);
+                response = getClient().invoke(queryConfiguration, getConfig().isDieOnError());
+            }
+            lastResponse = response;
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        } catch (ComponentException e) {
+            throw e;
+        } catch (Exception e) {
+            ComponentException ce = new ComponentException(ComponentException.ErrorOrigin.BACKEND,
+                    getI18n().httpClientException(String.valueOf(e.getClass()), e.getMessage()));
+            ce.setStackTrace(e.getStackTrace());
+            throw ce;
         }
+    }
 
+    private void checkFailure() {
+        RuntimeException e = failure.getAndSet(null);
+        if (e != null) {
+            throw e;
+        }
     }
 
-    private JsonObject convertRecordToJsonObjectBody(Record input) {
-        JsonObjectBuilder jsonObjectBuilder = Json.createObjectBuilder();
+    private String convertRecordToJsonEvent(Record input) {
+        eventWriter.getBuffer().setLength(0);
+        try (JsonGenerator generator = GENERATOR_FACTORY.createGenerator(eventWriter)) {
+            generator.writeStartObject();
 
-        JsonObjectBuilder eventObjectBuilder = Json.createObjectBuilder();
-        input.getSchema()
-                .getAllEntries()
-                .filter(entry -> !SplunkMetadataFields.isMetadataField(entry.getName()))
-                .forEach(entry -> putValueToJsonBuilder(eventObjectBuilder, entry.getName(), input));
+            if (input.getSchema()
+                    .getAllEntries()
+                    .anyMatch(entry -> !SplunkMetadataFields.isMetadataField(entry.getName())
+                            && hasEventValue(entry, input))) {
+                generator.writeStartObject("event");
+                input.getSchema()
+                        .getAllEntries()
+                        .filter(entry -> !SplunkMetadataFields.isMetadataField(entry.getName()))
+                        .forEach(entry -> putValueToJsonGenerator(generator, entry.getName(), input));
+                generator.writeEnd();
+            }
 
-        JsonObject eventObject = eventObjectBuilder.build();
-        if (!eventObject.isEmpty()) {
-            jsonObjectBuilder.add("event", eventObjectBuilder.build());
-        }
+            addMetadataIfPresent(generator, input);
 
-        addMetadataIfPresent(jsonObjectBuilder, input);
+            generator.writeEnd();
+        }
+        return eventWriter.toString();
+    }
 
-        return jsonObjectBuilder.build();
+    private boolean hasEventValue(Schema.Entry entry, Record input) {
+        if (input.get(Object.class, entry.getName()) == null) {
+            return false;
+        }
+        switch (entry.getType()) {
+        case STRING:
+        case INT:
+        case LONG:
+        case BOOLEAN:
+        case DOUBLE:
+        case FLOAT:
+        case BYTES:
+        case DATETIME:
+        case DECIMAL:
+            return true;
+        default:
+            return false;
+        }
     }
 
-    private void putValueToJsonBuilder(JsonObjectBuilder jsonObjectBuilder,
+    private void putValueToJsonGenerator(JsonGenerator generator,
             String jsonKey, Record input) {
-        if (jsonObjectBuilder == null ||
+        if (generator == null ||
                 jsonKey == null ||
                 input.get(Object.class, jsonKey) == null) {
             return;
@@ -175,51 +317,50 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
 
         switch (columnType) {
         case STRING:
-            jsonObjectBuilder.add(jsonKey, input.getString(jsonKey));
+            generator.write(jsonKey, input.getString(jsonKey));
             break;
         case INT:
-            jsonObjectBuilder.add(jsonKey, input.getInt(jsonKey));
+            generator.write(jsonKey, input.getInt(jsonKey));
             break;
         case LONG:
-            jsonObjectBuilder.add(jsonKey, input.getLong(jsonKey));
+            generator.write(jsonKey, input.getLong(jsonKey));
             break;
         case BOOLEAN:
-            jsonObjectBuilder.add(jsonKey, input.getBoolean(jsonKey));
+            generator.write(jsonKey, input.getBoolean(jsonKey));
             break;
         case DOUBLE:
         case FLOAT:
-            jsonObjectBuilder.add(jsonKey, input.getDouble(jsonKey));
+            generator.write(jsonKey, input.getDouble(jsonKey));
             break;
         case BYTES:
-            JsonArrayBuilder jsonArrayBuilder = Json.createArrayBuilder();
+            generator.writeStartArray(jsonKey);
             for (byte b : input.getBytes(jsonKey)) {
-                jsonArrayBuilder.add(b);
+                generator.write(b);
             }
-            jsonObjectBuilder.add(jsonKey, jsonArrayBuilder);
+            generator.writeEnd();
             break;
         case DATETIME:
             ZonedDateTime timeInRecord = input.getDateTime(jsonKey);
             if (timeInRecord != null) {
                 long secondsLongValue = timeInRecord.toEpochSecond();
-                jsonObjectBuilder.add(jsonKey, secondsLongValue);
+                generator.write(jsonKey, secondsLongValue);
             }
             break;
         case DECIMAL:
-            jsonObjectBuilder.add(jsonKey, input.getDecimal(jsonKey));
+            generator.write(jsonKey, input.getDecimal(jsonKey));
             break;
         }
     }
 
-    private void addMetadataIfPresent(JsonObjectBuilder parentJsonBuilder, Record input) {
-        for (Schema.Entry item : input.getSchema()
-                .getEntries()
-                .stream()
-                .filter(entry -> !entry.getName().equals(SplunkMetadataFields.TIME.getName()))
-                .filter(entry -> SplunkMetadataFields.isMetadataField(entry.getName()))
-                .collect(Collectors.toList())) {
+    private void addMetadataIfPresent(JsonGenerator generator, Record input) {
+        for (Schema.Entry item : input.getSchema().getEntries()) {
+            if (item.getName().equals(SplunkMetadataFields.TIME.getName())
+                    || !SplunkMetadataFields.isMetadataField(item.getName())) {
+                continue;
+            }
             String metadataValue = input.getString(item.getName());
             if (metadataValue != null) {
-                parentJsonBuilder.add(item.getName(), metadataValue);
+                generator.write(item.getName(), metadataValue);
             }
         }
         if (input.getSchema().getEntry(SplunkMetadataFields.TIME.getName()) != null &&
@@ -250,26 +391,29 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
             }
 
             double secondsDoubleValue = millisValue / 1000.0;
-            parentJsonBuilder.add(SplunkMetadataFields.TIME.getName(),
+            generator.write(SplunkMetadataFields.TIME.getName(),
                     String.format(Locale.ROOT, "%.3f", secondsDoubleValue));
         }
     }
 
-    private void handleResponse() throws HTTPClientException {
-
-        if (getLastServerResponse().getStatus().getCode() / 100 > 3) {
-            throw new ComponentException(getI18n().responseStatusIsNotOK(
-                    getLastServerResponse().getStatus().getCodeWithReason()
-                            + ": " + getLastServerResponse().getBodyAsString()));
-        } else {
-            log.debug("Response String:/r/n" + getLastServerResponse().getBodyAsString());
+    private void handleResponse(HTTPClient.HTTPResponse response) {
+        try {
+            if (response.getStatus().getCode() / 100 > 3) {
+                throw new ComponentException(getI18n().responseStatusIsNotOK(
+                        response.getStatus().getCodeWithReason()
+                                + ": " + response.getBodyAsString()));
+            } else {
+                log.debug("Response String:/r/n" + response.getBodyAsString());
+            }
+        } catch (HTTPClientException e) {
+            throw new ComponentException(getI18n().cantReadResponsePayload(e.getMessage()), e);
         }
     }
 
     public Integer getResponseCodeFromLastResponse() {
         try {
-            if (getLastServerResponse() != null) {
-                String responseBody = getLastServerResponse().getBodyAsString();
+            if (lastResponse != null) {
+                String responseBody = lastResponse.getBodyAsString();
                 if (responseBody != null) {
                     JsonObject json = Json.createReader(new StringReader(responseBody)).readObject();
                     return json.getInt("code");
@@ -284,6 +428,9 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
 
     @PreDestroy
     public void finish() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
         context.set(RESPONSE_CODE_AFTER_VARIABLE_KEY, getResponseCodeFromLastResponse());
     }
 }
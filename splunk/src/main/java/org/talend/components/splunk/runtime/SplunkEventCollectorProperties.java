@@ -16,6 +16,8 @@ import java.io.Serializable;
 
 import org.talend.components.splunk.dataset.SplunkDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,10 +25,28 @@ import lombok.Data;
 
 @Data
 @GridLayout({ @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("maxBatchBytes"),
+        @GridLayout.Row({ "maxConcurrentBatches", "maxRetries" }) })
 public class SplunkEventCollectorProperties implements Serializable {
 
     @Option
     @Documentation("Dataset.")
     private SplunkDataset dataset;
 
+    @Option
+    @Min(1024)
+    @Documentation("Maximum size in bytes of the events sent in a single request.")
+    private int maxBatchBytes = 1_000_000;
+
+    @Option
+    @Min(1)
+    @Max(32)
+    @Documentation("Maximum number of requests sent at the same time.")
+    private int maxConcurrentBatches = 4;
+
+    @Option
+    @Min(0)
+    @Documentation("Number of retries of a request rejected because the server is busy.")
+    private int maxRetries = 3;
+
 }
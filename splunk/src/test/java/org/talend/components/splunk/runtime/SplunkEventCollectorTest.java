@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Assertions;
@@ -93,6 +94,32 @@ class SplunkEventCollectorTest {
                 .invoke(Mockito.any(), Mockito.eq(false));
     }
 
+    @Test
+    void testOutputSplitBySize() throws HTTPClientException {
+        prepareClientServiceMockReturnOk();
+        properties.setMaxBatchBytes(1024);
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            value.append('x');
+        }
+        Record record = recordBuilderService.getRecordBuilderFactory()
+                .newRecordBuilder()
+                .withString("event", value.toString())
+                .build();
+
+        // about 120 bytes per event, so 8 events per request
+        eventCollector.startBulk();
+        for (int i = 0; i < 20; i++) {
+            eventCollector.process(record);
+        }
+
+        eventCollector.processBulk();
+        Mockito.verify(clientService, Mockito.times(3))
+                .invoke(Mockito.any(), Mockito.eq(false));
+    }
+
     @Test
     void testOutputOneRecordFailing() throws HTTPClientException {
         prepareClientServiceMockReturnFailure();
@@ -107,6 +134,71 @@ class SplunkEventCollectorTest {
         Assertions.assertThrows(ComponentException.class, () -> eventCollector.processBulk());
     }
 
+    @Test
+    void testRetryWhenServerIsBusy() throws HTTPClientException {
+        HTTPClient.HTTPResponse busy = response(503);
+        HTTPClient.HTTPResponse ok = response(200);
+        Mockito.doReturn(busy, ok).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        eventCollector.startBulk();
+        eventCollector.process(eventRecord("value"));
+        eventCollector.processBulk();
+
+        Mockito.verify(clientService, Mockito.times(2))
+                .invoke(Mockito.any(), Mockito.eq(false));
+    }
+
+    @Test
+    void testRetriesExhausted() throws HTTPClientException {
+        HTTPClient.HTTPResponse busy = response(503);
+        Mockito.doReturn(busy).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        properties.setMaxRetries(1);
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        eventCollector.startBulk();
+        eventCollector.process(eventRecord("value"));
+
+        Assertions.assertThrows(ComponentException.class, () -> eventCollector.processBulk());
+        Mockito.verify(clientService, Mockito.times(2))
+                .invoke(Mockito.any(), Mockito.eq(false));
+    }
+
+    @Test
+    void testFailingBatchSurfacesFromProcessBulk() throws HTTPClientException {
+        HTTPClient.HTTPResponse ok = response(200);
+        HTTPClient.HTTPResponse failed = response(500);
+        AtomicInteger calls = new AtomicInteger();
+        // only the last of the 3 batches fails, it is sent by processBulk
+        Mockito.doAnswer(invocation -> calls.incrementAndGet() == 3 ? failed : ok)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false));
+        properties.setMaxBatchBytes(1024);
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            value.append('x');
+        }
+        Record record = eventRecord(value.toString());
+
+        eventCollector.startBulk();
+        for (int i = 0; i < 20; i++) {
+            eventCollector.process(record);
+        }
+
+        Assertions.assertThrows(ComponentException.class, () -> eventCollector.processBulk());
+        Mockito.verify(clientService, Mockito.times(3))
+                .invoke(Mockito.any(), Mockito.eq(false));
+
+        // the failure is reported once, the next group is sent
+        eventCollector.startBulk();
+        eventCollector.process(record);
+        eventCollector.processBulk();
+        Mockito.verify(clientService, Mockito.times(4))
+                .invoke(Mockito.any(), Mockito.eq(false));
+    }
+
     @Test
     void testAfterVariable() throws HTTPClientException {
         prepareClientServiceMockReturnOk();
@@ -367,6 +459,22 @@ class SplunkEventCollectorTest {
                 requestConfigReference.get().getDataset().getBody().getJsonValue().trim());
     }
 
+    private Record eventRecord(final String value) {
+        return recordBuilderService.getRecordBuilderFactory()
+                .newRecordBuilder()
+                .withString("event", value)
+                .build();
+    }
+
+    private HTTPClient.HTTPResponse response(final int code) throws HTTPClientException {
+        HTTPClient.HTTPResponse mockedResponse = Mockito.mock();
+        HTTPClient.Status mockedStatus = Mockito.mock();
+        Mockito.when(mockedStatus.getCode()).thenReturn(code);
+        Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
+        Mockito.when(mockedResponse.getBodyAsString()).thenReturn("{\"text\":\"SomeText\",\"code\":999}");
+        return mockedResponse;
+    }
+
     private void prepareClientServiceMockReturnOk() throws HTTPClientException {
         HTTPClient.HTTPResponse mockedResponse = Mockito.mock();
         HTTPClient.Status mockedStatus = Mockito.mock();